@@ -2,8 +2,10 @@ package net.bitnine.cloudag.api.oracle;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class CloudagApiApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,52 @@
+package net.bitnine.cloudag.api.oracle.controller;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import lombok.extern.slf4j.Slf4j;
+import net.bitnine.cloudag.api.oracle.job.JobRejectedException;
+
+/**
+ * 과부하로 요청을 처리하지 못한 경우 429/503 과 Retry-After 헤더로 응답
+ */
+@Slf4j
+@RestControllerAdvice
+public class ApiExceptionHandler {
+
+    @Value("${cloudag.job.retry-after-seconds:30}")
+    private long retryAfterSeconds;
+
+    // 작업 대기열이 가득 찬 경우 (컴파트먼트별 한도 초과는 429, 전체 과부하는 503)
+    @ExceptionHandler(JobRejectedException.class)
+    public ResponseEntity<Map<String, Object>> handleJobRejected(JobRejectedException e) {
+        HttpStatus status = e.getReason() == JobRejectedException.Reason.COMPARTMENT_LIMIT
+                ? HttpStatus.TOO_MANY_REQUESTS
+                : HttpStatus.SERVICE_UNAVAILABLE;
+        log.warn("작업 접수 거부 (" + status.value() + "): " + e.getMessage());
+        return reject(status, e.getMessage(), e.getRetryAfterSeconds());
+    }
+
+    // @Async Executor 대기열이 가득 찬 경우
+    @ExceptionHandler(TaskRejectedException.class)
+    public ResponseEntity<Map<String, Object>> handleTaskRejected(TaskRejectedException e) {
+        log.warn("비동기 작업 실행 거부: " + e.getMessage());
+        return reject(HttpStatus.SERVICE_UNAVAILABLE, "Server is busy.", retryAfterSeconds);
+    }
+
+    private ResponseEntity<Map<String, Object>> reject(HttpStatus status, String message, long retryAfter) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("status", status.value());
+        body.put("error", status.getReasonPhrase());
+        body.put("message", message);
+        body.put("retryAfterSeconds", retryAfter);
+        return ResponseEntity.status(status).header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter)).body(body);
+    }
+}
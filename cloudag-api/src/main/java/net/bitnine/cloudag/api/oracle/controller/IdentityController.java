@@ -1,15 +1,22 @@
 package net.bitnine.cloudag.api.oracle.controller;
 
+import java.util.HashMap;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
 
+import net.bitnine.cloudag.api.oracle.job.JobType;
+import net.bitnine.cloudag.api.oracle.job.ProvisioningJob;
 import net.bitnine.cloudag.api.oracle.service.IdentityService;
+import net.bitnine.cloudag.api.oracle.service.JobService;
 import net.bitnine.cloudag.api.oracle.util.AuthentificationProvider;
 
 @RestController
@@ -21,6 +28,9 @@ public class IdentityController {
 
     @Autowired
     private IdentityService identityService;
+
+    @Autowired
+    private JobService jobService;
     
     // 컴파트먼트 생성 컨트롤러
     @RequestMapping(value = "/oci/api/v1/identity/compartment/create", method = RequestMethod.POST)
@@ -43,4 +53,25 @@ public class IdentityController {
         // OCI에 Compartment 생성
         identityService.deleteCompartment(region, compartmentId);
     }
+
+    // 컴파트먼트의 모든 CloudAG 자원 (인스턴스, 볼륨, 네트워크) 삭제 후 컴파트먼트 삭제를 위한 컨트롤러 (작업 ID 반환)
+    // 삭제 대상은 CloudAG Defined Tag 로 조회하므로 자원 OCID 를 전달하지 않음, deleteCompartment=false 이면 컴파트먼트는 유지
+    @RequestMapping(value = "/oci/api/v1/identity/compartment/decommission", method = RequestMethod.POST)
+    public String decommissionCompartment(@RequestBody Map<String, Object> param,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) throws Exception {
+
+        Map<String, String> jobParams = new HashMap<String, String>();
+        jobParams.put("region", (String) param.get("region"));
+        jobParams.put("compartmentId", (String) param.get("compartmentId"));
+        jobParams.put("deleteCompartment", String.valueOf(param.getOrDefault("deleteCompartment", true)));
+
+        try {
+            // Async (작업 저널에 기록되어 재시작 시 이어서 실행)
+            ProvisioningJob job = jobService.submit(JobType.DECOMMISSION_COMPARTMENT, jobParams, idempotencyKey);
+            return job.getId();
+        } catch (IllegalArgumentException e) {
+            // 같은 Idempotency-Key 를 다른 요청에 사용한 경우
+            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY, e.getMessage());
+        }
+    }
 }
@@ -1,31 +1,55 @@
 package net.bitnine.cloudag.api.oracle.controller;
 
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
 
 import lombok.extern.slf4j.Slf4j;
+import net.bitnine.cloudag.api.oracle.job.JobType;
+import net.bitnine.cloudag.api.oracle.job.ProvisioningJob;
+import net.bitnine.cloudag.api.oracle.service.BatchProvisioningService;
 import net.bitnine.cloudag.api.oracle.service.InstanceService;
+import net.bitnine.cloudag.api.oracle.service.JobService;
 import net.bitnine.cloudag.api.oracle.util.AuthentificationProvider;
 
 @Slf4j
 @RestController
 @EnableAutoConfiguration
 public class InstanceController{
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
     @Autowired AuthentificationProvider authentificationProvider;
     
     @Autowired
     private InstanceService instanceService;
 
-    // 인스턴스 생성 컨트롤러
+    @Autowired
+    private JobService jobService;
+
+    @Autowired
+    private BatchProvisioningService batchProvisioningService;
+
+    // 인스턴스 생성 컨트롤러 (작업 ID 반환, 진행 상황은 /oci/api/v1/job/{jobId} 에서 조회)
+    // 같은 Idempotency-Key 로 다시 요청하거나 같은 dbname 의 생성 작업이 진행 중이면 기존 작업 ID 반환
     @RequestMapping(value = "/oci/api/v1/instance/create", method = RequestMethod.POST)
-    public String createInstance(@RequestBody Map<String, Object> param) throws Exception {
+    public String createInstance(@RequestBody Map<String, Object> param,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) throws Exception {
         log.info("인스턴스 생성 작업 시작");
         
         String compartmentId = (String) param.get("compartmentId");
@@ -36,10 +60,53 @@ public class InstanceController{
         String vpusPerGB = (String) param.get("vpusPerGB"); //10
         String sizeInGBs = (String) param.get("sizeInGBs");
 
-        // Async
-        instanceService.createInstance(dbname, region, compartmentId, ocpus, memoryInGBs, vpusPerGB, sizeInGBs);
+        Map<String, String> jobParams = new HashMap<String, String>();
+        jobParams.put("dbname", dbname);
+        jobParams.put("region", region);
+        jobParams.put("compartmentId", compartmentId);
+        jobParams.put("ocpus", ocpus);
+        jobParams.put("memoryInGBs", memoryInGBs);
+        jobParams.put("vpusPerGB", vpusPerGB);
+        jobParams.put("sizeInGBs", sizeInGBs);
+
+        // Async (작업 저널에 기록되어 재시작 시 이어서 실행)
+        ProvisioningJob job = submit(JobType.CREATE_INSTANCE, jobParams, idempotencyKey);
 
-        return compartmentId;
+        return job.getId();
+    }
+
+    // 인스턴스 일괄 생성 컨트롤러 (항목별 작업 ID 반환)
+    // { "region": "...", "compartmentId": "...", "concurrency": 4, "instances": [ { "dbname": "...", "ocpus": "1", ... } ] }
+    @ResponseBody
+    @SuppressWarnings("unchecked")
+    @RequestMapping(value = "/oci/api/v1/instance/createBatch", method = RequestMethod.POST)
+    public Map<String, Object> createInstanceBatch(@RequestBody Map<String, Object> param,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) throws Exception {
+        log.info("인스턴스 일괄 생성 작업 시작");
+
+        String region = (String) param.get("region");
+        String compartmentId = (String) param.get("compartmentId");
+        Integer concurrency = param.get("concurrency") == null ? null
+                : Integer.valueOf(param.get("concurrency").toString());
+        List<Map<String, Object>> instances = (List<Map<String, Object>>) param.get("instances");
+
+        try {
+            return batchProvisioningService.submitCreateBatch(region, compartmentId, concurrency, instances,
+                    idempotencyKey);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    // 인스턴스 일괄 생성 진행 상태 조회 컨트롤러
+    @ResponseBody
+    @RequestMapping(value = "/oci/api/v1/instance/batch/{batchId}", method = RequestMethod.GET)
+    public Map<String, Object> getInstanceBatch(@PathVariable String batchId) {
+        Map<String, Object> resultMap = batchProvisioningService.getBatch(batchId);
+        if (resultMap == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Batch not found: " + batchId);
+        }
+        return resultMap;
     }
 
     // 인스턴스 상세 정보 요청 컨트롤러
@@ -56,21 +123,63 @@ public class InstanceController{
         return resultMap;
     }
     
-    // 인스턴스와 관련된 모든 자원 삭제를 위한 컨트롤러
+    // 인스턴스 상세 정보 일괄 조회 컨트롤러 (instanceIds 가 없으면 컴파트먼트의 모든 CloudAG 인스턴스)
+    // { "region": "...", "compartmentId": "...", "instanceIds": [ "ocid1.instance..." ] }
+    @ResponseBody
+    @SuppressWarnings("unchecked")
+    @RequestMapping(value = "/oci/api/v1/instance/list", method = RequestMethod.POST)
+    public List<Map<String, String>> getInstances(@RequestBody Map<String, Object> param) throws Exception {
+        String region = (String) param.get("region");
+        String compartmentId = (String) param.get("compartmentId");
+        List<String> instanceIds = (List<String>) param.get("instanceIds");
+
+        return instanceService.getInstances(region, compartmentId, instanceIds);
+    }
+
+    // 인스턴스 상세 정보 조건부 조회 컨트롤러 (If-None-Match 의 ETag 와 같으면 304, 캐시는 매번 ETag 로 재검증)
+    @RequestMapping(value = "/oci/api/v1/instance/get", method = RequestMethod.GET)
+    public ResponseEntity<Map<String, String>> getInstanceConditional(@RequestParam String region,
+            @RequestParam String compartmentId, @RequestParam String instanceId, WebRequest webRequest)
+            throws Exception {
+        Map<String, String> resultMap = instanceService.getInstance(region, compartmentId, instanceId,
+                webRequest::checkNotModified);
+
+        // 변경되지 않았으면 checkNotModified 에서 304 응답이 설정됨
+        return resultMap == null ? null : ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(resultMap);
+    }
+
+    // 인스턴스와 관련된 모든 자원 삭제를 위한 컨트롤러 (작업 ID 반환)
     @RequestMapping(value = "/oci/api/v1/instance/terminateAll", method = RequestMethod.POST)
-    public String terminateAll(@RequestBody Map<String, Object> param) throws Exception {
+    public String terminateAll(@RequestBody Map<String, Object> param,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) throws Exception {
         log.info("인스턴스와 관련된 모든 자원에 대한 삭제 작업을 시작합니다.");
         
-        String resultMsg = "Start instance terminate.";
         String region = (String) param.get("region");
         String compartmentId = (String) param.get("compartmentId");
         String instanceId = (String) param.get("instanceId");
         String vcnId = (String) param.get("vcnId");
         String volumeId = (String) param.get("volumeId");
 
-        // Async
-        instanceService.terminateAll(region, compartmentId, instanceId, volumeId, vcnId);
+        Map<String, String> jobParams = new HashMap<String, String>();
+        jobParams.put("region", region);
+        jobParams.put("compartmentId", compartmentId);
+        jobParams.put("instanceId", instanceId);
+        jobParams.put("volumeId", volumeId);
+        jobParams.put("vcnId", vcnId);
+
+        // Async (작업 저널에 기록되어 재시작 시 이어서 실행)
+        ProvisioningJob job = submit(JobType.TERMINATE_ALL, jobParams, idempotencyKey);
+
+        return job.getId();
+    }
 
-        return resultMsg;
+    private ProvisioningJob submit(JobType type, Map<String, String> jobParams, String idempotencyKey)
+            throws Exception {
+        try {
+            return jobService.submit(type, jobParams, idempotencyKey);
+        } catch (IllegalArgumentException e) {
+            // 같은 Idempotency-Key 를 다른 요청에 사용한 경우
+            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY, e.getMessage());
+        }
     }
 }
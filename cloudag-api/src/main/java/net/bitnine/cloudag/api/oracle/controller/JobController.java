@@ -0,0 +1,85 @@
+package net.bitnine.cloudag.api.oracle.controller;
+
+import java.io.IOException;
+import java.util.Collection;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import net.bitnine.cloudag.api.oracle.job.JobEvent;
+import net.bitnine.cloudag.api.oracle.job.ProvisioningJob;
+import net.bitnine.cloudag.api.oracle.service.JobService;
+
+@RestController
+@EnableAutoConfiguration
+public class JobController {
+
+    // SSE 연결 유지 시간
+    @Value("${cloudag.job.sse-timeout-ms:1800000}")
+    private long sseTimeoutMs;
+
+    @Autowired
+    private JobService jobService;
+
+    // 작업 목록 조회 컨트롤러
+    @RequestMapping(value = "/oci/api/v1/job", method = RequestMethod.GET)
+    public Collection<ProvisioningJob> getJobs() {
+        return jobService.getJobs();
+    }
+
+    // 작업 상태 조회 컨트롤러 (스트리밍을 사용할 수 없는 클라이언트용)
+    @RequestMapping(value = "/oci/api/v1/job/{jobId}", method = RequestMethod.GET)
+    public ProvisioningJob getJob(@PathVariable String jobId) {
+        return findJob(jobId);
+    }
+
+    // 작업 진행 상황 스트리밍 컨트롤러 (Server-Sent Events)
+    // 처음에 현재 상태(snapshot)를 보내고 이후 단계 이벤트를 보내며, 작업이 끝나면 연결을 종료
+    @RequestMapping(value = "/oci/api/v1/job/{jobId}/events", method = RequestMethod.GET, produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamJobEvents(@PathVariable String jobId) {
+        findJob(jobId);
+        SseEmitter emitter = new SseEmitter(sseTimeoutMs);
+
+        // 스냅샷 전송과 구독을 작업 잠금 안에서 함께 수행하여 스냅샷 이후의 이벤트만 순서대로 전송
+        Runnable unsubscribe = jobService.subscribe(jobId, snapshot -> {
+            send(emitter, "SNAPSHOT", snapshot);
+            if (snapshot.getStatus().isFinished()) {
+                emitter.complete();
+            }
+        }, event -> {
+            send(emitter, event.getKind().name(), event);
+            if (event.getKind() == JobEvent.Kind.SUCCEEDED || event.getKind() == JobEvent.Kind.FAILED) {
+                emitter.complete();
+            }
+        });
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> unsubscribe.run());
+        return emitter;
+    }
+
+    private static void send(SseEmitter emitter, String name, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(name).data(data));
+        } catch (IOException | IllegalStateException e) {
+            emitter.completeWithError(e);
+        }
+    }
+
+    private ProvisioningJob findJob(String jobId) {
+        ProvisioningJob job = jobService.getJob(jobId);
+        if (job == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Job not found: " + jobId);
+        }
+        return job;
+    }
+}
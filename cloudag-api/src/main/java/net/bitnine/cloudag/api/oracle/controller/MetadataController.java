@@ -0,0 +1,34 @@
+package net.bitnine.cloudag.api.oracle.controller;
+
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+
+import net.bitnine.cloudag.api.oracle.service.MetadataCacheService;
+
+@RestController
+@EnableAutoConfiguration
+public class MetadataController {
+
+    @Autowired
+    private MetadataCacheService metadataCacheService;
+
+    // AD, Shape, 이미지 메타데이터 캐시 무효화 컨트롤러 (region이 없으면 전체 무효화)
+    @RequestMapping(value = "/oci/api/v1/metadata/invalidate", method = RequestMethod.POST)
+    public void invalidate(@RequestBody Map<String, Object> param) throws Exception {
+
+        String region = (String) param.get("region");
+        String compartmentId = (String) param.get("compartmentId");
+
+        if (region == null || region.isBlank()) {
+            metadataCacheService.invalidateAll();
+        } else {
+            metadataCacheService.invalidate(region, compartmentId);
+        }
+    }
+}
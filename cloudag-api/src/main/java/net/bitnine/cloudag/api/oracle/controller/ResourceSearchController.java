@@ -1,141 +1,195 @@
 package net.bitnine.cloudag.api.oracle.controller;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 
-import com.oracle.bmc.computeinstanceagent.ComputeInstanceAgentClient;
-import com.oracle.bmc.computeinstanceagent.model.InstanceAgentCommandExecutionSummary;
-import com.oracle.bmc.computeinstanceagent.requests.ListInstanceAgentCommandExecutionsRequest;
-import com.oracle.bmc.computeinstanceagent.responses.ListInstanceAgentCommandExecutionsResponse;
-import com.oracle.bmc.core.ComputeClient;
-import com.oracle.bmc.core.model.VolumeAttachment;
-import com.oracle.bmc.core.requests.ListVolumeAttachmentsRequest;
-import com.oracle.bmc.core.responses.ListVolumeAttachmentsResponse;
-import com.oracle.bmc.resourcesearch.ResourceSearchClient;
-import com.oracle.bmc.resourcesearch.model.ResourceSummary;
-import com.oracle.bmc.resourcesearch.model.SearchDetails;
-import com.oracle.bmc.resourcesearch.model.StructuredSearchDetails;
-import com.oracle.bmc.resourcesearch.requests.SearchResourcesRequest;
-import com.oracle.bmc.resourcesearch.responses.SearchResourcesResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import lombok.extern.slf4j.Slf4j;
-import net.bitnine.cloudag.api.oracle.util.AuthentificationProvider;
+import net.bitnine.cloudag.api.oracle.service.ResourceSearchService;
+import net.bitnine.cloudag.api.oracle.service.ResourceWatchService;
 
 @Slf4j
 @RestController
 @EnableAutoConfiguration
 public class ResourceSearchController {
+    // 다음 페이지 토큰 응답 헤더 (OCI 와 같은 이름 사용)
+    private static final String NEXT_PAGE_HEADER = "opc-next-page";
+
+    private static final String NDJSON_VALUE = "application/x-ndjson";
+
+    @Autowired
+    private ResourceSearchService resourceSearchService;
+
+    @Autowired
+    private ResourceWatchService resourceWatchService;
+
     @Autowired
-    AuthentificationProvider authentificationProvider;
+    private ObjectMapper objectMapper;
 
     // 리소스 (인스턴스, VCN, 서브넷, 볼륨) 상태 조회
+    // limit 을 지정하면 최대 limit 개까지 조회하고 남은 결과가 있으면 opc-next-page 헤더로 다음 페이지 토큰 반환 (다음 요청의 page 로 전달)
+    // 인벤토리가 최신이면 인벤토리에서 조회, freshness 를 live 로 지정하면 항상 OCI 조회
     @ResponseBody
     @RequestMapping(value = "/oci/api/v1/resources/search", method = RequestMethod.POST)
-    public ArrayList<Map<String, String>> searchService(@RequestBody Map<String, Object> param) throws Exception {
-        ComputeClient computeClient = null;
-        ResourceSearchClient resourceSearchClient = null;
-        ComputeInstanceAgentClient computeInstanceAgentClient = null;
-
-        SearchResourcesResponse searchResourcesResponse = null;
-        ArrayList<Map<String, String>> results = new ArrayList<Map<String, String>>();
-        
+    public ResponseEntity<List<Map<String, String>>> searchService(@RequestBody Map<String, Object> param)
+            throws Exception {
         String region = (String) param.get("region");
         String compartmentId = (String) param.get("compartmentId");
         String dbname = (String) param.get("dbname");
 
+        List<Map<String, String>> results = new ArrayList<Map<String, String>>();
+        String nextPage = resourceSearchService.search(region, compartmentId, dbname, limitOf(param),
+                (String) param.get("page"), (String) param.get("freshness"), results::addAll);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (nextPage != null) {
+            response.header(NEXT_PAGE_HEADER, nextPage);
+        }
+        return response.body(results);
+    }
+
+    // 리소스 상태 조건부 조회 (If-None-Match 의 ETag 와 같으면 304, 캐시는 매번 ETag 로 재검증)
+    @RequestMapping(value = "/oci/api/v1/resources/search", method = RequestMethod.GET)
+    public ResponseEntity<List<Map<String, String>>> searchConditional(@RequestParam String region,
+            @RequestParam String compartmentId, @RequestParam String dbname,
+            @RequestParam(required = false) String freshness, WebRequest webRequest) throws Exception {
+        List<Map<String, String>> results = resourceSearchService.search(region, compartmentId, dbname, freshness,
+                webRequest::checkNotModified);
+
+        // 변경되지 않았으면 checkNotModified 에서 304 응답이 설정됨
+        return results == null ? null : ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(results);
+    }
+
+    // 여러 dbname, 리소스 OCID 의 상태를 한 번에 조회 (구조화 쿼리 하나에 여러 조건을 넣어 조회한 후 dbname 별로 분리)
+    // { "region": "...", "compartmentId": "...", "dbnames": [ "db1", "db2" ], "identifiers": [ "ocid1..." ] }
+    @ResponseBody
+    @SuppressWarnings("unchecked")
+    @RequestMapping(value = "/oci/api/v1/resources/search/batch", method = RequestMethod.POST)
+    public Map<String, Object> searchBatchService(@RequestBody Map<String, Object> param) throws Exception {
+        String region = (String) param.get("region");
+        String compartmentId = (String) param.get("compartmentId");
+        List<String> dbnames = (List<String>) param.get("dbnames");
+        List<String> identifiers = (List<String>) param.get("identifiers");
+
         try {
-            // 인스턴스에 어태치된 볼륨 정보 획득을 위한 클라이언트
-            computeClient = new ComputeClient(authentificationProvider.getAuthenticationDetailsProvider());
-
-            // 리소스 조회를 위한 클라이언트
-            resourceSearchClient = new ResourceSearchClient(
-                    authentificationProvider.getAuthenticationDetailsProvider());
-            
-            // 인스턴스 Run Command (외부 스크립트 실행) 상태 조회를 위한 클라이언트
-            computeInstanceAgentClient = new ComputeInstanceAgentClient(authentificationProvider.getAuthenticationDetailsProvider());
-
-            // 클라이언트에 리전 설정
-            computeClient.setRegion(region);
-            resourceSearchClient.setRegion(region);
-            computeInstanceAgentClient.setRegion(region);
-
-            // 리소스 조회를 위한 정보 설정 (조회 쿼리 설정)
-            SearchDetails searchDetails = StructuredSearchDetails.builder().query(
-                    "query Instance, Subnet, Vcn, Volume resources where compartmentId = '"+compartmentId+"' && displayName =~ '"+dbname+"' && lifecycleState != 'Terminated' sorted by timeCreated asc")
-                    .matchingContextType(SearchDetails.MatchingContextType.Highlights).build();
-
-            // 리소스 조회를 위한 정보 요청
-            SearchResourcesRequest searchResourcesRequest = SearchResourcesRequest.builder()
-                    .searchDetails(searchDetails)
-                    .tenantId(authentificationProvider.getAuthenticationDetailsProvider().getTenantId()).build();
-
-
-            // 리소스 조회 정보 응답
-            searchResourcesResponse = resourceSearchClient.searchResources(searchResourcesRequest);
-
-            // 조회된 리소스 목록 패치
-            for (ResourceSummary resourceSummary : searchResourcesResponse.getResourceSummaryCollection().getItems()) {
-                Map<String, String> resultMap = new HashMap<>();
-                resultMap.put("displayName", resourceSummary.getDisplayName());         // 리소스 이름
-                resultMap.put("resourceType", resourceSummary.getResourceType());       // 리소스 유형 (Instance, VCN, Subnet, Volume)
-                resultMap.put("identifier", resourceSummary.getIdentifier());           // OCID
-                resultMap.put("lifecycleState", resourceSummary.getLifecycleState());   // 리소스 상태
-
-                // 리소스가 볼륨인 경우 볼륨이 인스턴스에 어태치된 상태도 같이 조회
-                if(resourceSummary.getResourceType().equals("Volume")) {
-                    ListVolumeAttachmentsResponse listVolumeAttachmentsResponse = computeClient.listVolumeAttachments(ListVolumeAttachmentsRequest.builder().compartmentId(compartmentId).volumeId(resourceSummary.getIdentifier()).build());
-
-                    if(listVolumeAttachmentsResponse.getItems().size() > 0) {
-                        VolumeAttachment volumeAttachment = listVolumeAttachmentsResponse.getItems().get(0);
-
-                        resultMap.put("attachmentState", volumeAttachment.getLifecycleState().getValue());  // 어태치 상태
-                    } else {
-                        resultMap.put("attachmentState", "NOTFOUND");  // 만일 어태치 작업 시작전이라면 상태를 NOTFOUND으로 설정
-                    }
-                }
+            return resourceSearchService.searchBatch(region, compartmentId, dbnames, identifiers,
+                    (String) param.get("freshness"));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
 
-                // 리소스가 인스턴스인 경우 인스턴스에 수행하는 Run Command (볼륨 마운트를 위한 OS 스크립트) 상태 조회
-                if(resourceSummary.getResourceType().equals("Instance")) {
-                    
-                    // Run Command 목록 요청
-                    ListInstanceAgentCommandExecutionsRequest listInstanceAgentCommandExecutionsRequest = ListInstanceAgentCommandExecutionsRequest.builder().compartmentId(compartmentId).instanceId(resourceSummary.getIdentifier()).build();
+    // 여러 리전, 컴파트먼트의 리소스 상태를 동시에 조회하여 병합
+    // { "targets": [ { "region": "...", "compartmentId": "..." } ], "dbname": "...", "timeoutMs": 5000 }
+    // 제한 시간 내에 조회되지 않거나 실패한 대상은 targets 의 status (TIMEOUT, ERROR) 로 표시하고 나머지 결과만 반환 (partial: true)
+    @ResponseBody
+    @SuppressWarnings("unchecked")
+    @RequestMapping(value = "/oci/api/v1/resources/search/targets", method = RequestMethod.POST)
+    public Map<String, Object> searchTargetsService(@RequestBody Map<String, Object> param) throws Exception {
+        List<Map<String, Object>> targets = (List<Map<String, Object>>) param.get("targets");
+        String dbname = (String) param.get("dbname");
+        Long timeoutMs = param.get("timeoutMs") == null ? null : Long.valueOf(param.get("timeoutMs").toString());
 
+        try {
+            return resourceSearchService.searchTargets(targets, dbname, (String) param.get("freshness"), timeoutMs);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
 
-                    // Run Command 목록 응답
-                    ListInstanceAgentCommandExecutionsResponse listInstanceAgentCommandExecutionsResponse = computeInstanceAgentClient.listInstanceAgentCommandExecutions(listInstanceAgentCommandExecutionsRequest);
+    // 리소스 상태 변경 감시 (Long Polling)
+    // { "region": "...", "compartmentId": "...", "dbname": "..." 또는 "identifiers": [ "ocid1..." ],
+    //   "targetStates": { "Instance": { "lifecycleState": "RUNNING", "volumeMountState": "SUCCEEDED" } }, "since": "<etag>", "timeoutMs": 30000 }
+    // 상태가 since 와 다르거나 목표 상태에 도달하면 바로 응답하고, 그렇지 않으면 변경되거나 제한 시간이 지날 때까지 대기 후 응답
+    @ResponseBody
+    @SuppressWarnings("unchecked")
+    @RequestMapping(value = "/oci/api/v1/resources/watch", method = RequestMethod.POST)
+    public DeferredResult<Map<String, Object>> watchService(@RequestBody Map<String, Object> param) {
+        String region = (String) param.get("region");
+        String compartmentId = (String) param.get("compartmentId");
+        String dbname = (String) param.get("dbname");
+        List<String> identifiers = (List<String>) param.get("identifiers");
+        Map<String, Map<String, String>> targetStates = (Map<String, Map<String, String>>) param.get("targetStates");
+        Long timeoutMs = param.get("timeoutMs") == null ? null : Long.valueOf(param.get("timeoutMs").toString());
 
-                    if(listInstanceAgentCommandExecutionsResponse.getItems().size() > 0) {
+        ResourceWatchService.Watch watch;
+        try {
+            watch = resourceWatchService.watch(region, compartmentId, identifiers, dbname, targetStates,
+                    (String) param.get("since"));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
 
-                        // Run Command 요약 정보 획득
-                        InstanceAgentCommandExecutionSummary instanceAgentCommandExecutionSummary = listInstanceAgentCommandExecutionsResponse.getItems().get(0);
+        // 요청 스레드를 점유하지 않고 대기, 제한 시간이 지나면 현재 상태로 응답 (changed: false)
+        DeferredResult<Map<String, Object>> deferredResult = new DeferredResult<>(
+                resourceWatchService.timeoutOf(timeoutMs));
+        deferredResult.onTimeout(() -> deferredResult.setResult(watch.expire()));
+        deferredResult.onCompletion(watch::cancel);
+        watch.result().thenAccept(deferredResult::setResult);
+        return deferredResult;
+    }
 
-                        // Run Command 상태 정보
-                        instanceAgentCommandExecutionSummary.getLifecycleState();
-                        resultMap.put("volumeMountState", instanceAgentCommandExecutionSummary.getLifecycleState().getValue());
-                    } else {
-                        resultMap.put("volumeMountState", "NOTFOUND");  // Run Command가 아직 생성 전이라면 상태를 NOTFOUND로 설정
-                    }
-                    
-                    
+    // 리소스 상태 조회 스트리밍 (NDJSON, 한 줄에 리소스 하나)
+    // 페이지를 조회할 때마다 바로 전송하며, limit 에 도달하여 남은 결과가 있으면 마지막 줄에 {"nextPage": 토큰} 전송
+    @RequestMapping(value = "/oci/api/v1/resources/search/stream", method = RequestMethod.POST, produces = NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamSearchService(@RequestBody Map<String, Object> param) {
+        String region = (String) param.get("region");
+        String compartmentId = (String) param.get("compartmentId");
+        String dbname = (String) param.get("dbname");
+        int limit = limitOf(param);
+        String page = (String) param.get("page");
+        String freshness = (String) param.get("freshness");
+
+        StreamingResponseBody body = outputStream -> {
+            try {
+                String nextPage = resourceSearchService.search(region, compartmentId, dbname, limit, page,
+                        freshness, results -> {
+                            for (Map<String, String> result : results) {
+                                writeLine(outputStream, result);
+                            }
+                            outputStream.flush();
+                        });
+                if (nextPage != null) {
+                    writeLine(outputStream, Collections.singletonMap("nextPage", nextPage));
                 }
-
-                results.add(resultMap);
+            } catch (Exception e) {
+                // 응답 헤더가 이미 전송되었으므로 오류 상태를 반환할 수 없음, 연결을 닫아 클라이언트가 불완전한 응답을 알 수 있도록 함
+                log.error("리소스 상태 조회 스트리밍 중 오류", e);
+                throw new IllegalStateException(e);
             }
-        } catch (Exception e) {
-            e.printStackTrace();
-            throw e;
-        } finally {
-            resourceSearchClient.close();
-        }
-        return results;
+        };
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON_VALUE)).body(body);
+    }
+
+    private void writeLine(OutputStream outputStream, Object value) throws Exception {
+        outputStream.write(objectMapper.writeValueAsBytes(value));
+        outputStream.write("\n".getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static int limitOf(Map<String, Object> param) {
+        Object limit = param.get("limit");
+        return limit == null ? 0 : Integer.parseInt(String.valueOf(limit));
     }
 }
@@ -0,0 +1,38 @@
+package net.bitnine.cloudag.api.oracle.job;
+
+import java.util.Map;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 작업 저널에 한 줄로 기록되는 이벤트
+ */
+@Data
+@NoArgsConstructor
+public class JobEvent {
+    public enum Kind {
+        CREATED, STARTED, STEP_STARTED, STEP_COMPLETED, SUCCEEDED, FAILED
+    }
+
+    private String jobId;
+    private Kind kind;
+    private long time;
+
+    // CREATED 이벤트에만 기록
+    private JobType jobType;
+    private Map<String, String> params;
+
+    // STEP_* 이벤트에만 기록
+    private String step;
+    private Map<String, String> outputs;
+
+    // FAILED 이벤트에만 기록
+    private String error;
+
+    public JobEvent(String jobId, Kind kind) {
+        this.jobId = jobId;
+        this.kind = kind;
+        this.time = System.currentTimeMillis();
+    }
+}
@@ -0,0 +1,151 @@
+package net.bitnine.cloudag.api.oracle.job;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.annotation.PreDestroy;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 작업 이벤트를 로컬 파일에 한 줄씩 추가 기록하는 저널 (append-only, JSON Lines)
+ * 파드 재시작 후에도 작업을 이어서 진행할 수 있도록 이벤트마다 디스크에 동기화한다.
+ * 쿠버네티스에서는 저널 경로를 Persistent Volume 에 두어야 재시작 후에도 유지된다.
+ */
+@Slf4j
+@Component
+public class JobJournal {
+
+    @Value("${cloudag.job.journal-path:./data/job-journal.log}")
+    private String journalPath;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private FileChannel channel;
+
+    /**
+    * 저널에 기록된 모든 이벤트를 순서대로 읽음
+    * 마지막 줄이 기록 도중 중단되어 손상된 경우 해당 줄은 무시하고, 이후 추가되는 이벤트가 손상된 줄에
+    * 이어서 기록되지 않도록 읽은 이벤트만으로 저널을 다시 작성한다.
+    * @return List<JobEvent> 이벤트 목록
+    */
+    public synchronized List<JobEvent> load() throws IOException {
+        List<JobEvent> events = new ArrayList<>();
+        Path path = Paths.get(journalPath);
+        if (!Files.exists(path)) {
+            return events;
+        }
+
+        boolean damaged = false;
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    events.add(objectMapper.readValue(line, JobEvent.class));
+                } catch (IOException e) {
+                    log.warn("작업 저널의 손상된 이벤트를 건너뜁니다: " + line);
+                    damaged = true;
+                }
+            }
+        }
+
+        if (damaged || !endsWithNewline(path)) {
+            rewrite(events);
+        }
+        return events;
+    }
+
+    /**
+    * 이벤트 추가 기록 후 디스크에 동기화
+    */
+    public synchronized void append(JobEvent event) throws IOException {
+        byte[] line = (objectMapper.writeValueAsString(event) + "\n").getBytes(StandardCharsets.UTF_8);
+        FileChannel fileChannel = openChannel();
+        ByteBuffer buffer = ByteBuffer.wrap(line);
+        while (buffer.hasRemaining()) {
+            fileChannel.write(buffer);
+        }
+        fileChannel.force(false);
+    }
+
+    /**
+    * 남겨둘 이벤트만으로 저널을 다시 작성 (임시 파일 작성 후 교체)
+    * @param events 남겨둘 이벤트 목록
+    */
+    public synchronized void rewrite(List<JobEvent> events) throws IOException {
+        close();
+
+        Path path = Paths.get(journalPath);
+        createParentDirectories(path);
+        Path tempPath = Paths.get(journalPath + ".tmp");
+        try (FileChannel tempChannel = FileChannel.open(tempPath, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (JobEvent event : events) {
+                ByteBuffer buffer = ByteBuffer
+                        .wrap((objectMapper.writeValueAsString(event) + "\n").getBytes(StandardCharsets.UTF_8));
+                while (buffer.hasRemaining()) {
+                    tempChannel.write(buffer);
+                }
+            }
+            tempChannel.force(true);
+        }
+        Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    private FileChannel openChannel() throws IOException {
+        if (channel == null) {
+            Path path = Paths.get(journalPath);
+            createParentDirectories(path);
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND);
+        }
+        return channel;
+    }
+
+    private static boolean endsWithNewline(Path path) throws IOException {
+        try (FileChannel fileChannel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = fileChannel.size();
+            if (size == 0) {
+                return true;
+            }
+            ByteBuffer last = ByteBuffer.allocate(1);
+            fileChannel.read(last, size - 1);
+            return last.get(0) == '\n';
+        }
+    }
+
+    private void createParentDirectories(Path path) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package net.bitnine.cloudag.api.oracle.job;
+
+/**
+ * 작업 대기열이 가득 차서 작업을 접수하지 않은 경우
+ * 컨트롤러에서는 사유에 따라 429 (컴파트먼트별 한도 초과) 또는 503 (전체 과부하) 과 Retry-After 로 응답한다.
+ */
+public class JobRejectedException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public enum Reason {
+        // 컴파트먼트별 대기 한도 초과
+        COMPARTMENT_LIMIT,
+        // 전체 대기열 가득 참
+        OVERLOADED
+    }
+
+    private final Reason reason;
+    private final long retryAfterSeconds;
+
+    public JobRejectedException(Reason reason, String message, long retryAfterSeconds) {
+        super(message);
+        this.reason = reason;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,254 @@
+package net.bitnine.cloudag.api.oracle.job;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * 인스턴스 생성/삭제 작업 실행 순서 및 동시 실행 개수 관리
+ * 삭제 작업은 자원을 빨리 반환하도록 생성 작업보다 먼저 실행하고,
+ * 같은 유형의 작업은 컴파트먼트별로 번갈아 실행하여 한 컴파트먼트의 대량 요청이 다른 컴파트먼트를 막지 않도록 한다.
+ * 일괄 작업에 포함된 작업은 일괄 작업별 동시 실행 개수도 함께 지킨다.
+ */
+@Component
+public class JobScheduler {
+
+    /**
+    * 작업 대기열 (선언 순서가 우선순위)
+    */
+    public enum Lane {
+        TERMINATE, CREATE
+    }
+
+    // 전체 및 컴파트먼트별 동시 실행 작업 수
+    @Value("${cloudag.job.max-running:50}")
+    private int maxRunning;
+
+    @Value("${cloudag.job.max-running-per-compartment:10}")
+    private int maxRunningPerCompartment;
+
+    // 전체 및 컴파트먼트별 생성 대기 작업 수 (초과하면 새 생성 작업을 접수하지 않음, 삭제 작업은 항상 접수)
+    @Value("${cloudag.job.max-queued:500}")
+    private int maxQueued;
+
+    @Value("${cloudag.job.max-queued-per-compartment:50}")
+    private int maxQueuedPerCompartment;
+
+    // 작업을 접수하지 않은 경우 다시 요청할 때까지의 최소 대기 시간
+    @Value("${cloudag.job.retry-after-seconds:30}")
+    private long retryAfterSeconds;
+
+    @Autowired
+    @Qualifier("jobExecutor")
+    private Executor jobExecutor;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // 대기열 -> 컴파트먼트 -> 대기 작업 (컴파트먼트 순서는 작업을 꺼낼 때마다 뒤로 이동)
+    private final Map<Lane, LinkedHashMap<String, Deque<Entry>>> queues = new EnumMap<>(Lane.class);
+    private final Map<String, Integer> runningByCompartment = new HashMap<>();
+    private final Map<String, Integer> runningByBatch = new HashMap<>();
+    private final Map<Lane, Timer> waitTimers = new EnumMap<>(Lane.class);
+    private int running;
+
+    @PostConstruct
+    public void init() {
+        for (Lane lane : Lane.values()) {
+            queues.put(lane, new LinkedHashMap<>());
+            Gauge.builder("cloudag.job.queue.depth", this, scheduler -> scheduler.queuedCount(lane))
+                    .tag("lane", lane.name()).register(meterRegistry);
+            waitTimers.put(lane,
+                    Timer.builder("cloudag.job.queue.wait").tag("lane", lane.name()).register(meterRegistry));
+        }
+        Gauge.builder("cloudag.job.running", this, JobScheduler::runningCount).register(meterRegistry);
+    }
+
+    public static Lane laneOf(JobType type) {
+        return type == JobType.CREATE_INSTANCE ? Lane.CREATE : Lane.TERMINATE;
+    }
+
+    /**
+    * 새 작업을 접수할 수 있는지 확인
+    * 삭제 작업은 자원을 반환하는 작업이므로 대기열 한도를 적용하지 않고 항상 접수한다.
+    * @param type          작업 유형
+    * @param compartmentId 컴파트먼트 OCID
+    * @throws JobRejectedException 대기열이 가득 찬 경우
+    */
+    public synchronized void checkAdmission(JobType type, String compartmentId) {
+        Lane lane = laneOf(type);
+        if (lane != Lane.CREATE) {
+            return;
+        }
+        if (queuedCount(lane) >= maxQueued) {
+            throw new JobRejectedException(JobRejectedException.Reason.OVERLOADED,
+                    "Job queue is full (" + maxQueued + " jobs waiting).", retryAfter(lane));
+        }
+        Deque<Entry> compartmentQueue = queues.get(lane).get(String.valueOf(compartmentId));
+        if (compartmentQueue != null && compartmentQueue.size() >= maxQueuedPerCompartment) {
+            throw new JobRejectedException(JobRejectedException.Reason.COMPARTMENT_LIMIT,
+                    "Too many jobs waiting for compartment " + compartmentId + ".", retryAfter(lane));
+        }
+    }
+
+    /**
+    * 작업을 대기열에 추가하고 실행 가능한 작업 시작
+    * @param job    작업
+    * @param runner 작업 실행, 반환된 Future 가 완료되면 다음 작업을 시작
+    */
+    public void enqueue(ProvisioningJob job, Function<ProvisioningJob, CompletableFuture<Void>> runner) {
+        Entry entry = new Entry(job, runner);
+        synchronized (this) {
+            queues.get(entry.lane).computeIfAbsent(entry.compartmentId, id -> new ArrayDeque<>()).add(entry);
+        }
+        dispatch();
+    }
+
+    public synchronized int queuedCount() {
+        int count = 0;
+        for (Lane lane : Lane.values()) {
+            count += queuedCount(lane);
+        }
+        return count;
+    }
+
+    public synchronized int queuedCount(Lane lane) {
+        int count = 0;
+        for (Deque<Entry> compartmentQueue : queues.get(lane).values()) {
+            count += compartmentQueue.size();
+        }
+        return count;
+    }
+
+    public synchronized int runningCount() {
+        return running;
+    }
+
+    private void dispatch() {
+        List<Entry> started = new ArrayList<>();
+        synchronized (this) {
+            Entry entry;
+            while (running < maxRunning && (entry = pollNext()) != null) {
+                acquire(entry);
+                started.add(entry);
+            }
+        }
+
+        for (Entry entry : started) {
+            waitTimers.get(entry.lane).record(System.nanoTime() - entry.enqueuedAt, TimeUnit.NANOSECONDS);
+            jobExecutor.execute(() -> entry.runner.apply(entry.job).whenComplete((ignored, error) -> {
+                release(entry);
+                dispatch();
+            }));
+        }
+    }
+
+    /**
+    * 다음에 실행할 작업 선택 (우선순위가 높은 대기열부터, 대기열 내에서는 컴파트먼트별로 번갈아)
+    */
+    private Entry pollNext() {
+        for (Lane lane : Lane.values()) {
+            LinkedHashMap<String, Deque<Entry>> compartments = queues.get(lane);
+            String selectedCompartment = null;
+            Entry selected = null;
+            for (Map.Entry<String, Deque<Entry>> compartment : compartments.entrySet()) {
+                if (runningByCompartment.getOrDefault(compartment.getKey(), 0) >= maxRunningPerCompartment) {
+                    continue;
+                }
+                selected = pollRunnable(compartment.getValue());
+                if (selected != null) {
+                    selectedCompartment = compartment.getKey();
+                    break;
+                }
+            }
+            if (selected != null) {
+                // 다음에는 다른 컴파트먼트의 작업이 먼저 선택되도록 뒤로 이동
+                Deque<Entry> compartmentQueue = compartments.remove(selectedCompartment);
+                if (!compartmentQueue.isEmpty()) {
+                    compartments.put(selectedCompartment, compartmentQueue);
+                }
+                return selected;
+            }
+        }
+        return null;
+    }
+
+    /**
+    * 컴파트먼트의 대기 작업 중 일괄 작업 동시 실행 개수에 걸리지 않는 첫 번째 작업
+    */
+    private Entry pollRunnable(Deque<Entry> compartmentQueue) {
+        Iterator<Entry> iterator = compartmentQueue.iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry.batchId == null || runningByBatch.getOrDefault(entry.batchId, 0) < entry.batchConcurrency) {
+                iterator.remove();
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    private void acquire(Entry entry) {
+        running++;
+        runningByCompartment.merge(entry.compartmentId, 1, Integer::sum);
+        if (entry.batchId != null) {
+            runningByBatch.merge(entry.batchId, 1, Integer::sum);
+        }
+    }
+
+    private synchronized void release(Entry entry) {
+        running--;
+        runningByCompartment.computeIfPresent(entry.compartmentId, (id, count) -> count > 1 ? count - 1 : null);
+        if (entry.batchId != null) {
+            runningByBatch.computeIfPresent(entry.batchId, (id, count) -> count > 1 ? count - 1 : null);
+        }
+    }
+
+    /**
+    * 다시 요청할 때까지의 대기 시간 (최근 대기열 평균 대기 시간, 최소 retry-after-seconds)
+    */
+    private long retryAfter(Lane lane) {
+        return Math.max(retryAfterSeconds, (long) Math.ceil(waitTimers.get(lane).mean(TimeUnit.SECONDS)));
+    }
+
+    private static class Entry {
+        private final ProvisioningJob job;
+        private final Function<ProvisioningJob, CompletableFuture<Void>> runner;
+        private final Lane lane;
+        private final String compartmentId;
+        private final String batchId;
+        private final int batchConcurrency;
+        private final long enqueuedAt = System.nanoTime();
+
+        Entry(ProvisioningJob job, Function<ProvisioningJob, CompletableFuture<Void>> runner) {
+            this.job = job;
+            this.runner = runner;
+            this.lane = laneOf(job.getType());
+            this.compartmentId = String.valueOf(job.getParam("compartmentId"));
+            this.batchId = job.getParam(ProvisioningJob.PARAM_BATCH_ID);
+            this.batchConcurrency = batchId == null ? Integer.MAX_VALUE
+                    : Math.max(1, Integer.parseInt(job.getParam(ProvisioningJob.PARAM_BATCH_CONCURRENCY)));
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package net.bitnine.cloudag.api.oracle.job;
+
+/**
+ * 작업 상태
+ */
+public enum JobStatus {
+    PENDING,
+    RUNNING,
+    SUCCEEDED,
+    FAILED;
+
+    public boolean isFinished() {
+        return this == SUCCEEDED || this == FAILED;
+    }
+}
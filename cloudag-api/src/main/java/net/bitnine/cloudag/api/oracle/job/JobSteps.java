@@ -0,0 +1,73 @@
+package net.bitnine.cloudag.api.oracle.job;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import net.bitnine.cloudag.api.oracle.util.CheckedFutures;
+import net.bitnine.cloudag.api.oracle.util.CheckedFutures.CheckedSupplier;
+
+/**
+ * 작업의 단계를 실행하고 결과(생성된 자원 OCID 등)를 기록
+ * 이미 완료된 단계는 다시 실행하지 않고 기록된 결과를 반환한다.
+ */
+@FunctionalInterface
+public interface JobSteps {
+
+    /**
+    * 단계 실행, 단계 작업이 반환한 Future 가 완료되면 결과를 기록
+    * 상태 대기 등 오래 걸리는 단계는 스레드를 점유하지 않도록 Future 를 반환하는 작업으로 실행한다.
+    * @param step   단계 이름 (작업 내에서 유일)
+    * @param action 단계 작업, 결과는 다음 단계 및 재시작 시 사용
+    * @return CompletableFuture 단계 결과
+    */
+    CompletableFuture<Map<String, String>> runAsync(String step,
+            CheckedSupplier<CompletableFuture<Map<String, String>>> action);
+
+    /**
+    * 단계 실행 (바로 끝나는 단계용)
+    * @param step   단계 이름 (작업 내에서 유일)
+    * @param action 단계 작업, 결과는 다음 단계 및 재시작 시 사용
+    * @return Map<String, String> 단계 결과
+    */
+    default Map<String, String> run(String step, CheckedSupplier<Map<String, String>> action) throws Exception {
+        return CheckedFutures.await(runAsync(step, () -> CompletableFuture.completedFuture(action.get())));
+    }
+
+    /**
+    * 자원 생성 요청에 사용할 OCI 재시도 토큰 (opc-retry-token)
+    * 같은 작업의 같은 이름은 재시작 후에도 같은 토큰이므로, 생성 요청이 OCI 에 접수된 후 단계 결과를 기록하기 전에
+    * 중단되어도 재시작 후 같은 요청은 자원을 새로 만들지 않고 이미 생성된 자원을 반환한다 (토큰 유효 기간 24시간).
+    * @param name 단계 이름 또는 단계 내 요청 이름 (작업 내에서 유일, 작업 ID 와 합쳐 64자 이하)
+    * @return String 재시도 토큰, 작업으로 관리되지 않는 호출이면 null (SDK 가 요청마다 생성)
+    */
+    default String retryToken(String name) {
+        return null;
+    }
+
+    /**
+    * 기록 없이 바로 실행 (작업으로 관리되지 않는 호출용)
+    */
+    static JobSteps direct() {
+        return (step, action) -> CheckedFutures.compose(action);
+    }
+
+    /**
+    * 작업 ID 로 재시도 토큰을 만드는 단계 실행
+    * @param jobId 작업 ID
+    * @param steps 단계 실행 및 기록
+    */
+    static JobSteps withRetryTokens(String jobId, JobSteps steps) {
+        return new JobSteps() {
+            @Override
+            public CompletableFuture<Map<String, String>> runAsync(String step,
+                    CheckedSupplier<CompletableFuture<Map<String, String>>> action) {
+                return steps.runAsync(step, action);
+            }
+
+            @Override
+            public String retryToken(String name) {
+                return jobId + "-" + name;
+            }
+        };
+    }
+}
@@ -0,0 +1,13 @@
+package net.bitnine.cloudag.api.oracle.job;
+
+/**
+ * 작업 유형
+ */
+public enum JobType {
+    // 인스턴스 생성 (네트워크, 인스턴스, 스토리지 일괄 생성)
+    CREATE_INSTANCE,
+    // 인스턴스와 관련된 모든 자원 삭제
+    TERMINATE_ALL,
+    // 컴파트먼트의 모든 CloudAG 자원 삭제 후 컴파트먼트 삭제
+    DECOMMISSION_COMPARTMENT
+}
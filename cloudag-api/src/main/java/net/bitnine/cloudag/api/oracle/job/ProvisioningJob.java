@@ -0,0 +1,145 @@
+package net.bitnine.cloudag.api.oracle.job;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 인스턴스 생성/삭제 작업
+ * 작업 상태는 저널 이벤트(JobEvent)를 순서대로 적용하여 만들어지므로 재시작 후에도 같은 상태로 복원된다.
+ */
+public class ProvisioningJob {
+    // 일괄 작업에 포함된 작업의 파라미터 (일괄 작업 ID, 일괄 작업 내 순서, 동시 실행 개수)
+    public static final String PARAM_BATCH_ID = "batchId";
+    public static final String PARAM_BATCH_INDEX = "batchIndex";
+    public static final String PARAM_BATCH_CONCURRENCY = "batchConcurrency";
+
+    // 클라이언트가 보낸 Idempotency-Key (같은 키로 다시 요청하면 새 작업을 만들지 않고 기존 작업을 반환)
+    public static final String PARAM_IDEMPOTENCY_KEY = "idempotencyKey";
+
+    private final String id;
+    private JobType type;
+    private Map<String, String> params = Collections.emptyMap();
+    private JobStatus status = JobStatus.PENDING;
+    private final Set<String> runningSteps = new LinkedHashSet<>();
+    private final Map<String, Map<String, String>> completedSteps = new LinkedHashMap<>();
+    private final Map<String, String> outputs = new LinkedHashMap<>();
+    private String error;
+    private long createdAt;
+    private long updatedAt;
+
+    public ProvisioningJob(String id) {
+        this.id = id;
+    }
+
+    /**
+    * 저널 이벤트를 작업 상태에 적용
+    */
+    public synchronized void apply(JobEvent event) {
+        switch (event.getKind()) {
+            case CREATED:
+                type = event.getJobType();
+                params = Collections.unmodifiableMap(new LinkedHashMap<>(event.getParams()));
+                createdAt = event.getTime();
+                break;
+            case STARTED:
+                status = JobStatus.RUNNING;
+                break;
+            case STEP_STARTED:
+                runningSteps.add(event.getStep());
+                break;
+            case STEP_COMPLETED:
+                runningSteps.remove(event.getStep());
+                Map<String, String> stepOutputs = event.getOutputs() == null ? Collections.emptyMap()
+                        : event.getOutputs();
+                completedSteps.put(event.getStep(), stepOutputs);
+                outputs.putAll(stepOutputs);
+                break;
+            case SUCCEEDED:
+                runningSteps.clear();
+                status = JobStatus.SUCCEEDED;
+                break;
+            case FAILED:
+                runningSteps.clear();
+                status = JobStatus.FAILED;
+                error = event.getError();
+                break;
+            default:
+                break;
+        }
+        updatedAt = event.getTime();
+    }
+
+    /**
+    * 현재 상태의 복사본 (이후 적용되는 이벤트가 반영되지 않음)
+    */
+    public synchronized ProvisioningJob copy() {
+        ProvisioningJob copy = new ProvisioningJob(id);
+        copy.type = type;
+        copy.params = params;
+        copy.status = status;
+        copy.runningSteps.addAll(runningSteps);
+        copy.completedSteps.putAll(completedSteps);
+        copy.outputs.putAll(outputs);
+        copy.error = error;
+        copy.createdAt = createdAt;
+        copy.updatedAt = updatedAt;
+        return copy;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public synchronized JobType getType() {
+        return type;
+    }
+
+    public synchronized Map<String, String> getParams() {
+        return params;
+    }
+
+    public String getParam(String name) {
+        return getParams().get(name);
+    }
+
+    public synchronized JobStatus getStatus() {
+        return status;
+    }
+
+    public synchronized List<String> getRunningSteps() {
+        return new ArrayList<>(runningSteps);
+    }
+
+    public synchronized List<String> getCompletedSteps() {
+        return new ArrayList<>(completedSteps.keySet());
+    }
+
+    /**
+    * 완료된 단계의 결과 반환
+    * @return Map<String, String> 단계 결과, 완료되지 않았으면 null
+    */
+    public synchronized Map<String, String> getStepOutputs(String step) {
+        return completedSteps.get(step);
+    }
+
+    public synchronized Map<String, String> getOutputs() {
+        return new LinkedHashMap<>(outputs);
+    }
+
+    public synchronized String getError() {
+        return error;
+    }
+
+    public synchronized long getCreatedAt() {
+        return createdAt;
+    }
+
+    public synchronized long getUpdatedAt() {
+        return updatedAt;
+    }
+}
@@ -0,0 +1,233 @@
+package net.bitnine.cloudag.api.oracle.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import com.oracle.bmc.identity.model.AvailabilityDomain;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import lombok.extern.slf4j.Slf4j;
+import net.bitnine.cloudag.api.oracle.job.JobRejectedException;
+import net.bitnine.cloudag.api.oracle.job.JobStatus;
+import net.bitnine.cloudag.api.oracle.job.JobType;
+import net.bitnine.cloudag.api.oracle.job.ProvisioningJob;
+
+/**
+ * 여러 CloudAG Database 인스턴스 일괄 생성
+ * 각 항목은 개별 인스턴스 생성 작업으로 저널에 기록되며, 일괄 작업별 동시 실행 개수 이내에서 순서대로 실행된다.
+ */
+@Slf4j
+@Service
+public class BatchProvisioningService {
+    private static final String[] REQUIRED_PARAMS = { "dbname", "region", "compartmentId", "ocpus", "memoryInGBs",
+            "sizeInGBs" };
+    private static final String DEFAULT_VPUS_PER_GB = "10";
+
+    // 일괄 작업별 동시 실행 개수 (요청에 concurrency 가 없는 경우) 및 최대값
+    @Value("${cloudag.batch.default-concurrency:4}")
+    private int defaultConcurrency;
+
+    @Value("${cloudag.batch.max-concurrency:16}")
+    private int maxConcurrency;
+
+    // 한 번에 요청할 수 있는 최대 항목 수
+    @Value("${cloudag.batch.max-items:100}")
+    private int maxItems;
+
+    @Autowired
+    private JobService jobService;
+
+    @Autowired
+    private MetadataCacheService metadataCacheService;
+
+    /**
+    * 인스턴스 일괄 생성 작업 시작
+    * 항목별 region, compartmentId 가 없으면 요청의 기본값을 사용하며,
+    * 항목에서 사용하는 리전/컴파트먼트의 AD, Shape, 이미지는 작업 시작 전에 한 번만 조회한다.
+    * @param region        기본 OCI Region Identifier
+    * @param compartmentId 기본 컴파트먼트 OCID
+    * @param concurrency   동시 실행 개수 (null 이면 기본값)
+    * @param items         생성할 인스턴스 목록 (dbname, ocpus, memoryInGBs, vpusPerGB, sizeInGBs)
+    * @param idempotencyKey 클라이언트가 보낸 Idempotency-Key (같은 키로 다시 요청하면 같은 batchId 와 기존 작업 반환)
+    * @return Map<String, Object> batchId 와 항목별 작업 ID 또는 거부 사유
+    */
+    public Map<String, Object> submitCreateBatch(String region, String compartmentId, Integer concurrency,
+            List<Map<String, Object>> items, String idempotencyKey) throws Exception {
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("instances is empty.");
+        }
+        if (items.size() > maxItems) {
+            throw new IllegalArgumentException("Too many instances in one batch (max " + maxItems + ").");
+        }
+
+        boolean idempotent = idempotencyKey != null && !idempotencyKey.isBlank();
+        String batchId = idempotent
+                ? UUID.nameUUIDFromBytes(("batch/" + idempotencyKey).getBytes(StandardCharsets.UTF_8)).toString()
+                : UUID.randomUUID().toString();
+        int batchConcurrency = Math.max(1,
+                Math.min(maxConcurrency, concurrency == null ? defaultConcurrency : concurrency));
+
+        // 항목별 파라미터 검증
+        List<Map<String, Object>> results = new ArrayList<>();
+        List<Map<String, String>> accepted = new ArrayList<>();
+        Set<String> dbnames = new HashSet<>();
+        for (int index = 0; index < items.size(); index++) {
+            Map<String, Object> item = items.get(index);
+            Map<String, String> params = new HashMap<String, String>();
+            params.put("dbname", (String) item.get("dbname"));
+            params.put("region", item.get("region") == null ? region : (String) item.get("region"));
+            params.put("compartmentId",
+                    item.get("compartmentId") == null ? compartmentId : (String) item.get("compartmentId"));
+            params.put("ocpus", (String) item.get("ocpus"));
+            params.put("memoryInGBs", (String) item.get("memoryInGBs"));
+            params.put("vpusPerGB", item.get("vpusPerGB") == null ? DEFAULT_VPUS_PER_GB : (String) item.get("vpusPerGB"));
+            params.put("sizeInGBs", (String) item.get("sizeInGBs"));
+            params.put(ProvisioningJob.PARAM_BATCH_ID, batchId);
+            params.put(ProvisioningJob.PARAM_BATCH_INDEX, String.valueOf(index));
+            params.put(ProvisioningJob.PARAM_BATCH_CONCURRENCY, String.valueOf(batchConcurrency));
+
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("index", index);
+            result.put("dbname", params.get("dbname"));
+            results.add(result);
+
+            String error = validate(params, dbnames);
+            if (error != null) {
+                result.put("status", "REJECTED");
+                result.put("error", error);
+            } else {
+                dbnames.add(params.get("dbname"));
+                accepted.add(params);
+            }
+        }
+
+        // 리전/컴파트먼트별 메타데이터를 한 번만 조회 (이후 각 작업은 캐시된 값을 사용)
+        Map<String, String> prefetchErrors = new HashMap<>();
+        for (Map<String, String> params : accepted) {
+            String target = params.get("region") + "|" + params.get("compartmentId");
+            if (!prefetchErrors.containsKey(target)) {
+                prefetchErrors.put(target, prefetchMetadata(params.get("region"), params.get("compartmentId")));
+            }
+        }
+
+        // 작업 생성
+        for (Map<String, String> params : accepted) {
+            Map<String, Object> result = results.get(Integer.parseInt(params.get(ProvisioningJob.PARAM_BATCH_INDEX)));
+            String prefetchError = prefetchErrors.get(params.get("region") + "|" + params.get("compartmentId"));
+            if (prefetchError != null) {
+                result.put("status", "REJECTED");
+                result.put("error", prefetchError);
+                continue;
+            }
+            try {
+                // 항목별 Idempotency-Key 는 요청의 키 + 항목 순서
+                String itemIdempotencyKey = idempotent
+                        ? idempotencyKey + "#" + params.get(ProvisioningJob.PARAM_BATCH_INDEX)
+                        : null;
+                ProvisioningJob job = jobService.submit(JobType.CREATE_INSTANCE, params, itemIdempotencyKey);
+                result.put("jobId", job.getId());
+                result.put("status", job.getStatus());
+                if (!batchId.equals(job.getParam(ProvisioningJob.PARAM_BATCH_ID))) {
+                    // 같은 dbname 의 생성 작업이 이미 진행 중이어서 해당 작업을 함께 사용하는 항목
+                    result.put("attached", true);
+                }
+            } catch (IllegalArgumentException e) {
+                result.put("status", "REJECTED");
+                result.put("error", e.getMessage());
+            } catch (JobRejectedException e) {
+                // 대기열이 가득 찬 항목은 거부하고 나머지 항목은 계속 접수
+                result.put("status", "REJECTED");
+                result.put("error", e.getMessage());
+                result.put("retryAfterSeconds", e.getRetryAfterSeconds());
+            }
+        }
+
+        long submitted = results.stream().filter(result -> result.containsKey("jobId")).count();
+        log.info("일괄 생성 작업[" + batchId + "] 시작: " + submitted + "/" + items.size() + "개, 동시 실행 "
+                + batchConcurrency + "개");
+
+        Map<String, Object> resultMap = new LinkedHashMap<>();
+        resultMap.put("batchId", batchId);
+        resultMap.put("concurrency", batchConcurrency);
+        resultMap.put("items", results);
+        return resultMap;
+    }
+
+    /**
+    * 일괄 작업의 항목별 진행 상태 반환
+    * @param batchId 일괄 작업 ID
+    * @return Map<String, Object> 상태별 개수와 항목별 상태 (null 이면 해당 일괄 작업 없음)
+    */
+    public Map<String, Object> getBatch(String batchId) {
+        List<ProvisioningJob> jobs = jobService.getBatchJobs(batchId);
+        if (jobs.isEmpty()) {
+            return null;
+        }
+
+        Map<JobStatus, Integer> summary = new LinkedHashMap<>();
+        for (JobStatus status : JobStatus.values()) {
+            summary.put(status, 0);
+        }
+        List<Map<String, Object>> items = new ArrayList<>();
+        for (ProvisioningJob job : jobs) {
+            JobStatus status = job.getStatus();
+            summary.merge(status, 1, Integer::sum);
+
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("index", Integer.parseInt(job.getParam(ProvisioningJob.PARAM_BATCH_INDEX)));
+            item.put("dbname", job.getParam("dbname"));
+            item.put("jobId", job.getId());
+            item.put("status", status);
+            item.put("runningSteps", job.getRunningSteps());
+            item.put("outputs", job.getOutputs());
+            item.put("error", job.getError());
+            items.add(item);
+        }
+
+        Map<String, Object> resultMap = new LinkedHashMap<>();
+        resultMap.put("batchId", batchId);
+        resultMap.put("summary", summary);
+        resultMap.put("items", items);
+        return resultMap;
+    }
+
+    private String validate(Map<String, String> params, Set<String> dbnames) {
+        for (String name : REQUIRED_PARAMS) {
+            String value = params.get(name);
+            if (value == null || value.isBlank()) {
+                return name + " is required.";
+            }
+        }
+        if (dbnames.contains(params.get("dbname"))) {
+            return "Duplicate dbname in batch.";
+        }
+        return null;
+    }
+
+    /**
+    * AD, Shape, 이미지를 미리 조회하여 메타데이터 캐시에 저장
+    * @return String 실패 사유 (성공 시 null)
+    */
+    private String prefetchMetadata(String region, String compartmentId) {
+        try {
+            List<AvailabilityDomain> availabilityDomains = metadataCacheService.getAvailabilityDomains(region,
+                    compartmentId);
+            metadataCacheService.getShapes(region, compartmentId, availabilityDomains.get(0).getName());
+            metadataCacheService.getImage(region, MetadataCacheService.CLOUDAG_IMAGE_ID);
+            return null;
+        } catch (Exception e) {
+            log.warn("[" + region + "] " + compartmentId + " 메타데이터 조회 실패: " + e.getMessage());
+            return "Metadata lookup failed: " + e.getMessage();
+        }
+    }
+}
@@ -1,8 +1,8 @@
 package net.bitnine.cloudag.api.oracle.service;
 
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
 
-import com.oracle.bmc.Region;
 import com.oracle.bmc.core.BlockstorageClient;
 import com.oracle.bmc.core.ComputeClient;
 import com.oracle.bmc.core.model.AttachParavirtualizedVolumeDetails;
@@ -15,7 +15,6 @@ import com.oracle.bmc.core.requests.DeleteVolumeRequest;
 import com.oracle.bmc.core.requests.GetVolumeRequest;
 import com.oracle.bmc.core.responses.AttachVolumeResponse;
 import com.oracle.bmc.core.responses.CreateVolumeResponse;
-import com.oracle.bmc.core.responses.GetVolumeResponse;
 import com.oracle.bmc.identity.model.AvailabilityDomain;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -23,6 +22,9 @@ import org.springframework.stereotype.Service;
 
 import lombok.extern.slf4j.Slf4j;
 import net.bitnine.cloudag.api.oracle.util.AuthentificationProvider;
+import net.bitnine.cloudag.api.oracle.util.CloudagTags;
+import net.bitnine.cloudag.api.oracle.util.OciClientRegistry;
+import net.bitnine.cloudag.api.oracle.util.ResourceWaiter;
 
 @Slf4j
 @Service
@@ -30,37 +32,41 @@ public class BlockStorageService {
     @Autowired
     AuthentificationProvider authentificationProvider;
 
+    @Autowired
+    OciClientRegistry ociClientRegistry;
+
     @Autowired
     IdentityService identityService;
 
+    @Autowired
+    ResourceWaiter resourceWaiter;
+
+    @Autowired
+    InventoryService inventoryService;
+
     /**
     * Block Volume Storage 관련 작업 수행을 위한 클라이언트
     * @param region OCI Region Identifier (https://docs.oracle.com/en-us/iaas/Content/General/Concepts/regions.htm) 
-    * @return BlockstorageClient Block Volume Storage 클라이언트 객체
+    * @return BlockstorageClient Block Volume Storage 클라이언트 객체 (리전별 공유 객체, close 하지 않음)
     */
     public BlockstorageClient getBlockstorageClient(String region) throws IOException {
-        BlockstorageClient blockstorageClient = BlockstorageClient.builder()
-                .build(authentificationProvider.getAuthenticationDetailsProvider());
-        
-        // Client 사용을 위한 리전 설정
-        blockstorageClient.setRegion(Region.valueOf(region));
-
-        return blockstorageClient;
+        return ociClientRegistry.getBlockstorageClient(region);
     }
 
     /**
-    * Block Volume Storage 를 신규로 생성
+    * Block Volume Storage 를 신규로 생성 요청 (Available 상태 대기는 waitForVolume 으로 수행)
     * @param dbname CloudAG DB명
     * @param region OCI Region Identifier (https://docs.oracle.com/en-us/iaas/Content/General/Concepts/regions.htm)
     * @param compartmentId 블록 스토리지를 생성할 컴파트먼트
     * @param vpusPerGB 블록스토리지 성능값 (기본 10)
     * @param sizeInGBs 블록스토리지 용량
-    * @return String 생성된 블록스토리지의 OCID 값
+    * @param retryToken 생성 요청의 OCI 재시도 토큰 (없으면 null)
+    * @return String 생성 요청된 블록스토리지의 OCID 값
     */
     public String createBlockVolume(String dbname, String region, String compartmentId, String vpusPerGB,
-            String sizeInGBs) throws Exception {
+            String sizeInGBs, String retryToken) throws Exception {
         BlockstorageClient blockstorageClient = null;
-        GetVolumeResponse getVolumeResponse = null;
+        CreateVolumeResponse createVolumeResponse = null;
 
         // OCI에 생성되는 블록 스토리지 이름
         String blockVolumeName = dbname + "-block-volume";
@@ -77,31 +83,44 @@ public class BlockStorageService {
             CreateVolumeDetails createVolumeDetails = CreateVolumeDetails.builder()
                     .availabilityDomain(availabilityDomain.getName()).compartmentId(compartmentId)
                     .displayName(blockVolumeName).vpusPerGB(Long.parseLong(vpusPerGB))
-                    .sizeInGBs(Long.parseLong(sizeInGBs)).isAutoTuneEnabled(false).build();
+                    .sizeInGBs(Long.parseLong(sizeInGBs)).isAutoTuneEnabled(false)
+                    .definedTags(CloudagTags.definedTags()).build();
 
             // 볼륨 생성 요청
             CreateVolumeRequest createVolumeRequest = CreateVolumeRequest.builder()
-                    .createVolumeDetails(createVolumeDetails).build();
+                    .createVolumeDetails(createVolumeDetails).opcRetryToken(retryToken).build();
 
             // 생성된 볼륨에 대한 정보 반환
-            CreateVolumeResponse createVolumeResponse = blockstorageClient.createVolume(createVolumeRequest);
+            createVolumeResponse = blockstorageClient.createVolume(createVolumeRequest);
             log.info("Block volume Id:" + createVolumeResponse.getVolume().getId());
-
-            // 생성된 볼륨 조회
-            GetVolumeRequest getVolumeRequest = GetVolumeRequest.builder()
-                    .volumeId(createVolumeResponse.getVolume().getId()).build();
-            // 볼륨 프로비저닝 시 특정 상태가 되는 것을 모니터링 (Available 상태 될 때까지 대기 후 결과 반환)
-            getVolumeResponse = blockstorageClient.getWaiters()
-                    .forVolume(getVolumeRequest, Volume.LifecycleState.Available).execute();
+            inventoryService.record(region, compartmentId, InventoryService.TYPE_VOLUME,
+                    createVolumeResponse.getVolume().getId(), blockVolumeName,
+                    createVolumeResponse.getVolume().getLifecycleState().getValue());
 
         } catch (Exception e) {
             e.printStackTrace();
             throw e;
-        } finally {
-            blockstorageClient.close();
         }
 
-        return getVolumeResponse.getVolume().getId();
+        return createVolumeResponse.getVolume().getId();
+    }
+
+    /**
+    * Block Volume Storage 가 특정 상태가 될 때까지 대기 (스레드를 점유하지 않음)
+    * @param region OCI Region Identifier (https://docs.oracle.com/en-us/iaas/Content/General/Concepts/regions.htm)
+    * @param volumeId 블록 볼륨 아이디
+    * @param lifecycleState 대기할 상태
+    * @return CompletableFuture<Volume> 해당 상태가 된 블록 볼륨
+    */
+    public CompletableFuture<Volume> waitForVolume(String region, String volumeId,
+            Volume.LifecycleState lifecycleState) {
+        GetVolumeRequest getVolumeRequest = GetVolumeRequest.builder().volumeId(volumeId).build();
+        return resourceWaiter.waitFor("볼륨[" + volumeId + "]",
+                () -> getBlockstorageClient(region).getVolume(getVolumeRequest).getVolume(),
+                Volume::getLifecycleState, lifecycleState).thenApply(volume -> {
+                    inventoryService.updateState(volumeId, volume.getLifecycleState().getValue());
+                    return volume;
+                });
     }
 
     /**
@@ -110,10 +129,11 @@ public class BlockStorageService {
     * @param dbname CloudAG DB명
     * @param instanceId 블록 볼륨 스토리지를 붙이기 위한 인스턴스 아이디
     * @param volumeId 인스턴스에 추가하기 위한 블록 볼륨 아이디
+    * @param retryToken 어태치 요청의 OCI 재시도 토큰 (없으면 null)
     * @return String 생성된 블록 어태치 OCID 값
     */
-    public String attachBlockVolume(ComputeClient computeClient, String dbname, String instanceId, String volumeId)
-            throws Exception {
+    public String attachBlockVolume(ComputeClient computeClient, String dbname, String instanceId, String volumeId,
+            String retryToken) throws Exception {
 
         // OCI에 생성되는 블록 볼륨 어태치 이름
         String attachmentVolumeName = dbname + "-attachment-block-volume";
@@ -125,45 +145,39 @@ public class BlockStorageService {
 
         // 어태치 작업을 위한 요청 생성
         AttachVolumeRequest attachVolumeRequest = AttachVolumeRequest.builder().attachVolumeDetails(attachVolumeDetails)
-                .build();
+                .opcRetryToken(retryToken).build();
 
         // 생성된 작업 수행
         AttachVolumeResponse attachVolumeResponse = computeClient.attachVolume(attachVolumeRequest);
+        inventoryService.updateAttachmentState(volumeId,
+                attachVolumeResponse.getVolumeAttachment().getLifecycleState().getValue());
 
         return attachVolumeResponse.getVolumeAttachment().getId();
     }
 
     /**
-    * Block Volume Storage 삭제
+    * Block Volume Storage 삭제 (삭제 요청 후 Terminated 상태가 되면 완료, 이미 삭제된 경우 완료)
     * @param region OCI Region Identifier (https://docs.oracle.com/en-us/iaas/Content/General/Concepts/regions.htm)
-    * @param instanceId 블록 볼륨 스토리지를 붙이기 위한 인스턴스 아이디
     * @param volumeId 삭제하기 위한 블록 볼륨 아이디
-    * @return String 삭제된 블록 볼륨 OCID 값
+    * @return CompletableFuture<String> 삭제된 블록 볼륨 OCID 값
     */
-    public String terminateBlockVolume(String region, String volumeId) throws Exception {
-        BlockstorageClient blockstorageClient = null;
-        try {
-            // 블록스토리지 관련 작업을 위한 클라이언트
-            blockstorageClient = getBlockstorageClient(region);
-
-            // 블록 볼륨 삭제 요청 생성
-            DeleteVolumeRequest deleteVolumeRequest = DeleteVolumeRequest.builder()
-                    .volumeId(volumeId)
-                    .build();
+    public CompletableFuture<String> terminateBlockVolume(String region, String volumeId) throws Exception {
+        // 블록스토리지 관련 작업을 위한 클라이언트
+        BlockstorageClient blockstorageClient = getBlockstorageClient(region);
 
-            // 블록 볼륨 삭제 작업
-            blockstorageClient.deleteVolume(deleteVolumeRequest);
-
-            // 블록 볼륨 삭제 진행 상황 모니터링 (Terminated 상태가 되면 응답)
-            GetVolumeRequest getVolumeRequest = GetVolumeRequest.builder().volumeId(volumeId).build();
-            blockstorageClient.getWaiters().forVolume(getVolumeRequest, Volume.LifecycleState.Terminated).execute();
+        // 블록 볼륨 삭제 요청 생성
+        DeleteVolumeRequest deleteVolumeRequest = DeleteVolumeRequest.builder()
+                .volumeId(volumeId)
+                .build();
 
-        } catch (Exception e) {
-            e.printStackTrace();
-            throw e;
-        } finally {
-            blockstorageClient.close();
-        }
-        return volumeId;
+        // 블록 볼륨 삭제 후 진행 상황 모니터링 (Terminated 상태가 되면 완료)
+        GetVolumeRequest getVolumeRequest = GetVolumeRequest.builder().volumeId(volumeId).build();
+        return resourceWaiter.deleteAndWait("볼륨[" + volumeId + "]",
+                () -> blockstorageClient.deleteVolume(deleteVolumeRequest),
+                () -> blockstorageClient.getVolume(getVolumeRequest).getVolume(),
+                Volume::getLifecycleState, Volume.LifecycleState.Terminated).thenApply(volume -> {
+                    inventoryService.remove(volumeId);
+                    return volumeId;
+                });
     }
 }
@@ -0,0 +1,229 @@
+package net.bitnine.cloudag.api.oracle.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+
+import com.oracle.bmc.core.ComputeClient;
+import com.oracle.bmc.core.VirtualNetworkClient;
+import com.oracle.bmc.core.model.VnicAttachment;
+import com.oracle.bmc.core.model.VolumeAttachment;
+import com.oracle.bmc.core.requests.GetSubnetRequest;
+import com.oracle.bmc.core.requests.ListVnicAttachmentsRequest;
+import com.oracle.bmc.core.requests.ListVolumeAttachmentsRequest;
+import com.oracle.bmc.resourcesearch.ResourceSearchClient;
+import com.oracle.bmc.resourcesearch.model.ResourceSummary;
+import com.oracle.bmc.resourcesearch.model.StructuredSearchDetails;
+import com.oracle.bmc.resourcesearch.requests.SearchResourcesRequest;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import lombok.extern.slf4j.Slf4j;
+import net.bitnine.cloudag.api.oracle.job.JobSteps;
+import net.bitnine.cloudag.api.oracle.job.ProvisioningJob;
+import net.bitnine.cloudag.api.oracle.util.AuthentificationProvider;
+import net.bitnine.cloudag.api.oracle.util.CheckedFutures;
+import net.bitnine.cloudag.api.oracle.util.CloudagTags;
+import net.bitnine.cloudag.api.oracle.util.OciClientRegistry;
+import net.bitnine.cloudag.api.oracle.util.SearchQueries;
+
+/**
+ * 컴파트먼트의 모든 CloudAG 자원 일괄 삭제 (테넌트 해지)
+ * Resource Search 로 CloudAG Defined Tag 가 있는 인스턴스, 볼륨, VCN 을 찾고,
+ * 의존 관계 순서대로 (인스턴스 -> 볼륨, 네트워크 -> 컴파트먼트) 단계별로 동시에 삭제한다.
+ */
+@Slf4j
+@Service
+public class CompartmentDecommissionService {
+    private static final String STEP_DISCOVER = "discover";
+    private static final String STEP_TERMINATE_INSTANCES = "terminateInstances";
+    private static final String STEP_TERMINATE_VOLUMES = "terminateVolumes";
+    private static final String STEP_TERMINATE_NETWORKS = "terminateNetworks";
+    private static final String STEP_DELETE_COMPARTMENT = "deleteCompartment";
+
+    @Autowired
+    AuthentificationProvider authentificationProvider;
+
+    @Autowired
+    OciClientRegistry ociClientRegistry;
+
+    @Autowired
+    private InstanceService instanceService;
+
+    @Autowired
+    private BlockStorageService blockStorageService;
+
+    @Autowired
+    private NetworkService networkService;
+
+    @Autowired
+    private SharedNetworkService sharedNetworkService;
+
+    @Autowired
+    private IdentityService identityService;
+
+    @Autowired
+    @Qualifier("provisioningStepExecutor")
+    private Executor provisioningStepExecutor;
+
+    /**
+    * 컴파트먼트 일괄 삭제 작업 실행
+    *
+    *   자원 조회 ──> 인스턴스 ──┬──> 블록 볼륨 ──────────────┬──> 컴파트먼트
+    *                            └──> 서브넷, NSG, IGW ──> VCN ┘
+    *
+    * 작업 파라미터
+    *   region            OCI Region Identifier
+    *   compartmentId     삭제할 컴파트먼트 OCID
+    *   deleteCompartment 자원 삭제 후 컴파트먼트도 삭제할지 여부 (기본 true)
+    *
+    * @param job   컴파트먼트 삭제 작업
+    * @param steps 단계 실행 및 기록
+    * @return CompletableFuture<Void> 모든 자원이 삭제되면 완료
+    */
+    public CompletableFuture<Void> runDecommissionJob(ProvisioningJob job, JobSteps steps) throws Exception {
+        String region = job.getParam("region");
+        String compartmentId = job.getParam("compartmentId");
+        boolean deleteCompartment = !"false".equalsIgnoreCase(job.getParam("deleteCompartment"));
+
+        // 삭제할 자원 조회 (재시작 시에는 기록된 조회 결과를 사용)
+        CompletableFuture<Map<String, String>> discovered = steps.runAsync(STEP_DISCOVER,
+                () -> CheckedFutures.supplyAsync(() -> discover(region, compartmentId), provisioningStepExecutor));
+
+        // 1단계: 인스턴스 (볼륨 어태치, VNIC 이 모두 해제됨)
+        CompletableFuture<Map<String, String>> instancesTerminated = discovered.thenCompose(
+                resources -> steps.runAsync(STEP_TERMINATE_INSTANCES, () -> deleteAll(resources.get("instanceIds"),
+                        instanceId -> instanceService.terminateInstance(region, instanceId))));
+
+        // 2단계: 블록 볼륨, 네트워크 동시 삭제
+        CompletableFuture<Map<String, String>> volumesTerminated = instancesTerminated.thenCompose(
+                ignored -> steps.runAsync(STEP_TERMINATE_VOLUMES, () -> deleteAll(discovered.join().get("volumeIds"),
+                        volumeId -> blockStorageService.terminateBlockVolume(region, volumeId))));
+        CompletableFuture<Map<String, String>> networksTerminated = instancesTerminated.thenCompose(
+                ignored -> steps.runAsync(STEP_TERMINATE_NETWORKS, () -> deleteAll(discovered.join().get("vcnIds"),
+                        vcnId -> networkService.terminateAllVirtualNetwork(region, compartmentId, vcnId))))
+                // 공유 VCN 이 삭제되었으므로 보관된 공유 VCN 정보 제거 (일부만 삭제되고 실패한 경우 포함)
+                .whenComplete((result, error) -> sharedNetworkService.evictSharedVcn(region, compartmentId));
+
+        CompletableFuture<Void> resourcesTerminated = CompletableFuture.allOf(volumesTerminated, networksTerminated);
+        if (!deleteCompartment) {
+            return resourcesTerminated;
+        }
+
+        // 3단계: 컴파트먼트
+        return resourcesTerminated.thenCompose(ignored -> steps.runAsync(STEP_DELETE_COMPARTMENT,
+                () -> identityService.deleteCompartment(region, compartmentId)
+                        .thenApply(deletedCompartmentId -> Collections.<String, String>emptyMap())))
+                .thenApply(result -> null);
+    }
+
+    /**
+    * 컴파트먼트의 CloudAG 자원 조회
+    * Defined Tag 가 추가되기 전에 생성된 볼륨, VCN 은 태그가 있는 인스턴스에 어태치된 볼륨과 VNIC 의 VCN 으로 찾는다.
+    * @return Map<String, String> instanceIds, volumeIds, vcnIds (콤마로 구분된 OCID 목록)
+    */
+    private Map<String, String> discover(String region, String compartmentId) throws Exception {
+        Set<String> instanceIds = new LinkedHashSet<>();
+        Set<String> volumeIds = new LinkedHashSet<>();
+        Set<String> vcnIds = new LinkedHashSet<>();
+
+        try {
+            ResourceSearchClient resourceSearchClient = ociClientRegistry.getResourceSearchClient(region);
+            SearchResourcesRequest searchResourcesRequest = SearchResourcesRequest.builder()
+                    .searchDetails(StructuredSearchDetails.builder()
+                            .query("query Instance, Volume, Vcn resources where "
+                                    + SearchQueries.condition("compartmentId", "=", compartmentId) + " && "
+                                    + CloudagTags.searchCondition()
+                                    + " && lifecycleState != 'Terminated' && lifecycleState != 'Terminating'")
+                            .build())
+                    .tenantId(authentificationProvider.getAuthenticationDetailsProvider().getTenantId()).build();
+
+            for (ResourceSummary resource : resourceSearchClient.getPaginators()
+                    .searchResourcesRecordIterator(searchResourcesRequest)) {
+                switch (resource.getResourceType()) {
+                    case "Instance":
+                        instanceIds.add(resource.getIdentifier());
+                        break;
+                    case "Volume":
+                        volumeIds.add(resource.getIdentifier());
+                        break;
+                    case "Vcn":
+                        vcnIds.add(resource.getIdentifier());
+                        break;
+                    default:
+                        break;
+                }
+            }
+
+            ComputeClient computeClient = ociClientRegistry.getComputeClient(region);
+            VirtualNetworkClient virtualNetworkClient = ociClientRegistry.getVirtualNetworkClient(region);
+            Set<String> subnetIds = new LinkedHashSet<>();
+            for (String instanceId : instanceIds) {
+                for (VolumeAttachment volumeAttachment : computeClient.getPaginators()
+                        .listVolumeAttachmentsRecordIterator(ListVolumeAttachmentsRequest.builder()
+                                .compartmentId(compartmentId).instanceId(instanceId).build())) {
+                    if (volumeAttachment.getLifecycleState() != VolumeAttachment.LifecycleState.Detached) {
+                        volumeIds.add(volumeAttachment.getVolumeId());
+                    }
+                }
+                for (VnicAttachment vnicAttachment : computeClient.getPaginators()
+                        .listVnicAttachmentsRecordIterator(ListVnicAttachmentsRequest.builder()
+                                .compartmentId(compartmentId).instanceId(instanceId).build())) {
+                    if (vnicAttachment.getSubnetId() != null) {
+                        subnetIds.add(vnicAttachment.getSubnetId());
+                    }
+                }
+            }
+            for (String subnetId : subnetIds) {
+                vcnIds.add(virtualNetworkClient.getSubnet(GetSubnetRequest.builder().subnetId(subnetId).build())
+                        .getSubnet().getVcnId());
+            }
+        } catch (Exception e) {
+            e.printStackTrace();
+            throw e;
+        }
+
+        log.info("컴파트먼트[" + compartmentId + "] 삭제 대상: 인스턴스 " + instanceIds.size() + "개, 볼륨 "
+                + volumeIds.size() + "개, VCN " + vcnIds.size() + "개");
+
+        Map<String, String> resources = new HashMap<>();
+        resources.put("instanceIds", String.join(",", instanceIds));
+        resources.put("volumeIds", String.join(",", volumeIds));
+        resources.put("vcnIds", String.join(",", vcnIds));
+        return resources;
+    }
+
+    /**
+    * 콤마로 구분된 자원을 동시에 삭제하고 모두 삭제되면 완료
+    */
+    private CompletableFuture<Map<String, String>> deleteAll(String ids, Deletion deletion) {
+        List<String> targets = ids == null || ids.isBlank() ? Collections.emptyList()
+                : Arrays.stream(ids.split(",")).collect(Collectors.toList());
+
+        List<CompletableFuture<?>> deletions = new ArrayList<>();
+        for (String id : targets) {
+            try {
+                deletions.add(deletion.delete(id));
+            } catch (Exception e) {
+                deletions.add(CompletableFuture.failedFuture(e));
+            }
+        }
+        return CompletableFuture.allOf(deletions.toArray(new CompletableFuture[0]))
+                .thenApply(ignored -> Collections.singletonMap("deleted", String.valueOf(targets.size())));
+    }
+
+    @FunctionalInterface
+    private interface Deletion {
+        CompletableFuture<?> delete(String id) throws Exception;
+    }
+}
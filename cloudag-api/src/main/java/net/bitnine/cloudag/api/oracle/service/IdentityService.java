@@ -3,8 +3,10 @@ package net.bitnine.cloudag.api.oracle.service;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
-import com.oracle.bmc.Region;
 import com.oracle.bmc.identity.IdentityClient;
 import com.oracle.bmc.identity.model.AvailabilityDomain;
 import com.oracle.bmc.identity.model.Compartment;
@@ -16,22 +18,23 @@ import com.oracle.bmc.identity.requests.CreatePolicyRequest;
 import com.oracle.bmc.identity.requests.DeleteCompartmentRequest;
 import com.oracle.bmc.identity.requests.GetCompartmentRequest;
 import com.oracle.bmc.identity.requests.GetPolicyRequest;
-import com.oracle.bmc.identity.requests.ListAvailabilityDomainsRequest;
 import com.oracle.bmc.identity.requests.ListCompartmentsRequest;
 import com.oracle.bmc.identity.requests.UpdatePolicyRequest;
 import com.oracle.bmc.identity.responses.CreateCompartmentResponse;
 import com.oracle.bmc.identity.responses.CreatePolicyResponse;
 import com.oracle.bmc.identity.responses.GetPolicyResponse;
-import com.oracle.bmc.identity.responses.ListAvailabilityDomainsResponse;
 import com.oracle.bmc.identity.responses.ListCompartmentsResponse;
 import com.oracle.bmc.identity.responses.UpdatePolicyResponse;
+import com.oracle.bmc.model.BmcException;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
 import lombok.extern.slf4j.Slf4j;
 import net.bitnine.cloudag.api.oracle.util.AuthentificationProvider;
+import net.bitnine.cloudag.api.oracle.util.CheckedFutures;
+import net.bitnine.cloudag.api.oracle.util.OciClientRegistry;
+import net.bitnine.cloudag.api.oracle.util.ResourceWaiter;
 
 @Slf4j
 @Service
@@ -42,19 +45,25 @@ public class IdentityService {
     @Autowired
     AuthentificationProvider authentificationProvider;
 
+    @Autowired
+    OciClientRegistry ociClientRegistry;
+
+    @Autowired
+    MetadataCacheService metadataCacheService;
+
+    @Autowired
+    ResourceWaiter resourceWaiter;
+
+    // 컴파트먼트 이름 -> 진행중인 생성 요청 (같은 이름의 동시 요청은 먼저 시작된 요청의 결과를 함께 사용)
+    private final Map<String, CompletableFuture<String>> compartmentCreations = new ConcurrentHashMap<>();
+
     /**
     * 인증 (Identity) 관련 작업 수행을 위한 클라이언트
     * @param region OCI Region Identifier (https://docs.oracle.com/en-us/iaas/Content/General/Concepts/regions.htm) 
-    * @return IdentityClient Identity 클라이언트 객체
+    * @return IdentityClient Identity 클라이언트 객체 (리전별 공유 객체, close 하지 않음)
     */
     public IdentityClient getIdentityClient(String region) throws IOException {
-        IdentityClient identityClient = IdentityClient.builder()
-                .build(authentificationProvider.getAuthenticationDetailsProvider());
-        
-        // Client 사용을 위한 리전 설정
-        identityClient.setRegion(Region.valueOf(region));
-
-        return identityClient;
+        return ociClientRegistry.getIdentityClient(region);
     }
 
     /**
@@ -63,23 +72,17 @@ public class IdentityService {
     * @param compartmentId 컴파트먼트 아이디
     * @return AvailabilityDomain AvailabilityDomain 객체
     */
-    public AvailabilityDomain getAvailabilityDomains(String region, String compartmentId) throws IOException {
+    public AvailabilityDomain getAvailabilityDomains(String region, String compartmentId) throws Exception {
 
-        IdentityClient identityClient = null;
         AvailabilityDomain availabilityDomain = null;
         try {
-            identityClient = getIdentityClient(region);
-
-            // Availability Domain 조회 응답
-            ListAvailabilityDomainsResponse listAvailabilityDomainsResponse = identityClient.listAvailabilityDomains(
-                    ListAvailabilityDomainsRequest.builder().compartmentId(compartmentId).build());
-
-            // Availiability Domain 정보 획득
-            List<AvailabilityDomain> availabilityDomains = listAvailabilityDomainsResponse.getItems();
+            // Availiability Domain 정보 획득 (메타데이터 캐시 사용)
+            List<AvailabilityDomain> availabilityDomains = metadataCacheService.getAvailabilityDomains(region,
+                    compartmentId);
             availabilityDomain = availabilityDomains.get(0);
 
-            log.info("Found Availability Domain: " + availabilityDomain.getName());
-        } catch (IOException e) {
+            log.debug("Found Availability Domain: " + availabilityDomain.getName());
+        } catch (Exception e) {
             e.printStackTrace();
             throw e;
         }
@@ -87,37 +90,47 @@ public class IdentityService {
     }
 
     /**
-    * 컴파트먼트 생성
+    * 컴파트먼트 생성 (같은 이름의 컴파트먼트를 생성 중이면 진행중인 요청의 결과를 반환)
     * @param region OCI Region Identifier (https://docs.oracle.com/en-us/iaas/Content/General/Concepts/regions.htm) 
     * @param parentCompartmentId 생성할 컴파트먼트의 부모 컴파트먼트 아이디 
     * @param compartment_name 컴파트먼트 이름
     * @return String 생성된 컴파트먼트의 OCID
     */
     public String createCompartment(String region, String parentCompartmentId, String compartment_name) throws Exception {
+        CompletableFuture<String> creation = new CompletableFuture<>();
+        CompletableFuture<String> inFlight = compartmentCreations.putIfAbsent(compartment_name, creation);
+        if (inFlight != null) {
+            log.info(compartment_name + " 컴파트먼트는 생성 중이므로 진행중인 요청의 결과를 사용합니다.");
+            return CheckedFutures.await(inFlight);
+        }
+
+        try {
+            String compartmentId = findOrCreateCompartment(region, parentCompartmentId, compartment_name);
+            creation.complete(compartmentId);
+            return compartmentId;
+        } catch (Exception e) {
+            creation.completeExceptionally(e);
+            throw e;
+        } finally {
+            compartmentCreations.remove(compartment_name, creation);
+        }
+    }
+
+    /**
+    * 같은 이름의 컴파트먼트가 있으면 기존 컴파트먼트를, 없으면 새로 생성한 컴파트먼트의 OCID 반환
+    */
+    private String findOrCreateCompartment(String region, String parentCompartmentId, String compartment_name) throws Exception {
         String compartmentId = "";
         IdentityClient identityClient = null;
         try {
             log.info(compartment_name + " 컴파트먼트 생성 시작");
 
             // IdentityClient 
-            identityClient = new IdentityClient(authentificationProvider.getAuthenticationDetailsProvider());
-            identityClient.setRegion(region);   // 클라이언트 사용을 위한 리전 설정
-
-            // 컴파트먼트 목록 조회 요청
-            ListCompartmentsRequest listCompartmentsRequest = ListCompartmentsRequest.builder()
-                    .compartmentId(authentificationProvider.getAuthenticationDetailsProvider().getTenantId())
-                    .accessLevel(ListCompartmentsRequest.AccessLevel.Any).compartmentIdInSubtree(true)
-                    .name(compartment_name).build();
-
-            // 컴파트먼트 목록 조회 응답
-            ListCompartmentsResponse listCompartmentsResponse = identityClient.listCompartments(listCompartmentsRequest);
-
-            log.info("조회한 컴파트먼트 개수: " + Integer.toString(listCompartmentsResponse.getItems().size()));
+            identityClient = getIdentityClient(region);
 
             // 동일한 이름의 컴파트먼트가 있으면 신규로 생성하지 않고 기존 컴파트먼트의 아이디를 가져옴
-            if (listCompartmentsResponse.getItems().size() > 0) {
-                compartmentId = listCompartmentsResponse.getItems().get(0).getId();
-            } else {
+            compartmentId = findCompartment(identityClient, compartment_name);
+            if (compartmentId == null) {
 
                 // 컴파트먼트 생성 정보 설정 (컴파트먼트명, 부모 컴파트먼트 아이디)
                 CreateCompartmentDetails createCompartmentDetails = CreateCompartmentDetails.builder()
@@ -128,37 +141,60 @@ public class IdentityService {
                 CreateCompartmentRequest createCompartmentRequest = CreateCompartmentRequest.builder()
                         .createCompartmentDetails(createCompartmentDetails).build();
 
-                // 컴파트먼트 생성 응답
-                CreateCompartmentResponse response = identityClient.createCompartment(createCompartmentRequest);
-                compartmentId = response.getCompartment().getId();
+                try {
+                    // 컴파트먼트 생성 응답
+                    CreateCompartmentResponse response = identityClient.createCompartment(createCompartmentRequest);
+                    compartmentId = response.getCompartment().getId();
+                } catch (BmcException be) {
+                    // 다른 서버에서 같은 이름으로 먼저 생성한 경우 (409) 해당 컴파트먼트 사용
+                    compartmentId = be.getStatusCode() == 409 ? findCompartment(identityClient, compartment_name) : null;
+                    if (compartmentId == null) {
+                        throw be;
+                    }
+                }
             }
 
             log.info(compartment_name + " 컴파트먼트 생성 완료");
         } catch (Exception e) {
             e.printStackTrace();
             throw e;
-        } finally {
-            identityClient.close();
         }
 
         return compartmentId;
     }
 
     /**
-    * 컴파트먼트 삭제
+    * 이름으로 컴파트먼트 조회
+    * @return String 컴파트먼트 OCID (없으면 null)
+    */
+    private String findCompartment(IdentityClient identityClient, String compartment_name) throws Exception {
+        // 컴파트먼트 목록 조회 요청
+        ListCompartmentsRequest listCompartmentsRequest = ListCompartmentsRequest.builder()
+                .compartmentId(authentificationProvider.getAuthenticationDetailsProvider().getTenantId())
+                .accessLevel(ListCompartmentsRequest.AccessLevel.Any).compartmentIdInSubtree(true)
+                .name(compartment_name).build();
+
+        // 컴파트먼트 목록 조회 응답
+        ListCompartmentsResponse listCompartmentsResponse = identityClient.listCompartments(listCompartmentsRequest);
+
+        log.info("조회한 컴파트먼트 개수: " + Integer.toString(listCompartmentsResponse.getItems().size()));
+
+        return listCompartmentsResponse.getItems().isEmpty() ? null : listCompartmentsResponse.getItems().get(0).getId();
+    }
+
+    /**
+    * 컴파트먼트 삭제 (삭제 요청 후 Deleted 상태가 되면 완료)
     * @param region OCI Region Identifier (https://docs.oracle.com/en-us/iaas/Content/General/Concepts/regions.htm) 
     * @param compartmentId 컴파트먼트의 OCID
-    * @return String 삭제된 컴파트먼트의 OCID
+    * @return CompletableFuture<String> 삭제된 컴파트먼트의 OCID
     */
-    @Async
-    public String deleteCompartment(String region, String compartmentId) {
+    public CompletableFuture<String> deleteCompartment(String region, String compartmentId) throws Exception {
         IdentityClient identityClient = null;
         try {
             log.info("["+compartmentId+"] 컴파트먼트 삭제 시작");
 
             // 컴파트먼트 삭제 작업을 위한 클라이언트
-            identityClient = new IdentityClient(authentificationProvider.getAuthenticationDetailsProvider());
-            identityClient.setRegion(region);
+            identityClient = getIdentityClient(region);
 
 
             // 컴파트먼트 삭제 요청
@@ -167,21 +203,25 @@ public class IdentityService {
 
             // 컴파트먼트 삭제
             identityClient.deleteCompartment(deleteCompartmentRequest);
-
-
-            // 삭제 요청된 컴파트먼트 정보 요청
-            GetCompartmentRequest getCompartmentRequest = GetCompartmentRequest.builder().compartmentId(compartmentId).build();
-            
-            // 삭제 요청된 컴파트먼트 상태 조회 (Deleted 상태가 되면 응답)
-            identityClient.getWaiters().forCompartment(getCompartmentRequest, Compartment.LifecycleState.Deleted).execute();
-
-            log.info("컴파트먼트 [" + compartmentId + "]가 삭제되었습니다.");
         } catch (Exception e) {
             e.printStackTrace();
-        } finally {
-            identityClient.close();
+            throw e;
         }
-        return compartmentId;
+
+        // 삭제 요청된 컴파트먼트 정보 요청
+        GetCompartmentRequest getCompartmentRequest = GetCompartmentRequest.builder().compartmentId(compartmentId).build();
+
+        // 삭제 요청된 컴파트먼트 상태 조회 (Deleted 상태가 되면 완료, 스레드를 점유하지 않고 대기)
+        IdentityClient client = identityClient;
+        return resourceWaiter.waitFor("컴파트먼트[" + compartmentId + "]",
+                () -> client.getCompartment(getCompartmentRequest).getCompartment(),
+                Compartment::getLifecycleState, Compartment.LifecycleState.Deleted).whenComplete((compartment, error) -> {
+                    if (error != null) {
+                        log.error("컴파트먼트 [" + compartmentId + "] 삭제 대기 중 오류", error);
+                    } else {
+                        log.info("컴파트먼트 [" + compartmentId + "]가 삭제되었습니다.");
+                    }
+                }).thenApply(compartment -> compartmentId);
     }
 
     // 사용 안함
@@ -203,8 +243,6 @@ public class IdentityService {
         } catch (Exception e) {
             e.printStackTrace();
             throw e;
-        } finally {
-            identityClient.close();
         }
         return createPolicyResponse.getPolicy().getId();
     }
@@ -239,8 +277,6 @@ public class IdentityService {
         } catch (Exception e) {
             e.printStackTrace();
             throw e;
-        } finally {
-            identityClient.close();
         }
     }
 }
@@ -1,5 +1,9 @@
 package net.bitnine.cloudag.api.oracle.service;
 
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.concurrent.CompletableFuture;
+
 import com.oracle.bmc.computeinstanceagent.ComputeInstanceAgentClient;
 import com.oracle.bmc.computeinstanceagent.model.CreateInstanceAgentCommandDetails;
 import com.oracle.bmc.computeinstanceagent.model.InstanceAgentCommandContent;
@@ -10,14 +14,14 @@ import com.oracle.bmc.computeinstanceagent.model.InstanceAgentCommandTarget;
 import com.oracle.bmc.computeinstanceagent.requests.CreateInstanceAgentCommandRequest;
 import com.oracle.bmc.computeinstanceagent.requests.GetInstanceAgentCommandExecutionRequest;
 import com.oracle.bmc.computeinstanceagent.responses.CreateInstanceAgentCommandResponse;
-import com.oracle.bmc.computeinstanceagent.responses.GetInstanceAgentCommandExecutionResponse;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
 import lombok.extern.slf4j.Slf4j;
 import net.bitnine.cloudag.api.oracle.util.AuthentificationProvider;
+import net.bitnine.cloudag.api.oracle.util.OciClientRegistry;
+import net.bitnine.cloudag.api.oracle.util.ResourceWaiter;
 
 @Slf4j
 @Service
@@ -25,31 +29,34 @@ public class InstanceAgentCommandService {
         @Autowired
         AuthentificationProvider authentificationProvider;
 
+        @Autowired
+        OciClientRegistry ociClientRegistry;
+
+        @Autowired
+        ResourceWaiter resourceWaiter;
+
         /**
          * 인스턴스 생성 후 인스턴스내에서 스크립트 실행을 위한 Agent
-         * 인스턴스 생성 후 자동으로 블록 볼륨 마운트 실행
+         * 인스턴스 생성 후 자동으로 블록 볼륨 마운트 실행 (커맨드 실행이 끝나면 완료)
          * 
          * @param region        OCI Region Identifier
          *                      (https://docs.oracle.com/en-us/iaas/Content/General/Concepts/regions.htm)
          * @param compartmentId 컴파트먼트 OCID
          * @param dbname        CloudAG Database 이름
          * @param instanceId    스크립트가 실행되는 인스턴스의 OCID
-         * @return void
+         * @param retryToken    커맨드 생성 요청의 OCI 재시도 토큰 (없으면 null)
+         * @return CompletableFuture<String> 커맨드 실행 결과 상태 (SUCCEEDED, FAILED 등)
          */
-        @Async
-        public void createAndExecutionInstanceAgentCommand(String region, String compartmentId, String dbname,
-                        String instanceId) throws Exception {
+        public CompletableFuture<String> createAndExecutionInstanceAgentCommand(String region, String compartmentId, String dbname,
+                        String instanceId, String retryToken) throws Exception {
 
                 // OCI에 생성되는 Instance Agent Command 이름
                 String instanceAgentCommandName = dbname + "-agent-command";
                 ComputeInstanceAgentClient computeInstanceAgentClient = null;
 
                 try {   
-                        // Instance Agent Command Agent Client
-                        computeInstanceAgentClient = new ComputeInstanceAgentClient(
-                                        authentificationProvider.getAuthenticationDetailsProvider());
-                        // 클라이언트를 특정 리전에서 사용하도록 설정
-                        computeInstanceAgentClient.setRegion(region);
+                        // Instance Agent Command Agent Client (리전별 공유 클라이언트)
+                        computeInstanceAgentClient = ociClientRegistry.getComputeInstanceAgentClient(region);
 
                         // 실행하기 위한 커맨트 텍스트 ()
                         String command = "sudo /usr/sbin/mkfs.xfs -f /dev/oracleoci/oraclevdb \n"
@@ -73,7 +80,7 @@ public class InstanceAgentCommandService {
                         // 커맨드 실행 요청
                         CreateInstanceAgentCommandRequest createInstanceAgentCommandRequest = CreateInstanceAgentCommandRequest
                                         .builder().createInstanceAgentCommandDetails(createInstanceAgentCommandDetails)
-                                        .build();
+                                        .opcRetryToken(retryToken).build();
 
                         // 커맨드 실행 응답
                         CreateInstanceAgentCommandResponse createInstanceAgentCommandResponse = computeInstanceAgentClient
@@ -89,40 +96,43 @@ public class InstanceAgentCommandService {
                         log.info("Run command[" + createInstanceAgentCommandResponse.getInstanceAgentCommand().getId()
                                         + "] 실행중...");
 
-                        // 커맨드가 특정 상태(Succeeded, Failed)가 되는 경우 응답
-                        GetInstanceAgentCommandExecutionResponse getInstanceAgentCommandExecutionResponse = computeInstanceAgentClient
-                                        .getWaiters()
-                                        .forInstanceAgentCommandExecution(getInstanceAgentCommandExecutionRequest,
-                                                        InstanceAgentCommandExecution.LifecycleState.Succeeded,
-                                                        InstanceAgentCommandExecution.LifecycleState.Failed)
-                                        .execute();
-
-                        log.info("커맨드 실행 인스턴스 OCID: " + instanceId);
-                        log.info("커맨드 실행 결과: ");
-                        log.info("  - Delivery State: " + getInstanceAgentCommandExecutionResponse
-                                        .getInstanceAgentCommandExecution().getDeliveryState().getValue());
-                        log.info("  - Lifecycle State: " + getInstanceAgentCommandExecutionResponse
-                                        .getInstanceAgentCommandExecution().getLifecycleState());
-
-                        log.info("Run command[" + createInstanceAgentCommandResponse.getInstanceAgentCommand().getId()
-                                        + "] 실행완료");
-
-                        if(getInstanceAgentCommandExecutionResponse.getInstanceAgentCommandExecution().getLifecycleState() == InstanceAgentCommandExecution.LifecycleState.Failed) {
-                                log.info("커맨드[" + createInstanceAgentCommandResponse.getInstanceAgentCommand().getId()
-                                        + "]가 실행을 실패하였습니다.");
-                                log.info("CloudAG ["+instanceId+"] 인스턴스를 확인하십시요.");
-                        }
-                        else {
-                                log.info("커맨드[" + createInstanceAgentCommandResponse.getInstanceAgentCommand().getId()
-                                        + "]가 성공적으로 실행되었습니다.");
-                                log.info("CloudAG ["+instanceId+"] 서비스 사용 준비 완료.");
-                        }
+                        // 커맨드가 특정 상태(Succeeded, Failed)가 되면 완료 (스레드를 점유하지 않고 대기)
+                        String instanceAgentCommandId = createInstanceAgentCommandResponse.getInstanceAgentCommand()
+                                        .getId();
+                        ComputeInstanceAgentClient agentClient = computeInstanceAgentClient;
+                        return resourceWaiter.waitFor("Run command[" + instanceAgentCommandId + "]",
+                                        () -> agentClient.getInstanceAgentCommandExecution(
+                                                        getInstanceAgentCommandExecutionRequest)
+                                                        .getInstanceAgentCommandExecution(),
+                                        InstanceAgentCommandExecution::getLifecycleState,
+                                        EnumSet.of(InstanceAgentCommandExecution.LifecycleState.Succeeded,
+                                                        InstanceAgentCommandExecution.LifecycleState.Failed),
+                                        Collections.emptySet())
+                                        .thenApply(execution -> {
+                                                log.info("커맨드 실행 인스턴스 OCID: " + instanceId);
+                                                log.info("커맨드 실행 결과: ");
+                                                log.info("  - Delivery State: "
+                                                                + execution.getDeliveryState().getValue());
+                                                log.info("  - Lifecycle State: " + execution.getLifecycleState());
+
+                                                log.info("Run command[" + instanceAgentCommandId + "] 실행완료");
+
+                                                if (execution.getLifecycleState() == InstanceAgentCommandExecution.LifecycleState.Failed) {
+                                                        log.info("커맨드[" + instanceAgentCommandId
+                                                                        + "]가 실행을 실패하였습니다.");
+                                                        log.info("CloudAG [" + instanceId + "] 인스턴스를 확인하십시요.");
+                                                } else {
+                                                        log.info("커맨드[" + instanceAgentCommandId
+                                                                        + "]가 성공적으로 실행되었습니다.");
+                                                        log.info("CloudAG [" + instanceId + "] 서비스 사용 준비 완료.");
+                                                }
+
+                                                return execution.getLifecycleState().getValue();
+                                        });
 
                 } catch (Exception e) {
                         e.printStackTrace();
                         throw e;
-                } finally {
-                        computeInstanceAgentClient.close();
                 }
         }
 }
@@ -1,17 +1,24 @@
 package net.bitnine.cloudag.api.oracle.service;
 
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
+import javax.annotation.PostConstruct;
+
 import com.google.common.collect.ImmutableMap;
 import com.oracle.bmc.core.ComputeClient;
-import com.oracle.bmc.core.ComputeWaiters;
 import com.oracle.bmc.core.VirtualNetworkClient;
 import com.oracle.bmc.core.model.CreateVnicDetails;
 import com.oracle.bmc.core.model.Instance;
@@ -20,31 +27,37 @@ import com.oracle.bmc.core.model.LaunchInstanceDetails;
 import com.oracle.bmc.core.model.LaunchInstanceShapeConfigDetails;
 import com.oracle.bmc.core.model.NetworkSecurityGroup;
 import com.oracle.bmc.core.model.Shape;
+import com.oracle.bmc.core.model.Vnic;
+import com.oracle.bmc.core.model.VnicAttachment;
+import com.oracle.bmc.core.model.Volume;
 import com.oracle.bmc.core.model.VolumeAttachment;
-import com.oracle.bmc.core.requests.GetImageRequest;
 import com.oracle.bmc.core.requests.GetInstanceRequest;
 import com.oracle.bmc.core.requests.GetVnicRequest;
 import com.oracle.bmc.core.requests.GetVolumeAttachmentRequest;
 import com.oracle.bmc.core.requests.LaunchInstanceRequest;
-import com.oracle.bmc.core.requests.ListShapesRequest;
+import com.oracle.bmc.core.requests.ListInstancesRequest;
 import com.oracle.bmc.core.requests.ListVnicAttachmentsRequest;
 import com.oracle.bmc.core.requests.TerminateInstanceRequest;
-import com.oracle.bmc.core.responses.GetImageResponse;
 import com.oracle.bmc.core.responses.GetInstanceResponse;
-import com.oracle.bmc.core.responses.GetVnicResponse;
-import com.oracle.bmc.core.responses.GetVolumeAttachmentResponse;
 import com.oracle.bmc.core.responses.LaunchInstanceResponse;
-import com.oracle.bmc.core.responses.ListShapesResponse;
 import com.oracle.bmc.core.responses.ListVnicAttachmentsResponse;
-import com.oracle.bmc.workrequests.WorkRequestClient;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.ResourceLoader;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import lombok.extern.slf4j.Slf4j;
+import net.bitnine.cloudag.api.oracle.job.JobSteps;
+import net.bitnine.cloudag.api.oracle.job.ProvisioningJob;
 import net.bitnine.cloudag.api.oracle.util.AuthentificationProvider;
+import net.bitnine.cloudag.api.oracle.util.CheckedFutures;
+import net.bitnine.cloudag.api.oracle.util.CheckedFutures.CheckedSupplier;
+import net.bitnine.cloudag.api.oracle.util.CloudagTags;
+import net.bitnine.cloudag.api.oracle.util.Etags;
+import net.bitnine.cloudag.api.oracle.util.OciClientRegistry;
+import net.bitnine.cloudag.api.oracle.util.ResourceWaiter;
+import net.bitnine.cloudag.api.oracle.util.TtlCache;
 
 @Slf4j
 @Service
@@ -52,17 +65,36 @@ public class InstanceService {
         private static final String NSG_CIDRBLOCK = "0.0.0.0/0";
         private static final int NSG_CLOUDAG_VIEWER_OPEN_PORT = 4000;
         private static final int NSG_CLOUDAG_DB_OPEN_PORT = 5432;
+
+        // 작업 저널에 기록되는 단계 이름
+        private static final String STEP_WARM_POOL = "warmPool";
+        private static final String STEP_VCN = "vcn";
+        private static final String STEP_NETWORK = "network";
+        private static final String STEP_NSG = "nsg";
+        private static final String STEP_NSG_RULES = "nsgRules";
+        private static final String STEP_VOLUME = "volume";
+        private static final String STEP_VOLUME_AVAILABLE = "volumeAvailable";
+        private static final String STEP_INSTANCE = "instance";
+        private static final String STEP_INSTANCE_RUNNING = "instanceRunning";
+        private static final String STEP_VOLUME_ATTACHMENT = "volumeAttachment";
+        private static final String STEP_VOLUME_ATTACHED = "volumeAttached";
+        private static final String STEP_VOLUME_MOUNT = "volumeMount";
+        private static final String STEP_NETWORK_LOOKUP = "networkLookup";
+        private static final String STEP_TERMINATE_INSTANCE = "terminateInstance";
+        private static final String STEP_TERMINATE_VOLUME = "terminateVolume";
+        private static final String STEP_TERMINATE_NETWORK = "terminateNetwork";
+        private static final String STEP_ROLLBACK_INSTANCE = "rollbackInstance";
+        private static final String STEP_ROLLBACK_VOLUME = "rollbackVolume";
+        private static final String STEP_ROLLBACK_NETWORK = "rollbackNetwork";
+
         // private static final String CLOUDAG_IMAGE_ID =
         // "ocid1.image.oc1.ap-seoul-1.aaaaaaaajknsaiquuovy4kel5xohfgmsnpog7js5dzlqydakwokz65euvhva";
 
-        // 기본 인스턴스 이미지의 OCID
-        private static final String CLOUDAG_IMAGE_ID = "ocid1.image.oc1.ap-seoul-1.aaaaaaaajknsaiquuovy4kel5xohfgmsnpog7js5dzlqydakwokz65euvhva";
-
         @Autowired
-        private ResourceLoader resourceLoader;
+        AuthentificationProvider authentificationProvider;
 
         @Autowired
-        AuthentificationProvider authentificationProvider;
+        OciClientRegistry ociClientRegistry;
 
         @Autowired
         private IdentityService identityService;
@@ -70,174 +102,515 @@ public class InstanceService {
         @Autowired
         private NetworkService networkService;
 
+        @Autowired
+        private SharedNetworkService sharedNetworkService;
+
+        // 네트워크 구성 방식 (dedicated: Database 마다 VCN 생성, shared: 컴파트먼트/리전별 공유 VCN 에 서브넷만 생성)
+        @Value("${cloudag.network.mode:dedicated}")
+        private String networkMode;
+
+        // 생성 단계 실패 시 이미 생성된 자원 삭제 여부
+        @Value("${cloudag.provisioning.rollback-on-failure:true}")
+        private boolean rollbackOnFailure;
+
         @Autowired
         private BlockStorageService blockStorageService;
 
         @Autowired
         private InstanceAgentCommandService instanceAgentCommandService;
 
+        @Autowired
+        private MetadataCacheService metadataCacheService;
+
+        @Autowired
+        private WarmPoolService warmPoolService;
+
+        @Autowired
+        private ResourceWaiter resourceWaiter;
+
+        @Autowired
+        private InventoryService inventoryService;
+
+        @Autowired
+        @Qualifier("provisioningStepExecutor")
+        private Executor provisioningStepExecutor;
+
+        @Autowired
+        @Qualifier("searchExecutor")
+        private Executor searchExecutor;
+
+        @Value("${cloudag.instance.vnic-cache-ttl-minutes:60}")
+        private long vnicCacheTtlMinutes;
+
+        // 리전|인스턴스 OCID -> 기본 VNIC
+        private TtlCache<String, Vnic> vnicCache;
+
+        @PostConstruct
+        public void init() {
+                vnicCache = new TtlCache<>(vnicCacheTtlMinutes * 60 * 1000);
+        }
+
         /**
-         * 인스턴스 생성 작업 (네트워크, 인스턴스, 스토리지까지 일괄 생성 및 구성)
-         * 비동기로 작업 수행
+         * 인스턴스 생성 작업 실행 (네트워크, 인스턴스, 스토리지까지 일괄 생성 및 구성)
+         * JobService 에서 비동기로 실행되며, 각 단계의 결과는 작업 저널에 기록되어 재시작 시 완료된 단계는 건너뛴다.
          * 
-         * @param dbname        CloudAG Database 이름
+         * 작업 파라미터
+         *   dbname        CloudAG Database 이름
+         *   region        OCI Region Identifier
+         *                 (https://docs.oracle.com/en-us/iaas/Content/General/Concepts/regions.htm)
+         *   compartmentId 컴파트먼트 OCID
+         *   ocpus         할당되는 OCPU CPU 개수
+         *   memoryInGBs   할당되는 메모리
+         *   vpusPerGB     블록 스토리지 성능 (기본값 10)
+         *   sizeInGBs     블록 스토리지 용량
+         * 
+         * @param job   인스턴스 생성 작업
+         * @param steps 단계 실행 및 기록
+         * @return CompletableFuture<Void> 모든 단계가 끝나면 완료
+         */
+        public CompletableFuture<Void> runCreateJob(ProvisioningJob job, JobSteps steps) throws Exception {
+                String dbname = job.getParam("dbname");
+                String region = job.getParam("region");
+                String compartmentId = job.getParam("compartmentId");
+                String ocpus = job.getParam("ocpus");
+                String memoryInGBs = job.getParam("memoryInGBs");
+                String vpusPerGB = job.getParam("vpusPerGB");
+                String sizeInGBs = job.getParam("sizeInGBs");
+
+                // Warm Pool 에 미리 생성된 인스턴스가 있으면 이름만 변경하여 사용
+                Map<String, String> claimed = steps.run(STEP_WARM_POOL, () -> {
+                        Map<String, String> resources = warmPoolService.claim(dbname, region, compartmentId, ocpus,
+                                        memoryInGBs, vpusPerGB, sizeInGBs);
+                        return resources == null ? Collections.emptyMap() : resources;
+                });
+                if (claimed.containsKey("instanceId")) {
+                        log.info("인스턴스[" + claimed.get("instanceId")
+                                        + "] Warm Pool 인스턴스 할당 완료, CloudAG 서비스가 활성화되었습니다.");
+                        return CompletableFuture.completedFuture(null);
+                }
+
+                return provisionResources(dbname, region, compartmentId, ocpus, memoryInGBs, vpusPerGB, sizeInGBs,
+                                Collections.emptyMap(), steps).handle((resources, error) -> {
+                                        if (error != null) {
+                                                throw new CompletionException(CheckedFutures.unwrap(error));
+                                        }
+                                        log.info("인스턴스[" + resources.get("instanceId")
+                                                        + "] 생성 작업 완료, CloudAG 서비스가 활성화되었습니다.");
+                                        return null;
+                                });
+        }
+
+        /**
+         * 인스턴스와 관련 자원(네트워크, 스토리지) 생성 후 볼륨 마운트까지 진행
+         * 상태 대기는 ResourceWaiter 가 담당하므로 대기하는 동안 스레드를 점유하지 않는다.
+         * 
+         * @param dbname        CloudAG Database 이름 (자원 이름의 접두어)
          * @param region        OCI Region Identifier
-         *                      (https://docs.oracle.com/en-us/iaas/Content/General/Concepts/regions.htm)
          * @param compartmentId 컴파트먼트 OCID
          * @param ocpus         할당되는 OCPU CPU 개수
          * @param memoryInGBs   할당되는 메모리
-         * @param vpusPerGB     블록 스토리지 성능 (기본값 10)
+         * @param vpusPerGB     블록 스토리지 성능
          * @param sizeInGBs     블록 스토리지 용량
-         * @return void
+         * @param freeformTags  인스턴스에 추가할 Freeform Tag
+         * @param steps         단계 실행 및 기록 (작업으로 관리하지 않는 경우 JobSteps.direct())
+         * @return CompletableFuture<Map<String, String>> 생성된 자원의 OCID (instanceId, vcnId, subnetId, nsgId, internetGatewayId, volumeId, volumeAttachmentId)
+         *         공유 VCN 을 사용한 경우 sharedNetwork=true, subnetCidr 포함
          */
-        @Async
-        public void createInstance(String dbname, String region, String compartmentId, String ocpus, String memoryInGBs,
-                        String vpusPerGB, String sizeInGBs) throws Exception {
-                Instance instance = null;
-                ComputeClient computeClient = null;
-                WorkRequestClient workRequestClient = null;
-                try {
-                        String availabilityDomain;
-
-                        // Region내의 Availability Domain (데이터 센터) 이름 
-                        availabilityDomain = identityService.getAvailabilityDomains(region, compartmentId).getName();
-
-                        // 컴퓨트 관련 작업을 수행하기 위한 클라이언트
-                        computeClient = new ComputeClient(authentificationProvider.getAuthenticationDetailsProvider());
-                        computeClient.setRegion(region);
-                        
-                        // Virtual Cloud Network (VCN) 생성
-                        Map<String, String> vcnMap = networkService.createVirtualNetwork(dbname, region, compartmentId);
-
-                        // 해당 인스턴스에 대해서 특정 포트만 오픈하도록 NSG 생성 후 Rule 추가 (오픝 포트 추가)
-                        NetworkSecurityGroup networkSecurityGroup = networkService.createNetworkSecurityGroup(
-                                        networkService.getVirtualNetworkClient(region), compartmentId,
-                                        vcnMap.get("vcnId"), dbname);
-                        networkService.addNetworkSecurityGroupSecurityRules(
-                                        networkService.getVirtualNetworkClient(region),
-                                        networkSecurityGroup, NSG_CIDRBLOCK, NSG_CLOUDAG_VIEWER_OPEN_PORT,
-                                        NSG_CLOUDAG_DB_OPEN_PORT);
-
-                        // 인스턴스 생성 작업 시작
-                        // 인스턴스 이름 지정
-                        String instanceName = dbname + "-instance";
-
-                        // 인스턴스에 SSH 접속을 위한 Public Key 지정
-                        String sshPublicKey = new String(Files.readAllBytes(Paths
-                                        .get(resourceLoader.getResource("classpath:id_rsa.pub").getFile().getPath())));
-                        Map<String, String> metadata = ImmutableMap.<String, String>builder()
-                                        .put("ssh_authorized_keys", sshPublicKey).build();
-
-                        // VNIC 생성을 위한 기본 정보
-                        CreateVnicDetails createVnicDetails = CreateVnicDetails.builder()
-                                        .subnetId(vcnMap.get("subnetId"))
-                                        .nsgIds(Arrays.asList(networkSecurityGroup.getId())).build();
-
-                        // 인스턴스 이미지를 가져와서 인스턴스 소스로 이미지 할당
-                        GetImageRequest getImageRequest = GetImageRequest.builder().imageId(CLOUDAG_IMAGE_ID).build();
-                        GetImageResponse getImageResponse = computeClient.getImage(getImageRequest);
-                        InstanceSourceViaImageDetails instanceSourceViaImageDetails = InstanceSourceViaImageDetails
-                                        .builder().imageId(getImageResponse.getImage().getId()).build();
-
-                        // Shape 정보를 가져움
-                        ListShapesRequest listShapesRequest = ListShapesRequest.builder().compartmentId(compartmentId)
-                                        .availabilityDomain(availabilityDomain).build();
-                        ListShapesResponse listShapesResponse = computeClient.listShapes(listShapesRequest);
-                        List<Shape> shapes = listShapesResponse.getItems();
-                        if (shapes.isEmpty()) {
-                                throw new IllegalStateException("No available shape was found.");
-                        }
-                        List<Shape> vmShapes = shapes.stream()
-                                        .filter(shape -> shape.getShape().equals("VM.Standard.E4.Flex"))
-                                        .collect(Collectors.toList());
-                        if (vmShapes.isEmpty()) {
-                                throw new IllegalStateException("No available VM shape was found.");
+        public CompletableFuture<Map<String, String>> provisionResources(String dbname, String region,
+                        String compartmentId, String ocpus, String memoryInGBs, String vpusPerGB, String sizeInGBs,
+                        Map<String, String> freeformTags, JobSteps steps) throws Exception {
+                // 컴퓨트 관련 작업을 수행하기 위한 클라이언트
+                ComputeClient computeClient = ociClientRegistry.getComputeClient(region);
+
+                // 각 단계는 실제 의존성이 있는 단계가 완료된 후에만 실행되며, 나머지는 병렬로 실행
+                //
+                //   AD 조회 ──> Shape 조회 ──┐
+                //   이미지 조회 ─────────────┤
+                //   VCN ──> 네트워크 구성 ──> NSG, NSG Rule ───┴──> 인스턴스 생성 ──> Running 대기 ──┐
+                //   블록 볼륨 생성 ──> Available 대기 ──────────────────────────────┴──> 볼륨 어태치 ──> Attached 대기 ──> 런커맨드
+                //
+                // 자원을 생성하는 단계는 저널에 기록되며 조회 단계(AD, 이미지, Shape)는 메타데이터 캐시를 사용
+                // 생성 요청은 단계별 재시도 토큰을 사용하므로, 요청이 접수된 후 단계 결과를 기록하기 전에 중단되어도
+                // 재시작 후 같은 단계가 자원을 다시 만들지 않고 이미 생성된 자원을 반환받는다.
+
+                // Region내의 Availability Domain (데이터 센터) 이름
+                CompletableFuture<String> availabilityDomainFuture = CheckedFutures.supplyAsync(
+                                () -> identityService.getAvailabilityDomains(region, compartmentId).getName(),
+                                provisioningStepExecutor);
+
+                // Virtual Cloud Network (VCN) 생성 요청 (공유 VCN 사용 시 서브넷 생성 요청)
+                CompletableFuture<Map<String, String>> vcnFuture = steps.runAsync(STEP_VCN,
+                                () -> isSharedNetwork()
+                                                ? sharedNetworkService.allocateSubnet(dbname, region, compartmentId,
+                                                                steps.retryToken(STEP_VCN))
+                                                : CheckedFutures.supplyAsync(() -> Collections.singletonMap("vcnId",
+                                                                networkService.createVcn(dbname, region, compartmentId,
+                                                                                steps.retryToken(STEP_VCN))),
+                                                                provisioningStepExecutor));
+
+                // Internet Gateway, Subnet 생성 및 Available 대기 (공유 VCN 사용 시 서브넷 Available 대기)
+                CompletableFuture<Map<String, String>> networkFuture = CheckedFutures.composeAfter(
+                                () -> steps.runAsync(STEP_NETWORK, () -> completeNetwork(dbname, region,
+                                                compartmentId, vcnFuture.join(), steps.retryToken(STEP_NETWORK))),
+                                provisioningStepExecutor, vcnFuture);
+
+                // NSG 생성 (Available 상태의 VCN 필요)
+                CompletableFuture<Map<String, String>> nsgFuture = CheckedFutures.composeAfter(
+                                () -> steps.runAsync(STEP_NSG, () -> createNetworkSecurityGroup(dbname, region,
+                                                compartmentId, vcnFuture.join().get("vcnId"),
+                                                steps.retryToken(STEP_NSG))),
+                                provisioningStepExecutor, networkFuture);
+
+                // NSG Rule 추가 (Rule 추가가 실패해도 NSG 는 생성 단계 결과로 기록되어 삭제됨)
+                CompletableFuture<Map<String, String>> nsgRulesFuture = CheckedFutures.composeAfter(
+                                () -> steps.runAsync(STEP_NSG_RULES, () -> CheckedFutures.supplyAsync(() -> {
+                                        addNetworkSecurityGroupRules(region, nsgFuture.join().get("nsgId"));
+                                        return Collections.<String, String>emptyMap();
+                                }, provisioningStepExecutor)),
+                                provisioningStepExecutor, nsgFuture);
+
+                // 인스턴스 이미지
+                CompletableFuture<String> imageIdFuture = CheckedFutures.supplyAsync(
+                                () -> metadataCacheService.getImage(region, MetadataCacheService.CLOUDAG_IMAGE_ID)
+                                                .getId(),
+                                provisioningStepExecutor);
+
+                // Shape 정보 (AD 필요)
+                CompletableFuture<Shape> shapeFuture = CheckedFutures.supplyAfter(
+                                () -> getShape(region, compartmentId, availabilityDomainFuture.join()),
+                                provisioningStepExecutor, availabilityDomainFuture);
+
+                // 블록 볼륨 생성 요청 (인스턴스, 네트워크와 무관)
+                CompletableFuture<Map<String, String>> volumeFuture = steps.runAsync(STEP_VOLUME,
+                                () -> CheckedFutures.supplyAsync(() -> Collections.singletonMap("volumeId",
+                                                blockStorageService.createBlockVolume(dbname, region, compartmentId,
+                                                                vpusPerGB, sizeInGBs, steps.retryToken(STEP_VOLUME))),
+                                                provisioningStepExecutor));
+
+                // 블록 볼륨이 Available 상태가 될 때까지 대기
+                CompletableFuture<Map<String, String>> volumeAvailableFuture = CheckedFutures.composeAfter(
+                                () -> steps.runAsync(STEP_VOLUME_AVAILABLE,
+                                                () -> blockStorageService
+                                                                .waitForVolume(region, volumeFuture.join().get("volumeId"),
+                                                                                Volume.LifecycleState.Available)
+                                                                .thenApply(volume -> Collections.emptyMap())),
+                                provisioningStepExecutor, volumeFuture);
+
+                // 인스턴스 생성 요청 (AD, 네트워크, 이미지, Shape 필요)
+                CompletableFuture<Map<String, String>> instanceFuture = CheckedFutures.composeAfter(
+                                () -> steps.runAsync(STEP_INSTANCE, () -> CompletableFuture.completedFuture(
+                                                Collections.singletonMap("instanceId", launchInstance(computeClient,
+                                                                region, dbname, compartmentId, availabilityDomainFuture.join(),
+                                                                networkFuture.join(), nsgFuture.join(),
+                                                                imageIdFuture.join(), shapeFuture.join(), ocpus,
+                                                                memoryInGBs, freeformTags, steps.retryToken(STEP_INSTANCE))))),
+                                provisioningStepExecutor, availabilityDomainFuture, networkFuture, nsgRulesFuture,
+                                imageIdFuture, shapeFuture);
+
+                // 인스턴스가 Running 상태가 될 때까지 대기
+                CompletableFuture<Map<String, String>> instanceRunningFuture = CheckedFutures.composeAfter(
+                                () -> steps.runAsync(STEP_INSTANCE_RUNNING,
+                                                () -> waitForInstance(computeClient,
+                                                                instanceFuture.join().get("instanceId"),
+                                                                Instance.LifecycleState.Running)
+                                                                .thenApply(instance -> Collections.emptyMap())),
+                                provisioningStepExecutor, instanceFuture);
+
+                // 블록 볼륨을 인스턴스에 어태치 (Running 상태의 인스턴스, Available 상태의 볼륨 모두 필요)
+                CompletableFuture<Map<String, String>> volumeAttachmentFuture = CheckedFutures.composeAfter(
+                                () -> steps.runAsync(STEP_VOLUME_ATTACHMENT, () -> CompletableFuture.completedFuture(
+                                                Collections.singletonMap("volumeAttachmentId",
+                                                                blockStorageService.attachBlockVolume(computeClient,
+                                                                                dbname,
+                                                                                instanceFuture.join().get("instanceId"),
+                                                                                volumeFuture.join().get("volumeId"),
+                                                                                steps.retryToken(STEP_VOLUME_ATTACHMENT))))),
+                                provisioningStepExecutor, instanceRunningFuture, volumeAvailableFuture);
+
+                // 볼륨이 Attached 상태가 될 때까지 대기
+                CompletableFuture<Map<String, String>> volumeAttachedFuture = CheckedFutures.composeAfter(
+                                () -> steps.runAsync(STEP_VOLUME_ATTACHED,
+                                                () -> waitForVolumeAttached(computeClient,
+                                                                volumeAttachmentFuture.join().get("volumeAttachmentId"))),
+                                provisioningStepExecutor, volumeAttachmentFuture);
+
+                // 볼륨 마운트를 위한 런커맨드 실행
+                CompletableFuture<Map<String, String>> volumeMountFuture = CheckedFutures.composeAfter(
+                                () -> steps.runAsync(STEP_VOLUME_MOUNT,
+                                                () -> instanceAgentCommandService
+                                                                .createAndExecutionInstanceAgentCommand(region,
+                                                                                compartmentId, dbname,
+                                                                                instanceFuture.join().get("instanceId"),
+                                                                                steps.retryToken(STEP_VOLUME_MOUNT))
+                                                                .thenApply(state -> {
+                                                                        inventoryService.updateVolumeMountState(
+                                                                                        instanceFuture.join().get("instanceId"),
+                                                                                        state);
+                                                                        return Collections.singletonMap(
+                                                                                        "volumeMountState", state);
+                                                                })),
+                                provisioningStepExecutor, volumeAttachedFuture);
+
+                CompletableFuture<Map<String, String>> provisioned = volumeMountFuture.thenApply(mount -> {
+                        Map<String, String> resources = new HashMap<String, String>(vcnFuture.join());
+                        resources.putAll(networkFuture.join());
+                        resources.putAll(nsgFuture.join());
+                        resources.putAll(instanceFuture.join());
+                        resources.putAll(volumeFuture.join());
+                        resources.putAll(volumeAttachmentFuture.join());
+                        resources.putAll(mount);
+                        return resources;
+                });
+                if (!rollbackOnFailure) {
+                        return provisioned;
+                }
+
+                // 단계가 실패하면 이미 생성된 자원을 삭제한 후 원래 오류로 실패
+                // (마지막 단계는 모든 선행 단계가 끝난 후에 실패하므로 이 시점에는 생성중인 자원이 없음)
+                return provisioned.handle((resources, error) -> error).thenCompose(error -> {
+                        if (error == null) {
+                                return provisioned;
                         }
-                        Shape shape = vmShapes.get(0);
+                        Exception cause = CheckedFutures.unwrap(error);
+                        Map<String, String> created = new HashMap<String, String>();
+                        putIfCompleted(created, vcnFuture);
+                        putIfCompleted(created, networkFuture);
+                        putIfCompleted(created, nsgFuture);
+                        putIfCompleted(created, instanceFuture);
+                        putIfCompleted(created, volumeFuture);
+                        log.warn(dbname + " 생성 실패 (" + cause.getMessage() + "), 생성된 자원을 삭제합니다: " + created);
+
+                        return CheckedFutures.compose(() -> releaseResources(region, compartmentId, created, steps))
+                                        .<Map<String, String>>handle((ignored, rollbackError) -> {
+                                                if (rollbackError != null) {
+                                                        log.error(dbname + " 생성 실패 후 자원 삭제 중 오류", rollbackError);
+                                                        cause.addSuppressed(CheckedFutures.unwrap(rollbackError));
+                                                }
+                                                throw new CompletionException(cause);
+                                        });
+                });
+        }
 
-                        // Option
-                        // LaunchInstanceAgentConfigDetails launchInstanceAgentConfigDetails =
-                        // LaunchInstanceAgentConfigDetails.builder().isMonitoringDisabled(false).build();
+        /**
+         * 생성 작업에서 만들어진 자원 삭제 (생성 실패 시 보상 작업, Warm Pool 에서 제외된 인스턴스 정리)
+         * 인스턴스를 먼저 삭제한 후 볼륨과 네트워크를 동시에 삭제하며, 이미 삭제된 자원은 완료로 처리한다.
+         * 
+         * @param region        OCI Region Identifier
+         * @param compartmentId 컴파트먼트 OCID
+         * @param resources     생성된 자원의 OCID (instanceId, volumeId, vcnId, subnetId, nsgId, sharedNetwork)
+         * @param steps         단계 실행 및 기록 (작업으로 관리하지 않는 경우 JobSteps.direct())
+         * @return CompletableFuture<Void> 모든 자원이 삭제되면 완료
+         */
+        public CompletableFuture<Void> releaseResources(String region, String compartmentId,
+                        Map<String, String> resources, JobSteps steps) throws Exception {
+                String instanceId = resources.get("instanceId");
+                String volumeId = resources.get("volumeId");
+                String vcnId = resources.get("vcnId");
+                String subnetId = resources.get("subnetId");
+                String nsgId = resources.get("nsgId");
+
+                CompletableFuture<Map<String, String>> instanceReleased = instanceId == null
+                                ? CompletableFuture.completedFuture(Collections.emptyMap())
+                                : steps.runAsync(STEP_ROLLBACK_INSTANCE, () -> terminateInstance(region, instanceId)
+                                                .thenApply(instance -> Collections.emptyMap()));
+
+                List<CompletableFuture<Map<String, String>>> releases = new ArrayList<>();
+                releases.add(instanceReleased);
+                if (volumeId != null) {
+                        releases.add(instanceReleased.thenCompose(ignored -> steps.runAsync(STEP_ROLLBACK_VOLUME,
+                                        () -> blockStorageService.terminateBlockVolume(region, volumeId)
+                                                        .thenApply(releasedVolumeId -> Collections.emptyMap()))));
+                }
+                if (Boolean.parseBoolean(resources.get("sharedNetwork"))) {
+                        // 공유 VCN 은 Database 의 서브넷과 NSG 만 삭제
+                        releases.add(instanceReleased.thenCompose(ignored -> steps.runAsync(STEP_ROLLBACK_NETWORK,
+                                        () -> sharedNetworkService.releaseSubnet(region, subnetId,
+                                                        nsgId == null ? Collections.emptyList()
+                                                                        : Collections.singletonList(nsgId))
+                                                        .thenApply(releasedSubnetId -> Collections.emptyMap()))));
+                } else if (vcnId != null) {
+                        releases.add(instanceReleased.thenCompose(ignored -> steps.runAsync(STEP_ROLLBACK_NETWORK,
+                                        () -> networkService.terminateAllVirtualNetwork(region, compartmentId, vcnId)
+                                                        .thenApply(releasedVcnId -> Collections.emptyMap()))));
+                }
 
-                        // 인스턴스 Shape 구성 정보 설정
-                        LaunchInstanceShapeConfigDetails launchInstanceShapeConfigDetails = LaunchInstanceShapeConfigDetails
-                                        .builder().ocpus(Float.valueOf(ocpus)).memoryInGBs(Float.valueOf(memoryInGBs))
-                                        .build();
+                return CompletableFuture.allOf(releases.toArray(new CompletableFuture[0]));
+        }
 
-                        // 인스턴스 생성 시작
-                        log.info("인스턴스 생성을 위한 기본 생성.....");
-                        LaunchInstanceDetails launchInstanceDetails = LaunchInstanceDetails.builder()
-                                        .availabilityDomain(availabilityDomain).compartmentId(compartmentId)
-                                        .displayName(instanceName)
-                                        // faultDomain is optional parameter
-                                        .faultDomain("FAULT-DOMAIN-1").sourceDetails(instanceSourceViaImageDetails)
-                                        .metadata(metadata)
-                                        // .extendedMetadata(extendedMetadata)
-                                        .shape(shape.getShape()).shapeConfig(launchInstanceShapeConfigDetails)
-                                        .createVnicDetails(createVnicDetails)
-                                        // agentConfig is an optional parameter
-                                        // .agentConfig(launchInstanceAgentConfigDetails)
-                                        .definedTags(new HashMap<java.lang.String, java.util.Map<java.lang.String, java.lang.Object>>() {
-                                                {
-                                                        put("CloudAG-Tags",
-                                                                        new HashMap<java.lang.String, java.lang.Object>() {
-                                                                                {
-                                                                                        put("cloudag-instance", "YES");
-                                                                                }
-                                                                        });
-                                                }
-                                        }).build();
-                        
-                        // 인스턴스 진행 상황을 모니터링 하기 위한 Work Request Client 생성
-                        workRequestClient = WorkRequestClient.builder()
-                                        .build(authentificationProvider.getAuthenticationDetailsProvider());
-                        workRequestClient.setRegion(region);
-
-                        // 인스턴스 진행 상황을 모니터링하기 위한 Waiter 생성
-                        ComputeWaiters computeWaiters = computeClient.newWaiters(workRequestClient);
-                        
-                        // 인스턴스 생성 요청 및 응답
-                        LaunchInstanceRequest launchInstanceRequest = LaunchInstanceRequest.builder()
-                                        .launchInstanceDetails(launchInstanceDetails).build();
-                        LaunchInstanceResponse launchInstanceResponse = computeWaiters
-                                        .forLaunchInstance(launchInstanceRequest).execute();
-                        
-                        // 생성된 인스턴스 정보 요청 및 응답
-                        GetInstanceRequest getInstanceRequest = GetInstanceRequest.builder()
-                                        .instanceId(launchInstanceResponse.getInstance().getId()).build();
-                        GetInstanceResponse getInstanceResponse = computeWaiters
-                                        .forInstance(getInstanceRequest, Instance.LifecycleState.Running).execute();
-
-                        instance = getInstanceResponse.getInstance();
-                        log.info("생성된 인스턴스 아이디: " + instance.getId());
-
-                        // 블록 볼륨 생성 작업
-                        String blockVolumeId = blockStorageService.createBlockVolume(dbname, region, compartmentId,
-                                        vpusPerGB, sizeInGBs);
-                        
-                        // 블록 볼륨을 인스턴스에 어태치
-                        String volumeAttachmentId = blockStorageService.attachBlockVolume(computeClient, dbname,
-                                        instance.getId(), blockVolumeId);
-                        
-                        // 볼륨 어태치에 대한 정보 요청 및 응답
-                        GetVolumeAttachmentRequest getVolumeAttachmentRequest = GetVolumeAttachmentRequest.builder()
-                                        .volumeAttachmentId(volumeAttachmentId).build();
-                        GetVolumeAttachmentResponse getVolumeAttachmentResponse = computeWaiters.forVolumeAttachment(
-                                        getVolumeAttachmentRequest, VolumeAttachment.LifecycleState.Attached).execute();
-                        log.info("볼륨 어태치 아이디: " + getVolumeAttachmentResponse.getVolumeAttachment().getId());
-
-                        // 볼륨 마운트를 위한 런커맨드 실행
-                        instanceAgentCommandService.createAndExecutionInstanceAgentCommand(region, compartmentId, dbname,
-                                        instance.getId());
-                        
-                        log.info("인스턴스["+instance.getId()+"] 생성 작업 완료, CloudAG 서비스가 활성화되었습니다.");
-                } catch (Exception e) {
-                        e.printStackTrace();
-                        throw e;
-                } finally {
-                        computeClient.close();
-                        workRequestClient.close();
+        private static void putIfCompleted(Map<String, String> resources,
+                        CompletableFuture<Map<String, String>> future) {
+                if (future.isDone() && !future.isCompletedExceptionally()) {
+                        resources.putAll(future.join());
+                }
+        }
+
+        /**
+         * 생성 요청된 네트워크 구성 완료
+         * 전용 VCN 은 Internet Gateway, 서브넷을 생성하고, 공유 VCN 은 생성 요청된 서브넷이 Available 상태가 될 때까지 대기한다.
+         * 
+         * @param vcn        VCN 생성 요청 단계 결과
+         * @param retryToken 생성 요청의 OCI 재시도 토큰 (없으면 null)
+         * @return CompletableFuture<Map<String, String>> vcnId, subnetId, internetGatewayId
+         */
+        private CompletableFuture<Map<String, String>> completeNetwork(String dbname, String region,
+                        String compartmentId, Map<String, String> vcn, String retryToken) throws Exception {
+                if (Boolean.parseBoolean(vcn.get("sharedNetwork"))) {
+                        return sharedNetworkService.waitForSubnet(region, vcn.get("subnetId"))
+                                        .thenApply(subnet -> vcn);
+                }
+                if (vcn.containsKey("subnetId")) {
+                        // VCN 단계에서 네트워크 구성까지 완료된 이전 저널의 작업
+                        return CompletableFuture.completedFuture(vcn);
                 }
+                return networkService.completeVirtualNetwork(dbname, region, compartmentId, vcn.get("vcnId"),
+                                retryToken);
+        }
+
+        /**
+         * 인스턴스에 특정 포트만 오픈하기 위한 NSG 생성 (Rule 은 addNetworkSecurityGroupRules 에서 추가)
+         * 
+         * @param dbname        CloudAG Database 이름
+         * @param region        OCI Region Identifier
+         * @param compartmentId 컴파트먼트 OCID
+         * @param vcnId         VCN OCID
+         * @param retryToken    생성 요청의 OCI 재시도 토큰 (없으면 null)
+         * @return CompletableFuture<Map<String, String>> nsgId
+         */
+        private CompletableFuture<Map<String, String>> createNetworkSecurityGroup(String dbname, String region,
+                        String compartmentId, String vcnId, String retryToken) throws Exception {
+                VirtualNetworkClient virtualNetworkClient = networkService.getVirtualNetworkClient(region);
+                return networkService.createNetworkSecurityGroup(virtualNetworkClient, compartmentId, vcnId, dbname,
+                                retryToken)
+                                .thenApply(networkSecurityGroup -> Collections.singletonMap("nsgId",
+                                                networkSecurityGroup.getId()));
+        }
+
+        /**
+         * NSG 에 CloudAG Viewer, Database 포트 Ingress Rule 추가
+         * 
+         * @param region OCI Region Identifier
+         * @param nsgId  NSG OCID
+         */
+        private void addNetworkSecurityGroupRules(String region, String nsgId) throws Exception {
+                networkService.addNetworkSecurityGroupSecurityRules(networkService.getVirtualNetworkClient(region),
+                                NetworkSecurityGroup.builder().id(nsgId).build(), NSG_CIDRBLOCK,
+                                NSG_CLOUDAG_VIEWER_OPEN_PORT, NSG_CLOUDAG_DB_OPEN_PORT);
+        }
+
+        /**
+         * Availability Domain 에서 사용 가능한 CloudAG 인스턴스 Shape 조회 (메타데이터 캐시 사용)
+         */
+        private Shape getShape(String region, String compartmentId, String availabilityDomain) throws Exception {
+                List<Shape> shapes = metadataCacheService.getShapes(region, compartmentId, availabilityDomain);
+                if (shapes.isEmpty()) {
+                        throw new IllegalStateException("No available shape was found.");
+                }
+                List<Shape> vmShapes = shapes.stream()
+                                .filter(shape -> shape.getShape().equals("VM.Standard.E4.Flex"))
+                                .collect(Collectors.toList());
+                if (vmShapes.isEmpty()) {
+                        throw new IllegalStateException("No available VM shape was found.");
+                }
+                return vmShapes.get(0);
+        }
+
+        /**
+         * 인스턴스 생성 요청 (Running 상태 대기는 별도 단계로 수행)
+         * 
+         * @return String 생성 요청된 인스턴스 OCID
+         */
+        private String launchInstance(ComputeClient computeClient, String region, String dbname,
+                        String compartmentId,
+                        String availabilityDomain, Map<String, String> vcn, Map<String, String> nsg, String imageId,
+                        Shape shape, String ocpus, String memoryInGBs, Map<String, String> freeformTags,
+                        String retryToken) throws Exception {
+                // 인스턴스 이름 지정
+                String instanceName = dbname + "-instance";
+
+                // 인스턴스에 SSH 접속을 위한 Public Key 지정 (최초 1회 로드 후 재사용)
+                String sshPublicKey = authentificationProvider.getSshPublicKey();
+                Map<String, String> metadata = ImmutableMap.<String, String>builder()
+                                .put("ssh_authorized_keys", sshPublicKey).build();
+
+                // VNIC 생성을 위한 기본 정보
+                CreateVnicDetails createVnicDetails = CreateVnicDetails.builder()
+                                .subnetId(vcn.get("subnetId"))
+                                .nsgIds(Arrays.asList(nsg.get("nsgId"))).build();
+
+                // 이미지를 인스턴스 소스로 할당
+                InstanceSourceViaImageDetails instanceSourceViaImageDetails = InstanceSourceViaImageDetails
+                                .builder().imageId(imageId).build();
+
+                // Option
+                // LaunchInstanceAgentConfigDetails launchInstanceAgentConfigDetails =
+                // LaunchInstanceAgentConfigDetails.builder().isMonitoringDisabled(false).build();
+
+                // 인스턴스 Shape 구성 정보 설정
+                LaunchInstanceShapeConfigDetails launchInstanceShapeConfigDetails = LaunchInstanceShapeConfigDetails
+                                .builder().ocpus(Float.valueOf(ocpus)).memoryInGBs(Float.valueOf(memoryInGBs))
+                                .build();
+
+                // 인스턴스 생성 시작
+                log.info("인스턴스 생성을 위한 기본 생성.....");
+                LaunchInstanceDetails launchInstanceDetails = LaunchInstanceDetails.builder()
+                                .availabilityDomain(availabilityDomain).compartmentId(compartmentId)
+                                .displayName(instanceName)
+                                // faultDomain is optional parameter
+                                .faultDomain("FAULT-DOMAIN-1").sourceDetails(instanceSourceViaImageDetails)
+                                .metadata(metadata)
+                                // .extendedMetadata(extendedMetadata)
+                                .shape(shape.getShape()).shapeConfig(launchInstanceShapeConfigDetails)
+                                .createVnicDetails(createVnicDetails)
+                                .freeformTags(freeformTags)
+                                // agentConfig is an optional parameter
+                                // .agentConfig(launchInstanceAgentConfigDetails)
+                                .definedTags(CloudagTags.definedTags()).build();
+
+                // 인스턴스 생성 요청 및 응답
+                LaunchInstanceRequest launchInstanceRequest = LaunchInstanceRequest.builder()
+                                .launchInstanceDetails(launchInstanceDetails).opcRetryToken(retryToken).build();
+                LaunchInstanceResponse launchInstanceResponse = computeClient.launchInstance(launchInstanceRequest);
+
+                String instanceId = launchInstanceResponse.getInstance().getId();
+                log.info("생성 요청된 인스턴스 아이디: " + instanceId);
+                inventoryService.record(region, compartmentId, InventoryService.TYPE_INSTANCE, instanceId,
+                                instanceName, launchInstanceResponse.getInstance().getLifecycleState().getValue());
+                return instanceId;
+        }
+
+        /**
+         * 인스턴스가 특정 상태가 될 때까지 대기 (스레드를 점유하지 않음)
+         */
+        private CompletableFuture<Instance> waitForInstance(ComputeClient computeClient, String instanceId,
+                        Instance.LifecycleState lifecycleState) {
+                GetInstanceRequest getInstanceRequest = GetInstanceRequest.builder().instanceId(instanceId).build();
+                return resourceWaiter.waitFor("인스턴스[" + instanceId + "]",
+                                () -> computeClient.getInstance(getInstanceRequest).getInstance(),
+                                Instance::getLifecycleState, lifecycleState).thenApply(instance -> {
+                                        log.info("인스턴스[" + instance.getId() + "]가 " + lifecycleState + " 상태입니다.");
+                                        inventoryService.updateState(instanceId, instance.getLifecycleState().getValue());
+                                        return instance;
+                                });
+        }
+
+        /**
+         * 볼륨 어태치가 Attached 상태가 될 때까지 대기 (스레드를 점유하지 않음)
+         */
+        private CompletableFuture<Map<String, String>> waitForVolumeAttached(ComputeClient computeClient,
+                        String volumeAttachmentId) {
+                // 볼륨 어태치에 대한 정보 요청
+                GetVolumeAttachmentRequest getVolumeAttachmentRequest = GetVolumeAttachmentRequest.builder()
+                                .volumeAttachmentId(volumeAttachmentId).build();
+                return resourceWaiter.waitFor("볼륨 어태치[" + volumeAttachmentId + "]",
+                                () -> computeClient.getVolumeAttachment(getVolumeAttachmentRequest)
+                                                .getVolumeAttachment(),
+                                VolumeAttachment::getLifecycleState, VolumeAttachment.LifecycleState.Attached)
+                                .thenApply(volumeAttachment -> {
+                                        log.info("볼륨 어태치 아이디: " + volumeAttachment.getId());
+                                        inventoryService.updateAttachmentState(volumeAttachment.getVolumeId(),
+                                                        volumeAttachment.getLifecycleState().getValue());
+                                        return Collections.emptyMap();
+                                });
         }
 
         /**
@@ -251,19 +624,32 @@ public class InstanceService {
          */
         public Map<String, String> getInstance(String region, String compartmentId, String instanceId)
                         throws Exception {
-                ComputeClient computeClient = null;
-                VirtualNetworkClient virtualNetworkClient = null;
-                Map<String, String> resultMap = new HashMap<String, String>();
+                return getInstance(region, compartmentId, instanceId, etag -> false);
+        }
+
+        /**
+         * 인스턴스 상세 정보 반환 (조건부 조회)
+         * 인스턴스의 OCI ETag 와 상태로 ETag 를 계산하여 변경되지 않았으면 상세 정보를 만들지 않는다.
+         * VNIC (IP 정보) 는 인스턴스 조회와 동시에 조회하므로, 캐시되지 않은 경우 변경되지 않은 응답에서도
+         * VNIC 조회가 이미 시작되었을 수 있다. (시작 전이면 취소)
+         * 
+         * @param region        OCI Region Identifier
+         * @param compartmentId 컴파트먼트 OCID
+         * @param instanceId    조회할 인스턴스 OCID
+         * @param notModified   ETag 를 받아 요청의 If-None-Match 와 같으면 true 를 반환하는 함수
+         * @return Map<String, String> 인스턴스 상세 정보 (변경되지 않았으면 null)
+         */
+        public Map<String, String> getInstance(String region, String compartmentId, String instanceId,
+                        Predicate<String> notModified) throws Exception {
+                Map<String, String> resultMap = null;
 
                 try {
-                        // 인스턴스 및 네트워크(VNIC관련)을 위한 클라이언트 생성
-                        computeClient = new ComputeClient(authentificationProvider.getAuthenticationDetailsProvider());
-                        virtualNetworkClient = new VirtualNetworkClient(
-                                        authentificationProvider.getAuthenticationDetailsProvider());
+                        // 인스턴스 작업을 위한 클라이언트
+                        ComputeClient computeClient = ociClientRegistry.getComputeClient(region);
 
-                        // 리전 설정
-                        computeClient.setRegion(region);
-                        virtualNetworkClient.setRegion(region);
+                        // IP 정보 (VNIC) 는 인스턴스 정보와 동시에 조회 (캐시된 경우 OCI 호출 없음)
+                        CompletableFuture<Vnic> vnicFuture = CheckedFutures.supplyAsync(
+                                        () -> getVnic(region, compartmentId, instanceId), searchExecutor);
 
                         // 인스턴스 상세 정보 요청
                         GetInstanceRequest getInstanceRequest = GetInstanceRequest.builder().instanceId(instanceId)
@@ -271,92 +657,295 @@ public class InstanceService {
 
                         // 인스턴스 상세 정보 응답
                         GetInstanceResponse getInstanceResponse = computeClient.getInstance(getInstanceRequest);
-
-                        // IP 정보 획득을 위해 인스턴스에 Attached Vnic 정보 요청
-                        ListVnicAttachmentsRequest listVnicAttachmentsRequest = ListVnicAttachmentsRequest.builder()
-                                        .compartmentId(compartmentId).instanceId(instanceId).build();
-
-                        // IP 정보 획득을 위해 인스턴스에 Attached Vnic 정보 응답
-                        ListVnicAttachmentsResponse listVnicAttachmentsResponse = computeClient
-                                        .listVnicAttachments(listVnicAttachmentsRequest);
-
-                        // Vnic 정보 요청
-                        GetVnicRequest getVnicRequest = GetVnicRequest.builder()
-                                        .vnicId(listVnicAttachmentsResponse.getItems().get(0).getVnicId()).build();
-                        // Vnic 정보 응답
-                        GetVnicResponse getVnicResponse = virtualNetworkClient.getVnic(getVnicRequest);
+                        if (notModified.test(Etags.of(Arrays.asList(getInstanceResponse.getEtag(),
+                                        getInstanceResponse.getInstance().getLifecycleState().getValue())))) {
+                                vnicFuture.cancel(false);
+                                return null;
+                        }
+                        Vnic vnic = CheckedFutures.await(vnicFuture);
 
                         // 인스턴스 정보와 Vnic (IP 정보) 정보 반환
-                        resultMap.put("name", getInstanceResponse.getInstance().getDisplayName());
-                        resultMap.put("id", getInstanceResponse.getInstance().getId());
-                        resultMap.put("region", getInstanceResponse.getInstance().getRegion());
-                        resultMap.put("shape", getInstanceResponse.getInstance().getShape());
-                        resultMap.put("timeCreated", getInstanceResponse.getInstance().getTimeCreated().toString());
-                        resultMap.put("ocpus",
-                                        getInstanceResponse.getInstance().getShapeConfig().getOcpus().toString());
-                        resultMap.put("memoryInGBs",
-                                        getInstanceResponse.getInstance().getShapeConfig().getMemoryInGBs().toString());
-                        resultMap.put("memoryInGBs",
-                                        getInstanceResponse.getInstance().getShapeConfig().getMemoryInGBs().toString());
-                        resultMap.put("publicIp", getVnicResponse.getVnic().getPublicIp());
-                        resultMap.put("privateIp", getVnicResponse.getVnic().getPrivateIp());
+                        resultMap = describeInstance(getInstanceResponse.getInstance(), vnic);
 
                 } catch (Exception e) {
                         e.printStackTrace();
                         throw e;
-                } finally {
-                        computeClient.close();
-                        virtualNetworkClient.close();
                 }
                 return resultMap;
         }
 
         /**
-         * 인스턴스와 관련된 모든 자원 터미네이트 (인스턴스, 스토리지, 네트워크)
+         * 인스턴스의 기본 VNIC (IP 정보) 반환
+         * 인스턴스 생성 후에는 거의 바뀌지 않으므로 Available 상태의 VNIC 는 캐시하고, 인스턴스 삭제 시 제거한다.
+         */
+        private Vnic getVnic(String region, String compartmentId, String instanceId) throws Exception {
+                return getCachedVnic(region, instanceId, () -> {
+                        ComputeClient computeClient = ociClientRegistry.getComputeClient(region);
+                        VirtualNetworkClient virtualNetworkClient = ociClientRegistry.getVirtualNetworkClient(region);
+
+                        // IP 정보 획득을 위해 인스턴스에 Attached Vnic 정보 요청
+                        ListVnicAttachmentsResponse listVnicAttachmentsResponse = computeClient
+                                        .listVnicAttachments(ListVnicAttachmentsRequest.builder()
+                                                        .compartmentId(compartmentId).instanceId(instanceId).build());
+                        if (listVnicAttachmentsResponse.getItems().isEmpty()) {
+                                throw new IllegalStateException("No VNIC is attached to instance " + instanceId + ".");
+                        }
+
+                        // Vnic 정보 요청 및 응답
+                        return virtualNetworkClient.getVnic(GetVnicRequest.builder()
+                                        .vnicId(listVnicAttachmentsResponse.getItems().get(0).getVnicId()).build())
+                                        .getVnic();
+                });
+        }
+
+        /**
+         * 캐시된 VNIC 반환 (없으면 loader 로 조회, Available 상태가 아니면 캐시하지 않음)
+         */
+        private Vnic getCachedVnic(String region, String instanceId, CheckedSupplier<Vnic> loader) throws Exception {
+                String key = region + "|" + instanceId;
+                Vnic vnic = vnicCache.get(key, loader);
+
+                // 생성 중인 VNIC 는 다음 조회에서 다시 조회
+                if (vnic.getLifecycleState() != Vnic.LifecycleState.Available) {
+                        vnicCache.invalidate(key);
+                }
+                return vnic;
+        }
+
+        /**
+         * 컴파트먼트의 CloudAG 인스턴스 상세 정보 일괄 조회
+         * 인스턴스, VNIC 어태치 목록은 컴파트먼트 단위로 한 번씩 조회하고, VNIC 는 캐시되지 않은 것만 동시에 조회하여 메모리에서 연결한다.
          * 
          * @param region        OCI Region Identifier
-         *                      (https://docs.oracle.com/en-us/iaas/Content/General/Concepts/regions.htm)
          * @param compartmentId 컴파트먼트 OCID
-         * @param volumeId      블록볼륨 OCID
-         * @param vcnId    VCN OCID
-         * @return void
+         * @param instanceIds   조회할 인스턴스 OCID 목록 (null 이면 컴파트먼트의 모든 CloudAG 인스턴스, 할당되지 않은 Warm Pool 인스턴스 제외)
+         * @return List<Map<String, String>> 인스턴스별 상세 정보 (getInstance 와 같은 항목 및 lifecycleState,
+         *         VNIC 가 아직 없거나 조회에 실패하면 IP 정보는 null)
+         *         instanceIds 를 지정한 경우 요청 순서대로 반환하며, 컴파트먼트에 없거나 삭제된 인스턴스는
+         *         id 와 lifecycleState=NOTFOUND 만 반환
          */
-        @Async
-        public void terminateAll(String region, String compartmentId, String instanceId, String volumeId, String vcnId)
-                        throws IOException {
-                ComputeClient computeClient = null;
-                try {   
-                        // 인스턴스 작업을 위한 클라이언트 생성
-                        computeClient = new ComputeClient(authentificationProvider.getAuthenticationDetailsProvider());
-                        computeClient.setRegion(region);
-
-                        // 인스턴스 터미네이터 요청
-                        TerminateInstanceRequest terminateInstanceRequest = TerminateInstanceRequest.builder()
-                                        .instanceId(instanceId).preserveBootVolume(false).build();
-
-                        // 인스턴스 터미네이트 수행
-                        computeClient.terminateInstance(terminateInstanceRequest);
-                        GetInstanceRequest getInstanceRequest = GetInstanceRequest.builder().instanceId(instanceId).build();
-                        GetInstanceResponse getInstanceResponse = computeClient.getWaiters().forInstance(getInstanceRequest, Instance.LifecycleState.Terminated).execute();
-                        log.info("인스턴스["+getInstanceResponse.getInstance().getId()+"]가 삭제되었습니다.");
-
-                        // 블록 볼륨 터미네이트
-                        if(!volumeId.isBlank()) {
-                                String terminatedVolumeId = blockStorageService.terminateBlockVolume(region, volumeId);
-                                log.info("볼륨[" + terminatedVolumeId + "]이 삭제되었습니다.");
+        public List<Map<String, String>> getInstances(String region, String compartmentId, List<String> instanceIds)
+                        throws Exception {
+                List<Map<String, String>> results = new ArrayList<Map<String, String>>();
+
+                try {
+                        ComputeClient computeClient = ociClientRegistry.getComputeClient(region);
+                        VirtualNetworkClient virtualNetworkClient = ociClientRegistry.getVirtualNetworkClient(region);
+                        Set<String> requested = instanceIds == null ? null : new HashSet<>(instanceIds);
+
+                        // 컴파트먼트의 인스턴스 목록 (삭제된 인스턴스 제외, CloudAG 태그 또는 이름으로 CloudAG 인스턴스 구분)
+                        // 할당되지 않은 Warm Pool 인스턴스는 Database 가 아니므로 제외
+                        List<Instance> instances = new ArrayList<>();
+                        for (Instance instance : computeClient.getPaginators().listInstancesRecordIterator(
+                                        ListInstancesRequest.builder().compartmentId(compartmentId).build())) {
+                                if (instance.getLifecycleState() == Instance.LifecycleState.Terminated) {
+                                        continue;
+                                }
+                                if (requested != null ? requested.contains(instance.getId())
+                                                : (CloudagTags.isTagged(instance.getDefinedTags())
+                                                                || instance.getDisplayName().endsWith("-instance"))
+                                                                && !isWarmPoolInstance(instance)) {
+                                        instances.add(instance);
+                                }
                         }
 
-                        // VCN 터미네이트
-                        if(!vcnId.isBlank()) {
-                                String terminatedVcnId = networkService.terminateAllVirtualNetwork(region, compartmentId, vcnId);
-                                log.info("["+ terminatedVcnId + "] VCN이 삭제되었습니다.");
+                        // 컴파트먼트의 VNIC 어태치 목록 (인스턴스별 첫 번째 Attached VNIC)
+                        Map<String, String> vnicIds = new HashMap<String, String>();
+                        for (VnicAttachment vnicAttachment : computeClient.getPaginators()
+                                        .listVnicAttachmentsRecordIterator(ListVnicAttachmentsRequest.builder()
+                                                        .compartmentId(compartmentId).build())) {
+                                if (vnicAttachment.getLifecycleState() == VnicAttachment.LifecycleState.Attached) {
+                                        vnicIds.putIfAbsent(vnicAttachment.getInstanceId(), vnicAttachment.getVnicId());
+                                }
                         }
 
-                        log.info("인스턴스와 관련된 모든 자원이 삭제되었습니다.");
+                        // 캐시되지 않은 VNIC 만 동시에 조회
+                        Map<String, CompletableFuture<Vnic>> vnics = new HashMap<>();
+                        for (Instance instance : instances) {
+                                String vnicId = vnicIds.get(instance.getId());
+                                if (vnicId != null) {
+                                        vnics.put(instance.getId(), CheckedFutures.supplyAsync(
+                                                        () -> getCachedVnic(region, instance.getId(),
+                                                                        () -> virtualNetworkClient.getVnic(GetVnicRequest
+                                                                                        .builder().vnicId(vnicId).build())
+                                                                                        .getVnic()),
+                                                        searchExecutor));
+                                }
+                        }
+
+                        for (Instance instance : instances) {
+                                CompletableFuture<Vnic> vnicFuture = vnics.get(instance.getId());
+                                Vnic vnic = null;
+                                if (vnicFuture != null) {
+                                        vnic = vnicFuture.handle((result, error) -> {
+                                                if (error != null) {
+                                                        log.warn("인스턴스[" + instance.getId() + "] VNIC 조회 실패: "
+                                                                        + CheckedFutures.unwrap(error).getMessage());
+                                                }
+                                                return result;
+                                        }).join();
+                                }
+                                results.add(describeInstance(instance, vnic));
+                        }
+
+                        // 요청한 인스턴스는 요청 순서대로, 찾지 못한 인스턴스도 항목으로 반환
+                        if (instanceIds != null) {
+                                Map<String, Map<String, String>> found = new HashMap<String, Map<String, String>>();
+                                for (Map<String, String> result : results) {
+                                        found.put(result.get("id"), result);
+                                }
+                                results = new ArrayList<Map<String, String>>();
+                                for (String instanceId : new LinkedHashSet<>(instanceIds)) {
+                                        Map<String, String> result = found.get(instanceId);
+                                        if (result == null) {
+                                                result = new HashMap<String, String>();
+                                                result.put("id", instanceId);
+                                                result.put("lifecycleState", ResourceSearchService.STATE_NOT_FOUND);
+                                        }
+                                        results.add(result);
+                                }
+                        }
                 } catch (Exception e) {
                         e.printStackTrace();
-                } finally {
-                        computeClient.close();
+                        throw e;
                 }
+                return results;
+        }
+
+        private static boolean isWarmPoolInstance(Instance instance) {
+                return instance.getFreeformTags() != null
+                                && instance.getFreeformTags().containsKey(WarmPoolService.WARM_POOL_TAG);
+        }
+
+        /**
+         * 인스턴스 정보와 VNIC (IP 정보) 를 응답 항목으로 변환
+         */
+        private static Map<String, String> describeInstance(Instance instance, Vnic vnic) {
+                Map<String, String> resultMap = new HashMap<String, String>();
+                resultMap.put("name", instance.getDisplayName());
+                resultMap.put("id", instance.getId());
+                resultMap.put("region", instance.getRegion());
+                resultMap.put("shape", instance.getShape());
+                resultMap.put("lifecycleState", instance.getLifecycleState().getValue());
+                resultMap.put("timeCreated", instance.getTimeCreated().toString());
+                resultMap.put("ocpus", instance.getShapeConfig().getOcpus().toString());
+                resultMap.put("memoryInGBs", instance.getShapeConfig().getMemoryInGBs().toString());
+                resultMap.put("publicIp", vnic == null ? null : vnic.getPublicIp());
+                resultMap.put("privateIp", vnic == null ? null : vnic.getPrivateIp());
+                return resultMap;
+        }
+
+        /**
+         * 인스턴스와 관련된 모든 자원 터미네이트 작업 실행 (인스턴스, 스토리지, 네트워크)
+         * JobService 에서 비동기로 실행되며, 이미 삭제가 완료된 단계는 재시작 시 건너뛴다.
+         * 
+         * 작업 파라미터
+         *   region        OCI Region Identifier
+         *                 (https://docs.oracle.com/en-us/iaas/Content/General/Concepts/regions.htm)
+         *   compartmentId 컴파트먼트 OCID
+         *   instanceId    인스턴스 OCID
+         *   volumeId      블록볼륨 OCID
+         *   vcnId         VCN OCID (공유 VCN 이면 인스턴스의 서브넷과 NSG 만 삭제)
+         * 
+         * @param job   인스턴스 삭제 작업
+         * @param steps 단계 실행 및 기록
+         * @return CompletableFuture<Void> 모든 자원이 삭제되면 완료
+         */
+        public CompletableFuture<Void> runTerminateJob(ProvisioningJob job, JobSteps steps) throws Exception {
+                String region = job.getParam("region");
+                String compartmentId = job.getParam("compartmentId");
+                String instanceId = job.getParam("instanceId");
+                String volumeId = job.getParam("volumeId");
+                String vcnId = job.getParam("vcnId");
+
+                // 공유 VCN 인 경우 인스턴스 삭제 후에는 조회할 수 없는 서브넷, NSG 를 먼저 조회
+                boolean hasNetwork = vcnId != null && !vcnId.isBlank();
+                CompletableFuture<Map<String, String>> networkFuture = hasNetwork
+                                ? steps.runAsync(STEP_NETWORK_LOOKUP, () -> CheckedFutures.supplyAsync(
+                                                () -> sharedNetworkService.describeInstanceNetwork(region,
+                                                                compartmentId, instanceId, vcnId),
+                                                provisioningStepExecutor))
+                                : CompletableFuture.completedFuture(Collections.emptyMap());
+
+                // 인스턴스 터미네이트
+                CompletableFuture<Map<String, String>> instanceTerminated = networkFuture.thenCompose(
+                                network -> steps.runAsync(STEP_TERMINATE_INSTANCE,
+                                                () -> terminateInstance(region, instanceId)
+                                                                .thenApply(instance -> Collections.emptyMap())));
+
+                // 볼륨(어태치 해제 필요)과 네트워크(VNIC 삭제 필요)는 인스턴스가 삭제된 후 동시에 삭제
+                //
+                //   네트워크 조회 ──> 인스턴스 ──┬──> 블록 볼륨
+                //                                └──> 서브넷, NSG, Internet Gateway ──> VCN
+                List<CompletableFuture<Map<String, String>>> deletions = new ArrayList<>();
+                deletions.add(instanceTerminated);
+
+                // 블록 볼륨 터미네이트
+                if (volumeId != null && !volumeId.isBlank()) {
+                        deletions.add(instanceTerminated.thenCompose(ignored -> steps.runAsync(STEP_TERMINATE_VOLUME,
+                                        () -> blockStorageService.terminateBlockVolume(region, volumeId)
+                                                        .thenApply(terminatedVolumeId -> {
+                                                                log.info("볼륨[" + terminatedVolumeId + "]이 삭제되었습니다.");
+                                                                return Collections.emptyMap();
+                                                        }))));
+                }
+
+                // 네트워크 터미네이트 (공유 VCN 이면 Database 의 서브넷과 NSG 만 삭제, 아니면 VCN 전체 삭제)
+                if (hasNetwork) {
+                        deletions.add(instanceTerminated.thenCompose(ignored -> steps.runAsync(STEP_TERMINATE_NETWORK,
+                                        () -> {
+                                                Map<String, String> network = networkFuture.join();
+                                                if (Boolean.parseBoolean(network.get("sharedNetwork"))) {
+                                                        String nsgIds = network.getOrDefault("nsgIds", "");
+                                                        return sharedNetworkService
+                                                                        .releaseSubnet(region, network.get("subnetId"),
+                                                                                        nsgIds.isEmpty() ? Collections.emptyList()
+                                                                                                        : Arrays.asList(nsgIds.split(",")))
+                                                                        .thenApply(subnetId -> Collections.emptyMap());
+                                                }
+                                                return networkService.terminateAllVirtualNetwork(region, compartmentId, vcnId)
+                                                                .thenApply(terminatedVcnId -> Collections.emptyMap());
+                                        })));
+                }
+
+                CompletableFuture<Void> terminated = CompletableFuture
+                                .allOf(deletions.toArray(new CompletableFuture[0]));
+
+                return terminated.handle((ignored, error) -> {
+                        if (error != null) {
+                                throw new CompletionException(CheckedFutures.unwrap(error));
+                        }
+                        log.info("인스턴스와 관련된 모든 자원이 삭제되었습니다.");
+                        return null;
+                });
+        }
+
+        private boolean isSharedNetwork() {
+                return "shared".equalsIgnoreCase(networkMode);
+        }
+
+        /**
+         * 인스턴스 터미네이트 요청 후 Terminated 상태가 되면 완료
+         */
+        public CompletableFuture<Instance> terminateInstance(String region, String instanceId) throws Exception {
+                // 인스턴스 작업을 위한 클라이언트
+                ComputeClient computeClient = ociClientRegistry.getComputeClient(region);
+
+                // 인스턴스 터미네이터 요청
+                TerminateInstanceRequest terminateInstanceRequest = TerminateInstanceRequest.builder()
+                                .instanceId(instanceId).preserveBootVolume(false).build();
+
+                // 인스턴스 터미네이트 수행 (이미 삭제된 경우 완료)
+                GetInstanceRequest getInstanceRequest = GetInstanceRequest.builder().instanceId(instanceId).build();
+                return resourceWaiter.deleteAndWait("인스턴스[" + instanceId + "]",
+                                () -> computeClient.terminateInstance(terminateInstanceRequest),
+                                () -> computeClient.getInstance(getInstanceRequest).getInstance(),
+                                Instance::getLifecycleState, Instance.LifecycleState.Terminated)
+                                .thenApply(instance -> {
+                                        inventoryService.remove(instanceId);
+                                        vnicCache.invalidate(region + "|" + instanceId);
+                                        log.info("인스턴스[" + instanceId + "]가 삭제되었습니다.");
+                                        return instance;
+                                });
         }
 }
@@ -0,0 +1,564 @@
+package net.bitnine.cloudag.api.oracle.service;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import javax.annotation.PostConstruct;
+
+import com.oracle.bmc.Region;
+import com.oracle.bmc.computeinstanceagent.ComputeInstanceAgentClient;
+import com.oracle.bmc.computeinstanceagent.model.InstanceAgentCommandExecution;
+import com.oracle.bmc.computeinstanceagent.model.InstanceAgentCommandExecutionSummary;
+import com.oracle.bmc.computeinstanceagent.requests.ListInstanceAgentCommandExecutionsRequest;
+import com.oracle.bmc.core.ComputeClient;
+import com.oracle.bmc.core.model.VolumeAttachment;
+import com.oracle.bmc.core.requests.ListVolumeAttachmentsRequest;
+import com.oracle.bmc.resourcesearch.ResourceSearchClient;
+import com.oracle.bmc.resourcesearch.model.ResourceSummary;
+import com.oracle.bmc.resourcesearch.model.StructuredSearchDetails;
+import com.oracle.bmc.resourcesearch.requests.SearchResourcesRequest;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import lombok.extern.slf4j.Slf4j;
+import net.bitnine.cloudag.api.oracle.util.AuthentificationProvider;
+import net.bitnine.cloudag.api.oracle.util.CloudagTags;
+import net.bitnine.cloudag.api.oracle.util.Etags;
+import net.bitnine.cloudag.api.oracle.util.OciClientRegistry;
+import net.bitnine.cloudag.api.oracle.util.ResourceNames;
+import net.bitnine.cloudag.api.oracle.util.SearchQueries;
+
+/**
+ * CloudAG 자원 (인스턴스, VCN, 서브넷, 볼륨) 인벤토리
+ * 리전, 컴파트먼트, dbname 별로 자원을 메모리에 보관하여 자원 상태 조회를 OCI 호출 없이 처리한다.
+ *
+ * 백그라운드 동기화는 마지막 동기화 이후 생성된 자원과 상태가 바뀌는 중인 자원만 조회하고 (증분),
+ * 주기적으로 전체 자원의 상태와 볼륨 어태치 상태를 조회하고 외부에서 삭제된 자원을 제거한다 (전체).
+ * Resource Search 는 자원의 변경 시각을 제공하지 않으므로 (timeCreated 만 조회 조건으로 사용 가능) 증분 동기화는
+ * "새로 생성된 자원 + 상태가 바뀌는 중인 자원" 만 의미하며, 안정 상태 자원이 외부에서 바뀐 경우 (인스턴스 중지, 볼륨 디태치,
+ * 이름 변경, 삭제 등) 는 전체 동기화에서만 반영된다. 즉 인벤토리의 최신성은 full-sync-interval-ms 로 제한되므로
+ * 조회 요청에 인벤토리를 사용할지는 마지막 전체 동기화 시각으로 판단한다.
+ * 자원을 생성, 삭제하는 코드는 결과를 바로 인벤토리에 반영하므로 요청 직후의 조회에서도 변경 내용이 보인다.
+ */
+@Slf4j
+@Service
+public class InventoryService {
+    public static final String TYPE_INSTANCE = "Instance";
+    public static final String TYPE_VOLUME = "Volume";
+    public static final String TYPE_VCN = "Vcn";
+    public static final String TYPE_SUBNET = "Subnet";
+
+    // 조회 요청에서 인벤토리를 사용하지 않고 OCI 를 직접 조회
+    public static final String FRESHNESS_LIVE = "live";
+
+    // 상태가 바뀌는 중인 자원 (증분 동기화 때마다 다시 조회)
+    private static final Set<String> TRANSITIONAL_STATES = new HashSet<>(Arrays.asList("PROVISIONING", "STARTING",
+            "STOPPING", "TERMINATING", "RESTORING", "UPDATING", "MOVING", "CREATING_IMAGE"));
+
+    // 끝나지 않은 Run Command 상태 (동기화 때마다 다시 조회)
+    private static final Set<String> PENDING_COMMAND_STATES = new HashSet<>(Arrays.asList(
+            InstanceAgentCommandExecution.LifecycleState.Accepted.getValue(),
+            InstanceAgentCommandExecution.LifecycleState.InProgress.getValue()));
+
+    // 증분 동기화 조회 조건 하나에 넣는 자원 OCID 수
+    private static final int IDENTIFIER_BATCH_SIZE = 50;
+
+    // CloudAG 자원 조회 조건 (Defined Tag 또는 CloudAG 자원 이름)
+    private static final String CLOUDAG_CONDITION = "(" + CloudagTags.searchCondition()
+            + " || displayName =~ '-instance' || displayName =~ '-block-volume' || displayName =~ '-vcn'"
+            + " || displayName =~ '-subnet')";
+
+    @Value("${cloudag.inventory.enabled:true}")
+    private boolean enabled;
+
+    // 시작 시 동기화할 리전 (조회 요청이 들어온 리전은 자동으로 추가)
+    @Value("${cloudag.inventory.regions:}")
+    private String[] initialRegions;
+
+    // 전체 동기화 주기 (max-staleness-ms 보다 짧아야 인벤토리가 조회 요청에 사용됨)
+    @Value("${cloudag.inventory.full-sync-interval-ms:60000}")
+    private long fullSyncIntervalMs;
+
+    // 마지막 전체 동기화 후 이 시간이 지나면 조회 요청에 인벤토리를 사용하지 않고 OCI 를 직접 조회
+    @Value("${cloudag.inventory.max-staleness-ms:120000}")
+    private long maxStalenessMs;
+
+    // 검색 인덱스 반영 지연을 고려하여 증분 동기화 기준 시각을 앞당기는 시간
+    @Value("${cloudag.inventory.sync-overlap-ms:300000}")
+    private long syncOverlapMs;
+
+    @Autowired
+    AuthentificationProvider authentificationProvider;
+
+    @Autowired
+    OciClientRegistry ociClientRegistry;
+
+    @Autowired
+    @Qualifier("searchExecutor")
+    private Executor searchExecutor;
+
+    // 자원 OCID -> 자원
+    private final Map<String, InventoryResource> resources = new ConcurrentHashMap<>();
+
+    // 리전|컴파트먼트|dbname -> 자원 OCID
+    private final Map<String, Set<String>> resourcesByDatabase = new ConcurrentHashMap<>();
+
+    // 리전 -> 동기화 상태
+    private final Map<String, RegionSync> regions = new ConcurrentHashMap<>();
+
+    // 이전 동기화가 끝나지 않았으면 건너뜀
+    private final AtomicBoolean syncing = new AtomicBoolean();
+
+    @PostConstruct
+    public void init() {
+        for (String region : initialRegions) {
+            if (!region.isBlank() && isKnownRegion(region.trim())) {
+                regions.putIfAbsent(region.trim(), new RegionSync());
+            } else if (!region.isBlank()) {
+                log.warn("인벤토리 동기화 대상 리전[" + region.trim() + "]을 알 수 없어 제외합니다.");
+            }
+        }
+        if (enabled && fullSyncIntervalMs >= maxStalenessMs) {
+            log.warn("cloudag.inventory.full-sync-interval-ms(" + fullSyncIntervalMs
+                    + ") 가 max-staleness-ms(" + maxStalenessMs + ") 보다 길어 인벤토리가 조회 요청에 사용되지 않습니다.");
+        }
+    }
+
+    /**
+    * 리전의 인벤토리가 조회 요청에 사용할 수 있을 만큼 최신인지 확인 (마지막 전체 동기화 기준)
+    * 처음 조회되는 리전이면 다음 동기화 대상에 추가하고 false 반환 (OCI 리전 ID 가 아니면 추가하지 않음)
+    */
+    public boolean isFresh(String region) {
+        if (!enabled || region == null) {
+            return false;
+        }
+        RegionSync sync = regions.get(region);
+        if (sync == null) {
+            if (isKnownRegion(region)) {
+                regions.putIfAbsent(region, new RegionSync());
+            }
+            return false;
+        }
+        return sync.fullSyncedAt > 0 && System.currentTimeMillis() - sync.fullSyncedAt <= maxStalenessMs;
+    }
+
+    private static boolean isKnownRegion(String region) {
+        try {
+            Region.fromRegionId(region);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+    * dbname 으로 생성된 자원 조회 (생성 시각 순)
+    * @return List<Map<String, String>> 자원별 displayName, resourceType, identifier, lifecycleState
+    *         (볼륨은 attachmentState, 인스턴스는 volumeMountState 포함)
+    */
+    public List<Map<String, String>> find(String region, String compartmentId, String dbname) {
+        Set<String> ids = resourcesByDatabase.getOrDefault(databaseKey(region, compartmentId, dbname),
+                Collections.emptySet());
+        return ids.stream().map(resources::get).filter(Objects::nonNull)
+                .sorted(Comparator.comparingLong(resource -> resource.timeCreated))
+                .map(InventoryResource::toResult).collect(Collectors.toList());
+    }
+
+    /**
+    * 자원 OCID 로 조회 (인벤토리에 없거나 다른 리전, 컴파트먼트의 자원이면 null)
+    */
+    public Map<String, String> get(String region, String compartmentId, String resourceId) {
+        InventoryResource resource = resourceId == null ? null : resources.get(resourceId);
+        if (resource == null || !resource.region.equals(region) || !resource.compartmentId.equals(compartmentId)) {
+            return null;
+        }
+        return resource.toResult();
+    }
+
+    /**
+    * dbname 으로 생성된 자원의 ETag (자원 생성 시각, 이름, 상태, 어태치 및 Run Command 상태로 계산)
+    * 결과 목록을 만들지 않으므로 변경되지 않은 경우 응답 비용 없이 비교할 수 있다.
+    */
+    public String fingerprint(String region, String compartmentId, String dbname) {
+        Set<String> ids = resourcesByDatabase.getOrDefault(databaseKey(region, compartmentId, dbname),
+                Collections.emptySet());
+        return Etags.of(ids.stream().map(resources::get).filter(Objects::nonNull)
+                .sorted(Comparator.comparingLong((InventoryResource resource) -> resource.timeCreated)
+                        .thenComparing(resource -> resource.identifier))
+                .map(resource -> resource.identifier + "|" + resource.timeCreated + "|" + resource.displayName + "|"
+                        + resource.lifecycleState + "|" + resource.attachmentState + "|" + resource.volumeMountState)
+                .collect(Collectors.toList()));
+    }
+
+    /**
+    * 생성 요청한 자원 추가 또는 상태 변경 (이미 있으면 이름, 상태만 변경)
+    * CloudAG 가 생성하는 자원은 모두 CloudAG Defined Tag 가 있다.
+    */
+    public void record(String region, String compartmentId, String resourceType, String resourceId,
+            String displayName, String lifecycleState) {
+        if (resourceId == null) {
+            return;
+        }
+        InventoryResource resource = resources.computeIfAbsent(resourceId,
+                id -> new InventoryResource(region, compartmentId, resourceType, id, System.currentTimeMillis()));
+        resource.tagged = true;
+        update(resource, displayName, lifecycleState);
+    }
+
+    /**
+    * 자원 상태 변경 (인벤토리에 없는 자원은 다음 동기화에서 추가)
+    */
+    public void updateState(String resourceId, String lifecycleState) {
+        InventoryResource resource = resourceId == null ? null : resources.get(resourceId);
+        if (resource != null) {
+            update(resource, resource.displayName, lifecycleState);
+        }
+    }
+
+    /**
+    * 자원 이름 변경 (Warm Pool 인스턴스 할당)
+    */
+    public void rename(String resourceId, String displayName) {
+        InventoryResource resource = resourceId == null ? null : resources.get(resourceId);
+        if (resource != null) {
+            update(resource, displayName, resource.lifecycleState);
+        }
+    }
+
+    /**
+    * 볼륨 어태치 상태 변경
+    */
+    public void updateAttachmentState(String volumeId, String attachmentState) {
+        InventoryResource resource = volumeId == null ? null : resources.get(volumeId);
+        if (resource != null) {
+            resource.attachmentState = attachmentState;
+        }
+    }
+
+    /**
+    * 인스턴스의 볼륨 마운트 Run Command 상태 변경
+    */
+    public void updateVolumeMountState(String instanceId, String volumeMountState) {
+        InventoryResource resource = instanceId == null ? null : resources.get(instanceId);
+        if (resource != null) {
+            resource.volumeMountState = volumeMountState;
+        }
+    }
+
+    /**
+    * 삭제된 자원 제거
+    */
+    public void remove(String resourceId) {
+        InventoryResource resource = resourceId == null ? null : resources.remove(resourceId);
+        if (resource != null) {
+            unindex(resource);
+        }
+    }
+
+    /**
+    * 증분 동기화 (전체 동기화 주기가 지난 리전은 전체 동기화)
+    * 증분 동기화는 생성 시각 기준으로 새 자원과 상태가 바뀌는 중인 자원만 조회하므로 다른 변경은 전체 동기화까지 반영되지 않는다.
+    * 스케줄러 스레드를 점유하지 않도록 searchExecutor 에서 실행
+    */
+    @Scheduled(fixedDelayString = "${cloudag.inventory.sync-interval-ms:30000}")
+    public void sync() {
+        if (!enabled || regions.isEmpty() || !syncing.compareAndSet(false, true)) {
+            return;
+        }
+        searchExecutor.execute(() -> {
+            try {
+                for (Map.Entry<String, RegionSync> region : regions.entrySet()) {
+                    try {
+                        sync(region.getKey(), region.getValue());
+                    } catch (Exception e) {
+                        log.warn("인벤토리[" + region.getKey() + "] 동기화 실패: " + e.getMessage());
+                    }
+                }
+            } finally {
+                syncing.set(false);
+            }
+        });
+    }
+
+    private void sync(String region, RegionSync sync) throws Exception {
+        long startedAt = System.currentTimeMillis();
+        boolean full = startedAt - sync.fullSyncedAt >= fullSyncIntervalMs;
+
+        Set<String> changedCompartments = new HashSet<>();
+        if (full) {
+            // 전체 자원 조회 후 조회되지 않은 자원 (외부에서 삭제된 자원) 제거
+            // 생성 직후 아직 검색 인덱스에 반영되지 않은 자원은 제거하지 않음
+            for (ResourceSummary summary : search(region,
+                    CLOUDAG_CONDITION + " && lifecycleState != 'Terminated'")) {
+                apply(region, summary, changedCompartments);
+            }
+            for (InventoryResource resource : new ArrayList<>(resources.values())) {
+                if (region.equals(resource.region) && resource.updatedAt < startedAt - syncOverlapMs) {
+                    remove(resource.identifier);
+                }
+            }
+        } else {
+            // 마지막 동기화 이후 생성된 자원
+            String since = Instant.ofEpochMilli(sync.watermark).truncatedTo(ChronoUnit.SECONDS).toString();
+            for (ResourceSummary summary : search(region,
+                    CLOUDAG_CONDITION + " && " + SearchQueries.condition("timeCreated", ">=", since))) {
+                apply(region, summary, changedCompartments);
+            }
+
+            // 상태가 바뀌는 중인 자원 (삭제되었으면 제거)
+            List<String> transitional = resources.values().stream()
+                    .filter(resource -> region.equals(resource.region)
+                            && TRANSITIONAL_STATES.contains(resource.lifecycleState))
+                    .map(resource -> resource.identifier).collect(Collectors.toList());
+            for (int from = 0; from < transitional.size(); from += IDENTIFIER_BATCH_SIZE) {
+                String identifiers = SearchQueries.anyOf("identifier", "=",
+                        transitional.subList(from, Math.min(from + IDENTIFIER_BATCH_SIZE, transitional.size())));
+                for (ResourceSummary summary : search(region, identifiers)) {
+                    apply(region, summary, changedCompartments);
+                }
+            }
+        }
+
+        refreshAttachments(region, changedCompartments);
+        refreshVolumeMountStates(region, full);
+
+        sync.watermark = startedAt - syncOverlapMs;
+        if (full) {
+            sync.fullSyncedAt = startedAt;
+        }
+    }
+
+    private Iterable<ResourceSummary> search(String region, String condition) throws Exception {
+        ResourceSearchClient resourceSearchClient = ociClientRegistry.getResourceSearchClient(region);
+        SearchResourcesRequest searchResourcesRequest = SearchResourcesRequest.builder()
+                .searchDetails(StructuredSearchDetails.builder()
+                        .query("query Instance, Subnet, Vcn, Volume resources where " + condition).build())
+                .tenantId(authentificationProvider.getAuthenticationDetailsProvider().getTenantId()).build();
+        return resourceSearchClient.getPaginators().searchResourcesRecordIterator(searchResourcesRequest);
+    }
+
+    private void apply(String region, ResourceSummary summary, Set<String> changedCompartments) {
+        if ("TERMINATED".equalsIgnoreCase(summary.getLifecycleState())) {
+            remove(summary.getIdentifier());
+            return;
+        }
+        long timeCreated = summary.getTimeCreated() == null ? 0 : summary.getTimeCreated().getTime();
+        InventoryResource resource = resources.computeIfAbsent(summary.getIdentifier(),
+                id -> new InventoryResource(region, summary.getCompartmentId(), summary.getResourceType(), id,
+                        timeCreated));
+        resource.timeCreated = timeCreated;
+        resource.tagged = CloudagTags.isTagged(summary.getDefinedTags());
+        update(resource, summary.getDisplayName(), summary.getLifecycleState());
+        if (TYPE_VOLUME.equals(resource.resourceType)) {
+            changedCompartments.add(resource.compartmentId);
+        }
+    }
+
+    /**
+    * 볼륨이 바뀐 컴파트먼트와 어태치 상태가 바뀌는 중인 볼륨의 컴파트먼트의 어태치 상태 조회 (컴파트먼트별 한 번)
+    * 조회에 실패한 컴파트먼트 (권한 없음 등) 의 볼륨은 UNKNOWN 으로 설정하고 다음 전체 동기화에서 다시 조회한다.
+    */
+    private void refreshAttachments(String region, Set<String> changedCompartments) {
+        Set<String> compartments = new HashSet<>(changedCompartments);
+        for (InventoryResource resource : resources.values()) {
+            if (region.equals(resource.region) && TYPE_VOLUME.equals(resource.resourceType)
+                    && (resource.attachmentState == null || resource.attachmentState.endsWith("ING"))) {
+                compartments.add(resource.compartmentId);
+            }
+        }
+
+        for (String compartmentId : compartments) {
+            Map<String, String> attachmentStates;
+            try {
+                attachmentStates = listAttachmentStates(region, compartmentId);
+            } catch (Exception e) {
+                log.warn("컴파트먼트[" + compartmentId + "] 볼륨 어태치 상태 조회 실패: " + e.getMessage());
+                attachmentStates = null;
+            }
+            for (InventoryResource resource : resources.values()) {
+                if (region.equals(resource.region) && compartmentId.equals(resource.compartmentId)
+                        && TYPE_VOLUME.equals(resource.resourceType)) {
+                    resource.attachmentState = attachmentStates == null ? ResourceSearchService.STATE_UNKNOWN
+                            : attachmentStates.getOrDefault(resource.identifier,
+                                    ResourceSearchService.STATE_NOT_FOUND);
+                }
+            }
+        }
+    }
+
+    /**
+    * 볼륨 마운트 Run Command 상태 조회 (인스턴스별 한 번씩 호출되므로 대상을 제한)
+    *   - 처음 보는 인스턴스 (한 번만 조회)
+    *   - Run Command 가 끝나지 않은 인스턴스
+    *   - Run Command 가 아직 없는 CloudAG 태그 인스턴스 (이름만 같은 인스턴스는 다시 조회하지 않음)
+    *   - 조회에 실패한 인스턴스 (전체 동기화에서만 다시 조회)
+    * 조회에 실패한 인스턴스 (권한 없음, 동기화 중 삭제 등) 는 UNKNOWN 으로 설정한다.
+    */
+    private void refreshVolumeMountStates(String region, boolean full) {
+        for (InventoryResource resource : new ArrayList<>(resources.values())) {
+            if (!region.equals(resource.region) || !TYPE_INSTANCE.equals(resource.resourceType)) {
+                continue;
+            }
+            String state = resource.volumeMountState;
+            boolean refresh = state == null || PENDING_COMMAND_STATES.contains(state)
+                    || (resource.tagged && ResourceSearchService.STATE_NOT_FOUND.equals(state))
+                    || (full && ResourceSearchService.STATE_UNKNOWN.equals(state));
+            if (!refresh) {
+                continue;
+            }
+            try {
+                resource.volumeMountState = getVolumeMountState(region, resource.compartmentId,
+                        resource.identifier);
+            } catch (Exception e) {
+                log.warn("인스턴스[" + resource.identifier + "] 볼륨 마운트 상태 조회 실패: " + e.getMessage());
+                resource.volumeMountState = ResourceSearchService.STATE_UNKNOWN;
+            }
+        }
+    }
+
+    /**
+    * 컴파트먼트의 볼륨 어태치 목록을 조회하여 볼륨 ID 별 어태치 상태 반환 (Detached 가 아닌 어태치 우선)
+    */
+    public Map<String, String> listAttachmentStates(String region, String compartmentId) throws Exception {
+        // 인스턴스에 어태치된 볼륨 정보 획득을 위한 클라이언트
+        ComputeClient computeClient = ociClientRegistry.getComputeClient(region);
+
+        Map<String, String> states = new HashMap<>();
+        for (VolumeAttachment volumeAttachment : computeClient.getPaginators().listVolumeAttachmentsRecordIterator(
+                ListVolumeAttachmentsRequest.builder().compartmentId(compartmentId).build())) {
+            String state = volumeAttachment.getLifecycleState().getValue();
+            if (volumeAttachment.getLifecycleState() != VolumeAttachment.LifecycleState.Detached) {
+                states.put(volumeAttachment.getVolumeId(), state);
+            } else {
+                states.putIfAbsent(volumeAttachment.getVolumeId(), state);
+            }
+        }
+        return states;
+    }
+
+    /**
+    * 인스턴스에서 실행된 최근 Run Command 상태
+    */
+    public String getVolumeMountState(String region, String compartmentId, String instanceId) throws Exception {
+        // 인스턴스 Run Command (외부 스크립트 실행) 상태 조회를 위한 클라이언트
+        ComputeInstanceAgentClient computeInstanceAgentClient = ociClientRegistry
+                .getComputeInstanceAgentClient(region);
+
+        // Run Command 목록 요청
+        List<InstanceAgentCommandExecutionSummary> executions = computeInstanceAgentClient
+                .listInstanceAgentCommandExecutions(ListInstanceAgentCommandExecutionsRequest.builder()
+                        .compartmentId(compartmentId).instanceId(instanceId).build())
+                .getItems();
+
+        // Run Command 가 아직 생성 전이라면 NOTFOUND
+        return executions.isEmpty() ? ResourceSearchService.STATE_NOT_FOUND
+                : executions.get(0).getLifecycleState().getValue();
+    }
+
+    /**
+    * 이름, 상태 변경 후 dbname 인덱스 갱신
+    */
+    private void update(InventoryResource resource, String displayName, String lifecycleState) {
+        synchronized (resource) {
+            if (!Objects.equals(resource.displayName, displayName)) {
+                unindex(resource);
+                resource.displayName = displayName;
+                resourcesByDatabase.computeIfAbsent(databaseKey(resource), k -> ConcurrentHashMap.newKeySet())
+                        .add(resource.identifier);
+            }
+            if (lifecycleState != null) {
+                resource.lifecycleState = lifecycleState.toUpperCase();
+            }
+            resource.updatedAt = System.currentTimeMillis();
+        }
+    }
+
+    private void unindex(InventoryResource resource) {
+        if (resource.displayName == null) {
+            return;
+        }
+        resourcesByDatabase.computeIfPresent(databaseKey(resource), (key, ids) -> {
+            ids.remove(resource.identifier);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    private static String databaseKey(InventoryResource resource) {
+        return databaseKey(resource.region, resource.compartmentId, ResourceNames.dbnameOf(resource.displayName));
+    }
+
+    private static String databaseKey(String region, String compartmentId, String dbname) {
+        return region + "|" + compartmentId + "|" + String.valueOf(dbname).toLowerCase();
+    }
+
+    /**
+    * 인벤토리에 보관하는 자원
+    */
+    private static class InventoryResource {
+        private final String region;
+        private final String compartmentId;
+        private final String resourceType;
+        private final String identifier;
+        private volatile long timeCreated;
+        private volatile String displayName;
+        private volatile String lifecycleState;
+        private volatile String attachmentState;
+        private volatile String volumeMountState;
+        private volatile long updatedAt;
+        // CloudAG Defined Tag 가 있는 자원
+        private volatile boolean tagged;
+
+        InventoryResource(String region, String compartmentId, String resourceType, String identifier,
+                long timeCreated) {
+            this.region = region;
+            this.compartmentId = compartmentId;
+            this.resourceType = resourceType;
+            this.identifier = identifier;
+            this.timeCreated = timeCreated;
+        }
+
+        Map<String, String> toResult() {
+            Map<String, String> resultMap = new HashMap<>();
+            resultMap.put("displayName", displayName);
+            resultMap.put("resourceType", resourceType);
+            resultMap.put("identifier", identifier);
+            resultMap.put("lifecycleState", lifecycleState);
+            if (TYPE_VOLUME.equals(resourceType)) {
+                resultMap.put("attachmentState",
+                        attachmentState == null ? ResourceSearchService.STATE_NOT_FOUND : attachmentState);
+            } else if (TYPE_INSTANCE.equals(resourceType)) {
+                resultMap.put("volumeMountState",
+                        volumeMountState == null ? ResourceSearchService.STATE_NOT_FOUND : volumeMountState);
+            }
+            return resultMap;
+        }
+    }
+
+    /**
+    * 리전별 동기화 상태
+    */
+    private static class RegionSync {
+        // 마지막 전체 동기화 완료 시각 (0 이면 아직 동기화되지 않음)
+        private volatile long fullSyncedAt;
+        // 증분 동기화 기준 시각 (이 시각 이후 생성된 자원 조회)
+        private volatile long watermark;
+    }
+}
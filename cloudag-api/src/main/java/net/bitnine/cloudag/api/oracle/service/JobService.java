@@ -0,0 +1,419 @@
+package net.bitnine.cloudag.api.oracle.service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import lombok.extern.slf4j.Slf4j;
+import net.bitnine.cloudag.api.oracle.job.JobEvent;
+import net.bitnine.cloudag.api.oracle.job.JobJournal;
+import net.bitnine.cloudag.api.oracle.job.JobRejectedException;
+import net.bitnine.cloudag.api.oracle.job.JobScheduler;
+import net.bitnine.cloudag.api.oracle.job.JobSteps;
+import net.bitnine.cloudag.api.oracle.job.JobType;
+import net.bitnine.cloudag.api.oracle.job.ProvisioningJob;
+import net.bitnine.cloudag.api.oracle.util.CheckedFutures;
+import net.bitnine.cloudag.api.oracle.util.CheckedFutures.CheckedSupplier;
+
+/**
+ * 인스턴스 생성/삭제 작업 관리
+ * 작업의 각 단계와 생성된 자원 OCID 를 저널에 기록하고, 재시작 시 완료되지 않은 작업을 마지막 완료 단계 이후부터 이어서 실행한다.
+ */
+@Slf4j
+@Service
+public class JobService {
+
+    // 완료된 작업을 저널에 남겨두는 기간
+    @Value("${cloudag.job.retention-days:7}")
+    private long retentionDays;
+
+    @Autowired
+    private JobJournal jobJournal;
+
+    @Autowired
+    private InstanceService instanceService;
+
+    @Autowired
+    private JobScheduler jobScheduler;
+
+    @Autowired
+    private CompartmentDecommissionService compartmentDecommissionService;
+
+    private final Map<String, ProvisioningJob> jobs = new ConcurrentHashMap<>();
+
+    // 작업 유형별 Idempotency-Key -> 작업
+    private final Map<String, ProvisioningJob> jobsByIdempotencyKey = new ConcurrentHashMap<>();
+
+    // 같은 대상(컴파트먼트 + dbname 또는 instanceId)에 대해 진행중인 작업 (중복 요청은 진행중인 작업을 반환)
+    private final Map<String, ProvisioningJob> inFlightJobs = new ConcurrentHashMap<>();
+
+    // 중복 확인부터 작업 등록까지를 하나의 요청씩 처리
+    private final Object submitLock = new Object();
+
+    // 작업 ID -> 이벤트 구독자 (진행 상황 스트리밍)
+    private final Map<String, Set<Consumer<JobEvent>>> listeners = new ConcurrentHashMap<>();
+
+    /**
+    * 저널을 읽어 작업 상태를 복원하고 보관 기간이 지난 완료 작업은 저널에서 제거
+    */
+    @PostConstruct
+    public void restore() throws IOException {
+        List<JobEvent> events = jobJournal.load();
+        for (JobEvent event : events) {
+            jobs.computeIfAbsent(event.getJobId(), ProvisioningJob::new).apply(event);
+        }
+
+        long expiredBefore = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(retentionDays);
+        jobs.values().removeIf(job -> job.getType() == null
+                || (job.getStatus().isFinished() && job.getUpdatedAt() < expiredBefore));
+
+        Set<String> retained = jobs.keySet();
+        List<JobEvent> retainedEvents = events.stream().filter(event -> retained.contains(event.getJobId()))
+                .collect(Collectors.toList());
+        if (retainedEvents.size() != events.size()) {
+            jobJournal.rewrite(retainedEvents);
+        }
+
+        for (ProvisioningJob job : jobs.values()) {
+            index(job);
+        }
+
+        log.info("작업 저널에서 " + jobs.size() + "개의 작업을 복원하였습니다.");
+    }
+
+    /**
+    * 재시작 전에 완료되지 않은 작업을 이어서 실행
+    */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeUnfinishedJobs() {
+        // 일괄 작업은 순서대로 실행되도록 생성 시각 순으로 재개
+        List<ProvisioningJob> ordered = new ArrayList<>(jobs.values());
+        ordered.sort(Comparator.comparingLong(ProvisioningJob::getCreatedAt));
+        for (ProvisioningJob job : ordered) {
+            if (!job.getStatus().isFinished()) {
+                log.info("작업[" + job.getId() + "] " + job.getType() + " 재개 (완료된 단계: " + job.getCompletedSteps()
+                        + ")");
+                start(job);
+            }
+        }
+    }
+
+    /**
+    * 작업 생성 후 비동기로 실행
+    * @param type   작업 유형
+    * @param params 작업 파라미터
+    * @return ProvisioningJob 생성된 작업
+    * @throws JobRejectedException 대기열이 가득 차서 작업을 접수하지 않은 경우
+    */
+    public ProvisioningJob submit(JobType type, Map<String, String> params) throws IOException {
+        return submit(type, params, null);
+    }
+
+    /**
+    * 작업 생성 후 비동기로 실행
+    * 같은 Idempotency-Key 로 접수된 작업이 있거나 같은 대상에 대한 작업이 진행 중이면 새 작업을 만들지 않고 해당 작업을 반환
+    * @param type           작업 유형
+    * @param params         작업 파라미터
+    * @param idempotencyKey 클라이언트가 보낸 Idempotency-Key (없으면 null)
+    * @return ProvisioningJob 생성된 작업 또는 기존 작업
+    * @throws JobRejectedException 대기열이 가득 차서 작업을 접수하지 않은 경우
+    * @throws IllegalArgumentException 같은 Idempotency-Key 가 다른 파라미터로 사용된 경우
+    */
+    public ProvisioningJob submit(JobType type, Map<String, String> params, String idempotencyKey)
+            throws IOException {
+        Map<String, String> jobParams = new HashMap<String, String>(params);
+        if (idempotencyKey != null && !idempotencyKey.isBlank()) {
+            jobParams.put(ProvisioningJob.PARAM_IDEMPOTENCY_KEY, idempotencyKey);
+        }
+
+        synchronized (submitLock) {
+            ProvisioningJob existing = findDuplicate(type, jobParams);
+            if (existing != null) {
+                return existing;
+            }
+
+            jobScheduler.checkAdmission(type, jobParams.get("compartmentId"));
+
+            ProvisioningJob job = new ProvisioningJob(UUID.randomUUID().toString());
+
+            JobEvent created = new JobEvent(job.getId(), JobEvent.Kind.CREATED);
+            created.setJobType(type);
+            created.setParams(jobParams);
+            record(job, created);
+            jobs.put(job.getId(), job);
+            index(job);
+
+            start(job);
+            return job;
+        }
+    }
+
+    public ProvisioningJob getJob(String jobId) {
+        return jobs.get(jobId);
+    }
+
+    public Collection<ProvisioningJob> getJobs() {
+        return new ArrayList<>(jobs.values());
+    }
+
+    /**
+    * 작업 이벤트 구독, 현재 상태를 먼저 전달한 후 이후에 기록되는 이벤트를 순서대로 전달
+    * 이벤트 기록과 같은 작업 잠금 안에서 현재 상태를 전달하고 구독하므로, 현재 상태에 반영된 이벤트는 다시 전달되지 않고
+    * 그 이후의 이벤트는 빠짐없이 현재 상태 다음에 전달된다. 이미 끝난 작업은 현재 상태만 전달하고 구독하지 않는다.
+    * @param jobId            작업 ID
+    * @param snapshotConsumer 현재 상태 (복사본) 를 받을 함수
+    * @param listener         이벤트 구독자 (작업 실행 스레드에서 호출되므로 오래 걸리는 작업은 하지 않아야 함)
+    * @return Runnable 구독 해제
+    */
+    public Runnable subscribe(String jobId, Consumer<ProvisioningJob> snapshotConsumer, Consumer<JobEvent> listener) {
+        ProvisioningJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new IllegalArgumentException("Job not found: " + jobId);
+        }
+        synchronized (job) {
+            ProvisioningJob snapshot = job.copy();
+            snapshotConsumer.accept(snapshot);
+            if (snapshot.getStatus().isFinished()) {
+                return () -> {
+                };
+            }
+            listeners.compute(jobId, (id, jobListeners) -> {
+                Set<Consumer<JobEvent>> subscribed = jobListeners == null ? new CopyOnWriteArraySet<>()
+                        : jobListeners;
+                subscribed.add(listener);
+                return subscribed;
+            });
+        }
+        return () -> listeners.computeIfPresent(jobId, (id, jobListeners) -> {
+            jobListeners.remove(listener);
+            return jobListeners.isEmpty() ? null : jobListeners;
+        });
+    }
+
+    /**
+    * 일괄 작업에 포함된 작업 목록 (일괄 작업 내 순서대로)
+    * @param batchId 일괄 작업 ID
+    * @return List<ProvisioningJob> 작업 목록
+    */
+    public List<ProvisioningJob> getBatchJobs(String batchId) {
+        return jobs.values().stream().filter(job -> batchId.equals(job.getParam(ProvisioningJob.PARAM_BATCH_ID)))
+                .sorted(Comparator.comparingInt(job -> Integer.parseInt(job.getParam(ProvisioningJob.PARAM_BATCH_INDEX))))
+                .collect(Collectors.toList());
+    }
+
+    /**
+    * 같은 Idempotency-Key 로 접수된 작업 또는 같은 대상에 대해 진행중인 작업
+    */
+    private ProvisioningJob findDuplicate(JobType type, Map<String, String> params) {
+        String idempotencyKey = params.get(ProvisioningJob.PARAM_IDEMPOTENCY_KEY);
+        if (idempotencyKey != null) {
+            ProvisioningJob existing = jobsByIdempotencyKey.get(type + "/" + idempotencyKey);
+            if (existing != null) {
+                if (!sameRequest(existing.getParams(), params)) {
+                    throw new IllegalArgumentException(
+                            "Idempotency-Key " + idempotencyKey + " was already used with different parameters.");
+                }
+                log.info("작업[" + existing.getId() + "] Idempotency-Key " + idempotencyKey + " 로 접수된 작업을 반환합니다.");
+                return existing;
+            }
+        }
+
+        String target = targetKey(type, params);
+        ProvisioningJob inFlight = target == null ? null : inFlightJobs.get(target);
+        if (inFlight != null && !inFlight.getStatus().isFinished()) {
+            log.info("작업[" + inFlight.getId() + "] " + target + " 에 대한 작업이 진행 중이므로 해당 작업을 반환합니다.");
+            return inFlight;
+        }
+        return null;
+    }
+
+    /**
+    * Idempotency-Key 및 진행중인 작업 목록에 작업 등록
+    */
+    private void index(ProvisioningJob job) {
+        String idempotencyKey = job.getParam(ProvisioningJob.PARAM_IDEMPOTENCY_KEY);
+        if (idempotencyKey != null) {
+            jobsByIdempotencyKey.put(job.getType() + "/" + idempotencyKey, job);
+        }
+        String target = targetKey(job.getType(), job.getParams());
+        if (target != null && !job.getStatus().isFinished()) {
+            inFlightJobs.put(target, job);
+        }
+    }
+
+    /**
+    * 중복 실행을 막을 작업 대상 (생성은 컴파트먼트 + dbname, 삭제는 컴파트먼트 + instanceId, 컴파트먼트 정리는 컴파트먼트)
+    */
+    private static String targetKey(JobType type, Map<String, String> params) {
+        String target;
+        switch (type) {
+            case CREATE_INSTANCE:
+                target = params.get("dbname");
+                break;
+            case TERMINATE_ALL:
+                target = params.get("instanceId");
+                break;
+            default:
+                target = "*";
+                break;
+        }
+        return target == null ? null : type + "/" + params.get("compartmentId") + "/" + target;
+    }
+
+    /**
+    * 일괄 작업 정보를 제외한 요청 파라미터가 같은지 확인
+    */
+    private static boolean sameRequest(Map<String, String> existing, Map<String, String> requested) {
+        Set<String> names = new HashSet<>(existing.keySet());
+        names.addAll(requested.keySet());
+        names.remove(ProvisioningJob.PARAM_BATCH_ID);
+        names.remove(ProvisioningJob.PARAM_BATCH_CONCURRENCY);
+        for (String name : names) {
+            if (!Objects.equals(existing.get(name), requested.get(name))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+    * 작업 실행 대기열에 추가 (실행 순서 및 동시 실행 개수는 JobScheduler 에서 관리)
+    */
+    private void start(ProvisioningJob job) {
+        jobScheduler.enqueue(job, this::run);
+    }
+
+    /**
+    * 작업 시작, 각 단계는 비동기로 이어서 실행되며 작업이 끝나면 반환된 Future 가 완료된다.
+    */
+    private CompletableFuture<Void> run(ProvisioningJob job) {
+        CompletableFuture<Void> execution;
+        try {
+            record(job, new JobEvent(job.getId(), JobEvent.Kind.STARTED));
+
+            JobSteps steps = JobSteps.withRetryTokens(job.getId(), (step, action) -> runStep(job, step, action));
+            switch (job.getType()) {
+                case CREATE_INSTANCE:
+                    execution = instanceService.runCreateJob(job, steps);
+                    break;
+                case TERMINATE_ALL:
+                    execution = instanceService.runTerminateJob(job, steps);
+                    break;
+                case DECOMMISSION_COMPARTMENT:
+                    execution = compartmentDecommissionService.runDecommissionJob(job, steps);
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown job type: " + job.getType());
+            }
+        } catch (Exception e) {
+            execution = CompletableFuture.failedFuture(e);
+        }
+
+        return execution.handle((ignored, error) -> {
+            finish(job, error == null ? null : CheckedFutures.unwrap(error));
+            return null;
+        });
+    }
+
+    private void finish(ProvisioningJob job, Exception error) {
+        String target = targetKey(job.getType(), job.getParams());
+        try {
+            if (error == null) {
+                record(job, new JobEvent(job.getId(), JobEvent.Kind.SUCCEEDED));
+                log.info("작업[" + job.getId() + "] " + job.getType() + " 완료");
+            } else {
+                log.error("작업[" + job.getId() + "] " + job.getType() + " 실패", error);
+                JobEvent failed = new JobEvent(job.getId(), JobEvent.Kind.FAILED);
+                failed.setError(error.getClass().getSimpleName() + ": " + error.getMessage());
+                record(job, failed);
+            }
+        } catch (IOException journalError) {
+            log.error("작업[" + job.getId() + "] 완료 기록 중 오류", journalError);
+        } finally {
+            if (target != null) {
+                inFlightJobs.remove(target, job);
+            }
+        }
+    }
+
+    /**
+    * 단계 실행, 이미 완료된 단계는 저널에 기록된 결과를 그대로 반환
+    */
+    private CompletableFuture<Map<String, String>> runStep(ProvisioningJob job, String step,
+            CheckedSupplier<CompletableFuture<Map<String, String>>> action) {
+        Map<String, String> completed = job.getStepOutputs(step);
+        if (completed != null) {
+            log.info("작업[" + job.getId() + "] 단계[" + step + "]는 이미 완료되어 건너뜁니다.");
+            return CompletableFuture.completedFuture(completed);
+        }
+
+        try {
+            JobEvent started = new JobEvent(job.getId(), JobEvent.Kind.STEP_STARTED);
+            started.setStep(step);
+            record(job, started);
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        return CheckedFutures.compose(action).thenApply(outputs -> {
+            JobEvent stepCompleted = new JobEvent(job.getId(), JobEvent.Kind.STEP_COMPLETED);
+            stepCompleted.setStep(step);
+            stepCompleted.setOutputs(outputs);
+            try {
+                record(job, stepCompleted);
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+            return outputs;
+        });
+    }
+
+    /**
+    * 이벤트를 저널에 기록하고 작업 상태에 적용한 후 구독자에게 전달
+    * 작업 잠금 안에서 수행하여 저널 순서, 적용 순서, 전달 순서가 같고 구독 시점의 현재 상태와 겹치지 않도록 한다.
+    */
+    private void record(ProvisioningJob job, JobEvent event) throws IOException {
+        synchronized (job) {
+            jobJournal.append(event);
+            job.apply(event);
+            publish(event);
+        }
+    }
+
+    private void publish(JobEvent event) {
+        Set<Consumer<JobEvent>> jobListeners = listeners.get(event.getJobId());
+        if (jobListeners == null) {
+            return;
+        }
+        for (Consumer<JobEvent> listener : jobListeners) {
+            try {
+                listener.accept(event);
+            } catch (RuntimeException e) {
+                log.warn("작업[" + event.getJobId() + "] 이벤트 전달 실패: " + e.getMessage());
+            }
+        }
+    }
+}
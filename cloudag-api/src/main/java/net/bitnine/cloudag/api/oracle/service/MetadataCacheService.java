@@ -0,0 +1,141 @@
+package net.bitnine.cloudag.api.oracle.service;
+
+import java.util.List;
+
+import com.oracle.bmc.core.model.Image;
+import com.oracle.bmc.core.model.Shape;
+import com.oracle.bmc.core.requests.GetImageRequest;
+import com.oracle.bmc.core.requests.ListShapesRequest;
+import com.oracle.bmc.core.responses.ListShapesResponse;
+import com.oracle.bmc.identity.model.AvailabilityDomain;
+import com.oracle.bmc.identity.requests.ListAvailabilityDomainsRequest;
+import com.oracle.bmc.identity.responses.ListAvailabilityDomainsResponse;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import lombok.extern.slf4j.Slf4j;
+import net.bitnine.cloudag.api.oracle.util.OciClientRegistry;
+import net.bitnine.cloudag.api.oracle.util.TtlCache;
+
+@Slf4j
+@Service
+public class MetadataCacheService {
+    // 기본 인스턴스 이미지의 OCID
+    public static final String CLOUDAG_IMAGE_ID = "ocid1.image.oc1.ap-seoul-1.aaaaaaaajknsaiquuovy4kel5xohfgmsnpog7js5dzlqydakwokz65euvhva";
+
+    @Autowired
+    OciClientRegistry ociClientRegistry;
+
+    // 시작 시 미리 조회해 둘 대상 (region:compartmentId 를 콤마로 구분)
+    @Value("${cloudag.metadata.warm-targets:}")
+    private String[] warmTargets;
+
+    // 리전|컴파트먼트 -> Availability Domain 목록
+    private final TtlCache<String, List<AvailabilityDomain>> availabilityDomainCache;
+
+    // 리전|컴파트먼트|Availability Domain -> Shape 목록
+    private final TtlCache<String, List<Shape>> shapeCache;
+
+    // 리전|이미지 OCID -> 이미지
+    private final TtlCache<String, Image> imageCache;
+
+    public MetadataCacheService(@Value("${cloudag.metadata.ttl-minutes:60}") long ttlMinutes) {
+        long ttlMillis = ttlMinutes * 60 * 1000;
+        this.availabilityDomainCache = new TtlCache<>(ttlMillis);
+        this.shapeCache = new TtlCache<>(ttlMillis);
+        this.imageCache = new TtlCache<>(ttlMillis);
+    }
+
+    /**
+    * 리전내의 데이터센터 (Availability Domain) 목록 반환 (캐시)
+    * @param region OCI Region Identifier (https://docs.oracle.com/en-us/iaas/Content/General/Concepts/regions.htm)
+    * @param compartmentId 컴파트먼트 OCID
+    * @return List<AvailabilityDomain> AvailabilityDomain 목록
+    */
+    public List<AvailabilityDomain> getAvailabilityDomains(String region, String compartmentId) throws Exception {
+        return availabilityDomainCache.get(region + "|" + compartmentId, () -> {
+            ListAvailabilityDomainsResponse listAvailabilityDomainsResponse = ociClientRegistry
+                    .getIdentityClient(region).listAvailabilityDomains(
+                            ListAvailabilityDomainsRequest.builder().compartmentId(compartmentId).build());
+            return listAvailabilityDomainsResponse.getItems();
+        });
+    }
+
+    /**
+    * Availability Domain 에서 사용 가능한 Shape 목록 반환 (캐시)
+    * @param region OCI Region Identifier
+    * @param compartmentId 컴파트먼트 OCID
+    * @param availabilityDomain Availability Domain 이름
+    * @return List<Shape> Shape 목록
+    */
+    public List<Shape> getShapes(String region, String compartmentId, String availabilityDomain) throws Exception {
+        return shapeCache.get(region + "|" + compartmentId + "|" + availabilityDomain, () -> {
+            ListShapesRequest listShapesRequest = ListShapesRequest.builder().compartmentId(compartmentId)
+                    .availabilityDomain(availabilityDomain).build();
+            ListShapesResponse listShapesResponse = ociClientRegistry.getComputeClient(region)
+                    .listShapes(listShapesRequest);
+            return listShapesResponse.getItems();
+        });
+    }
+
+    /**
+    * 이미지 정보 반환 (캐시)
+    * @param region OCI Region Identifier
+    * @param imageId 이미지 OCID
+    * @return Image 이미지 정보
+    */
+    public Image getImage(String region, String imageId) throws Exception {
+        return imageCache.get(region + "|" + imageId, () -> ociClientRegistry.getComputeClient(region)
+                .getImage(GetImageRequest.builder().imageId(imageId).build()).getImage());
+    }
+
+    /**
+    * 특정 리전, 컴파트먼트의 캐시 무효화 (이미지는 리전 단위로 무효화)
+    * @param region OCI Region Identifier
+    * @param compartmentId 컴파트먼트 OCID (null 이면 리전 전체)
+    */
+    public void invalidate(String region, String compartmentId) {
+        String prefix = compartmentId == null ? region + "|" : region + "|" + compartmentId;
+        availabilityDomainCache.invalidateIf(key -> key.startsWith(prefix));
+        shapeCache.invalidateIf(key -> key.startsWith(prefix));
+        imageCache.invalidateIf(key -> key.startsWith(region + "|"));
+        log.info("메타데이터 캐시 무효화: " + prefix);
+    }
+
+    public void invalidateAll() {
+        availabilityDomainCache.invalidateAll();
+        shapeCache.invalidateAll();
+        imageCache.invalidateAll();
+        log.info("메타데이터 캐시 전체 무효화");
+    }
+
+    /**
+    * 애플리케이션 시작 후 설정된 대상의 AD, Shape, 이미지를 미리 조회
+    */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        for (String target : warmTargets) {
+            String[] regionAndCompartment = target.trim().split(":", 2);
+            if (regionAndCompartment.length != 2) {
+                continue;
+            }
+            String region = regionAndCompartment[0];
+            String compartmentId = regionAndCompartment[1];
+            try {
+                for (AvailabilityDomain availabilityDomain : getAvailabilityDomains(region, compartmentId)) {
+                    getShapes(region, compartmentId, availabilityDomain.getName());
+                }
+                getImage(region, CLOUDAG_IMAGE_ID);
+                log.info("[" + region + "] " + compartmentId + " 메타데이터 캐시 준비 완료");
+            } catch (Exception e) {
+                log.warn("[" + region + "] " + compartmentId + " 메타데이터 캐시 준비 실패: " + e.getMessage());
+            }
+        }
+    }
+}
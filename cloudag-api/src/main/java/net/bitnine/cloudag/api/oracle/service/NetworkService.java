@@ -6,6 +6,7 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import com.oracle.bmc.core.VirtualNetworkClient;
 import com.oracle.bmc.core.model.AddNetworkSecurityGroupSecurityRulesDetails;
@@ -48,15 +49,7 @@ import com.oracle.bmc.core.responses.CreateInternetGatewayResponse;
 import com.oracle.bmc.core.responses.CreateNetworkSecurityGroupResponse;
 import com.oracle.bmc.core.responses.CreateSubnetResponse;
 import com.oracle.bmc.core.responses.CreateVcnResponse;
-import com.oracle.bmc.core.responses.GetInternetGatewayResponse;
-import com.oracle.bmc.core.responses.GetNetworkSecurityGroupResponse;
 import com.oracle.bmc.core.responses.GetRouteTableResponse;
-import com.oracle.bmc.core.responses.GetSubnetResponse;
-import com.oracle.bmc.core.responses.GetVcnResponse;
-import com.oracle.bmc.core.responses.ListInternetGatewaysResponse;
-import com.oracle.bmc.core.responses.ListNetworkSecurityGroupsResponse;
-import com.oracle.bmc.core.responses.ListRouteTablesResponse;
-import com.oracle.bmc.core.responses.ListSubnetsResponse;
 import com.oracle.bmc.core.responses.UpdateRouteTableResponse;
 import com.oracle.bmc.identity.model.AvailabilityDomain;
 
@@ -65,201 +58,305 @@ import org.springframework.stereotype.Service;
 
 import lombok.extern.slf4j.Slf4j;
 import net.bitnine.cloudag.api.oracle.util.AuthentificationProvider;
+import net.bitnine.cloudag.api.oracle.util.CheckedFutures;
+import net.bitnine.cloudag.api.oracle.util.CloudagTags;
+import net.bitnine.cloudag.api.oracle.util.OciClientRegistry;
+import net.bitnine.cloudag.api.oracle.util.ResourceWaiter;
 
 @Slf4j
 @Service
 public class NetworkService {
+        // CloudAG Database 전용 VCN (서브넷) 의 CIDR 블럭
+        private static final String DEFAULT_VCN_CIDR_BLOCK = "10.0.0.0/16";
+
         @Autowired
         AuthentificationProvider authentificationProvider;
 
+        @Autowired
+        OciClientRegistry ociClientRegistry;
+
         @Autowired
         IdentityService identityService;
 
+        @Autowired
+        ResourceWaiter resourceWaiter;
+
+        @Autowired
+        InventoryService inventoryService;
+
         /**
         * Virtual Cloud Netowork 관련 작업 수행을 위한 클라이언트
         * @param region OCI Region Identifier (https://docs.oracle.com/en-us/iaas/Content/General/Concepts/regions.htm) 
-        * @return VirtualNetworkClient 클라이언트 객체
+        * @return VirtualNetworkClient 클라이언트 객체 (리전별 공유 객체, close 하지 않음)
         */
         public VirtualNetworkClient getVirtualNetworkClient(String region) throws IOException {
-                VirtualNetworkClient virtualNetworkClient = VirtualNetworkClient.builder()
-                                .build(authentificationProvider.getAuthenticationDetailsProvider());
-                
-                // Client 사용을 위한 리전 설정
-                virtualNetworkClient.setRegion(region);
-
-                return virtualNetworkClient;
+                return ociClientRegistry.getVirtualNetworkClient(region);
         }
 
         /**
-         * Virtual Cloud Network 생성
+         * CloudAG Database 전용 Virtual Cloud Network 생성 요청
+         * Available 상태 대기, Internet Gateway 와 서브넷 생성은 completeVirtualNetwork 로 수행한다.
          * 
          * @param dbname        CloudAG Database 이름
          * @param region        OCI Region Identifier
          *                      (https://docs.oracle.com/en-us/iaas/Content/General/Concepts/regions.htm)
          * @param compartmentId 컴파트먼트 OCID
-         * @return Map<String, String> vcn과 subnet ocid 반환
+         * @param retryToken    생성 요청의 OCI 재시도 토큰 (없으면 null)
+         * @return String 생성 요청된 VCN OCID
          */
-        public Map<String, String> createVirtualNetwork(String dbname, String region, String compartmentId)
+        public String createVcn(String dbname, String region, String compartmentId, String retryToken)
                         throws Exception {
-                Map<String, String> resultMap = new HashMap<String, String>();
-                String vcnName = dbname + "-vcn";
+                return requestVcn(region, compartmentId, dbname + "-vcn", DEFAULT_VCN_CIDR_BLOCK, null, retryToken);
+        }
+
+        /**
+         * 생성 요청된 VCN 에 Internet Gateway, 라우팅 규칙, 서브넷을 추가하여 Virtual Cloud Network 구성
+         * 상태 대기는 ResourceWaiter 가 담당하므로 대기하는 동안 스레드를 점유하지 않는다.
+         * 같은 재시도 토큰으로 다시 실행하면 이미 생성된 Internet Gateway, 서브넷을 그대로 사용한다.
+         * 
+         * @param dbname        CloudAG Database 이름
+         * @param region        OCI Region Identifier
+         *                      (https://docs.oracle.com/en-us/iaas/Content/General/Concepts/regions.htm)
+         * @param compartmentId 컴파트먼트 OCID
+         * @param vcnId         createVcn 으로 생성 요청된 VCN OCID
+         * @param retryToken    생성 요청의 OCI 재시도 토큰 (없으면 null)
+         * @return CompletableFuture<Map<String, String>> vcn, subnet, internet gateway ocid 반환
+         */
+        public CompletableFuture<Map<String, String>> completeVirtualNetwork(String dbname, String region,
+                        String compartmentId, String vcnId, String retryToken) throws Exception {
                 String internetGatewayName = dbname + "-gateway";
                 String subnetName = dbname + "-subnet";
 
                 AvailabilityDomain availabilityDomain = null;
                 VirtualNetworkClient virtualNetworkClient = null;
-                Vcn vcn = null;
 
                 try {   
                         // VCN이 생성되는 리전내의 데이터센서 정보 확득
                         availabilityDomain = identityService.getAvailabilityDomains(region, compartmentId);
 
-                        // VCN의 기본 CIDR 블럭
-                        String networkCidrBlock = "10.0.0.0/16";
-
                         // VCN 작업을 위한 Client
                         virtualNetworkClient = getVirtualNetworkClient(region);
+                } catch (Exception e) {
+                        e.printStackTrace();
+                        throw e;
+                }
 
-                        // VCN 생성을 위한 정보 구성
-                        CreateVcnDetails createVcnDetails = CreateVcnDetails.builder().cidrBlock(networkCidrBlock)
-                                        .compartmentId(compartmentId).displayName(vcnName).build();
-
-                        // VCN 생성 요청
-                        CreateVcnRequest createVcnRequest = CreateVcnRequest.builder()
-                                        .createVcnDetails(createVcnDetails).build();
-                        // VCN 생성 응답
-                        CreateVcnResponse createVcnResponse = null;
-
-                        try {   
-                                // VCN 생성
-                                createVcnResponse = virtualNetworkClient.createVcn(createVcnRequest);
-                        } catch (Exception be) {
-                                try {
-                                        // VCN 생성 시 오류가 발생하는 경우 10초후에 재 생성
-                                        log.info(be.getMessage());
-                                        Thread.sleep(10000);
-                                        createVcnResponse = virtualNetworkClient.createVcn(createVcnRequest);
-                                } catch (Exception e) {
-                                        throw e;
-                                }
-                        }
+                String availabilityDomainName = availabilityDomain.getName();
+                VirtualNetworkClient client = virtualNetworkClient;
+
+                // Internet Gateway 생성 및 라우팅 규칙 추가 후 서브넷 생성
+                return completeVcnWithInternetGateway(region, compartmentId, vcnId, internetGatewayName,
+                                retryToken(retryToken, "gateway")).thenCompose(vcnMap -> CheckedFutures.compose(() -> {
+                                        // 서브넷 생성을 위한 정보 구성
+                                        CreateSubnetDetails createSubnetDetails = CreateSubnetDetails.builder()
+                                                        .availabilityDomain(availabilityDomainName)
+                                                        .compartmentId(compartmentId).displayName(subnetName)
+                                                        .cidrBlock(DEFAULT_VCN_CIDR_BLOCK).vcnId(vcnMap.get("vcnId"))
+                                                        .routeTableId(vcnMap.get("routeTableId"))
+                                                        .definedTags(CloudagTags.definedTags()).build();
+
+                                        // 서브넷 생성 요청
+                                        CreateSubnetRequest createSubnetRequest = CreateSubnetRequest.builder()
+                                                        .createSubnetDetails(createSubnetDetails)
+                                                        .opcRetryToken(retryToken(retryToken, "subnet")).build();
+
+                                        // 서브넷 생성 응답
+                                        CreateSubnetResponse createSubnetResponse = client
+                                                        .createSubnet(createSubnetRequest);
+                                        String subnetId = createSubnetResponse.getSubnet().getId();
+                                        inventoryService.record(region, compartmentId, InventoryService.TYPE_SUBNET,
+                                                        subnetId, subnetName,
+                                                        Subnet.LifecycleState.Provisioning.getValue());
+
+                                        // 생성된 서브넷이 Available 상태가 될 때까지 대기
+                                        return resourceWaiter.waitFor("서브넷[" + subnetId + "]",
+                                                        () -> client.getSubnet(GetSubnetRequest.builder()
+                                                                        .subnetId(subnetId).build()).getSubnet(),
+                                                        Subnet::getLifecycleState, Subnet.LifecycleState.Available)
+                                                        .thenApply(subnet -> {
+                                                                log.info("생성된 서브넷 OCID: " + subnet.getId());
+                                                                inventoryService.updateState(subnet.getId(),
+                                                                                subnet.getLifecycleState().getValue());
+
+                                                                Map<String, String> resultMap = new HashMap<String, String>();
+                                                                resultMap.put("vcnId", vcnMap.get("vcnId"));
+                                                                resultMap.put("subnetId", subnet.getId());
+                                                                resultMap.put("internetGatewayId",
+                                                                                vcnMap.get("internetGatewayId"));
+                                                                return resultMap;
+                                                        });
+                                }));
+        }
+
+        /**
+         * VCN 과 Internet Gateway 를 생성하고 기본 Route Table 에 인터넷 라우팅 규칙 추가
+         * 
+         *   VCN 생성 ──> Available 대기 ──> Internet Gateway 생성 ──> Available 대기 ──> Route Rule 추가 ──> Available 대기
+         * 
+         * @param region              OCI Region Identifier
+         * @param compartmentId       컴파트먼트 OCID
+         * @param vcnName             VCN 이름
+         * @param internetGatewayName Internet Gateway 이름
+         * @param networkCidrBlock    VCN CIDR 블럭
+         * @param freeformTags        VCN 에 추가할 Freeform Tag (없으면 null)
+         * @return CompletableFuture<Map<String, String>> vcnId, internetGatewayId, routeTableId
+         */
+        public CompletableFuture<Map<String, String>> createVcnWithInternetGateway(String region,
+                        String compartmentId, String vcnName, String internetGatewayName, String networkCidrBlock,
+                        Map<String, String> freeformTags) throws Exception {
+                String vcnId = requestVcn(region, compartmentId, vcnName, networkCidrBlock, freeformTags, null);
+                return completeVcnWithInternetGateway(region, compartmentId, vcnId, internetGatewayName, null);
+        }
+
+        /**
+         * VCN 생성 요청 (일시적인 오류는 클라이언트 재시도 정책에서 재시도)
+         * 
+         * @return String 생성 요청된 VCN OCID
+         */
+        private String requestVcn(String region, String compartmentId, String vcnName, String networkCidrBlock,
+                        Map<String, String> freeformTags, String retryToken) throws Exception {
+                // VCN 작업을 위한 Client
+                VirtualNetworkClient virtualNetworkClient = getVirtualNetworkClient(region);
+
+                // VCN 생성을 위한 정보 구성
+                CreateVcnDetails createVcnDetails = CreateVcnDetails.builder().cidrBlock(networkCidrBlock)
+                                .compartmentId(compartmentId).displayName(vcnName).freeformTags(freeformTags)
+                                .definedTags(CloudagTags.definedTags()).build();
+
+                // VCN 생성 요청
+                CreateVcnRequest createVcnRequest = CreateVcnRequest.builder()
+                                .createVcnDetails(createVcnDetails).opcRetryToken(retryToken).build();
+                CreateVcnResponse createVcnResponse = virtualNetworkClient.createVcn(createVcnRequest);
+                String vcnId = createVcnResponse.getVcn().getId();
+                inventoryService.record(region, compartmentId, InventoryService.TYPE_VCN, vcnId, vcnName,
+                                Vcn.LifecycleState.Provisioning.getValue());
+                return vcnId;
+        }
 
-                        // VCN 정보 요청
-                        GetVcnRequest getVcnRequest = GetVcnRequest.builder().vcnId(createVcnResponse.getVcn().getId())
-                                        .build();
-                        // VCN 정보 응답
-                        GetVcnResponse getVcnResponse = virtualNetworkClient.getWaiters()
-                                        .forVcn(getVcnRequest, Vcn.LifecycleState.Available).execute();
-                        vcn = getVcnResponse.getVcn();
-                        log.info("생성된 VCN OCID: " + vcn.getId());
-
-                        // Internet Gateway 생성을 위한 정보 구성
-                        CreateInternetGatewayDetails createInternetGatewayDetails = CreateInternetGatewayDetails
-                                        .builder().compartmentId(compartmentId).displayName(internetGatewayName)
-                                        .isEnabled(true).vcnId(vcn.getId()).build();
-
-                        // Internet Gateway 생성 요청
-                        CreateInternetGatewayRequest createInternetGatewayRequest = CreateInternetGatewayRequest
-                                        .builder().createInternetGatewayDetails(createInternetGatewayDetails).build();
-                        
-                        // Internet Gateway 생성 응답
-                        CreateInternetGatewayResponse createInternetGatewayResponse = virtualNetworkClient
-                                        .createInternetGateway(createInternetGatewayRequest);
-
-                        // Internet Gateway 정보 요청
-                        GetInternetGatewayRequest getInternetGatewayRequest = GetInternetGatewayRequest.builder()
-                                        .igId(createInternetGatewayResponse.getInternetGateway().getId()).build();
-                        
-                        // Internet Gateway 정보 응답
-                        GetInternetGatewayResponse getInternetGatewayResponse = virtualNetworkClient.getWaiters()
-                                        .forInternetGateway(getInternetGatewayRequest,
-                                                        InternetGateway.LifecycleState.Available)
-                                        .execute();
-                        
-                        // Internet Gateway 정보 획득
-                        InternetGateway internetGateway = getInternetGatewayResponse.getInternetGateway();
+        /**
+         * 생성 요청된 VCN 이 Available 상태가 되면 Internet Gateway 를 생성하고 기본 Route Table 에 인터넷 라우팅 규칙 추가
+         * (같은 Internet Gateway 의 라우팅 규칙이 이미 있으면 추가하지 않음)
+         * 
+         * @return CompletableFuture<Map<String, String>> vcnId, internetGatewayId, routeTableId
+         */
+        private CompletableFuture<Map<String, String>> completeVcnWithInternetGateway(String region,
+                        String compartmentId, String vcnId, String internetGatewayName, String retryToken)
+                        throws Exception {
+                // VCN 작업을 위한 Client
+                VirtualNetworkClient virtualNetworkClient = getVirtualNetworkClient(region);
+
+                // VCN 이 Available 상태가 될 때까지 대기
+                CompletableFuture<Vcn> vcnFuture = resourceWaiter.waitFor("VCN[" + vcnId + "]",
+                                () -> virtualNetworkClient.getVcn(GetVcnRequest.builder().vcnId(vcnId).build())
+                                                .getVcn(),
+                                Vcn::getLifecycleState, Vcn.LifecycleState.Available);
+
+                // Internet Gateway 생성 (VCN 필요)
+                CompletableFuture<InternetGateway> internetGatewayFuture = vcnFuture
+                                .thenCompose(vcn -> CheckedFutures.compose(() -> {
+                                        log.info("생성된 VCN OCID: " + vcn.getId());
+                                        inventoryService.updateState(vcn.getId(), vcn.getLifecycleState().getValue());
+
+                                        // Internet Gateway 생성을 위한 정보 구성
+                                        CreateInternetGatewayDetails createInternetGatewayDetails = CreateInternetGatewayDetails
+                                                        .builder().compartmentId(compartmentId)
+                                                        .displayName(internetGatewayName).isEnabled(true)
+                                                        .vcnId(vcn.getId()).definedTags(CloudagTags.definedTags())
+                                                        .build();
+
+                                        // Internet Gateway 생성 요청
+                                        CreateInternetGatewayRequest createInternetGatewayRequest = CreateInternetGatewayRequest
+                                                        .builder()
+                                                        .createInternetGatewayDetails(createInternetGatewayDetails)
+                                                        .opcRetryToken(retryToken).build();
+
+                                        // Internet Gateway 생성 응답
+                                        CreateInternetGatewayResponse createInternetGatewayResponse = virtualNetworkClient
+                                                        .createInternetGateway(createInternetGatewayRequest);
+                                        String internetGatewayId = createInternetGatewayResponse.getInternetGateway()
+                                                        .getId();
+
+                                        // Internet Gateway 가 Available 상태가 될 때까지 대기
+                                        return resourceWaiter.waitFor("Internet Gateway[" + internetGatewayId + "]",
+                                                        () -> virtualNetworkClient.getInternetGateway(
+                                                                        GetInternetGatewayRequest.builder()
+                                                                                        .igId(internetGatewayId).build())
+                                                                        .getInternetGateway(),
+                                                        InternetGateway::getLifecycleState,
+                                                        InternetGateway.LifecycleState.Available);
+                                }));
+
+                // Route Table 에 Internet Gateway 라우팅 규칙 추가 (Internet Gateway 필요)
+                return internetGatewayFuture.thenCompose(internetGateway -> CheckedFutures.compose(() -> {
                         log.info("생성된 Internet Gateway OCID: " + internetGateway.getId());
+                        String routeTableId = vcnFuture.join().getDefaultRouteTableId();
 
                         // Internet Gateway를 Route Table에 설정을 위해 Route Table 정보 요청
                         GetRouteTableRequest getRouteTableRequest = GetRouteTableRequest.builder()
-                                        .rtId(vcn.getDefaultRouteTableId()).build();
-                        
+                                        .rtId(routeTableId).build();
+
                         // Route Table 정보 응답
                         GetRouteTableResponse getRouteTableResponse = virtualNetworkClient
                                         .getRouteTable(getRouteTableRequest);
-                        
+
                         // Route Table의 라우팅 규칙 목록
                         List<RouteRule> routeRules = getRouteTableResponse.getRouteTable().getRouteRules();
 
-                        // Internet Gateway 라우팅 규칙 생성
-                        RouteRule internetAccessRoute = RouteRule.builder().destination("0.0.0.0/0")
-                                        .destinationType(RouteRule.DestinationType.CidrBlock)
-                                        .networkEntityId(internetGateway.getId()).build();
-                        
-                        // 생성한 Internet Gateway 라우팅 규칙을 Route Table에 추가
-                        routeRules.add(internetAccessRoute);
-                        UpdateRouteTableDetails updateRouteTableDetails = UpdateRouteTableDetails.builder()
-                                        .routeRules(routeRules).build();
-                        UpdateRouteTableRequest updateRouteTableRequest = UpdateRouteTableRequest.builder()
-                                        .updateRouteTableDetails(updateRouteTableDetails)
-                                        .rtId(vcn.getDefaultRouteTableId()).build();
-                        virtualNetworkClient.updateRouteTable(updateRouteTableRequest);
-
-                        // Route Table 정보
-                        getRouteTableResponse = virtualNetworkClient.getWaiters()
-                                        .forRouteTable(getRouteTableRequest, RouteTable.LifecycleState.Available)
-                                        .execute();
-                        routeRules = getRouteTableResponse.getRouteTable().getRouteRules();
-                        log.info("Route Table에 Internet Gateway Route Rule 추가");
-
-                        // 서브넷 생성을 위한 정보 구성
-                        CreateSubnetDetails createSubnetDetails = CreateSubnetDetails.builder()
-                                        .availabilityDomain(availabilityDomain.getName()).compartmentId(compartmentId)
-                                        .displayName(subnetName).cidrBlock(networkCidrBlock).vcnId(vcn.getId())
-                                        .routeTableId(vcn.getDefaultRouteTableId()).build();
-                        
-                        // 서브넷 생성 요청
-                        CreateSubnetRequest createSubnetRequest = CreateSubnetRequest.builder()
-                                        .createSubnetDetails(createSubnetDetails).build();
-                        
-                        // 서브넷 생성 응답
-                        CreateSubnetResponse createSubnetResponse = virtualNetworkClient
-                                        .createSubnet(createSubnetRequest);
-
-                        // 생성된 서브넷 정보 요청
-                        GetSubnetRequest getSubnetRequest = GetSubnetRequest.builder()
-                                        .subnetId(createSubnetResponse.getSubnet().getId()).build();
-                        
-                        // 생성된 서브넷 정보 응답
-                        GetSubnetResponse getSubnetResponse = virtualNetworkClient.getWaiters()
-                                        .forSubnet(getSubnetRequest, Subnet.LifecycleState.Available).execute();
-                        Subnet subnet = getSubnetResponse.getSubnet();
-
-                        log.info("생성된 서브넷 OCID: " + subnet.getId());
-
-                        resultMap.put("vcnId", vcn.getId());
-                        resultMap.put("subnetId", subnet.getId());
-                } catch (Exception e) {
-                        e.printStackTrace();
-                        throw e;
-                } finally {
-                        virtualNetworkClient.close();
-                }
-                return resultMap;
+                        // 재실행된 경우 이미 추가된 라우팅 규칙은 다시 추가하지 않음
+                        boolean routed = routeRules.stream()
+                                        .anyMatch(rule -> internetGateway.getId().equals(rule.getNetworkEntityId()));
+                        if (!routed) {
+                                // Internet Gateway 라우팅 규칙 생성
+                                RouteRule internetAccessRoute = RouteRule.builder().destination("0.0.0.0/0")
+                                                .destinationType(RouteRule.DestinationType.CidrBlock)
+                                                .networkEntityId(internetGateway.getId()).build();
+
+                                // 생성한 Internet Gateway 라우팅 규칙을 Route Table에 추가
+                                routeRules.add(internetAccessRoute);
+                                UpdateRouteTableDetails updateRouteTableDetails = UpdateRouteTableDetails.builder()
+                                                .routeRules(routeRules).build();
+                                UpdateRouteTableRequest updateRouteTableRequest = UpdateRouteTableRequest.builder()
+                                                .updateRouteTableDetails(updateRouteTableDetails).rtId(routeTableId)
+                                                .build();
+                                virtualNetworkClient.updateRouteTable(updateRouteTableRequest);
+                        }
+
+                        // Route Table 이 Available 상태가 될 때까지 대기
+                        return resourceWaiter.waitFor("Route Table[" + routeTableId + "]",
+                                        () -> virtualNetworkClient.getRouteTable(getRouteTableRequest).getRouteTable(),
+                                        RouteTable::getLifecycleState, RouteTable.LifecycleState.Available)
+                                        .thenApply(routeTable -> {
+                                                log.info("Route Table에 Internet Gateway Route Rule 추가");
+
+                                                Map<String, String> resultMap = new HashMap<String, String>();
+                                                resultMap.put("vcnId", vcnFuture.join().getId());
+                                                resultMap.put("internetGatewayId", internetGateway.getId());
+                                                resultMap.put("routeTableId", routeTableId);
+                                                return resultMap;
+                                        });
+                }));
+        }
+
+        /**
+         * 단계의 재시도 토큰으로 단계 내 요청별 재시도 토큰 생성 (단계의 토큰이 없으면 null)
+         */
+        private static String retryToken(String retryToken, String name) {
+                return retryToken == null ? null : retryToken + "-" + name;
         }
 
         /**
          * 인스턴스에 특정 포트 오픈을 위한 Network Security Group 생성
          * 
          * @param virtualNetworkClient        Virtual Network Client
-         * @param region                        OCI Region Identifier (https://docs.oracle.com/en-us/iaas/Content/General/Concepts/regions.htm)
          * @param compartmentId 컴파트먼트 OCID
          * @param vcnId         VCN OCID
          * @param dbname        CloudAG Database 이름
-         * @return NetworkSecurityGroup
+         * @param retryToken    생성 요청의 OCI 재시도 토큰 (없으면 null)
+         * @return CompletableFuture<NetworkSecurityGroup> Available 상태의 Network Security Group
          */
-        public NetworkSecurityGroup createNetworkSecurityGroup(VirtualNetworkClient virtualNetworkClient,
-                        String compartmentId, String vcnId, String dbname) throws Exception {
+        public CompletableFuture<NetworkSecurityGroup> createNetworkSecurityGroup(
+                        VirtualNetworkClient virtualNetworkClient, String compartmentId, String vcnId, String dbname,
+                        String retryToken) throws Exception {
                 
                 // OCI에 생성할 Network Security Group 이름
                 String networkSecurityGroupName = dbname + "-nsg";
@@ -267,34 +364,28 @@ public class NetworkService {
                 // 생성할 Network Security Group 정보 구성
                 CreateNetworkSecurityGroupDetails createNetworkSecurityGroupDetails = CreateNetworkSecurityGroupDetails
                                 .builder().compartmentId(compartmentId).displayName(networkSecurityGroupName)
-                                .vcnId(vcnId).build();
+                                .vcnId(vcnId).definedTags(CloudagTags.definedTags()).build();
                 
                 // Network Security Group 생성 요청
                 CreateNetworkSecurityGroupRequest createNetworkSecurityGroupRequest = CreateNetworkSecurityGroupRequest
-                                .builder().createNetworkSecurityGroupDetails(createNetworkSecurityGroupDetails).build();
+                                .builder().createNetworkSecurityGroupDetails(createNetworkSecurityGroupDetails)
+                                .opcRetryToken(retryToken).build();
                 
                 // Network Security Group 생성 응답
                 CreateNetworkSecurityGroupResponse createNetworkSecurityGroupResponse = virtualNetworkClient
                                 .createNetworkSecurityGroup(createNetworkSecurityGroupRequest);
+                String networkSecurityGroupId = createNetworkSecurityGroupResponse.getNetworkSecurityGroup().getId();
                 
-                // 생성된 Network Security Group 정보 요청
-                GetNetworkSecurityGroupRequest getNetworkSecurityGroupRequest = GetNetworkSecurityGroupRequest.builder()
-                                .networkSecurityGroupId(
-                                                createNetworkSecurityGroupResponse.getNetworkSecurityGroup().getId())
-                                .build();
-                
-                // 생성된 Network Security Group 정보 응답
-                GetNetworkSecurityGroupResponse getNetworkSecurityGroupResponse = virtualNetworkClient.getWaiters()
-                                .forNetworkSecurityGroup(getNetworkSecurityGroupRequest,
-                                                NetworkSecurityGroup.LifecycleState.Available)
-                                .execute();
-                
-                // 생성된 Network Security Group 정보
-                NetworkSecurityGroup networkSecurityGroup = getNetworkSecurityGroupResponse.getNetworkSecurityGroup();
-
-                log.info("생성된 Network Security Group OCID: " + networkSecurityGroup.getId());
-
-                return networkSecurityGroup;
+                // 생성된 Network Security Group 이 Available 상태가 될 때까지 대기
+                return resourceWaiter.waitFor("Network Security Group[" + networkSecurityGroupId + "]",
+                                () -> virtualNetworkClient.getNetworkSecurityGroup(GetNetworkSecurityGroupRequest
+                                                .builder().networkSecurityGroupId(networkSecurityGroupId).build())
+                                                .getNetworkSecurityGroup(),
+                                NetworkSecurityGroup::getLifecycleState, NetworkSecurityGroup.LifecycleState.Available)
+                                .thenApply(networkSecurityGroup -> {
+                                        log.info("생성된 Network Security Group OCID: " + networkSecurityGroup.getId());
+                                        return networkSecurityGroup;
+                                });
         }
 
         /**
@@ -347,156 +438,121 @@ public class NetworkService {
 
         /**
          * Virtual Cloud Network 삭제 (관련된 모든 네트워크 자원 삭제)
+         * 서로 의존하지 않는 자원은 동시에 삭제하고, OCI 에서 순서가 필요한 경우에만 앞 단계의 삭제 완료를 기다린다.
+         *
+         *   서브넷 (전체 병렬) ────────────────────────────────┐
+         *   NSG (전체 병렬) ───────────────────────────────────┼──> VCN 삭제
+         *   Route Rule 제거 ──> Internet Gateway (전체 병렬) ──┘
          * 
          * @param region        OCI Region Identifier
          *                      (https://docs.oracle.com/en-us/iaas/Content/General/Concepts/regions.htm)
          * @param compartmentId 컴파트먼트 OCID
          * @param vcnId            vcn OCID
-         * @return String  삭제된 VCN OCID 반환
+         * @return CompletableFuture<String>  삭제된 VCN OCID 반환
          */
-        public String terminateAllVirtualNetwork(String region, String compartmentId, String vcnId) throws Exception {
-                VirtualNetworkClient virtualNetworkClient = null;
-                try {
-                        // VCN 작업을 위한 클라이언트
-                        virtualNetworkClient = getVirtualNetworkClient(region);
-                        virtualNetworkClient.setRegion(region);
-
-                        // Subnet 삭제를 위해 서브넷 목록 조회 요청
-                        ListSubnetsRequest listSubnetsRequest = ListSubnetsRequest.builder()
-                                        .compartmentId(compartmentId).vcnId(vcnId).build();
-                        // Subnet 삭제를 위해 서브넷 목록 조회 응답
-                        ListSubnetsResponse listSubnetsResponse = virtualNetworkClient.listSubnets(listSubnetsRequest);
+        public CompletableFuture<String> terminateAllVirtualNetwork(String region, String compartmentId, String vcnId)
+                        throws Exception {
+                // VCN 작업을 위한 클라이언트
+                VirtualNetworkClient virtualNetworkClient = getVirtualNetworkClient(region);
 
-                        // 조회된 모든 서브넷 삭제
-                        for (Subnet subnet : listSubnetsResponse.getItems()) {
+                List<CompletableFuture<?>> deletions = new ArrayList<>();
+                try {
+                        // 모든 서브넷 삭제 (목록은 모든 페이지 조회)
+                        for (Subnet subnet : virtualNetworkClient.getPaginators().listSubnetsRecordIterator(
+                                        ListSubnetsRequest.builder().compartmentId(compartmentId).vcnId(vcnId).build())) {
+                                if (subnet.getLifecycleState() == Subnet.LifecycleState.Terminated) {
+                                        continue;
+                                }
                                 String subnetId = subnet.getId();
-
-                                // 서브넷 삭ㅈ ㅔ요청
-                                DeleteSubnetRequest deleteSubnetRequest = DeleteSubnetRequest.builder()
-                                                .subnetId(subnetId).build();
-
-                                // 서브넷 삭제
-                                virtualNetworkClient.deleteSubnet(deleteSubnetRequest);
-
-
-                                // 삭제 요청된 서브넷 정보 요청
-                                GetSubnetRequest getSubnetRequest = GetSubnetRequest.builder().subnetId(subnetId)
-                                                .build();
-                                
-                                // 서브넷 상태 조회 (Terminated 되면 응답)
-                                virtualNetworkClient.getWaiters()
-                                                .forSubnet(getSubnetRequest, Subnet.LifecycleState.Terminated)
-                                                .execute();
-
-                                log.info("서브넷 [" + subnetId + "] 이 삭제되었습니다.");
+                                deletions.add(resourceWaiter.deleteAndWait("서브넷[" + subnetId + "]",
+                                                () -> virtualNetworkClient.deleteSubnet(DeleteSubnetRequest.builder()
+                                                                .subnetId(subnetId).build()),
+                                                () -> virtualNetworkClient.getSubnet(GetSubnetRequest.builder()
+                                                                .subnetId(subnetId).build()).getSubnet(),
+                                                Subnet::getLifecycleState, Subnet.LifecycleState.Terminated)
+                                                .thenRun(() -> {
+                                                        inventoryService.remove(subnetId);
+                                                        log.info("서브넷 [" + subnetId + "] 이 삭제되었습니다.");
+                                                }));
                         }
 
-                        // 모든 NSG 삭제를 위해 NSG 목록 조회 요청
-                        ListNetworkSecurityGroupsRequest listNetworkSecurityGroupsRequest = ListNetworkSecurityGroupsRequest
-                                        .builder().compartmentId(compartmentId).vcnId(vcnId).build();
-                        
-                        // 모든 NSG 삭제를 위해 NSG 목록 조회 응답
-                        ListNetworkSecurityGroupsResponse listNetworkSecurityGroupsResponse = virtualNetworkClient
-                                        .listNetworkSecurityGroups(listNetworkSecurityGroupsRequest);
-
-                        // NSG 삭제
-                        for (NetworkSecurityGroup networkSecurityGroup : listNetworkSecurityGroupsResponse.getItems()) {
+                        // 모든 NSG 삭제
+                        for (NetworkSecurityGroup networkSecurityGroup : virtualNetworkClient.getPaginators()
+                                        .listNetworkSecurityGroupsRecordIterator(ListNetworkSecurityGroupsRequest
+                                                        .builder().compartmentId(compartmentId).vcnId(vcnId).build())) {
+                                if (networkSecurityGroup.getLifecycleState() == NetworkSecurityGroup.LifecycleState.Terminated) {
+                                        continue;
+                                }
                                 String networkSecurityGroupId = networkSecurityGroup.getId();
-                                
-                                // NSG 삭제 요청
-                                DeleteNetworkSecurityGroupRequest deleteNetworkSecurityGroupRequest = DeleteNetworkSecurityGroupRequest
-                                                .builder().networkSecurityGroupId(networkSecurityGroupId).build();
-                                
-                                // NSG 삭제
-                                virtualNetworkClient.deleteNetworkSecurityGroup(deleteNetworkSecurityGroupRequest);
-
-                                // 삭제 요청된 NSG 정보 조회
-                                GetNetworkSecurityGroupRequest getNetworkSecurityGroupRequest = GetNetworkSecurityGroupRequest
-                                                .builder().networkSecurityGroupId(networkSecurityGroupId).build();
-                                
-                                // NSG 상태 조회 (Terminated 되면 응답)
-                                virtualNetworkClient
-                                                .getWaiters()
-                                                .forNetworkSecurityGroup(getNetworkSecurityGroupRequest,
-                                                                NetworkSecurityGroup.LifecycleState.Terminated)
-                                                .execute();
-
-                                log.info("Network Security Group ["
-                                                + networkSecurityGroupId
-                                                + "] 이 삭제되었습니다.");
+                                deletions.add(resourceWaiter.deleteAndWait(
+                                                "Network Security Group[" + networkSecurityGroupId + "]",
+                                                () -> virtualNetworkClient.deleteNetworkSecurityGroup(
+                                                                DeleteNetworkSecurityGroupRequest.builder()
+                                                                                .networkSecurityGroupId(networkSecurityGroupId)
+                                                                                .build()),
+                                                () -> virtualNetworkClient.getNetworkSecurityGroup(
+                                                                GetNetworkSecurityGroupRequest.builder()
+                                                                                .networkSecurityGroupId(networkSecurityGroupId)
+                                                                                .build())
+                                                                .getNetworkSecurityGroup(),
+                                                NetworkSecurityGroup::getLifecycleState,
+                                                NetworkSecurityGroup.LifecycleState.Terminated)
+                                                .thenRun(() -> log.info("Network Security Group [" + networkSecurityGroupId
+                                                                + "] 이 삭제되었습니다.")));
                         }
 
-                        // Internet Gateway를 Route Table에서 제거하기 위해 Route Table에 설정된 Route Rule 목록 조회 요청
-                        ListRouteTablesRequest listRouteTablesRequest = ListRouteTablesRequest.builder()
-                                        .compartmentId(compartmentId).vcnId(vcnId).build();
-                        
-                        // Internet Gateway를 Route Table에서 제거하기 위해 Route Table에 설정된 Route Rule 목록 조회 응답
-                        ListRouteTablesResponse listRouteTablesResponse = virtualNetworkClient
-                                        .listRouteTables(listRouteTablesRequest);
-
-                        List<RouteRule> routeRules = new ArrayList<>();
-                        for (RouteTable routeTable : listRouteTablesResponse.getItems()) {
-
-                                // Route Table에서 Route Rule 제거를 위한 업데이트 정보 설정
+                        // Internet Gateway 는 Route Rule 에서 사용중이면 삭제할 수 없으므로 Route Table 의 Route Rule 을 먼저 제거
+                        for (RouteTable routeTable : virtualNetworkClient.getPaginators().listRouteTablesRecordIterator(
+                                        ListRouteTablesRequest.builder().compartmentId(compartmentId).vcnId(vcnId).build())) {
+                                if (routeTable.getLifecycleState() != RouteTable.LifecycleState.Available
+                                                || routeTable.getRouteRules().isEmpty()) {
+                                        continue;
+                                }
                                 UpdateRouteTableDetails updateRouteTableDetails = UpdateRouteTableDetails.builder()
-                                                .routeRules(routeRules).build();
-                                
-                                // Route Table에서 Route Rule 제거를 위한 업데이트 요청
-                                UpdateRouteTableRequest updateRouteTableRequest = UpdateRouteTableRequest.builder()
-                                                .rtId(routeTable.getId())
-                                                .updateRouteTableDetails(updateRouteTableDetails).build();
-
-                                // Route Table에서 Route Rule 제거 응답
-                                UpdateRouteTableResponse updateRouteTableResponse = virtualNetworkClient.updateRouteTable(updateRouteTableRequest);
-                                log.info("Route Table이 ["+updateRouteTableResponse.getRouteTable().getId()+"] 업데이트 되었습니다. (Internet Gateway Route Rule 제거)");
+                                                .routeRules(new ArrayList<RouteRule>()).build();
+                                UpdateRouteTableResponse updateRouteTableResponse = virtualNetworkClient
+                                                .updateRouteTable(UpdateRouteTableRequest.builder().rtId(routeTable.getId())
+                                                                .updateRouteTableDetails(updateRouteTableDetails).build());
+                                log.info("Route Table이 [" + updateRouteTableResponse.getRouteTable().getId()
+                                                + "] 업데이트 되었습니다. (Internet Gateway Route Rule 제거)");
                         }
 
-                        // Internet Gateway 삭제를 위해 모든 Internet Gateway 목록 조회 요청
-                        ListInternetGatewaysRequest listInternetGatewaysRequest = ListInternetGatewaysRequest.builder().compartmentId(compartmentId).vcnId(vcnId).build();
-
-                        // Internet Gateway 삭제를 위해 모든 Internet Gateway 목록 조회 응답
-                        ListInternetGatewaysResponse listInternetGatewaysResponse = virtualNetworkClient.listInternetGateways(listInternetGatewaysRequest);
-
-                        for(InternetGateway internetGateway : listInternetGatewaysResponse.getItems()) {
-                                String InternetGatewayId = internetGateway.getId();
-
-                                // Internet Gateway 삭제 요청
-                                DeleteInternetGatewayRequest deleteInternetGatewayRequest = DeleteInternetGatewayRequest.builder().igId(InternetGatewayId).build();
-
-                                // Internet Gateway 삭제 
-                                virtualNetworkClient.deleteInternetGateway(deleteInternetGatewayRequest);
-
-
-                                // 삭제 요청된 Internet Gateway 정보 요청
-                                GetInternetGatewayRequest getInternetGatewayRequest = GetInternetGatewayRequest.builder().igId(InternetGatewayId).build();
-
-                                // 삭제 요청된 Internet Gateway 상태 조회 (Terminated되 면 응답)
-                                virtualNetworkClient.getWaiters().forInternetGateway(getInternetGatewayRequest, InternetGateway.LifecycleState.Terminated).execute();
-
-                                log.info("Internet Gateway ["+ InternetGatewayId+"]가 삭제되었습니다.");
+                        // 모든 Internet Gateway 삭제
+                        for (InternetGateway internetGateway : virtualNetworkClient.getPaginators()
+                                        .listInternetGatewaysRecordIterator(ListInternetGatewaysRequest.builder()
+                                                        .compartmentId(compartmentId).vcnId(vcnId).build())) {
+                                if (internetGateway.getLifecycleState() == InternetGateway.LifecycleState.Terminated) {
+                                        continue;
+                                }
+                                String internetGatewayId = internetGateway.getId();
+                                deletions.add(resourceWaiter.deleteAndWait("Internet Gateway[" + internetGatewayId + "]",
+                                                () -> virtualNetworkClient.deleteInternetGateway(DeleteInternetGatewayRequest
+                                                                .builder().igId(internetGatewayId).build()),
+                                                () -> virtualNetworkClient.getInternetGateway(GetInternetGatewayRequest
+                                                                .builder().igId(internetGatewayId).build()).getInternetGateway(),
+                                                InternetGateway::getLifecycleState,
+                                                InternetGateway.LifecycleState.Terminated)
+                                                .thenRun(() -> log.info("Internet Gateway [" + internetGatewayId
+                                                                + "]가 삭제되었습니다.")));
                         }
-
-                        // VCN 삭제 요청
-                        DeleteVcnRequest deleteVcnRequest = DeleteVcnRequest.builder().vcnId(vcnId).build();
-
-                        // VCN 삭제
-                        virtualNetworkClient.deleteVcn(deleteVcnRequest);
-                        
-                        // 삭제 요청된 VCN 정보 요청
-                        GetVcnRequest getVcnRequest = GetVcnRequest.builder().vcnId(vcnId).build();
-
-                        // 삭제 요청된 VCN 상태 조회 (Terminated 상태이면 응답)
-                        virtualNetworkClient.getWaiters().forVcn(getVcnRequest, Vcn.LifecycleState.Terminated).execute();
-                        
-                        log.info("Vcn: [" + vcnId + "]이 삭제되었습니다.");
-
                 } catch (Exception e) {
                         e.printStackTrace();
                         throw e;
-                } finally {
-                        virtualNetworkClient.close();
                 }
-                return vcnId;
+
+                // VCN 안의 자원이 모두 삭제된 후 VCN 삭제
+                return CompletableFuture.allOf(deletions.toArray(new CompletableFuture[0]))
+                                .thenCompose(ignored -> resourceWaiter.deleteAndWait("VCN[" + vcnId + "]",
+                                                () -> virtualNetworkClient
+                                                                .deleteVcn(DeleteVcnRequest.builder().vcnId(vcnId).build()),
+                                                () -> virtualNetworkClient.getVcn(GetVcnRequest.builder().vcnId(vcnId).build())
+                                                                .getVcn(),
+                                                Vcn::getLifecycleState, Vcn.LifecycleState.Terminated))
+                                .thenApply(vcn -> {
+                                        inventoryService.remove(vcnId);
+                                        log.info("Vcn: [" + vcnId + "]이 삭제되었습니다.");
+                                        return vcnId;
+                                });
         }
 
 }
@@ -0,0 +1,398 @@
+package net.bitnine.cloudag.api.oracle.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.oracle.bmc.core.ComputeClient;
+import com.oracle.bmc.core.VirtualNetworkClient;
+import com.oracle.bmc.core.model.NetworkSecurityGroup;
+import com.oracle.bmc.core.model.Subnet;
+import com.oracle.bmc.core.model.Vcn;
+import com.oracle.bmc.core.model.VnicAttachment;
+import com.oracle.bmc.core.model.VolumeAttachment;
+import com.oracle.bmc.core.requests.GetVcnRequest;
+import com.oracle.bmc.core.requests.ListNetworkSecurityGroupsRequest;
+import com.oracle.bmc.core.requests.ListSubnetsRequest;
+import com.oracle.bmc.core.requests.ListVnicAttachmentsRequest;
+import com.oracle.bmc.core.requests.ListVolumeAttachmentsRequest;
+import com.oracle.bmc.resourcesearch.ResourceSearchClient;
+import com.oracle.bmc.resourcesearch.model.ResourceSummary;
+import com.oracle.bmc.resourcesearch.model.StructuredSearchDetails;
+import com.oracle.bmc.resourcesearch.requests.SearchResourcesRequest;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import net.bitnine.cloudag.api.oracle.job.JobStatus;
+import net.bitnine.cloudag.api.oracle.job.JobType;
+import net.bitnine.cloudag.api.oracle.job.ProvisioningJob;
+import net.bitnine.cloudag.api.oracle.util.AuthentificationProvider;
+import net.bitnine.cloudag.api.oracle.util.CheckedFutures;
+import net.bitnine.cloudag.api.oracle.util.CloudagTags;
+import net.bitnine.cloudag.api.oracle.util.OciClientRegistry;
+import net.bitnine.cloudag.api.oracle.util.ResourceNames;
+
+/**
+ * 사용되지 않는 CloudAG 자원 (생성 실패 후 남은 자원, 재시작으로 Pool 에서 빠진 Warm Pool 자원) 정리
+ * 주기적으로 CloudAG Defined Tag 가 있거나 CloudAG 자원 이름 (<dbname>-instance, <dbname>-vcn 등) 을 가진 자원을 조회하여
+ * 진행중인 작업이나 인스턴스가 사용하지 않는 자원을 설정된 개수씩 나누어 삭제한다.
+ *
+ * 인스턴스는 실패한 생성 작업에서 만들어졌거나 Pool 에 없는 Warm Pool 인스턴스만 삭제하고,
+ * 볼륨, VCN (공유 VCN 은 서브넷, NSG) 은 CloudAG 태그가 있거나 실패한 생성 작업에서 만들어진 자원 중 어태치된 인스턴스가 없으면 삭제한다.
+ * (이름만 CloudAG 자원 규칙과 같은 자원은 사용자가 직접 만든 자원일 수 있으므로 삭제하지 않음)
+ * 실패하지 않은 작업 (진행중, 완료) 이 참조하는 자원은 삭제하지 않는다.
+ * 인스턴스가 삭제된 후에 남는 볼륨, 네트워크는 다음 주기에 삭제된다.
+ */
+@Slf4j
+@Service
+public class OrphanReaperService {
+    @Value("${cloudag.reaper.enabled:false}")
+    private boolean enabled;
+
+    // 조회할 리전 목록
+    @Value("${cloudag.reaper.regions:}")
+    private String[] regions;
+
+    // 생성 후 이 시간이 지난 자원만 삭제 (생성 단계가 결과를 기록하기 전의 자원 제외)
+    @Value("${cloudag.reaper.min-age-minutes:120}")
+    private long minAgeMinutes;
+
+    // 한 번에 동시에 삭제할 자원 수 및 한 주기에 삭제할 최대 자원 수
+    @Value("${cloudag.reaper.batch-size:5}")
+    private int batchSize;
+
+    @Value("${cloudag.reaper.max-deletions-per-run:50}")
+    private int maxDeletionsPerRun;
+
+    // 삭제하지 않고 대상만 로그로 출력
+    @Value("${cloudag.reaper.dry-run:false}")
+    private boolean dryRun;
+
+    @Autowired
+    AuthentificationProvider authentificationProvider;
+
+    @Autowired
+    OciClientRegistry ociClientRegistry;
+
+    @Autowired
+    private JobService jobService;
+
+    @Autowired
+    private WarmPoolService warmPoolService;
+
+    @Autowired
+    private InstanceService instanceService;
+
+    @Autowired
+    private BlockStorageService blockStorageService;
+
+    @Autowired
+    private NetworkService networkService;
+
+    @Autowired
+    private SharedNetworkService sharedNetworkService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    @Qualifier("provisioningStepExecutor")
+    private Executor provisioningStepExecutor;
+
+    // 이전 주기의 정리가 끝나지 않았으면 건너뜀
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    /**
+    * 미사용 자원 정리 시작 (스케줄러 스레드를 점유하지 않도록 조회, 삭제는 단계 실행 Executor 에서 수행)
+    */
+    @Scheduled(initialDelayString = "${cloudag.reaper.interval-ms:900000}",
+            fixedDelayString = "${cloudag.reaper.interval-ms:900000}")
+    public void reap() {
+        if (!enabled || !running.compareAndSet(false, true)) {
+            return;
+        }
+
+        CompletableFuture<Void> reaped = CompletableFuture.completedFuture(null);
+        for (String region : regions) {
+            if (region.isBlank()) {
+                continue;
+            }
+            reaped = reaped.thenCompose(ignored -> CheckedFutures
+                    .supplyAsync(() -> findOrphans(region.trim()), provisioningStepExecutor)
+                    .thenCompose(this::deleteAll));
+        }
+        reaped.whenComplete((ignored, error) -> {
+            if (error != null) {
+                log.error("미사용 자원 정리 중 오류", CheckedFutures.unwrap(error));
+            }
+            running.set(false);
+        });
+    }
+
+    /**
+    * 리전의 미사용 CloudAG 자원 조회
+    */
+    private List<Orphan> findOrphans(String region) throws Exception {
+        ResourceSearchClient resourceSearchClient = ociClientRegistry.getResourceSearchClient(region);
+        SearchResourcesRequest searchResourcesRequest = SearchResourcesRequest.builder()
+                .searchDetails(StructuredSearchDetails.builder()
+                        .query("query Instance, Volume, Vcn resources where lifecycleState != 'Terminated'"
+                                + " && lifecycleState != 'Terminating' && (" + CloudagTags.searchCondition()
+                                + " || displayName =~ '-instance' || displayName =~ '-block-volume'"
+                                + " || displayName =~ '-vcn')")
+                        .build())
+                .tenantId(authentificationProvider.getAuthenticationDetailsProvider().getTenantId()).build();
+
+        // 컴파트먼트별 조회 결과 (이름으로만 찾은 자원은 CloudAG 태그 자원이 있는 컴파트먼트의 자원만 대상)
+        Map<String, List<ResourceSummary>> resourcesByCompartment = new HashMap<>();
+        Set<String> cloudagCompartments = new HashSet<>();
+        for (ResourceSummary resource : resourceSearchClient.getPaginators()
+                .searchResourcesRecordIterator(searchResourcesRequest)) {
+            resourcesByCompartment.computeIfAbsent(resource.getCompartmentId(), k -> new ArrayList<>()).add(resource);
+            if (isTagged(resource)) {
+                cloudagCompartments.add(resource.getCompartmentId());
+            }
+        }
+
+        Owners owners = new Owners();
+        List<Orphan> orphans = new ArrayList<>();
+        for (String compartmentId : cloudagCompartments) {
+            findOrphans(region, compartmentId, resourcesByCompartment.get(compartmentId), owners, orphans);
+        }
+
+        // 인스턴스를 먼저 삭제 (볼륨, 네트워크는 인스턴스가 삭제된 후 다음 주기에 삭제)
+        orphans.sort((a, b) -> Boolean.compare(!"Instance".equals(a.type), !"Instance".equals(b.type)));
+        return orphans.size() > maxDeletionsPerRun ? orphans.subList(0, maxDeletionsPerRun) : orphans;
+    }
+
+    private void findOrphans(String region, String compartmentId, List<ResourceSummary> resources, Owners owners,
+            List<Orphan> orphans) throws Exception {
+        ComputeClient computeClient = ociClientRegistry.getComputeClient(region);
+        VirtualNetworkClient virtualNetworkClient = ociClientRegistry.getVirtualNetworkClient(region);
+
+        // 인스턴스가 사용중인 볼륨, 서브넷
+        Set<String> attachedVolumeIds = new HashSet<>();
+        for (VolumeAttachment volumeAttachment : computeClient.getPaginators().listVolumeAttachmentsRecordIterator(
+                ListVolumeAttachmentsRequest.builder().compartmentId(compartmentId).build())) {
+            if (volumeAttachment.getLifecycleState() != VolumeAttachment.LifecycleState.Detached) {
+                attachedVolumeIds.add(volumeAttachment.getVolumeId());
+            }
+        }
+        Set<String> attachedSubnetIds = new HashSet<>();
+        for (VnicAttachment vnicAttachment : computeClient.getPaginators().listVnicAttachmentsRecordIterator(
+                ListVnicAttachmentsRequest.builder().compartmentId(compartmentId).build())) {
+            if (vnicAttachment.getLifecycleState() != VnicAttachment.LifecycleState.Detached) {
+                attachedSubnetIds.add(vnicAttachment.getSubnetId());
+            }
+        }
+
+        for (ResourceSummary resource : resources) {
+            String id = resource.getIdentifier();
+            String name = resource.getDisplayName();
+            if (!isOldEnough(resource.getTimeCreated()) || owners.owns(name, id)) {
+                continue;
+            }
+
+            switch (resource.getResourceType()) {
+                case "Instance":
+                    boolean abandonedWarm = name != null && name.startsWith(WarmPoolService.WARM_POOL_NAME_PREFIX)
+                            && !warmPoolService.isPooled(name, id);
+                    if (abandonedWarm || owners.failedResourceIds.contains(id)) {
+                        orphans.add(new Orphan("Instance", region, compartmentId, id, name, null));
+                    }
+                    break;
+                case "Volume":
+                    if (owners.isCloudagResource(resource.getDefinedTags(), id) && !attachedVolumeIds.contains(id)) {
+                        orphans.add(new Orphan("Volume", region, compartmentId, id, name, null));
+                    }
+                    break;
+                case "Vcn":
+                    Vcn vcn = virtualNetworkClient.getVcn(GetVcnRequest.builder().vcnId(id).build()).getVcn();
+                    if (SharedNetworkService.isSharedVcn(vcn)) {
+                        findSharedNetworkOrphans(virtualNetworkClient, region, compartmentId, id, attachedSubnetIds,
+                                owners, orphans);
+                    } else if (owners.isCloudagResource(resource.getDefinedTags(), id)
+                            && !hasAttachedSubnet(virtualNetworkClient, compartmentId, id, attachedSubnetIds)) {
+                        orphans.add(new Orphan("Vcn", region, compartmentId, id, name, null));
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    /**
+    * 공유 VCN 에서 인스턴스가 없는 서브넷과 해당 Database 의 NSG (공유 VCN 자체는 삭제하지 않음)
+    */
+    private void findSharedNetworkOrphans(VirtualNetworkClient virtualNetworkClient, String region,
+            String compartmentId, String vcnId, Set<String> attachedSubnetIds, Owners owners, List<Orphan> orphans) {
+        Map<String, List<String>> nsgIdsByDbname = new HashMap<>();
+        for (NetworkSecurityGroup nsg : virtualNetworkClient.getPaginators().listNetworkSecurityGroupsRecordIterator(
+                ListNetworkSecurityGroupsRequest.builder().compartmentId(compartmentId).vcnId(vcnId).build())) {
+            if (nsg.getLifecycleState() == NetworkSecurityGroup.LifecycleState.Available) {
+                nsgIdsByDbname
+                        .computeIfAbsent(ResourceNames.dbnameOf(nsg.getDisplayName()), k -> new ArrayList<>())
+                        .add(nsg.getId());
+            }
+        }
+
+        for (Subnet subnet : virtualNetworkClient.getPaginators().listSubnetsRecordIterator(
+                ListSubnetsRequest.builder().compartmentId(compartmentId).vcnId(vcnId).build())) {
+            if (subnet.getLifecycleState() != Subnet.LifecycleState.Available || attachedSubnetIds.contains(subnet.getId())
+                    || !isOldEnough(subnet.getTimeCreated()) || owners.owns(subnet.getDisplayName(), subnet.getId())
+                    || !owners.isCloudagResource(subnet.getDefinedTags(), subnet.getId())) {
+                continue;
+            }
+            List<String> nsgIds = nsgIdsByDbname.getOrDefault(ResourceNames.dbnameOf(subnet.getDisplayName()),
+                    Collections.emptyList());
+            orphans.add(new Orphan("Subnet", region, compartmentId, subnet.getId(), subnet.getDisplayName(), nsgIds));
+        }
+    }
+
+    private boolean hasAttachedSubnet(VirtualNetworkClient virtualNetworkClient, String compartmentId, String vcnId,
+            Set<String> attachedSubnetIds) {
+        for (Subnet subnet : virtualNetworkClient.getPaginators().listSubnetsRecordIterator(
+                ListSubnetsRequest.builder().compartmentId(compartmentId).vcnId(vcnId).build())) {
+            if (attachedSubnetIds.contains(subnet.getId())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+    * 미사용 자원을 batch-size 개씩 동시에 삭제 (이전 묶음이 끝나면 다음 묶음 삭제)
+    */
+    private CompletableFuture<Void> deleteAll(List<Orphan> orphans) {
+        CompletableFuture<Void> deleted = CompletableFuture.completedFuture(null);
+        for (int from = 0; from < orphans.size(); from += batchSize) {
+            List<Orphan> batch = orphans.subList(from, Math.min(from + batchSize, orphans.size()));
+            deleted = deleted.thenCompose(ignored -> CompletableFuture.allOf(
+                    batch.stream().map(this::deleteOrphan).toArray(CompletableFuture[]::new)));
+        }
+        return deleted;
+    }
+
+    private CompletableFuture<?> deleteOrphan(Orphan orphan) {
+        log.warn((dryRun ? "[dry-run] " : "") + "미사용 자원 삭제: " + orphan.type + " " + orphan.name + " ["
+                + orphan.id + "]");
+        if (dryRun) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        CompletableFuture<?> deletion;
+        switch (orphan.type) {
+            case "Instance":
+                deletion = CheckedFutures.compose(() -> instanceService.terminateInstance(orphan.region, orphan.id));
+                break;
+            case "Volume":
+                deletion = CheckedFutures
+                        .compose(() -> blockStorageService.terminateBlockVolume(orphan.region, orphan.id));
+                break;
+            case "Vcn":
+                deletion = CheckedFutures.compose(() -> networkService.terminateAllVirtualNetwork(orphan.region,
+                        orphan.compartmentId, orphan.id));
+                break;
+            default:
+                deletion = CheckedFutures
+                        .compose(() -> sharedNetworkService.releaseSubnet(orphan.region, orphan.id, orphan.nsgIds));
+                break;
+        }
+
+        // 삭제 실패는 다음 주기에 다시 시도
+        return deletion.handle((ignored, error) -> {
+            if (error != null) {
+                log.warn("미사용 자원[" + orphan.id + "] 삭제 실패: " + CheckedFutures.unwrap(error).getMessage());
+            }
+            meterRegistry.counter("cloudag.reaper.deleted", "type", orphan.type, "result",
+                    error == null ? "success" : "failure").increment();
+            return null;
+        });
+    }
+
+    private boolean isOldEnough(Date timeCreated) {
+        return timeCreated != null
+                && System.currentTimeMillis() - timeCreated.getTime() >= TimeUnit.MINUTES.toMillis(minAgeMinutes);
+    }
+
+    private static boolean isTagged(ResourceSummary resource) {
+        return CloudagTags.isTagged(resource.getDefinedTags());
+    }
+
+    /**
+    * 작업 기록으로 본 자원 소유 정보
+    */
+    private class Owners {
+        // 실패하지 않은 작업 (진행중, 완료) 의 자원 OCID, 생성중인 Database 이름
+        private final Set<String> referencedResourceIds = new HashSet<>();
+        private final Set<String> activeDbnames = new HashSet<>();
+        // 실패한 생성 작업에서 만들어진 자원 OCID
+        private final Set<String> failedResourceIds = new HashSet<>();
+
+        Owners() {
+            for (ProvisioningJob job : jobService.getJobs()) {
+                if (job.getStatus() != JobStatus.FAILED) {
+                    referencedResourceIds.addAll(job.getParams().values());
+                    referencedResourceIds.addAll(job.getOutputs().values());
+                    if (!job.getStatus().isFinished() && job.getType() == JobType.CREATE_INSTANCE) {
+                        activeDbnames.add(job.getParam("dbname"));
+                    }
+                } else if (job.getType() == JobType.CREATE_INSTANCE) {
+                    failedResourceIds.addAll(job.getOutputs().values());
+                }
+            }
+            // 실패 후 같은 자원을 다시 사용한 경우 등 실패하지 않은 작업이 우선
+            failedResourceIds.removeAll(referencedResourceIds);
+        }
+
+        /**
+        * CloudAG 가 만든 자원인지 확인 (CloudAG 태그가 있거나 실패한 생성 작업에서 만들어진 자원)
+        */
+        boolean isCloudagResource(Map<String, Map<String, Object>> definedTags, String resourceId) {
+            return CloudagTags.isTagged(definedTags) || failedResourceIds.contains(resourceId);
+        }
+
+        boolean owns(String displayName, String resourceId) {
+            return referencedResourceIds.contains(resourceId)
+                    || activeDbnames.contains(ResourceNames.dbnameOf(displayName))
+                    || warmPoolService.isPooled(displayName, resourceId);
+        }
+    }
+
+    /**
+    * 삭제할 미사용 자원
+    */
+    private static class Orphan {
+        private final String type;
+        private final String region;
+        private final String compartmentId;
+        private final String id;
+        private final String name;
+        private final List<String> nsgIds;
+
+        Orphan(String type, String region, String compartmentId, String id, String name, List<String> nsgIds) {
+            this.type = type;
+            this.region = region;
+            this.compartmentId = compartmentId;
+            this.id = id;
+            this.name = name;
+            this.nsgIds = nsgIds;
+        }
+    }
+}
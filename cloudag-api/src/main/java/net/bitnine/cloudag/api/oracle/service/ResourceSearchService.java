@@ -0,0 +1,488 @@
+package net.bitnine.cloudag.api.oracle.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+
+import com.oracle.bmc.resourcesearch.ResourceSearchClient;
+import com.oracle.bmc.resourcesearch.model.ResourceSummary;
+import com.oracle.bmc.resourcesearch.model.SearchDetails;
+import com.oracle.bmc.resourcesearch.model.StructuredSearchDetails;
+import com.oracle.bmc.resourcesearch.requests.SearchResourcesRequest;
+import com.oracle.bmc.resourcesearch.responses.SearchResourcesResponse;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import lombok.extern.slf4j.Slf4j;
+import net.bitnine.cloudag.api.oracle.util.AuthentificationProvider;
+import net.bitnine.cloudag.api.oracle.util.CheckedFutures;
+import net.bitnine.cloudag.api.oracle.util.Etags;
+import net.bitnine.cloudag.api.oracle.util.OciClientRegistry;
+import net.bitnine.cloudag.api.oracle.util.ResourceNames;
+import net.bitnine.cloudag.api.oracle.util.SearchQueries;
+
+/**
+ * CloudAG Database 자원 (인스턴스, VCN, 서브넷, 볼륨) 상태 조회
+ * 볼륨 어태치 상태는 컴파트먼트 단위로 한 번에 조회하고, 인스턴스별 Run Command 상태는 동시에 조회하여
+ * 조회된 자원과 볼륨 ID, 인스턴스 ID 로 연결한다.
+ * 인벤토리가 최신이면 OCI 를 호출하지 않고 인벤토리에서 조회한다 (freshness 가 live 이면 항상 OCI 조회).
+ */
+@Slf4j
+@Service
+public class ResourceSearchService {
+    // 어태치 작업 또는 Run Command 생성 전
+    public static final String STATE_NOT_FOUND = "NOTFOUND";
+
+    // 제한 시간 내에 조회하지 못한 경우
+    public static final String STATE_UNKNOWN = "UNKNOWN";
+
+    // 인벤토리에서 조회한 결과의 다음 페이지 토큰 접두어 (OCI 페이지 토큰과 구분)
+    private static final String INVENTORY_PAGE_PREFIX = "inventory:";
+
+    // Resource Search 페이지 최대 크기
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    // 구조화 쿼리 하나에 넣는 dbname, 자원 OCID 조건 수
+    private static final int QUERY_BATCH_SIZE = 50;
+
+    // 여러 대상 조회에서 대상별 조회 결과 상태
+    public static final String TARGET_OK = "OK";
+    public static final String TARGET_TIMEOUT = "TIMEOUT";
+    public static final String TARGET_ERROR = "ERROR";
+
+    // 부가 정보 (볼륨 어태치, Run Command 상태) 조회 제한 시간
+    @Value("${cloudag.search.enrichment-timeout-ms:5000}")
+    private long enrichmentTimeoutMs;
+
+    // 여러 대상 조회의 전체 제한 시간 (요청에 지정하지 않은 경우) 및 최대 대상 수
+    @Value("${cloudag.search.fan-out-timeout-ms:10000}")
+    private long fanOutTimeoutMs;
+
+    @Value("${cloudag.search.max-targets:50}")
+    private int maxTargets;
+
+    // 일괄 조회 요청 하나에 지정할 수 있는 dbname, 자원 OCID 수
+    @Value("${cloudag.search.max-batch-size:100}")
+    private int maxBatchSize;
+
+    @Autowired
+    AuthentificationProvider authentificationProvider;
+
+    @Autowired
+    OciClientRegistry ociClientRegistry;
+
+    @Autowired
+    InventoryService inventoryService;
+
+    @Autowired
+    @Qualifier("searchExecutor")
+    private Executor searchExecutor;
+
+    @Autowired
+    @Qualifier("searchFanOutExecutor")
+    private Executor searchFanOutExecutor;
+
+    /**
+    * dbname 으로 생성된 자원의 상태 조회 (모든 페이지)
+    * @param region        OCI Region Identifier
+    * @param compartmentId 컴파트먼트 OCID
+    * @param dbname        CloudAG Database 이름
+    * @return List<Map<String, String>> 자원별 displayName, resourceType, identifier, lifecycleState
+    *         (볼륨은 attachmentState, 인스턴스는 volumeMountState 포함)
+    */
+    public List<Map<String, String>> search(String region, String compartmentId, String dbname) throws Exception {
+        List<Map<String, String>> results = new ArrayList<Map<String, String>>();
+        search(region, compartmentId, dbname, 0, null, null, results::addAll);
+        return results;
+    }
+
+    /**
+    * dbname 으로 생성된 자원의 상태를 페이지 단위로 조회하여 전달
+    * 조회한 페이지의 부가 정보까지 조회되면 바로 전달하므로, 전체 결과를 메모리에 모으지 않고 응답으로 내보낼 수 있다.
+    * @param region        OCI Region Identifier
+    * @param compartmentId 컴파트먼트 OCID
+    * @param dbname        CloudAG Database 이름
+    * @param limit         최대 조회 개수 (0 이하이면 모든 페이지 조회)
+    * @param page          이전 조회에서 반환된 다음 페이지 토큰 (처음부터 조회하면 null)
+    * @param freshness     live 이면 인벤토리를 사용하지 않고 OCI 조회
+    * @param consumer      페이지별 조회 결과를 받을 함수
+    * @return String 최대 조회 개수에 도달하여 남은 결과가 있으면 다음 페이지 토큰, 모두 조회했으면 null
+    */
+    public String search(String region, String compartmentId, String dbname, int limit, String page,
+            String freshness, PageConsumer consumer) throws Exception {
+        // 인벤토리 조회 (OCI 페이지 토큰으로 이어서 조회하는 경우는 OCI 조회)
+        boolean inventoryPage = page != null && page.startsWith(INVENTORY_PAGE_PREFIX);
+        if (inventoryPage || (page == null && !InventoryService.FRESHNESS_LIVE.equalsIgnoreCase(freshness)
+                && inventoryService.isFresh(region))) {
+            return searchInventory(region, compartmentId, dbname, limit, page, consumer);
+        }
+        // =~ 는 부분 일치이므로 조회된 자원 중 이름에서 추출한 dbname 이 같은 자원만 포함 (인벤토리 조회와 같은 기준)
+        return searchLive(region, compartmentId, SearchQueries.condition("displayName", "=~", dbname),
+                resource -> ResourceNames.dbnameOf(resource.get("displayName")).equalsIgnoreCase(dbname), limit, page,
+                consumer);
+    }
+
+    /**
+    * 여러 dbname, 자원 OCID 의 자원 상태를 구조화 쿼리 하나로 조회하여 dbname 별로 분리
+    * 쿼리 하나에 최대 QUERY_BATCH_SIZE 개의 조건을 넣고, 조회된 자원은 이름에서 추출한 dbname 이 요청한 dbname 과
+    * 같은 경우에만 해당 dbname 결과에 포함한다 (db1 을 조회할 때 db10 자원이 포함되지 않도록).
+    * @param region        OCI Region Identifier
+    * @param compartmentId 컴파트먼트 OCID
+    * @param dbnames       CloudAG Database 이름 목록
+    * @param identifiers   자원 OCID 목록
+    * @param freshness     live 이면 인벤토리를 사용하지 않고 OCI 조회
+    * @return Map<String, Object> databases (dbname -> 자원 상태 목록), resources (OCID 로 요청한 자원 상태 목록)
+    */
+    public Map<String, Object> searchBatch(String region, String compartmentId, List<String> dbnames,
+            List<String> identifiers, String freshness) throws Exception {
+        List<String> names = dbnames == null ? Collections.emptyList() : dbnames;
+        List<String> ids = identifiers == null ? Collections.emptyList() : identifiers;
+        if (names.isEmpty() && ids.isEmpty()) {
+            throw new IllegalArgumentException("Either dbnames or identifiers is required.");
+        }
+        if (names.size() + ids.size() > maxBatchSize) {
+            throw new IllegalArgumentException("Too many dbnames and identifiers (max " + maxBatchSize + ").");
+        }
+        for (String name : names) {
+            if (name == null || name.isEmpty()) {
+                throw new IllegalArgumentException("dbname must not be empty.");
+            }
+        }
+        for (String id : ids) {
+            if (!SearchQueries.isIdentifier(id)) {
+                throw new IllegalArgumentException("Invalid identifier: " + id);
+            }
+        }
+
+        Map<String, List<Map<String, String>>> databases = new LinkedHashMap<>();
+        for (String name : names) {
+            databases.put(name, new ArrayList<Map<String, String>>());
+        }
+        List<Map<String, String>> resources = new ArrayList<Map<String, String>>();
+
+        if (!InventoryService.FRESHNESS_LIVE.equalsIgnoreCase(freshness) && inventoryService.isFresh(region)) {
+            for (String name : names) {
+                databases.get(name).addAll(inventoryService.find(region, compartmentId, name));
+            }
+            for (String id : ids) {
+                Map<String, String> resource = inventoryService.get(region, compartmentId, id);
+                if (resource != null) {
+                    resources.add(resource);
+                }
+            }
+        } else {
+            // 조회된 자원의 dbname (소문자) -> 요청한 dbname
+            Map<String, String> requestedNames = new HashMap<>();
+            for (String name : names) {
+                requestedNames.put(name.toLowerCase(), name);
+            }
+            Set<String> requestedIds = new HashSet<>(ids);
+
+            List<String> conditions = new ArrayList<>();
+            for (String name : names) {
+                conditions.add(SearchQueries.condition("displayName", "=~", name));
+            }
+            for (String id : ids) {
+                conditions.add(SearchQueries.condition("identifier", "=", id));
+            }
+
+            // 여러 쿼리에서 같은 자원이 조회되어도 한 번만 포함
+            Set<String> seen = new HashSet<>();
+            for (int from = 0; from < conditions.size(); from += QUERY_BATCH_SIZE) {
+                String condition = String.join(" || ",
+                        conditions.subList(from, Math.min(from + QUERY_BATCH_SIZE, conditions.size())));
+                searchLive(region, compartmentId, condition, resource -> true, 0, null, page -> {
+                    for (Map<String, String> resource : page) {
+                        if (!seen.add(resource.get("identifier"))) {
+                            continue;
+                        }
+                        String name = requestedNames
+                                .get(ResourceNames.dbnameOf(resource.get("displayName")).toLowerCase());
+                        if (name != null) {
+                            databases.get(name).add(resource);
+                        }
+                        if (requestedIds.contains(resource.get("identifier"))) {
+                            resources.add(resource);
+                        }
+                    }
+                });
+            }
+        }
+
+        Map<String, Object> resultMap = new LinkedHashMap<>();
+        resultMap.put("databases", databases);
+        resultMap.put("resources", resources);
+        return resultMap;
+    }
+
+    /**
+    * 구조화 쿼리로 컴파트먼트의 자원을 페이지 단위로 조회하고 부가 정보를 추가하여 전달
+    * @param condition 자원 조회 조건 (컴파트먼트, 삭제되지 않은 자원 조건과 함께 사용)
+    * @param filter    조회된 자원 중 결과에 포함할 자원 (부가 정보 조회, 최대 조회 개수 계산 전에 적용)
+    */
+    private String searchLive(String region, String compartmentId, String condition,
+            Predicate<Map<String, String>> filter, int limit, String page, PageConsumer consumer) throws Exception {
+        // 볼륨 어태치 상태는 컴파트먼트 단위로 한 번만 조회하여 모든 페이지에서 사용
+        AtomicReference<CompletableFuture<Map<String, String>>> attachmentStates = new AtomicReference<>();
+        String nextPage = page;
+        int remaining = limit;
+
+        try {
+            // 리소스 조회를 위한 클라이언트
+            ResourceSearchClient resourceSearchClient = ociClientRegistry.getResourceSearchClient(region);
+
+            // 리소스 조회를 위한 정보 설정 (조회 쿼리 설정)
+            SearchDetails searchDetails = StructuredSearchDetails.builder().query(
+                    "query Instance, Subnet, Vcn, Volume resources where "
+                            + SearchQueries.condition("compartmentId", "=", compartmentId) + " && (" + condition
+                            + ") && lifecycleState != 'Terminated' sorted by timeCreated asc")
+                    .matchingContextType(SearchDetails.MatchingContextType.Highlights).build();
+
+            do {
+                // 리소스 조회를 위한 정보 요청 (최대 조회 개수를 넘지 않도록 페이지 크기 지정)
+                SearchResourcesRequest searchResourcesRequest = SearchResourcesRequest.builder()
+                        .searchDetails(searchDetails)
+                        .tenantId(authentificationProvider.getAuthenticationDetailsProvider().getTenantId())
+                        .page(nextPage).limit(limit > 0 ? Math.min(remaining, MAX_PAGE_SIZE) : null).build();
+
+                // 리소스 조회 정보 응답
+                SearchResourcesResponse searchResourcesResponse = resourceSearchClient
+                        .searchResources(searchResourcesRequest);
+
+                List<Map<String, String>> results = new ArrayList<Map<String, String>>();
+                Map<String, Map<String, String>> volumes = new LinkedHashMap<>();
+                Map<String, Map<String, String>> instances = new LinkedHashMap<>();
+
+                // 조회된 리소스 목록 패치
+                for (ResourceSummary resourceSummary : searchResourcesResponse.getResourceSummaryCollection()
+                        .getItems()) {
+                    Map<String, String> resultMap = new HashMap<>();
+                    resultMap.put("displayName", resourceSummary.getDisplayName());         // 리소스 이름
+                    resultMap.put("resourceType", resourceSummary.getResourceType());       // 리소스 유형 (Instance, VCN, Subnet, Volume)
+                    resultMap.put("identifier", resourceSummary.getIdentifier());           // OCID
+                    resultMap.put("lifecycleState", resourceSummary.getLifecycleState());   // 리소스 상태
+
+                    if (!filter.test(resultMap)) {
+                        continue;
+                    }
+                    if (resourceSummary.getResourceType().equals("Volume")) {
+                        volumes.put(resourceSummary.getIdentifier(), resultMap);
+                    } else if (resourceSummary.getResourceType().equals("Instance")) {
+                        instances.put(resourceSummary.getIdentifier(), resultMap);
+                    }
+                    results.add(resultMap);
+                }
+
+                enrich(region, compartmentId, volumes, instances, attachmentStates);
+                consumer.accept(results);
+
+                remaining -= results.size();
+                nextPage = searchResourcesResponse.getOpcNextPage();
+            } while (nextPage != null && (limit <= 0 || remaining > 0));
+        } catch (Exception e) {
+            e.printStackTrace();
+            throw e;
+        }
+
+        return nextPage;
+    }
+
+    /**
+    * dbname 으로 생성된 자원의 상태 조회 (조건부 조회)
+    * 인벤토리에서 조회하는 경우 자원 생성 시각과 상태로 ETag 를 먼저 계산하여, 변경되지 않았으면 결과를 만들지 않는다.
+    * OCI 를 조회하는 경우 볼륨 어태치, Run Command 상태가 자원 상태와 별개로 바뀌므로 부가 정보까지 조회한 결과로 ETag 를 계산한다.
+    * @param freshness   live 이면 인벤토리를 사용하지 않고 OCI 조회
+    * @param notModified ETag 를 받아 요청의 If-None-Match 와 같으면 true 를 반환하는 함수
+    * @return List<Map<String, String>> 자원 상태 목록 (변경되지 않았으면 null)
+    */
+    public List<Map<String, String>> search(String region, String compartmentId, String dbname, String freshness,
+            Predicate<String> notModified) throws Exception {
+        if (!InventoryService.FRESHNESS_LIVE.equalsIgnoreCase(freshness) && inventoryService.isFresh(region)) {
+            if (notModified.test(inventoryService.fingerprint(region, compartmentId, dbname))) {
+                return null;
+            }
+            return inventoryService.find(region, compartmentId, dbname);
+        }
+
+        List<Map<String, String>> results = new ArrayList<Map<String, String>>();
+        search(region, compartmentId, dbname, 0, null, InventoryService.FRESHNESS_LIVE, results::addAll);
+        return notModified.test(Etags.ofResources(results)) ? null : results;
+    }
+
+    /**
+    * 여러 리전, 컴파트먼트의 자원 상태를 동시에 조회하여 병합
+    * 제한 시간 내에 조회되지 않거나 조회에 실패한 대상은 결과에서 제외하고 대상별 상태에 TIMEOUT, ERROR 로 표시한다.
+    * @param targets   조회 대상 목록 (region, compartmentId)
+    * @param dbname    CloudAG Database 이름
+    * @param freshness live 이면 인벤토리를 사용하지 않고 OCI 조회
+    * @param timeoutMs 전체 제한 시간 (null 이면 cloudag.search.fan-out-timeout-ms)
+    * @return Map<String, Object> resources (자원별 region, compartmentId 포함), targets (대상별 status, error),
+    *         partial (결과에서 제외된 대상이 있는지 여부)
+    */
+    public Map<String, Object> searchTargets(List<Map<String, Object>> targets, String dbname, String freshness,
+            Long timeoutMs) throws Exception {
+        if (targets == null || targets.isEmpty()) {
+            throw new IllegalArgumentException("At least one search target is required.");
+        }
+        if (targets.size() > maxTargets) {
+            throw new IllegalArgumentException("Too many search targets (max " + maxTargets + ").");
+        }
+
+        // 같은 리전, 컴파트먼트는 한 번만 조회
+        Map<String, Map<String, String>> uniqueTargets = new LinkedHashMap<>();
+        for (Map<String, Object> target : targets) {
+            String region = (String) target.get("region");
+            String compartmentId = (String) target.get("compartmentId");
+            if (region == null || compartmentId == null) {
+                throw new IllegalArgumentException("Each search target requires region and compartmentId.");
+            }
+            Map<String, String> key = new LinkedHashMap<>();
+            key.put("region", region);
+            key.put("compartmentId", compartmentId);
+            uniqueTargets.putIfAbsent(region + "|" + compartmentId, key);
+        }
+
+        // 대상별 조회는 부가 정보 조회 (searchExecutor) 를 기다리므로 searchFanOutExecutor 에서 실행
+        Map<Map<String, String>, CompletableFuture<List<Map<String, String>>>> searches = new LinkedHashMap<>();
+        for (Map<String, String> target : uniqueTargets.values()) {
+            searches.put(target, CheckedFutures.supplyAsync(() -> {
+                List<Map<String, String>> results = new ArrayList<Map<String, String>>();
+                search(target.get("region"), target.get("compartmentId"), dbname, 0, null, freshness,
+                        results::addAll);
+                return results;
+            }, searchFanOutExecutor));
+        }
+
+        long timeout = timeoutMs == null ? fanOutTimeoutMs : Math.min(timeoutMs, fanOutTimeoutMs);
+        try {
+            CompletableFuture.allOf(searches.values().toArray(new CompletableFuture[0])).get(timeout,
+                    TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.warn("여러 대상 자원 조회가 " + timeout + "ms 내에 완료되지 않았습니다. 완료된 대상만 반환합니다.");
+        } catch (ExecutionException e) {
+            // 실패한 대상은 대상별 상태로 반환
+        }
+
+        List<Map<String, String>> resources = new ArrayList<Map<String, String>>();
+        List<Map<String, String>> targetStates = new ArrayList<Map<String, String>>();
+        boolean partial = false;
+        for (Map.Entry<Map<String, String>, CompletableFuture<List<Map<String, String>>>> search : searches
+                .entrySet()) {
+            Map<String, String> target = search.getKey();
+            CompletableFuture<List<Map<String, String>>> future = search.getValue();
+            Map<String, String> targetState = new LinkedHashMap<>(target);
+
+            if (!future.isDone()) {
+                // 남은 조회는 응답과 관계없이 끝까지 실행되지만 결과는 사용하지 않음
+                future.cancel(false);
+                targetState.put("status", TARGET_TIMEOUT);
+                partial = true;
+            } else if (future.isCompletedExceptionally()) {
+                Exception error = CheckedFutures.unwrap(future.handle((results, e) -> e).join());
+                log.warn("[" + target.get("region") + "] " + target.get("compartmentId") + " 자원 조회 실패: "
+                        + error.getMessage());
+                targetState.put("status", TARGET_ERROR);
+                targetState.put("error", String.valueOf(error.getMessage()));
+                partial = true;
+            } else {
+                for (Map<String, String> result : future.join()) {
+                    Map<String, String> resource = new HashMap<>(result);
+                    resource.putAll(target);
+                    resources.add(resource);
+                }
+                targetState.put("status", TARGET_OK);
+            }
+            targetStates.add(targetState);
+        }
+
+        Map<String, Object> resultMap = new LinkedHashMap<>();
+        resultMap.put("resources", resources);
+        resultMap.put("targets", targetStates);
+        resultMap.put("partial", partial);
+        return resultMap;
+    }
+
+    /**
+    * 인벤토리에서 조회 (다음 페이지 토큰은 inventory:<시작 위치>)
+    */
+    private String searchInventory(String region, String compartmentId, String dbname, int limit, String page,
+            PageConsumer consumer) throws Exception {
+        List<Map<String, String>> results = inventoryService.find(region, compartmentId, dbname);
+        int from = page == null ? 0 : Integer.parseInt(page.substring(INVENTORY_PAGE_PREFIX.length()));
+        int to = limit > 0 ? Math.min(from + limit, results.size()) : results.size();
+
+        consumer.accept(results.subList(Math.min(from, to), to));
+        return to < results.size() ? INVENTORY_PAGE_PREFIX + to : null;
+    }
+
+    /**
+    * 볼륨의 어태치 상태, 인스턴스의 Run Command (볼륨 마운트를 위한 OS 스크립트) 상태를 동시에 조회하여 추가
+    * 제한 시간 내에 조회하지 못하거나 조회에 실패한 항목은 UNKNOWN 으로 설정한다.
+    */
+    private void enrich(String region, String compartmentId, Map<String, Map<String, String>> volumes,
+            Map<String, Map<String, String>> instances,
+            AtomicReference<CompletableFuture<Map<String, String>>> attachmentStatesRef) throws Exception {
+        List<CompletableFuture<?>> lookups = new ArrayList<>();
+
+        // 볼륨 어태치 상태 (컴파트먼트의 어태치 목록을 한 번에 조회)
+        CompletableFuture<Map<String, String>> attachmentStates = volumes.isEmpty()
+                ? CompletableFuture.completedFuture(new HashMap<>())
+                : attachmentStatesRef.updateAndGet(existing -> existing != null ? existing
+                        : CheckedFutures.supplyAsync(() -> inventoryService.listAttachmentStates(region, compartmentId),
+                                searchExecutor));
+        lookups.add(attachmentStates);
+
+        // 인스턴스별 Run Command 상태 (인스턴스 ID 가 필수인 API 이므로 인스턴스별로 동시에 조회)
+        Map<String, CompletableFuture<String>> mountStates = new HashMap<>();
+        for (String instanceId : instances.keySet()) {
+            CompletableFuture<String> mountState = CheckedFutures.supplyAsync(
+                    () -> inventoryService.getVolumeMountState(region, compartmentId, instanceId), searchExecutor);
+            mountStates.put(instanceId, mountState);
+            lookups.add(mountState);
+        }
+
+        try {
+            CompletableFuture.allOf(lookups.toArray(new CompletableFuture[0])).get(enrichmentTimeoutMs,
+                    TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.warn("자원 부가 정보 조회가 " + enrichmentTimeoutMs + "ms 내에 완료되지 않았습니다.");
+        } catch (ExecutionException e) {
+            log.warn("자원 부가 정보 조회 중 오류: " + CheckedFutures.unwrap(e.getCause()).getMessage());
+        }
+
+        Map<String, String> attachments = attachmentStates.isDone() && !attachmentStates.isCompletedExceptionally()
+                ? attachmentStates.join() : null;
+        for (Map.Entry<String, Map<String, String>> volume : volumes.entrySet()) {
+            volume.getValue().put("attachmentState", attachments == null ? STATE_UNKNOWN
+                    : attachments.getOrDefault(volume.getKey(), STATE_NOT_FOUND));  // 어태치 작업 시작전이라면 NOTFOUND
+        }
+        for (Map.Entry<String, Map<String, String>> instance : instances.entrySet()) {
+            CompletableFuture<String> mountState = mountStates.get(instance.getKey());
+            instance.getValue().put("volumeMountState",
+                    mountState.isDone() && !mountState.isCompletedExceptionally() ? mountState.join() : STATE_UNKNOWN);
+        }
+    }
+
+    /**
+    * 페이지별 조회 결과를 받을 함수 (응답 스트림 쓰기 등 체크 예외를 던질 수 있음)
+    */
+    @FunctionalInterface
+    public interface PageConsumer {
+        void accept(List<Map<String, String>> page) throws Exception;
+    }
+}
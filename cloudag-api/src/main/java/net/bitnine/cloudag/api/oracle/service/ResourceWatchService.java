@@ -0,0 +1,405 @@
+package net.bitnine.cloudag.api.oracle.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import com.oracle.bmc.resourcesearch.ResourceSearchClient;
+import com.oracle.bmc.resourcesearch.model.ResourceSummary;
+import com.oracle.bmc.resourcesearch.model.StructuredSearchDetails;
+import com.oracle.bmc.resourcesearch.requests.SearchResourcesRequest;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import lombok.extern.slf4j.Slf4j;
+import net.bitnine.cloudag.api.oracle.util.AuthentificationProvider;
+import net.bitnine.cloudag.api.oracle.util.CheckedFutures;
+import net.bitnine.cloudag.api.oracle.util.Etags;
+import net.bitnine.cloudag.api.oracle.util.OciClientRegistry;
+import net.bitnine.cloudag.api.oracle.util.SearchQueries;
+
+/**
+ * 자원 상태 변경 감시 (Long Polling)
+ * 감시 대상 (dbname 또는 자원 OCID) 별로 서버에서 하나의 조회만 주기적으로 실행하고, 같은 대상을 감시하는 모든 요청이 결과를 공유한다.
+ * 감시 요청은 상태가 바뀌거나 (since 로 전달한 etag 와 다름) 목표 상태에 도달하거나 제한 시간이 지나면 응답한다.
+ */
+@Slf4j
+@Service
+public class ResourceWatchService {
+    // 모든 자원 유형에 적용하는 목표 상태 키
+    public static final String ANY_TYPE = "*";
+
+    // 자원 OCID 조회 조건 하나에 넣는 자원 OCID 수
+    private static final int IDENTIFIER_BATCH_SIZE = 50;
+
+    @Value("${cloudag.watch.default-timeout-ms:30000}")
+    private long defaultTimeoutMs;
+
+    @Value("${cloudag.watch.max-timeout-ms:60000}")
+    private long maxTimeoutMs;
+
+    // 동시에 대기할 수 있는 감시 요청 수
+    @Value("${cloudag.watch.max-watches:1000}")
+    private int maxWatches;
+
+    // 감시 요청 하나에 지정할 수 있는 자원 OCID 수
+    @Value("${cloudag.watch.max-identifiers:50}")
+    private int maxIdentifiers;
+
+    @Autowired
+    AuthentificationProvider authentificationProvider;
+
+    @Autowired
+    OciClientRegistry ociClientRegistry;
+
+    @Autowired
+    ResourceSearchService resourceSearchService;
+
+    @Autowired
+    InventoryService inventoryService;
+
+    // 대상별 조회는 부가 정보 조회 (searchExecutor) 를 기다리므로 searchFanOutExecutor 에서 실행
+    @Autowired
+    @Qualifier("searchFanOutExecutor")
+    private Executor searchFanOutExecutor;
+
+    @Autowired
+    @Qualifier("searchExecutor")
+    private Executor searchExecutor;
+
+    // 감시 대상 키 -> 감시 대상 (감시 요청이 없으면 제거)
+    private final Map<String, Subject> subjects = new ConcurrentHashMap<>();
+
+    // 대기중인 감시 요청
+    private final Set<Watch> watches = ConcurrentHashMap.newKeySet();
+
+    // 이전 조회가 끝나지 않았으면 건너뜀
+    private final AtomicBoolean polling = new AtomicBoolean();
+
+    /**
+    * 감시 요청 제한 시간 (지정하지 않으면 기본값, 최대값 이하)
+    */
+    public long timeoutOf(Long timeoutMs) {
+        return timeoutMs == null ? defaultTimeoutMs : Math.max(0, Math.min(timeoutMs, maxTimeoutMs));
+    }
+
+    /**
+    * 감시 요청 등록
+    * @param region        OCI Region Identifier
+    * @param compartmentId 컴파트먼트 OCID (dbname 으로 감시하는 경우 필수)
+    * @param identifiers   감시할 자원 OCID 목록
+    * @param dbname        감시할 CloudAG Database 이름 (dbname 으로 생성된 모든 자원)
+    * @param targetStates  자원 유형별 목표 상태 (예: { "Instance": { "lifecycleState": "RUNNING" }, "*": {...} })
+    * @param since         이전 응답의 etag (없으면 첫 조회 결과로 바로 응답)
+    * @return Watch 감시 요청 (result 로 응답 대기, 제한 시간이 지나면 expire 로 현재 상태 응답)
+    */
+    public Watch watch(String region, String compartmentId, List<String> identifiers, String dbname,
+            Map<String, Map<String, String>> targetStates, String since) {
+        List<String> ids = identifiers == null ? Collections.emptyList() : identifiers;
+        if (region == null) {
+            throw new IllegalArgumentException("region is required.");
+        }
+        if (dbname == null && ids.isEmpty()) {
+            throw new IllegalArgumentException("Either dbname or identifiers is required.");
+        }
+        if (dbname != null && compartmentId == null) {
+            throw new IllegalArgumentException("compartmentId is required to watch a dbname.");
+        }
+        if (ids.size() > maxIdentifiers) {
+            throw new IllegalArgumentException("Too many identifiers (max " + maxIdentifiers + ").");
+        }
+        for (String id : ids) {
+            if (!SearchQueries.isIdentifier(id)) {
+                throw new IllegalArgumentException("Invalid identifier: " + id);
+            }
+        }
+        if (watches.size() >= maxWatches) {
+            throw new TaskRejectedException("Too many active watches (max " + maxWatches + ").");
+        }
+
+        Watch watch;
+        // 감시 대상 정리 (pruneSubjects) 와 동시에 실행되지 않도록 동기화
+        synchronized (subjects) {
+            List<Subject> watched = new ArrayList<>();
+            if (dbname != null) {
+                watched.add(subjects.computeIfAbsent("db|" + region + "|" + compartmentId + "|" + dbname,
+                        key -> new Subject(region, compartmentId, dbname, null)));
+            }
+            for (String id : ids) {
+                watched.add(subjects.computeIfAbsent("id|" + region + "|" + id,
+                        key -> new Subject(region, null, null, id)));
+            }
+            watch = new Watch(watched, targetStates == null ? Collections.emptyMap() : targetStates, since);
+            watches.add(watch);
+            for (Subject subject : watched) {
+                subject.watches.add(watch);
+            }
+        }
+
+        // 이미 조회중인 대상이면 바로 응답할 수 있는지 확인 (처음 감시하는 대상은 다음 조회 후 응답)
+        watch.evaluate();
+        return watch;
+    }
+
+    /**
+    * 감시 대상 조회 (dbname 은 대상별로, 자원 OCID 는 리전별로 묶어서 동시에 조회)
+    * 스케줄러 스레드를 점유하지 않도록 searchFanOutExecutor 에서 실행
+    */
+    @Scheduled(fixedDelayString = "${cloudag.watch.poll-interval-ms:2000}")
+    public void poll() {
+        pruneSubjects();
+        if (subjects.isEmpty() || !polling.compareAndSet(false, true)) {
+            return;
+        }
+
+        List<CompletableFuture<?>> polls = new ArrayList<>();
+        Map<String, List<Subject>> resourcesByRegion = new HashMap<>();
+        for (Subject subject : subjects.values()) {
+            if (subject.dbname != null) {
+                polls.add(CheckedFutures.supplyAsync(() -> {
+                    List<Map<String, String>> results = new ArrayList<Map<String, String>>();
+                    resourceSearchService.search(subject.region, subject.compartmentId, subject.dbname, 0, null,
+                            InventoryService.FRESHNESS_LIVE, results::addAll);
+                    subject.update(results);
+                    return null;
+                }, searchFanOutExecutor).whenComplete((ignored, error) -> {
+                    if (error != null) {
+                        log.warn("[" + subject.region + "] " + subject.dbname + " 상태 조회 실패: "
+                                + CheckedFutures.unwrap(error).getMessage());
+                    }
+                }));
+            } else {
+                resourcesByRegion.computeIfAbsent(subject.region, region -> new ArrayList<>()).add(subject);
+            }
+        }
+        for (Map.Entry<String, List<Subject>> region : resourcesByRegion.entrySet()) {
+            polls.add(CheckedFutures.supplyAsync(() -> {
+                pollResources(region.getKey(), region.getValue());
+                return null;
+            }, searchFanOutExecutor).whenComplete((ignored, error) -> {
+                if (error != null) {
+                    log.warn("[" + region.getKey() + "] 자원 상태 조회 실패: " + CheckedFutures.unwrap(error).getMessage());
+                }
+            }));
+        }
+
+        CompletableFuture.allOf(polls.toArray(new CompletableFuture[0]))
+                .whenComplete((ignored, error) -> polling.set(false));
+    }
+
+    /**
+    * 리전의 감시 대상 자원을 OCID 로 묶어서 조회하고 볼륨 어태치, Run Command 상태 추가
+    */
+    private void pollResources(String region, List<Subject> resources) throws Exception {
+        ResourceSearchClient resourceSearchClient = ociClientRegistry.getResourceSearchClient(region);
+
+        Map<String, Map<String, String>> results = new HashMap<>();
+        Map<String, String> compartments = new HashMap<>();
+        for (int from = 0; from < resources.size(); from += IDENTIFIER_BATCH_SIZE) {
+            String identifiers = SearchQueries.anyOf("identifier", "=",
+                    resources.subList(from, Math.min(from + IDENTIFIER_BATCH_SIZE, resources.size())).stream()
+                            .map(subject -> subject.identifier).collect(Collectors.toList()));
+            SearchResourcesRequest searchResourcesRequest = SearchResourcesRequest.builder()
+                    .searchDetails(StructuredSearchDetails.builder()
+                            .query("query Instance, Subnet, Vcn, Volume resources where " + identifiers).build())
+                    .tenantId(authentificationProvider.getAuthenticationDetailsProvider().getTenantId()).build();
+            for (ResourceSummary resourceSummary : resourceSearchClient.getPaginators()
+                    .searchResourcesRecordIterator(searchResourcesRequest)) {
+                Map<String, String> resultMap = new HashMap<>();
+                resultMap.put("displayName", resourceSummary.getDisplayName());
+                resultMap.put("resourceType", resourceSummary.getResourceType());
+                resultMap.put("identifier", resourceSummary.getIdentifier());
+                resultMap.put("lifecycleState", resourceSummary.getLifecycleState());
+                results.put(resourceSummary.getIdentifier(), resultMap);
+                compartments.put(resourceSummary.getIdentifier(), resourceSummary.getCompartmentId());
+            }
+        }
+
+        // 볼륨 어태치 상태는 컴파트먼트별로 한 번, Run Command 상태는 인스턴스별로 동시에 조회
+        Map<String, CompletableFuture<Map<String, String>>> attachmentStates = new HashMap<>();
+        Map<String, CompletableFuture<String>> mountStates = new HashMap<>();
+        for (Map<String, String> resultMap : results.values()) {
+            String identifier = resultMap.get("identifier");
+            String compartmentId = compartments.get(identifier);
+            if (InventoryService.TYPE_VOLUME.equals(resultMap.get("resourceType"))) {
+                attachmentStates.computeIfAbsent(compartmentId, id -> CheckedFutures
+                        .supplyAsync(() -> inventoryService.listAttachmentStates(region, id), searchExecutor));
+            } else if (InventoryService.TYPE_INSTANCE.equals(resultMap.get("resourceType"))) {
+                mountStates.put(identifier, CheckedFutures.supplyAsync(
+                        () -> inventoryService.getVolumeMountState(region, compartmentId, identifier),
+                        searchExecutor));
+            }
+        }
+        for (Map<String, String> resultMap : results.values()) {
+            String identifier = resultMap.get("identifier");
+            if (InventoryService.TYPE_VOLUME.equals(resultMap.get("resourceType"))) {
+                CompletableFuture<Map<String, String>> states = attachmentStates.get(compartments.get(identifier));
+                resultMap.put("attachmentState", states.handle((map, error) -> error != null
+                        ? ResourceSearchService.STATE_UNKNOWN
+                        : map.getOrDefault(identifier, ResourceSearchService.STATE_NOT_FOUND)).join());
+            } else if (mountStates.containsKey(identifier)) {
+                resultMap.put("volumeMountState", mountStates.get(identifier)
+                        .handle((state, error) -> error != null ? ResourceSearchService.STATE_UNKNOWN : state).join());
+            }
+        }
+
+        for (Subject subject : resources) {
+            Map<String, String> resultMap = results.get(subject.identifier);
+            if (resultMap == null) {
+                // 검색 인덱스에 아직 반영되지 않았거나 없는 자원
+                resultMap = new HashMap<>();
+                resultMap.put("identifier", subject.identifier);
+                resultMap.put("lifecycleState", ResourceSearchService.STATE_NOT_FOUND);
+            }
+            subject.update(Collections.singletonList(resultMap));
+        }
+    }
+
+    /**
+    * 감시 요청이 없는 대상 제거
+    */
+    private void pruneSubjects() {
+        synchronized (subjects) {
+            subjects.values().removeIf(subject -> subject.watches.isEmpty());
+        }
+    }
+
+    /**
+    * 감시 대상 (dbname 또는 자원 OCID) 과 마지막 조회 결과
+    */
+    private class Subject {
+        private final String region;
+        private final String compartmentId;
+        private final String dbname;
+        private final String identifier;
+        private final Set<Watch> watches = ConcurrentHashMap.newKeySet();
+        // 아직 조회되지 않았으면 null
+        private volatile List<Map<String, String>> snapshot;
+
+        Subject(String region, String compartmentId, String dbname, String identifier) {
+            this.region = region;
+            this.compartmentId = compartmentId;
+            this.dbname = dbname;
+            this.identifier = identifier;
+        }
+
+        void update(List<Map<String, String>> resources) {
+            if (resources.equals(snapshot)) {
+                return;
+            }
+            snapshot = resources;
+            for (Watch watch : new ArrayList<>(watches)) {
+                watch.evaluate();
+            }
+        }
+    }
+
+    /**
+    * 대기중인 감시 요청
+    */
+    public class Watch {
+        private final List<Subject> watched;
+        private final Map<String, Map<String, String>> targetStates;
+        private final String since;
+        private final CompletableFuture<Map<String, Object>> result = new CompletableFuture<>();
+
+        Watch(List<Subject> watched, Map<String, Map<String, String>> targetStates, String since) {
+            this.watched = watched;
+            this.targetStates = targetStates;
+            this.since = since;
+        }
+
+        /**
+        * 응답 (resources, etag, changed, targetReached)
+        */
+        public CompletableFuture<Map<String, Object>> result() {
+            return result;
+        }
+
+        /**
+        * 제한 시간이 지난 경우 현재 상태로 응답 (아직 조회되지 않은 대상은 제외)
+        */
+        public Map<String, Object> expire() {
+            List<Map<String, String>> resources = new ArrayList<Map<String, String>>();
+            for (Subject subject : watched) {
+                List<Map<String, String>> snapshot = subject.snapshot;
+                if (snapshot != null) {
+                    resources.addAll(snapshot);
+                }
+            }
+            cancel();
+            return response(resources);
+        }
+
+        /**
+        * 감시 종료 (응답 완료, 제한 시간 초과, 연결 종료)
+        */
+        public void cancel() {
+            watches.remove(this);
+            for (Subject subject : watched) {
+                subject.watches.remove(this);
+            }
+        }
+
+        void evaluate() {
+            List<Map<String, String>> resources = new ArrayList<Map<String, String>>();
+            for (Subject subject : watched) {
+                List<Map<String, String>> snapshot = subject.snapshot;
+                if (snapshot == null) {
+                    return;
+                }
+                resources.addAll(snapshot);
+            }
+            Map<String, Object> response = response(resources);
+            if (since == null || Boolean.TRUE.equals(response.get("changed"))
+                    || Boolean.TRUE.equals(response.get("targetReached"))) {
+                cancel();
+                result.complete(response);
+            }
+        }
+
+        private Map<String, Object> response(List<Map<String, String>> resources) {
+            String etag = Etags.ofResources(resources);
+            Map<String, Object> response = new HashMap<>();
+            response.put("resources", resources);
+            response.put("etag", etag);
+            response.put("changed", since != null && !since.equals(etag));
+            response.put("targetReached", targetReached(resources));
+            return response;
+        }
+
+        /**
+        * 모든 자원이 자원 유형별 목표 상태에 도달했는지 확인 (자원에 없는 상태 항목은 비교하지 않음)
+        */
+        private boolean targetReached(List<Map<String, String>> resources) {
+            if (targetStates.isEmpty() || resources.isEmpty()) {
+                return false;
+            }
+            for (Map<String, String> resource : resources) {
+                Map<String, String> targets = new HashMap<>(
+                        targetStates.getOrDefault(ANY_TYPE, Collections.emptyMap()));
+                targets.putAll(targetStates.getOrDefault(resource.get("resourceType"), Collections.emptyMap()));
+                for (Map.Entry<String, String> target : targets.entrySet()) {
+                    if (resource.containsKey(target.getKey())
+                            && !target.getValue().equalsIgnoreCase(resource.get(target.getKey()))) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+    }
+}
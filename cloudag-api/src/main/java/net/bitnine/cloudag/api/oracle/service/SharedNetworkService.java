@@ -0,0 +1,362 @@
+package net.bitnine.cloudag.api.oracle.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+import com.oracle.bmc.core.ComputeClient;
+import com.oracle.bmc.core.VirtualNetworkClient;
+import com.oracle.bmc.core.model.CreateSubnetDetails;
+import com.oracle.bmc.core.model.InternetGateway;
+import com.oracle.bmc.core.model.NetworkSecurityGroup;
+import com.oracle.bmc.core.model.Subnet;
+import com.oracle.bmc.core.model.Vcn;
+import com.oracle.bmc.core.model.Vnic;
+import com.oracle.bmc.core.model.VnicAttachment;
+import com.oracle.bmc.core.requests.CreateSubnetRequest;
+import com.oracle.bmc.core.requests.DeleteNetworkSecurityGroupRequest;
+import com.oracle.bmc.core.requests.DeleteSubnetRequest;
+import com.oracle.bmc.core.requests.GetNetworkSecurityGroupRequest;
+import com.oracle.bmc.core.requests.GetSubnetRequest;
+import com.oracle.bmc.core.requests.GetVcnRequest;
+import com.oracle.bmc.core.requests.GetVnicRequest;
+import com.oracle.bmc.core.requests.ListInternetGatewaysRequest;
+import com.oracle.bmc.core.requests.ListSubnetsRequest;
+import com.oracle.bmc.core.requests.ListVcnsRequest;
+import com.oracle.bmc.core.requests.ListVnicAttachmentsRequest;
+import com.oracle.bmc.model.BmcException;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import lombok.extern.slf4j.Slf4j;
+import net.bitnine.cloudag.api.oracle.util.CheckedFutures;
+import net.bitnine.cloudag.api.oracle.util.CidrAllocator;
+import net.bitnine.cloudag.api.oracle.util.CloudagTags;
+import net.bitnine.cloudag.api.oracle.util.OciClientRegistry;
+import net.bitnine.cloudag.api.oracle.util.ResourceWaiter;
+
+/**
+ * 컴파트먼트/리전별 공유 VCN 관리 (network mode = shared)
+ * 컴파트먼트와 리전마다 VCN, Internet Gateway 를 하나만 생성하여 함께 사용하고,
+ * CloudAG Database 마다 공유 VCN 의 CIDR 블럭 일부를 서브넷으로 할당한다.
+ * 인스턴스 삭제 시에는 해당 Database 의 서브넷과 NSG 만 삭제하며, 삭제된 서브넷의 CIDR 블럭은 다시 할당된다.
+ */
+@Slf4j
+@Service
+public class SharedNetworkService {
+    public static final String SHARED_VCN_NAME = "cloudag-shared-vcn";
+    public static final String SHARED_GATEWAY_NAME = "cloudag-shared-gateway";
+
+    // 공유 VCN 표시 Freeform Tag
+    public static final String SHARED_NETWORK_TAG = "cloudag-network";
+    public static final String SHARED_NETWORK_TAG_VALUE = "shared";
+
+    // 서브넷 CIDR 이 다른 서버에서 먼저 할당된 경우 다시 할당하는 횟수
+    private static final int MAX_ALLOCATION_ATTEMPTS = 3;
+
+    // 공유 VCN CIDR 블럭 및 Database 별 서브넷 Prefix 길이 (/16 에서 /24 이면 256개)
+    @Value("${cloudag.network.shared-vcn-cidr:10.0.0.0/16}")
+    private String sharedVcnCidr;
+
+    @Value("${cloudag.network.subnet-prefix-length:24}")
+    private int subnetPrefixLength;
+
+    @Autowired
+    OciClientRegistry ociClientRegistry;
+
+    @Autowired
+    NetworkService networkService;
+
+    @Autowired
+    ResourceWaiter resourceWaiter;
+
+    @Autowired
+    InventoryService inventoryService;
+
+    @Autowired
+    @Qualifier("provisioningStepExecutor")
+    private Executor provisioningStepExecutor;
+
+    // 리전|컴파트먼트 -> 공유 VCN (vcnId, internetGatewayId, routeTableId, cidrBlock)
+    private final Map<String, CompletableFuture<Map<String, String>>> sharedVcns = new ConcurrentHashMap<>();
+
+    // VCN OCID -> 생성 요청 후 아직 조회되지 않는 서브넷 CIDR
+    private final Map<String, Set<String>> reservedCidrs = new ConcurrentHashMap<>();
+
+    /**
+    * 공유 VCN 에 Database 서브넷 생성 요청 (공유 VCN 이 없으면 생성, Available 상태 대기는 waitForSubnet 으로 수행)
+    * @param dbname        CloudAG Database 이름
+    * @param region        OCI Region Identifier
+    * @param compartmentId 컴파트먼트 OCID
+    * @param retryToken    서브넷 생성 요청의 OCI 재시도 토큰 (없으면 null)
+    * @return CompletableFuture<Map<String, String>> vcnId, subnetId, internetGatewayId, subnetCidr, sharedNetwork
+    */
+    public CompletableFuture<Map<String, String>> allocateSubnet(String dbname, String region, String compartmentId,
+            String retryToken) {
+        CompletableFuture<Map<String, String>> vcnFuture = getSharedVcn(region, compartmentId);
+        return CheckedFutures.supplyAfter(
+                () -> createSubnet(dbname, region, compartmentId, vcnFuture.join(), retryToken, 1),
+                provisioningStepExecutor, vcnFuture);
+    }
+
+    /**
+    * Database 서브넷과 NSG 삭제 (공유 VCN, Internet Gateway 는 유지)
+    * @param region   OCI Region Identifier
+    * @param subnetId 서브넷 OCID
+    * @param nsgIds   NSG OCID 목록
+    * @return CompletableFuture<String> 삭제된 서브넷 OCID
+    */
+    public CompletableFuture<String> releaseSubnet(String region, String subnetId, List<String> nsgIds)
+            throws Exception {
+        VirtualNetworkClient virtualNetworkClient = ociClientRegistry.getVirtualNetworkClient(region);
+
+        List<CompletableFuture<?>> deletions = new ArrayList<>();
+        for (String nsgId : nsgIds) {
+            deletions.add(resourceWaiter.deleteAndWait("NSG[" + nsgId + "]",
+                    () -> virtualNetworkClient.deleteNetworkSecurityGroup(
+                            DeleteNetworkSecurityGroupRequest.builder().networkSecurityGroupId(nsgId).build()),
+                    () -> virtualNetworkClient.getNetworkSecurityGroup(GetNetworkSecurityGroupRequest.builder()
+                            .networkSecurityGroupId(nsgId).build()).getNetworkSecurityGroup(),
+                    NetworkSecurityGroup::getLifecycleState, NetworkSecurityGroup.LifecycleState.Terminated));
+        }
+        if (subnetId != null) {
+            deletions.add(resourceWaiter.deleteAndWait("서브넷[" + subnetId + "]",
+                    () -> virtualNetworkClient.deleteSubnet(DeleteSubnetRequest.builder().subnetId(subnetId).build()),
+                    () -> virtualNetworkClient.getSubnet(GetSubnetRequest.builder().subnetId(subnetId).build())
+                            .getSubnet(),
+                    Subnet::getLifecycleState, Subnet.LifecycleState.Terminated));
+        }
+
+        return CompletableFuture.allOf(deletions.toArray(new CompletableFuture[0])).thenApply(ignored -> {
+            inventoryService.remove(subnetId);
+            log.info("공유 VCN 서브넷[" + subnetId + "] 및 NSG " + nsgIds + " 가 삭제되었습니다.");
+            return subnetId;
+        });
+    }
+
+    /**
+    * 인스턴스가 공유 VCN 에 있으면 인스턴스의 서브넷과 NSG 조회 (인스턴스 삭제 전에 조회)
+    * @param region        OCI Region Identifier
+    * @param compartmentId 컴파트먼트 OCID
+    * @param instanceId    인스턴스 OCID
+    * @param vcnId         VCN OCID
+    * @return Map<String, String> sharedNetwork, subnetId, nsgIds (쉼표로 구분)
+    */
+    public Map<String, String> describeInstanceNetwork(String region, String compartmentId, String instanceId,
+            String vcnId) throws Exception {
+        Map<String, String> resultMap = new HashMap<String, String>();
+
+        VirtualNetworkClient virtualNetworkClient = ociClientRegistry.getVirtualNetworkClient(region);
+        Vcn vcn = virtualNetworkClient.getVcn(GetVcnRequest.builder().vcnId(vcnId).build()).getVcn();
+        boolean shared = isSharedVcn(vcn);
+        resultMap.put("sharedNetwork", String.valueOf(shared));
+        if (!shared) {
+            return resultMap;
+        }
+
+        ComputeClient computeClient = ociClientRegistry.getComputeClient(region);
+        List<VnicAttachment> vnicAttachments = computeClient.listVnicAttachments(ListVnicAttachmentsRequest
+                .builder().compartmentId(compartmentId).instanceId(instanceId).build()).getItems();
+        Set<String> nsgIds = new HashSet<>();
+        for (VnicAttachment vnicAttachment : vnicAttachments) {
+            if (vnicAttachment.getLifecycleState() != VnicAttachment.LifecycleState.Attached) {
+                continue;
+            }
+            Vnic vnic = virtualNetworkClient.getVnic(GetVnicRequest.builder().vnicId(vnicAttachment.getVnicId())
+                    .build()).getVnic();
+            if (!vcnId.equals(vnic.getVcnId())) {
+                continue;
+            }
+            resultMap.put("subnetId", vnic.getSubnetId());
+            if (vnic.getNsgIds() != null) {
+                nsgIds.addAll(vnic.getNsgIds());
+            }
+        }
+        resultMap.put("nsgIds", String.join(",", nsgIds));
+
+        if (!resultMap.containsKey("subnetId")) {
+            log.warn("인스턴스[" + instanceId + "]의 공유 VCN 서브넷을 찾지 못했습니다. 서브넷은 삭제되지 않습니다.");
+        }
+        return resultMap;
+    }
+
+    /**
+    * 보관된 공유 VCN 정보 제거 (컴파트먼트의 VCN 을 삭제한 후 호출, 다음 요청에서 다시 조회/생성)
+    * @param region        OCI Region Identifier
+    * @param compartmentId 컴파트먼트 OCID
+    */
+    public void evictSharedVcn(String region, String compartmentId) {
+        CompletableFuture<Map<String, String>> future = sharedVcns.remove(region + "|" + compartmentId);
+        if (future != null && future.isDone() && !future.isCompletedExceptionally()) {
+            reservedCidrs.remove(future.join().get("vcnId"));
+        }
+    }
+
+    public static boolean isSharedVcn(Vcn vcn) {
+        return vcn.getFreeformTags() != null
+                && SHARED_NETWORK_TAG_VALUE.equals(vcn.getFreeformTags().get(SHARED_NETWORK_TAG));
+    }
+
+    /**
+    * 컴파트먼트/리전의 공유 VCN (같은 대상의 동시 요청은 하나의 조회/생성 결과를 함께 사용)
+    */
+    private CompletableFuture<Map<String, String>> getSharedVcn(String region, String compartmentId) {
+        String key = region + "|" + compartmentId;
+        CompletableFuture<Map<String, String>> future = sharedVcns.computeIfAbsent(key, k -> CheckedFutures
+                .composeAfter(() -> findOrCreateSharedVcn(region, compartmentId), provisioningStepExecutor));
+        // 실패한 결과는 보관하지 않음 (다음 요청에서 다시 조회)
+        future.whenComplete((vcn, error) -> {
+            if (error != null) {
+                sharedVcns.remove(key, future);
+            }
+        });
+        return future;
+    }
+
+    private CompletableFuture<Map<String, String>> findOrCreateSharedVcn(String region, String compartmentId)
+            throws Exception {
+        VirtualNetworkClient virtualNetworkClient = ociClientRegistry.getVirtualNetworkClient(region);
+
+        List<Vcn> vcns = new ArrayList<>();
+        for (Vcn vcn : virtualNetworkClient.getPaginators().listVcnsRecordIterator(ListVcnsRequest.builder()
+                .compartmentId(compartmentId).displayName(SHARED_VCN_NAME)
+                .lifecycleState(Vcn.LifecycleState.Available).build())) {
+            if (isSharedVcn(vcn)) {
+                vcns.add(vcn);
+            }
+        }
+
+        if (!vcns.isEmpty()) {
+            // 다른 서버에서 동시에 생성한 경우 가장 먼저 생성된 VCN 사용
+            vcns.sort(Comparator.comparing(Vcn::getTimeCreated));
+            Vcn vcn = vcns.get(0);
+            List<InternetGateway> internetGateways = virtualNetworkClient
+                    .listInternetGateways(ListInternetGatewaysRequest.builder().compartmentId(compartmentId)
+                            .vcnId(vcn.getId()).lifecycleState(InternetGateway.LifecycleState.Available).build())
+                    .getItems();
+
+            Map<String, String> resultMap = new HashMap<String, String>();
+            resultMap.put("vcnId", vcn.getId());
+            resultMap.put("internetGatewayId", internetGateways.isEmpty() ? null : internetGateways.get(0).getId());
+            resultMap.put("routeTableId", vcn.getDefaultRouteTableId());
+            resultMap.put("cidrBlock", vcn.getCidrBlock());
+            log.info("[" + region + "] 공유 VCN[" + vcn.getId() + "]을 사용합니다.");
+            return CompletableFuture.completedFuture(resultMap);
+        }
+
+        log.info("[" + region + "] " + compartmentId + " 공유 VCN 생성 시작");
+        return networkService.createVcnWithInternetGateway(region, compartmentId, SHARED_VCN_NAME,
+                SHARED_GATEWAY_NAME, sharedVcnCidr,
+                Collections.singletonMap(SHARED_NETWORK_TAG, SHARED_NETWORK_TAG_VALUE)).thenApply(resultMap -> {
+                    resultMap.put("cidrBlock", sharedVcnCidr);
+                    return resultMap;
+                });
+    }
+
+    /**
+    * 사용하지 않는 CIDR 블럭을 골라 서브넷 생성 요청 (Available 상태 대기는 waitForSubnet 으로 수행)
+    * 재시도 토큰이 있는 경우 (작업으로 관리되는 호출) 이전 실행에서 생성 요청된 같은 이름의 서브넷이 있으면 그대로 사용한다.
+    */
+    private Map<String, String> createSubnet(String dbname, String region, String compartmentId,
+            Map<String, String> vcn, String retryToken, int attempt) throws Exception {
+        VirtualNetworkClient virtualNetworkClient = ociClientRegistry.getVirtualNetworkClient(region);
+        String vcnId = vcn.get("vcnId");
+        String subnetName = dbname + "-subnet";
+
+        Set<String> reserved = reservedCidrs.computeIfAbsent(vcnId, id -> ConcurrentHashMap.newKeySet());
+        String cidr;
+        synchronized (reserved) {
+            // OCI 에 있는 서브넷(삭제 중 포함)과 이 서버에서 생성 요청한 서브넷의 CIDR 을 제외하고 할당
+            Set<String> used = new HashSet<>(reserved);
+            for (Subnet subnet : virtualNetworkClient.getPaginators().listSubnetsRecordIterator(
+                    ListSubnetsRequest.builder().compartmentId(compartmentId).vcnId(vcnId).build())) {
+                if (retryToken != null && subnetName.equals(subnet.getDisplayName())
+                        && (subnet.getLifecycleState() == Subnet.LifecycleState.Provisioning
+                                || subnet.getLifecycleState() == Subnet.LifecycleState.Available)) {
+                    log.info("공유 VCN[" + vcnId + "]에 이전에 생성 요청된 " + dbname + " 서브넷을 사용합니다: "
+                            + subnet.getId());
+                    return subnetResult(vcn, subnet.getId(), subnet.getCidrBlock());
+                }
+                if (subnet.getLifecycleState() != Subnet.LifecycleState.Terminated) {
+                    used.add(subnet.getCidrBlock());
+                }
+            }
+            cidr = CidrAllocator.nextFree(vcn.get("cidrBlock"), subnetPrefixLength, used);
+            if (cidr == null) {
+                throw new IllegalStateException("No free /" + subnetPrefixLength + " subnet left in shared VCN "
+                        + vcnId + " (" + vcn.get("cidrBlock") + ").");
+            }
+            reserved.add(cidr);
+        }
+
+        String subnetId;
+        try {
+            // CIDR 을 다시 할당한 경우 요청 내용이 다르므로 다른 재시도 토큰 사용
+            CreateSubnetDetails createSubnetDetails = CreateSubnetDetails.builder().compartmentId(compartmentId)
+                    .displayName(subnetName).cidrBlock(cidr).vcnId(vcnId)
+                    .routeTableId(vcn.get("routeTableId")).definedTags(CloudagTags.definedTags()).build();
+            subnetId = virtualNetworkClient.createSubnet(CreateSubnetRequest.builder()
+                    .createSubnetDetails(createSubnetDetails)
+                    .opcRetryToken(retryToken == null || attempt == 1 ? retryToken : retryToken + "-" + attempt)
+                    .build()).getSubnet().getId();
+        } catch (BmcException e) {
+            // 다른 서버에서 같은 CIDR 을 먼저 할당한 경우 다시 할당
+            if (e.getStatusCode() == 400 && attempt < MAX_ALLOCATION_ATTEMPTS
+                    && String.valueOf(e.getMessage()).toLowerCase().contains("overlap")) {
+                reserved.remove(cidr);
+                log.info("서브넷 CIDR " + cidr + " 이 이미 사용중이므로 다시 할당합니다.");
+                return createSubnet(dbname, region, compartmentId, vcn, retryToken, attempt + 1);
+            }
+            if (e.getStatusCode() == 404) {
+                // 공유 VCN 이 삭제된 경우 다음 요청에서 다시 조회
+                sharedVcns.remove(region + "|" + compartmentId);
+            }
+            throw e;
+        } finally {
+            // 생성 요청된 서브넷은 이후 목록 조회에 포함되므로 예약 해제
+            reserved.remove(cidr);
+        }
+        log.info("공유 VCN[" + vcnId + "]에 " + dbname + " 서브넷(" + cidr + ") 생성 요청: " + subnetId);
+        inventoryService.record(region, compartmentId, InventoryService.TYPE_SUBNET, subnetId, subnetName,
+                Subnet.LifecycleState.Provisioning.getValue());
+        return subnetResult(vcn, subnetId, cidr);
+    }
+
+    private static Map<String, String> subnetResult(Map<String, String> vcn, String subnetId, String cidr) {
+        Map<String, String> resultMap = new HashMap<String, String>();
+        resultMap.put("vcnId", vcn.get("vcnId"));
+        resultMap.put("subnetId", subnetId);
+        resultMap.put("internetGatewayId", vcn.get("internetGatewayId"));
+        resultMap.put("subnetCidr", cidr);
+        resultMap.put("sharedNetwork", "true");
+        return resultMap;
+    }
+
+    /**
+    * 생성 요청된 서브넷이 Available 상태가 될 때까지 대기 (스레드를 점유하지 않음)
+    * @param region   OCI Region Identifier
+    * @param subnetId 서브넷 OCID
+    * @return CompletableFuture<Subnet> Available 상태의 서브넷
+    */
+    public CompletableFuture<Subnet> waitForSubnet(String region, String subnetId) throws Exception {
+        VirtualNetworkClient virtualNetworkClient = ociClientRegistry.getVirtualNetworkClient(region);
+        return resourceWaiter.waitFor("서브넷[" + subnetId + "]",
+                () -> virtualNetworkClient.getSubnet(GetSubnetRequest.builder().subnetId(subnetId).build())
+                        .getSubnet(),
+                Subnet::getLifecycleState, Subnet.LifecycleState.Available).thenApply(subnet -> {
+                    inventoryService.updateState(subnetId, subnet.getLifecycleState().getValue());
+                    return subnet;
+                });
+    }
+}
@@ -0,0 +1,345 @@
+package net.bitnine.cloudag.api.oracle.service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.PostConstruct;
+
+import com.oracle.bmc.computeinstanceagent.model.InstanceAgentCommandExecution;
+import com.oracle.bmc.core.ComputeClient;
+import com.oracle.bmc.core.VirtualNetworkClient;
+import com.oracle.bmc.core.model.UpdateInstanceDetails;
+import com.oracle.bmc.core.model.UpdateInternetGatewayDetails;
+import com.oracle.bmc.core.model.UpdateNetworkSecurityGroupDetails;
+import com.oracle.bmc.core.model.UpdateSubnetDetails;
+import com.oracle.bmc.core.model.UpdateVcnDetails;
+import com.oracle.bmc.core.model.UpdateVolumeDetails;
+import com.oracle.bmc.core.requests.UpdateInstanceRequest;
+import com.oracle.bmc.core.requests.UpdateInternetGatewayRequest;
+import com.oracle.bmc.core.requests.UpdateNetworkSecurityGroupRequest;
+import com.oracle.bmc.core.requests.UpdateSubnetRequest;
+import com.oracle.bmc.core.requests.UpdateVcnRequest;
+import com.oracle.bmc.core.requests.UpdateVolumeRequest;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import net.bitnine.cloudag.api.oracle.job.JobSteps;
+import net.bitnine.cloudag.api.oracle.util.CheckedFutures;
+import net.bitnine.cloudag.api.oracle.util.OciClientRegistry;
+
+/**
+ * 미리 생성해 둔 CloudAG 인스턴스 (네트워크, 볼륨 마운트까지 완료) Warm Pool
+ * 인스턴스 생성 요청 시 Pool 에 대기중인 인스턴스가 있으면 자원 이름만 변경하여 할당하고,
+ * 백그라운드에서 설정된 개수만큼 다시 채운다.
+ */
+@Slf4j
+@Service
+public class WarmPoolService {
+    // Pool 에서 대기중인 인스턴스를 구분하기 위한 Freeform Tag (값은 Pool 키)
+    public static final String WARM_POOL_TAG = "cloudag-warm-pool";
+
+    // Pool 인스턴스 자원 이름의 접두어
+    public static final String WARM_POOL_NAME_PREFIX = "warm-";
+
+    @Value("${cloudag.warm-pool.enabled:false}")
+    private boolean enabled;
+
+    // Pool 대상 (region:compartmentId:ocpus:memoryInGBs:vpusPerGB:sizeInGBs:개수 를 콤마로 구분)
+    @Value("${cloudag.warm-pool.targets:}")
+    private String[] targetSpecs;
+
+    // 모든 Pool 에서 대기 및 생성중인 인스턴스의 최대 개수
+    @Value("${cloudag.warm-pool.max-total:10}")
+    private int maxTotal;
+
+    @Lazy
+    @Autowired
+    private InstanceService instanceService;
+
+    @Autowired
+    private OciClientRegistry ociClientRegistry;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    @Qualifier("warmPoolExecutor")
+    private Executor warmPoolExecutor;
+
+    @Autowired
+    @Qualifier("provisioningStepExecutor")
+    private Executor provisioningStepExecutor;
+
+    private final List<Target> targets = new ArrayList<>();
+
+    // Pool 키 -> 할당 가능한 인스턴스 자원 목록
+    private final Map<String, Queue<Map<String, String>>> available = new ConcurrentHashMap<>();
+
+    // Pool 키 -> 생성중인 인스턴스 개수
+    private final Map<String, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+
+    // 생성중인 인스턴스의 자원 이름 (미사용 자원 정리 대상에서 제외)
+    private final Set<String> provisioningNames = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    public void init() {
+        for (String spec : targetSpecs) {
+            String[] values = spec.trim().split(":");
+            if (values.length != 7) {
+                log.warn("잘못된 Warm Pool 대상 설정: " + spec);
+                continue;
+            }
+            Target target = new Target(values[0], values[1], values[2], values[3], values[4], values[5],
+                    Integer.parseInt(values[6]));
+            targets.add(target);
+
+            Queue<Map<String, String>> queue = available.computeIfAbsent(target.key, k -> new ConcurrentLinkedQueue<>());
+            inFlight.computeIfAbsent(target.key, k -> new AtomicInteger());
+            Gauge.builder("cloudag.warmpool.available", queue, Queue::size).tag("pool", target.key)
+                    .register(meterRegistry);
+            Gauge.builder("cloudag.warmpool.provisioning", inFlight.get(target.key), AtomicInteger::get)
+                    .tag("pool", target.key).register(meterRegistry);
+        }
+    }
+
+    /**
+    * Pool 에서 조건에 맞는 인스턴스를 할당 받아 CloudAG DB 이름으로 자원 이름 변경
+    * @param dbname CloudAG Database 이름
+    * @return Map<String, String> 할당된 자원 OCID, 할당 가능한 인스턴스가 없으면 null
+    */
+    public Map<String, String> claim(String dbname, String region, String compartmentId, String ocpus,
+            String memoryInGBs, String vpusPerGB, String sizeInGBs) {
+        if (!enabled) {
+            return null;
+        }
+
+        Queue<Map<String, String>> queue = available
+                .get(poolKey(region, compartmentId, ocpus, memoryInGBs, vpusPerGB, sizeInGBs));
+        Map<String, String> resources = queue == null ? null : queue.poll();
+        if (resources == null) {
+            return null;
+        }
+
+        try {
+            rename(dbname, region, resources);
+            log.info("Warm Pool 인스턴스[" + resources.get("instanceId") + "]를 " + dbname + "에 할당하였습니다.");
+            return resources;
+        } catch (Exception e) {
+            // 이름 변경에 실패한 자원은 Pool 에서 제외하여 백그라운드에서 삭제하고 신규 생성으로 진행
+            log.warn("Warm Pool 인스턴스[" + resources.get("instanceId") + "] 할당 실패로 Pool 에서 제외하고 삭제합니다: "
+                    + e.getMessage());
+            release(region, compartmentId, resources);
+            return null;
+        } finally {
+            refill();
+        }
+    }
+
+    /**
+    * 설정된 개수보다 부족한 Pool 을 백그라운드에서 채움
+    */
+    @Scheduled(fixedDelayString = "${cloudag.warm-pool.refill-interval-ms:60000}")
+    public synchronized void refill() {
+        if (!enabled) {
+            return;
+        }
+
+        int total = 0;
+        for (Target target : targets) {
+            total += available.get(target.key).size() + inFlight.get(target.key).get();
+        }
+
+        for (Target target : targets) {
+            int current = available.get(target.key).size() + inFlight.get(target.key).get();
+            while (current < target.size && total < maxTotal) {
+                provision(target);
+                current++;
+                total++;
+            }
+        }
+    }
+
+    private void provision(Target target) {
+        AtomicInteger counter = inFlight.get(target.key);
+        counter.incrementAndGet();
+
+        warmPoolExecutor.execute(() -> {
+            String name = WARM_POOL_NAME_PREFIX + UUID.randomUUID().toString().substring(0, 8);
+            provisioningNames.add(name);
+            try {
+                // Warm Pool 생성 동시 실행 개수를 제한하기 위해 Executor 스레드에서 완료까지 대기
+                Map<String, String> resources = CheckedFutures.await(instanceService.provisionResources(name,
+                        target.region, target.compartmentId, target.ocpus, target.memoryInGBs, target.vpusPerGB,
+                        target.sizeInGBs, Collections.singletonMap(WARM_POOL_TAG, target.key), JobSteps.direct()));
+
+                if (InstanceAgentCommandExecution.LifecycleState.Succeeded.getValue()
+                        .equals(resources.get("volumeMountState"))) {
+                    available.get(target.key).add(resources);
+                    log.info("Warm Pool 인스턴스[" + resources.get("instanceId") + "] 준비 완료 (" + target.key + ")");
+                } else {
+                    log.warn("Warm Pool 인스턴스[" + resources.get("instanceId") + "] 볼륨 마운트 실패로 Pool 에서 제외하고 삭제합니다.");
+                    CheckedFutures.await(instanceService.releaseResources(target.region, target.compartmentId,
+                            resources, JobSteps.direct()));
+                }
+            } catch (Exception e) {
+                log.warn("Warm Pool 인스턴스[" + name + "] 생성 실패: " + e.getMessage());
+            } finally {
+                provisioningNames.remove(name);
+                counter.decrementAndGet();
+            }
+        });
+    }
+
+    /**
+    * Pool 에서 제외된 인스턴스 자원을 백그라운드에서 삭제 (삭제 실패한 자원은 미사용 자원 정리에서 삭제)
+    */
+    private void release(String region, String compartmentId, Map<String, String> resources) {
+        warmPoolExecutor.execute(() -> {
+            try {
+                CheckedFutures.await(
+                        instanceService.releaseResources(region, compartmentId, resources, JobSteps.direct()));
+            } catch (Exception e) {
+                log.warn("Warm Pool 인스턴스[" + resources.get("instanceId") + "] 삭제 실패: " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+    * 할당된 자원의 이름을 CloudAG DB 이름 기준으로 변경하고 Pool 태그 제거 (병렬 수행)
+    */
+    private void rename(String dbname, String region, Map<String, String> resources) throws Exception {
+        ComputeClient computeClient = ociClientRegistry.getComputeClient(region);
+        VirtualNetworkClient virtualNetworkClient = ociClientRegistry.getVirtualNetworkClient(region);
+
+        CompletableFuture<?> instanceFuture = CheckedFutures.supplyAsync(() -> computeClient.updateInstance(
+                UpdateInstanceRequest.builder().instanceId(resources.get("instanceId"))
+                        .updateInstanceDetails(UpdateInstanceDetails.builder().displayName(dbname + "-instance")
+                                .freeformTags(Collections.emptyMap()).build())
+                        .build()),
+                provisioningStepExecutor);
+        // 공유 VCN 의 VCN, Internet Gateway 는 다른 Database 와 함께 사용하므로 이름을 변경하지 않음
+        boolean sharedNetwork = Boolean.parseBoolean(resources.get("sharedNetwork"));
+        CompletableFuture<?> vcnFuture = sharedNetwork ? CompletableFuture.completedFuture(null)
+                : CheckedFutures.supplyAsync(() -> virtualNetworkClient.updateVcn(
+                        UpdateVcnRequest.builder().vcnId(resources.get("vcnId"))
+                                .updateVcnDetails(UpdateVcnDetails.builder().displayName(dbname + "-vcn").build())
+                                .build()),
+                        provisioningStepExecutor);
+        CompletableFuture<?> subnetFuture = CheckedFutures.supplyAsync(() -> virtualNetworkClient.updateSubnet(
+                UpdateSubnetRequest.builder().subnetId(resources.get("subnetId"))
+                        .updateSubnetDetails(UpdateSubnetDetails.builder().displayName(dbname + "-subnet").build())
+                        .build()),
+                provisioningStepExecutor);
+        CompletableFuture<?> nsgFuture = CheckedFutures.supplyAsync(() -> virtualNetworkClient
+                .updateNetworkSecurityGroup(UpdateNetworkSecurityGroupRequest.builder()
+                        .networkSecurityGroupId(resources.get("nsgId"))
+                        .updateNetworkSecurityGroupDetails(
+                                UpdateNetworkSecurityGroupDetails.builder().displayName(dbname + "-nsg").build())
+                        .build()),
+                provisioningStepExecutor);
+        CompletableFuture<?> gatewayFuture = sharedNetwork ? CompletableFuture.completedFuture(null)
+                : CheckedFutures.supplyAsync(() -> virtualNetworkClient.updateInternetGateway(
+                        UpdateInternetGatewayRequest.builder().igId(resources.get("internetGatewayId"))
+                                .updateInternetGatewayDetails(UpdateInternetGatewayDetails.builder()
+                                        .displayName(dbname + "-gateway").build())
+                                .build()),
+                        provisioningStepExecutor);
+        CompletableFuture<?> volumeFuture = CheckedFutures.supplyAsync(() -> ociClientRegistry
+                .getBlockstorageClient(region)
+                .updateVolume(UpdateVolumeRequest.builder().volumeId(resources.get("volumeId"))
+                        .updateVolumeDetails(UpdateVolumeDetails.builder().displayName(dbname + "-block-volume").build())
+                        .build()),
+                provisioningStepExecutor);
+
+        CheckedFutures.await(CompletableFuture.allOf(instanceFuture, vcnFuture, subnetFuture, nsgFuture, gatewayFuture,
+                volumeFuture));
+
+        // 변경된 이름으로 바로 조회되도록 인벤토리 반영
+        inventoryService.rename(resources.get("instanceId"), dbname + "-instance");
+        inventoryService.rename(resources.get("subnetId"), dbname + "-subnet");
+        inventoryService.rename(resources.get("volumeId"), dbname + "-block-volume");
+        if (!sharedNetwork) {
+            inventoryService.rename(resources.get("vcnId"), dbname + "-vcn");
+        }
+    }
+
+    /**
+    * Warm Pool 에서 대기 또는 생성중인 자원인지 확인 (Pool 은 메모리에만 있으므로 재시작 전에 생성된 자원은 포함되지 않음)
+    * @param displayName 자원 이름
+    * @param resourceId  자원 OCID
+    */
+    public boolean isPooled(String displayName, String resourceId) {
+        for (String name : provisioningNames) {
+            if (displayName != null && displayName.startsWith(name + "-")) {
+                return true;
+            }
+        }
+        for (Queue<Map<String, String>> queue : available.values()) {
+            for (Map<String, String> resources : queue) {
+                if (resources.containsValue(resourceId)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static String poolKey(String region, String compartmentId, String ocpus, String memoryInGBs,
+            String vpusPerGB, String sizeInGBs) {
+        return String.join("|", region, compartmentId, normalize(ocpus), normalize(memoryInGBs), normalize(vpusPerGB),
+                normalize(sizeInGBs));
+    }
+
+    // "1", "1.0" 을 같은 값으로 취급
+    private static String normalize(String number) {
+        return new BigDecimal(number.trim()).stripTrailingZeros().toPlainString();
+    }
+
+    /**
+    * Pool 대상 설정 (리전, 컴파트먼트, 인스턴스/스토리지 크기별 유지할 개수)
+    */
+    private static class Target {
+        private final String region;
+        private final String compartmentId;
+        private final String ocpus;
+        private final String memoryInGBs;
+        private final String vpusPerGB;
+        private final String sizeInGBs;
+        private final int size;
+        private final String key;
+
+        Target(String region, String compartmentId, String ocpus, String memoryInGBs, String vpusPerGB,
+                String sizeInGBs, int size) {
+            this.region = region;
+            this.compartmentId = compartmentId;
+            this.ocpus = ocpus;
+            this.memoryInGBs = memoryInGBs;
+            this.vpusPerGB = vpusPerGB;
+            this.sizeInGBs = sizeInGBs;
+            this.size = size;
+            this.key = poolKey(region, compartmentId, ocpus, memoryInGBs, vpusPerGB, sizeInGBs);
+        }
+    }
+}
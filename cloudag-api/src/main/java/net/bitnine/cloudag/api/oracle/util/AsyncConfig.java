@@ -2,23 +2,125 @@ package net.bitnine.cloudag.api.oracle.util;
 
 import java.util.concurrent.Executor;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.AsyncConfigurerSupport;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @EnableAsync
 @Configuration
-public class AsyncConfig extends AsyncConfigurerSupport {
-    
+public class AsyncConfig extends AsyncConfigurerSupport implements WebMvcConfigurer {
+
+    @Value("${cloudag.provisioning.step-pool-size:32}")
+    private int provisioningStepPoolSize;
+
+    @Value("${cloudag.job.executor-threads:4}")
+    private int jobExecutorThreads;
+
+    @Value("${cloudag.warm-pool.max-concurrent-provisions:4}")
+    private int warmPoolConcurrency;
+
+    @Value("${cloudag.search.pool-size:16}")
+    private int searchPoolSize;
+
+    @Value("${cloudag.search.fan-out-pool-size:8}")
+    private int searchFanOutPoolSize;
+
+    @Value("${cloudag.search.stream-pool-size:8}")
+    private int streamPoolSize;
+
+    @Value("${cloudag.search.stream-timeout-ms:300000}")
+    private long streamTimeoutMs;
+
     @Override
     public Executor getAsyncExecutor() {
+        return asyncTaskExecutor();
+    }
+
+    // 스트리밍 응답 (StreamingResponseBody) 은 요청 스레드가 아닌 streamingExecutor 에서 작성
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(streamingExecutor());
+        configurer.setDefaultTimeout(streamTimeoutMs);
+    }
+
+    // @Async 작업을 실행하는 Executor
+    @Bean(name = "asyncTaskExecutor")
+    public ThreadPoolTaskExecutor asyncTaskExecutor() {
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(2);
+        // core 가 max 보다 작으면 큐가 가득 찰 때까지 core 개수의 스레드만 실행되므로 core = max
+        executor.setCorePoolSize(10);
         executor.setMaxPoolSize(10);
+        executor.setAllowCoreThreadTimeOut(true);
         executor.setQueueCapacity(500);
         executor.setThreadNamePrefix("ThreadPoolTaskExecutor-");
-        executor.initialize();
+        return executor;
+    }
+
+    // 인스턴스 생성/삭제 작업(JobService)을 시작하는 Executor
+    // 작업의 각 단계는 provisioningStepExecutor 에서, 상태 대기는 ResourceWaiter 에서 이어서 실행되므로 작업 시작에만 사용
+    @Bean(name = "jobExecutor")
+    public ThreadPoolTaskExecutor jobExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(jobExecutorThreads);
+        executor.setMaxPoolSize(jobExecutorThreads);
+        executor.setThreadNamePrefix("Job-");
+        return executor;
+    }
+
+    // 인스턴스 생성 작업 내에서 서로 의존성이 없는 단계(네트워크, 이미지, Shape, 볼륨 등)를 병렬로 실행하기 위한 Executor
+    // @Async 작업이 이 Executor의 작업을 기다리므로 @Async Executor와 분리
+    @Bean(name = "provisioningStepExecutor")
+    public ThreadPoolTaskExecutor provisioningStepExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(provisioningStepPoolSize);
+        executor.setMaxPoolSize(provisioningStepPoolSize);
+        executor.setThreadNamePrefix("ProvisioningStep-");
+        return executor;
+    }
+
+    // Warm Pool 인스턴스를 백그라운드에서 미리 생성하기 위한 Executor
+    @Bean(name = "warmPoolExecutor")
+    public ThreadPoolTaskExecutor warmPoolExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(warmPoolConcurrency);
+        executor.setMaxPoolSize(warmPoolConcurrency);
+        executor.setThreadNamePrefix("WarmPool-");
+        return executor;
+    }
+
+    // 자원 조회 결과의 부가 정보 (볼륨 어태치, Run Command 상태) 를 동시에 조회하기 위한 Executor
+    // 대시보드 조회가 인스턴스 생성 단계의 스레드를 점유하지 않도록 분리
+    @Bean(name = "searchExecutor")
+    public ThreadPoolTaskExecutor searchExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(searchPoolSize);
+        executor.setMaxPoolSize(searchPoolSize);
+        executor.setThreadNamePrefix("Search-");
+        return executor;
+    }
+
+    // 여러 리전, 컴파트먼트의 자원 조회를 동시에 실행하는 Executor (부가 정보 조회를 기다리므로 searchExecutor 와 분리)
+    @Bean(name = "searchFanOutExecutor")
+    public ThreadPoolTaskExecutor searchFanOutExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(searchFanOutPoolSize);
+        executor.setMaxPoolSize(searchFanOutPoolSize);
+        executor.setThreadNamePrefix("SearchFanOut-");
+        return executor;
+    }
+
+    // 자원 조회 결과를 페이지별로 응답에 쓰는 Executor (부가 정보 조회를 기다리므로 searchExecutor 와 분리)
+    @Bean(name = "streamingExecutor")
+    public ThreadPoolTaskExecutor streamingExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(streamPoolSize);
+        executor.setMaxPoolSize(streamPoolSize);
+        executor.setThreadNamePrefix("Stream-");
         return executor;
     }
 }
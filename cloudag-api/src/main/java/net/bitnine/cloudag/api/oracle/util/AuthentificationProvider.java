@@ -1,8 +1,11 @@
 package net.bitnine.cloudag.api.oracle.util;
 
-import java.io.File;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
 
 import com.google.common.base.Supplier;
 import com.oracle.bmc.ConfigFileReader;
@@ -10,56 +13,145 @@ import com.oracle.bmc.ConfigFileReader.ConfigFile;
 import com.oracle.bmc.Region;
 import com.oracle.bmc.auth.AuthenticationDetailsProvider;
 import com.oracle.bmc.auth.SimpleAuthenticationDetailsProvider;
-import com.oracle.bmc.auth.SimplePrivateKeySupplier;
 
-import org.apache.commons.io.FileUtils;
-import org.apache.tomcat.util.http.fileupload.IOUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.core.io.ClassPathResource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
 
-/** 
- * 이 클래스는 Javadoc 설명용 클래스이다. 
- * 여러 줄로 작성할 수 있다. 
- * @version 2.0 
+/**
+ * OCI 인증 정보 (config, API Key, SSH Public Key)를 한번만 읽어 메모리에 보관하고
+ * 모든 서비스가 동일한 인증 프로바이더를 공유하도록 제공한다.
+ * 원본 파일이 변경되면 주기적인 검사에서 새 인증 정보로 원자적으로 교체한다.
+ * @version 2.0
  */
 
 @Component
 public class AuthentificationProvider {
     Logger logger = LoggerFactory.getLogger(AuthentificationProvider.class);
 
+    private static final String CONFIG_FILE_NAME = "config";
+    private static final String OCI_API_KEY_FILE_NAME = "oci_api_key.pem";
+    private static final String SSH_PUBLIC_KEY_FILE_NAME = "id_rsa.pub";
+
+    // 인증 파일 위치 (기본은 classpath, 쿠버네티스 Secret 마운트 시 file:/경로/ 로 지정)
+    @Value("${cloudag.oci.credential-location:classpath:}")
+    private String credentialLocation;
+
+    @Autowired
+    private ResourceLoader resourceLoader;
+
+    // 현재 사용중인 인증 정보 (파일 변경 시 통째로 교체)
+    private final AtomicReference<Credentials> credentials = new AtomicReference<>();
+
     /**
     * SDK에서 API 사용을 위한 OCI 인증을 위한 프로바이더를 제공
-    * @return AuthenticationDetailsProvider OCI 인증 프로바이더 객체
+    * @return AuthenticationDetailsProvider OCI 인증 프로바이더 객체 (모든 호출에서 동일한 객체)
     */
     public AuthenticationDetailsProvider getAuthenticationDetailsProvider() throws IOException {
+        return getCredentials().provider;
+    }
 
-        ClassPathResource configResource = new ClassPathResource("config");
-        ClassPathResource ociApiKeyResource = new ClassPathResource("oci_api_key.pem");
+    /**
+    * 인스턴스 SSH 접속을 위한 Public Key 제공
+    * @return String id_rsa.pub 파일 내용
+    */
+    public String getSshPublicKey() throws IOException {
+        return getCredentials().sshPublicKey;
+    }
 
-        InputStream configIs = configResource.getInputStream();
-        File tempConfigFile = File.createTempFile("config", "");
+    /**
+    * 인증 파일의 변경 여부를 주기적으로 확인하고 변경된 경우 인증 정보를 다시 로드
+    */
+    @Scheduled(initialDelayString = "${cloudag.oci.credential-refresh-interval-ms:60000}",
+            fixedDelayString = "${cloudag.oci.credential-refresh-interval-ms:60000}")
+    public void refreshIfChanged() {
+        Credentials current = credentials.get();
 
-        InputStream ociApiKeyIs = ociApiKeyResource.getInputStream();
-        File tempOCIAPIKey = File.createTempFile("oci_api_key", "pem");
+        // 아직 한번도 사용되지 않았다면 다음 요청 시 로드
+        if (current == null) {
+            return;
+        }
 
         try {
-            FileUtils.copyInputStreamToFile(configIs, tempConfigFile);
-            FileUtils.copyInputStreamToFile(ociApiKeyIs, tempOCIAPIKey);
-        } finally {
-            IOUtils.closeQuietly(configIs);
-            IOUtils.closeQuietly(ociApiKeyIs);
+            byte[] configBytes = read(CONFIG_FILE_NAME);
+            byte[] apiKeyBytes = read(OCI_API_KEY_FILE_NAME);
+            byte[] sshPublicKeyBytes = read(SSH_PUBLIC_KEY_FILE_NAME);
+
+            if (current.isSame(configBytes, apiKeyBytes, sshPublicKeyBytes)) {
+                return;
+            }
+
+            credentials.compareAndSet(current, build(configBytes, apiKeyBytes, sshPublicKeyBytes));
+            logger.info("OCI 인증 정보 파일이 변경되어 다시 로드하였습니다.");
+        } catch (IOException e) {
+            // 파일 교체 중 일시적으로 읽지 못하는 경우 기존 인증 정보를 유지
+            logger.warn("OCI 인증 정보 파일 확인 실패, 기존 인증 정보를 유지합니다: " + e.getMessage());
+        }
+    }
+
+    private Credentials getCredentials() throws IOException {
+        Credentials current = credentials.get();
+        if (current != null) {
+            return current;
+        }
+
+        synchronized (this) {
+            current = credentials.get();
+            if (current == null) {
+                current = build(read(CONFIG_FILE_NAME), read(OCI_API_KEY_FILE_NAME), read(SSH_PUBLIC_KEY_FILE_NAME));
+                credentials.set(current);
+                logger.info("OCI 인증 정보를 로드하였습니다.");
+            }
+            return current;
+        }
+    }
+
+    private byte[] read(String fileName) throws IOException {
+        try (InputStream is = resourceLoader.getResource(credentialLocation + fileName).getInputStream()) {
+            return StreamUtils.copyToByteArray(is);
         }
+    }
 
-        ConfigFile config = ConfigFileReader.parse(tempConfigFile.getPath(), "DEFAULT");
+    private Credentials build(byte[] configBytes, byte[] apiKeyBytes, byte[] sshPublicKeyBytes) throws IOException {
+        ConfigFile config = ConfigFileReader.parse(new ByteArrayInputStream(configBytes), "DEFAULT");
 
-        Supplier<InputStream> privateKeySupplier = new SimplePrivateKeySupplier(tempOCIAPIKey.getPath());
+        // 메모리에 보관한 Private Key를 매번 새로운 스트림으로 제공 (임시 파일 생성 없음)
+        Supplier<InputStream> privateKeySupplier = () -> new ByteArrayInputStream(apiKeyBytes);
 
         AuthenticationDetailsProvider provider = SimpleAuthenticationDetailsProvider.builder()
                 .tenantId(config.get("tenancy")).userId(config.get("user")).fingerprint(config.get("fingerprint"))
                 .privateKeySupplier(privateKeySupplier).region(Region.AP_SEOUL_1).build();
 
-        return provider;
+        return new Credentials(provider, configBytes, apiKeyBytes, sshPublicKeyBytes);
+    }
+
+    /**
+    * 한 시점에 로드된 인증 정보 묶음 (불변)
+    */
+    private static class Credentials {
+        private final AuthenticationDetailsProvider provider;
+        private final String sshPublicKey;
+        private final byte[] configBytes;
+        private final byte[] apiKeyBytes;
+        private final byte[] sshPublicKeyBytes;
+
+        Credentials(AuthenticationDetailsProvider provider, byte[] configBytes, byte[] apiKeyBytes,
+                byte[] sshPublicKeyBytes) {
+            this.provider = provider;
+            this.sshPublicKey = new String(sshPublicKeyBytes, StandardCharsets.UTF_8);
+            this.configBytes = configBytes;
+            this.apiKeyBytes = apiKeyBytes;
+            this.sshPublicKeyBytes = sshPublicKeyBytes;
+        }
+
+        boolean isSame(byte[] configBytes, byte[] apiKeyBytes, byte[] sshPublicKeyBytes) {
+            return Arrays.equals(this.configBytes, configBytes) && Arrays.equals(this.apiKeyBytes, apiKeyBytes)
+                    && Arrays.equals(this.sshPublicKeyBytes, sshPublicKeyBytes);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,112 @@
+package net.bitnine.cloudag.api.oracle.util;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+
+/**
+ * 체크 예외를 던지는 작업(OCI SDK 호출 등)을 CompletableFuture 로 연결하기 위한 유틸리티
+ * 작업 간의 의존 관계를 supplyAfter 로 표현하여 의존성이 없는 작업은 병렬로 실행한다.
+ */
+public final class CheckedFutures {
+
+    private CheckedFutures() {
+    }
+
+    /**
+    * 체크 예외를 던질 수 있는 작업
+    */
+    @FunctionalInterface
+    public interface CheckedSupplier<T> {
+        T get() throws Exception;
+    }
+
+    /**
+    * 작업을 비동기로 즉시 시작
+    * @param supplier 실행할 작업
+    * @param executor 작업을 실행할 Executor
+    * @return CompletableFuture 작업 결과
+    */
+    public static <T> CompletableFuture<T> supplyAsync(CheckedSupplier<T> supplier, Executor executor) {
+        return CompletableFuture.supplyAsync(() -> call(supplier), executor);
+    }
+
+    /**
+    * 선행 작업이 모두 완료된 후 작업을 비동기로 시작
+    * 작업 내에서는 선행 작업의 결과를 join() 으로 대기 없이 가져올 수 있다.
+    * 선행 작업 중 하나라도 실패하면 작업은 실행되지 않고 같은 예외로 실패한다.
+    * @param supplier     실행할 작업
+    * @param executor     작업을 실행할 Executor
+    * @param dependencies 선행 작업 목록
+    * @return CompletableFuture 작업 결과
+    */
+    public static <T> CompletableFuture<T> supplyAfter(CheckedSupplier<T> supplier, Executor executor,
+            CompletableFuture<?>... dependencies) {
+        return CompletableFuture.allOf(dependencies).thenApplyAsync(ignored -> call(supplier), executor);
+    }
+
+    /**
+    * 선행 작업이 모두 완료된 후 CompletableFuture 를 반환하는 작업(상태 대기 등)을 시작하고 그 결과로 완료
+    * 작업이 반환한 Future 를 기다리는 동안 스레드를 점유하지 않는다.
+    * @param supplier     실행할 작업
+    * @param executor     작업을 시작할 Executor
+    * @param dependencies 선행 작업 목록
+    * @return CompletableFuture 작업 결과
+    */
+    public static <T> CompletableFuture<T> composeAfter(CheckedSupplier<CompletableFuture<T>> supplier,
+            Executor executor, CompletableFuture<?>... dependencies) {
+        return CompletableFuture.allOf(dependencies).thenComposeAsync(ignored -> call(supplier), executor);
+    }
+
+    /**
+    * 체크 예외를 던질 수 있는 작업을 호출하여 CompletableFuture 반환, 작업이 예외를 던지면 실패한 Future 반환
+    * @param supplier 실행할 작업
+    * @return CompletableFuture 작업 결과
+    */
+    public static <T> CompletableFuture<T> compose(CheckedSupplier<CompletableFuture<T>> supplier) {
+        try {
+            return supplier.get();
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+    * 작업 완료까지 대기 후 결과 반환, 실패한 경우 원래 예외를 그대로 던진다.
+    * @param future 대기할 작업
+    * @return T 작업 결과
+    */
+    public static <T> T await(CompletableFuture<T> future) throws Exception {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    /**
+    * CompletionException, ExecutionException 으로 감싸진 원래 예외 반환
+    */
+    public static Exception unwrap(Throwable throwable) {
+        Throwable cause = throwable;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException)
+                && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof Exception) {
+            return (Exception) cause;
+        }
+        return new CompletionException(cause);
+    }
+
+    private static <T> T call(CheckedSupplier<T> supplier) {
+        try {
+            return supplier.get();
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new CompletionException(e);
+        }
+    }
+}
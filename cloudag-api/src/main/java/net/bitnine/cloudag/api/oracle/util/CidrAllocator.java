@@ -0,0 +1,81 @@
+package net.bitnine.cloudag.api.oracle.util;
+
+import java.util.Collection;
+
+/**
+ * VCN CIDR 블럭 안에서 사용중인 CIDR 과 겹치지 않는 서브넷 CIDR 할당 (IPv4)
+ */
+public final class CidrAllocator {
+
+    private CidrAllocator() {
+    }
+
+    /**
+    * 사용중인 CIDR 과 겹치지 않는 첫 번째 서브넷 CIDR
+    * @param vcnCidr      VCN CIDR 블럭 (예: 10.0.0.0/16)
+    * @param prefixLength 할당할 서브넷의 Prefix 길이 (예: 24)
+    * @param used         사용중인 CIDR 목록
+    * @return String 할당할 서브넷 CIDR (남은 블럭이 없으면 null)
+    */
+    public static String nextFree(String vcnCidr, int prefixLength, Collection<String> used) {
+        long[] vcn = range(vcnCidr);
+        int vcnPrefixLength = prefixLength(vcnCidr);
+        if (prefixLength < vcnPrefixLength || prefixLength > 30) {
+            throw new IllegalArgumentException(
+                    "Subnet prefix length /" + prefixLength + " does not fit in " + vcnCidr + ".");
+        }
+
+        long blockSize = 1L << (32 - prefixLength);
+        for (long start = vcn[0]; start + blockSize - 1 <= vcn[1]; start += blockSize) {
+            long end = start + blockSize - 1;
+            boolean overlaps = false;
+            for (String cidr : used) {
+                long[] other = range(cidr);
+                if (start <= other[1] && other[0] <= end) {
+                    overlaps = true;
+                    break;
+                }
+            }
+            if (!overlaps) {
+                return toAddress(start) + "/" + prefixLength;
+            }
+        }
+        return null;
+    }
+
+    /**
+    * CIDR 의 첫 번째, 마지막 주소
+    */
+    static long[] range(String cidr) {
+        int prefixLength = prefixLength(cidr);
+        long address = toLong(cidr.substring(0, cidr.indexOf('/')));
+        long mask = prefixLength == 0 ? 0 : (0xFFFFFFFFL << (32 - prefixLength)) & 0xFFFFFFFFL;
+        long start = address & mask;
+        return new long[] { start, start | (~mask & 0xFFFFFFFFL) };
+    }
+
+    private static int prefixLength(String cidr) {
+        int slash = cidr.indexOf('/');
+        if (slash < 0) {
+            throw new IllegalArgumentException("Invalid CIDR: " + cidr);
+        }
+        return Integer.parseInt(cidr.substring(slash + 1).trim());
+    }
+
+    private static long toLong(String address) {
+        String[] octets = address.trim().split("\\.");
+        if (octets.length != 4) {
+            throw new IllegalArgumentException("Invalid IPv4 address: " + address);
+        }
+        long value = 0;
+        for (String octet : octets) {
+            value = (value << 8) | Integer.parseInt(octet);
+        }
+        return value;
+    }
+
+    private static String toAddress(long value) {
+        return ((value >> 24) & 0xFF) + "." + ((value >> 16) & 0xFF) + "." + ((value >> 8) & 0xFF) + "."
+                + (value & 0xFF);
+    }
+}
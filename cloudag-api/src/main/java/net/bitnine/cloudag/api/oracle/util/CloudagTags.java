@@ -0,0 +1,40 @@
+package net.bitnine.cloudag.api.oracle.util;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * CloudAG 가 생성한 OCI 자원에 추가하는 Defined Tag (CloudAG-Tags.cloudag-instance = YES)
+ * 컴파트먼트 정리, 미사용 자원 정리 시 Resource Search 로 CloudAG 자원을 찾는 데 사용한다.
+ */
+public final class CloudagTags {
+    public static final String NAMESPACE = "CloudAG-Tags";
+    public static final String KEY = "cloudag-instance";
+    public static final String VALUE = "YES";
+
+    private CloudagTags() {
+    }
+
+    /**
+    * 자원 생성 요청에 추가할 Defined Tag
+    */
+    public static Map<String, Map<String, Object>> definedTags() {
+        return Collections.singletonMap(NAMESPACE, Collections.singletonMap(KEY, VALUE));
+    }
+
+    /**
+    * 자원의 Defined Tag 에 CloudAG 태그가 있는지 확인
+    */
+    public static boolean isTagged(Map<String, Map<String, Object>> definedTags) {
+        Map<String, Object> namespace = definedTags == null ? null : definedTags.get(NAMESPACE);
+        return namespace != null && VALUE.equals(namespace.get(KEY));
+    }
+
+    /**
+    * Resource Search 쿼리 조건 (Structured Search)
+    */
+    public static String searchCondition() {
+        return "(definedTags.namespace = '" + NAMESPACE + "' && definedTags.key = '" + KEY
+                + "' && definedTags.value = '" + VALUE + "')";
+    }
+}
@@ -0,0 +1,34 @@
+package net.bitnine.cloudag.api.oracle.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import org.springframework.util.DigestUtils;
+
+/**
+ * 응답 내용으로 계산하는 ETag (같은 내용이면 같은 값)
+ */
+public final class Etags {
+    private Etags() {
+    }
+
+    /**
+    * 항목 목록의 ETag (순서가 다르면 다른 값)
+    */
+    public static String of(Collection<String> parts) {
+        String content = String.join("\n", parts);
+        return DigestUtils.md5DigestAsHex(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+    * 자원 조회 결과의 ETag (자원별 항목 순서와 관계없이 같은 값)
+    */
+    public static String ofResources(List<Map<String, String>> resources) {
+        return of(resources.stream().map(resource -> new TreeMap<>(resource).toString())
+                .collect(Collectors.toList()));
+    }
+}
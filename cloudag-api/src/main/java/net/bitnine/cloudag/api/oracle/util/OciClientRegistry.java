@@ -0,0 +1,288 @@
+package net.bitnine.cloudag.api.oracle.util;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.ToIntFunction;
+
+import javax.annotation.PreDestroy;
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.ClientBuilder;
+import javax.ws.rs.client.ClientRequestContext;
+import javax.ws.rs.client.ClientRequestFilter;
+import javax.ws.rs.client.ClientResponseContext;
+import javax.ws.rs.client.ClientResponseFilter;
+
+import com.oracle.bmc.auth.AuthenticationDetailsProvider;
+import com.oracle.bmc.computeinstanceagent.ComputeInstanceAgentClient;
+import com.oracle.bmc.core.BlockstorageClient;
+import com.oracle.bmc.core.ComputeClient;
+import com.oracle.bmc.core.VirtualNetworkClient;
+import com.oracle.bmc.http.ApacheConfigurator;
+import com.oracle.bmc.http.ApacheConnectionPoolConfig;
+import com.oracle.bmc.http.ApacheConnectorProperties;
+import com.oracle.bmc.http.ClientConfigurator;
+import com.oracle.bmc.identity.IdentityClient;
+import com.oracle.bmc.resourcesearch.ResourceSearchClient;
+import com.oracle.bmc.workrequests.WorkRequestClient;
+
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 리전별 OCI 서비스 클라이언트 레지스트리
+ * 리전마다 클라이언트를 한번만 생성하여 애플리케이션 종료시까지 공유한다. (HTTP 커넥션 풀, TLS 세션 재사용)
+ * 반환된 클라이언트는 공유 객체이므로 호출하는 쪽에서 close() 하거나 setRegion() 하지 않는다.
+ */
+@Slf4j
+@Component
+public class OciClientRegistry {
+    private static final String REQUEST_START_PROPERTY = "cloudag.request.start";
+
+    // 클라이언트별 커넥션 풀 한도 (리전마다 7개 클라이언트가 각각 풀을 가지므로 전체 최대 커넥션 수는 7 x 리전 수 x 이 값)
+    @Value("${cloudag.oci.client.total-open-connections:200}")
+    private int totalOpenConnections;
+
+    @Value("${cloudag.oci.client.max-connections-per-route:50}")
+    private int maxConnectionsPerRoute;
+
+    // 인증 정보가 교체된 경우 이전 클라이언트를 닫기 전 진행중인 요청을 기다리는 시간
+    @Value("${cloudag.oci.client.retire-delay-seconds:300}")
+    private long retireDelaySeconds;
+
+    @Autowired
+    AuthentificationProvider authentificationProvider;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    // 재시도 정책 및 요청 속도 제한 (모든 클라이언트에 적용)
+    @Autowired
+    OciRetryPolicy ociRetryPolicy;
+
+    @Autowired
+    OciRateLimiter ociRateLimiter;
+
+    private final Map<String, RegionClients> clientsByRegion = new ConcurrentHashMap<>();
+
+    // 리전/클라이언트 유형 -> 현재 사용중인 커넥션 풀 (클라이언트를 다시 생성해도 같은 Gauge 로 수집)
+    private final Map<String, AtomicReference<PoolingHttpClientConnectionManager>> connectionManagers = new ConcurrentHashMap<>();
+
+    public ComputeClient getComputeClient(String region) throws IOException {
+        return getRegionClients(region).computeClient;
+    }
+
+    public VirtualNetworkClient getVirtualNetworkClient(String region) throws IOException {
+        return getRegionClients(region).virtualNetworkClient;
+    }
+
+    public BlockstorageClient getBlockstorageClient(String region) throws IOException {
+        return getRegionClients(region).blockstorageClient;
+    }
+
+    public IdentityClient getIdentityClient(String region) throws IOException {
+        return getRegionClients(region).identityClient;
+    }
+
+    public ResourceSearchClient getResourceSearchClient(String region) throws IOException {
+        return getRegionClients(region).resourceSearchClient;
+    }
+
+    public ComputeInstanceAgentClient getComputeInstanceAgentClient(String region) throws IOException {
+        return getRegionClients(region).computeInstanceAgentClient;
+    }
+
+    public WorkRequestClient getWorkRequestClient(String region) throws IOException {
+        return getRegionClients(region).workRequestClient;
+    }
+
+    /**
+    * 리전의 클라이언트 묶음 반환
+    * 인증 정보가 다시 로드된 경우 새 인증 정보로 클라이언트를 다시 생성하고 이전 클라이언트는 지연 후 종료
+    */
+    private RegionClients getRegionClients(String region) throws IOException {
+        AuthenticationDetailsProvider provider = authentificationProvider.getAuthenticationDetailsProvider();
+
+        RegionClients current = clientsByRegion.get(region);
+        if (current != null && current.provider == provider) {
+            return current;
+        }
+
+        synchronized (clientsByRegion) {
+            current = clientsByRegion.get(region);
+            if (current != null && current.provider == provider) {
+                return current;
+            }
+
+            RegionClients created = new RegionClients(region, provider);
+            clientsByRegion.put(region, created);
+            log.info("[" + region + "] 리전의 OCI 클라이언트를 생성하였습니다.");
+
+            if (current != null) {
+                RegionClients retired = current;
+                CompletableFuture.delayedExecutor(retireDelaySeconds, TimeUnit.SECONDS).execute(retired::close);
+            }
+            return created;
+        }
+    }
+
+    @PreDestroy
+    public void closeAll() {
+        clientsByRegion.values().forEach(RegionClients::close);
+        clientsByRegion.clear();
+    }
+
+    /**
+    * 커넥션 풀 설정 (모든 클라이언트가 동일한 풀 한도를 사용)
+    * 클라이언트마다 커넥션 풀을 만들고 사용중(leased), 유휴(available), 대기(pending), 최대(max) 커넥션 수를 수집한다.
+    */
+    private ApacheConfigurator newPoolConfigurator(String region, String clientType) {
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(totalOpenConnections);
+        connectionManager.setDefaultMaxPerRoute(maxConnectionsPerRoute);
+
+        connectionManagers.computeIfAbsent(region + "/" + clientType, key -> {
+            AtomicReference<PoolingHttpClientConnectionManager> current = new AtomicReference<>();
+            registerPoolGauge(current, region, clientType, "leased", PoolStats::getLeased);
+            registerPoolGauge(current, region, clientType, "available", PoolStats::getAvailable);
+            registerPoolGauge(current, region, clientType, "pending", PoolStats::getPending);
+            registerPoolGauge(current, region, clientType, "max", PoolStats::getMax);
+            return current;
+        }).set(connectionManager);
+
+        ApacheConnectionPoolConfig connectionPoolConfig = ApacheConnectionPoolConfig.builder()
+                .totalOpenConnections(totalOpenConnections)
+                .defaultMaxConnectionsPerRoute(maxConnectionsPerRoute).build();
+
+        ApacheConnectorProperties apacheConnectorProperties = ApacheConnectorProperties.builder()
+                .connectionPoolConfig(connectionPoolConfig).connectionManager(connectionManager).build();
+
+        return new ApacheConfigurator.NonBuffering(apacheConnectorProperties);
+    }
+
+    private void registerPoolGauge(AtomicReference<PoolingHttpClientConnectionManager> current, String region,
+            String clientType, String state, ToIntFunction<PoolStats> value) {
+        Gauge.builder("oci.client.pool.connections", current, reference -> {
+            PoolingHttpClientConnectionManager connectionManager = reference.get();
+            return connectionManager == null ? 0 : value.applyAsInt(connectionManager.getTotalStats());
+        }).tag("region", region).tag("client", clientType).tag("state", state).register(meterRegistry);
+    }
+
+    /**
+    * 클라이언트 유형별 요청 수, 응답 시간을 수집하는 설정
+    * 연결 실패, 읽기 시간 초과 등으로 응답이 없는 요청은 응답 필터가 실행되지 않으므로 응답 시간에 포함되지 않는다.
+    * (진행중인 요청 수는 응답 필터만으로는 실패한 요청을 차감할 수 없어 수집하지 않음)
+    */
+    private ClientConfigurator newMetricsConfigurator(String region, String clientType) {
+        Counter requests = Counter.builder("oci.client.requests").tag("region", region).tag("client", clientType)
+                .register(meterRegistry);
+        Timer latency = Timer.builder("oci.client.latency").tag("region", region).tag("client", clientType)
+                .register(meterRegistry);
+
+        return new ClientConfigurator() {
+            @Override
+            public void customizeBuilder(ClientBuilder builder) {
+                builder.register((ClientRequestFilter) (ClientRequestContext requestContext) -> {
+                    requests.increment();
+                    requestContext.setProperty(REQUEST_START_PROPERTY, System.nanoTime());
+                });
+                builder.register((ClientResponseFilter) (ClientRequestContext requestContext,
+                        ClientResponseContext responseContext) -> {
+                    Object start = requestContext.getProperty(REQUEST_START_PROPERTY);
+                    if (start != null) {
+                        latency.record(System.nanoTime() - (Long) start, TimeUnit.NANOSECONDS);
+                    }
+                });
+            }
+
+            @Override
+            public void customizeClient(Client client) {
+            }
+        };
+    }
+
+    /**
+    * 한 리전에서 사용하는 OCI 클라이언트 묶음
+    */
+    private class RegionClients {
+        private final AuthenticationDetailsProvider provider;
+        private final ComputeClient computeClient;
+        private final VirtualNetworkClient virtualNetworkClient;
+        private final BlockstorageClient blockstorageClient;
+        private final IdentityClient identityClient;
+        private final ResourceSearchClient resourceSearchClient;
+        private final ComputeInstanceAgentClient computeInstanceAgentClient;
+        private final WorkRequestClient workRequestClient;
+
+        RegionClients(String region, AuthenticationDetailsProvider provider) {
+            this.provider = provider;
+
+            computeClient = ComputeClient.builder().clientConfigurator(newPoolConfigurator(region, "compute"))
+                    .configuration(ociRetryPolicy.newClientConfiguration(region, "compute"))
+                    .additionalClientConfigurator(newMetricsConfigurator(region, "compute"))
+                    .additionalClientConfigurator(ociRateLimiter.newClientConfigurator(region, "compute"))
+                    .build(provider);
+            virtualNetworkClient = VirtualNetworkClient.builder().clientConfigurator(newPoolConfigurator(region, "virtualnetwork"))
+                    .configuration(ociRetryPolicy.newClientConfiguration(region, "virtualnetwork"))
+                    .additionalClientConfigurator(newMetricsConfigurator(region, "virtualnetwork"))
+                    .additionalClientConfigurator(ociRateLimiter.newClientConfigurator(region, "virtualnetwork"))
+                    .build(provider);
+            blockstorageClient = BlockstorageClient.builder().clientConfigurator(newPoolConfigurator(region, "blockstorage"))
+                    .configuration(ociRetryPolicy.newClientConfiguration(region, "blockstorage"))
+                    .additionalClientConfigurator(newMetricsConfigurator(region, "blockstorage"))
+                    .additionalClientConfigurator(ociRateLimiter.newClientConfigurator(region, "blockstorage"))
+                    .build(provider);
+            identityClient = IdentityClient.builder().clientConfigurator(newPoolConfigurator(region, "identity"))
+                    .configuration(ociRetryPolicy.newClientConfiguration(region, "identity"))
+                    .additionalClientConfigurator(newMetricsConfigurator(region, "identity"))
+                    .additionalClientConfigurator(ociRateLimiter.newClientConfigurator(region, "identity"))
+                    .build(provider);
+            resourceSearchClient = ResourceSearchClient.builder().clientConfigurator(newPoolConfigurator(region, "resourcesearch"))
+                    .configuration(ociRetryPolicy.newClientConfiguration(region, "resourcesearch"))
+                    .additionalClientConfigurator(newMetricsConfigurator(region, "resourcesearch"))
+                    .additionalClientConfigurator(ociRateLimiter.newClientConfigurator(region, "resourcesearch"))
+                    .build(provider);
+            computeInstanceAgentClient = ComputeInstanceAgentClient.builder().clientConfigurator(newPoolConfigurator(region, "computeinstanceagent"))
+                    .configuration(ociRetryPolicy.newClientConfiguration(region, "computeinstanceagent"))
+                    .additionalClientConfigurator(newMetricsConfigurator(region, "computeinstanceagent"))
+                    .additionalClientConfigurator(ociRateLimiter.newClientConfigurator(region, "computeinstanceagent"))
+                    .build(provider);
+            workRequestClient = WorkRequestClient.builder().clientConfigurator(newPoolConfigurator(region, "workrequest"))
+                    .configuration(ociRetryPolicy.newClientConfiguration(region, "workrequest"))
+                    .additionalClientConfigurator(newMetricsConfigurator(region, "workrequest"))
+                    .additionalClientConfigurator(ociRateLimiter.newClientConfigurator(region, "workrequest"))
+                    .build(provider);
+
+            // 클라이언트 사용을 위한 리전 설정
+            computeClient.setRegion(region);
+            virtualNetworkClient.setRegion(region);
+            blockstorageClient.setRegion(region);
+            identityClient.setRegion(region);
+            resourceSearchClient.setRegion(region);
+            computeInstanceAgentClient.setRegion(region);
+            workRequestClient.setRegion(region);
+        }
+
+        void close() {
+            computeClient.close();
+            virtualNetworkClient.close();
+            blockstorageClient.close();
+            identityClient.close();
+            resourceSearchClient.close();
+            computeInstanceAgentClient.close();
+            workRequestClient.close();
+        }
+    }
+}
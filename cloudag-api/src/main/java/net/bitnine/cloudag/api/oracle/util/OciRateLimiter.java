@@ -0,0 +1,272 @@
+package net.bitnine.cloudag.api.oracle.util;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.ClientBuilder;
+import javax.ws.rs.client.ClientRequestContext;
+import javax.ws.rs.client.ClientRequestFilter;
+import javax.ws.rs.client.ClientResponseContext;
+import javax.ws.rs.client.ClientResponseFilter;
+
+import com.oracle.bmc.http.ClientConfigurator;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import net.bitnine.cloudag.api.oracle.util.CheckedFutures.CheckedSupplier;
+
+/**
+ * OCI 요청 속도 제한 (리전, 클라이언트 유형, 조회/변경 요청별 Token Bucket)
+ * 모든 OCI 클라이언트 요청은 토큰을 받은 후 전송되며, 429 응답에 Retry-After 가 있으면 해당 시간까지 같은 Bucket 의 요청을 멈춘다.
+ * callWithoutWaiting 으로 실행한 요청 (ResourceWaiter 의 상태 조회) 은 토큰이 없으면 대기하지 않고 RateLimitedException 으로
+ * 실패하므로, 적은 수의 조회 스레드가 요청 제한 대기로 점유되지 않는다.
+ */
+@Slf4j
+@Component
+public class OciRateLimiter {
+    private static final String FAMILY_READ = "read";
+    private static final String FAMILY_WRITE = "write";
+    private static final String FAMILY_PROPERTY = "cloudag.ratelimit.family";
+
+    @Value("${cloudag.oci.ratelimit.enabled:true}")
+    private boolean enabled;
+
+    // 조회 요청 (GET) 초당 요청 수 및 순간 최대 요청 수
+    @Value("${cloudag.oci.ratelimit.read-per-second:20}")
+    private double readPerSecond;
+
+    @Value("${cloudag.oci.ratelimit.read-burst:40}")
+    private double readBurst;
+
+    // 변경 요청 (POST, PUT, DELETE) 초당 요청 수 및 순간 최대 요청 수
+    @Value("${cloudag.oci.ratelimit.write-per-second:5}")
+    private double writePerSecond;
+
+    @Value("${cloudag.oci.ratelimit.write-burst:10}")
+    private double writeBurst;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    // 리전/클라이언트 유형/요청 종류 -> Token Bucket
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    // callWithoutWaiting 으로 실행중인 호출 (요청 필터는 호출한 스레드에서 실행됨)
+    private static final ThreadLocal<NonBlockingCall> NON_BLOCKING_CALL = new ThreadLocal<>();
+
+    /**
+    * 요청 제한에 걸리면 대기하지 않고 실패하도록 OCI 요청 실행 (SDK 재시도도 하지 않음)
+    * @param call OCI 요청
+    * @return 요청 결과
+    * @throws RateLimitedException 토큰이 없어 요청을 보내지 않은 경우 (토큰이 채워질 때까지의 시간 포함)
+    */
+    public static <T> T callWithoutWaiting(CheckedSupplier<T> call) throws Exception {
+        NonBlockingCall context = new NonBlockingCall();
+        NON_BLOCKING_CALL.set(context);
+        try {
+            return call.get();
+        } catch (Exception e) {
+            if (context.delayNanos > 0) {
+                throw new RateLimitedException(context.delayNanos, e);
+            }
+            throw e;
+        } finally {
+            NON_BLOCKING_CALL.remove();
+        }
+    }
+
+    /**
+    * 현재 스레드의 요청이 callWithoutWaiting 으로 실행중인지 확인 (SDK 재시도 여부 판단)
+    */
+    public static boolean isNonBlockingCall() {
+        return NON_BLOCKING_CALL.get() != null;
+    }
+
+    /**
+    * 클라이언트 요청 전 토큰을 받고, 429 응답의 Retry-After 를 Bucket 에 반영하는 설정
+    * @param region     OCI Region Identifier
+    * @param clientType 클라이언트 유형 (compute, virtualnetwork 등)
+    * @return ClientConfigurator 클라이언트 설정
+    */
+    public ClientConfigurator newClientConfigurator(String region, String clientType) {
+        return new ClientConfigurator() {
+            @Override
+            public void customizeBuilder(ClientBuilder builder) {
+                builder.register((ClientRequestFilter) (ClientRequestContext requestContext) -> {
+                    String family = familyOf(requestContext.getMethod());
+                    requestContext.setProperty(FAMILY_PROPERTY, family);
+                    if (enabled) {
+                        NonBlockingCall nonBlockingCall = NON_BLOCKING_CALL.get();
+                        if (nonBlockingCall == null) {
+                            acquire(region, clientType, family);
+                        } else {
+                            tryAcquire(region, clientType, family, nonBlockingCall);
+                        }
+                    }
+                });
+                builder.register((ClientResponseFilter) (ClientRequestContext requestContext,
+                        ClientResponseContext responseContext) -> {
+                    if (responseContext.getStatus() == 429) {
+                        String family = (String) requestContext.getProperty(FAMILY_PROPERTY);
+                        onThrottled(region, clientType, family,
+                                responseContext.getHeaderString("Retry-After"));
+                    }
+                });
+            }
+
+            @Override
+            public void customizeClient(Client client) {
+            }
+        };
+    }
+
+    private void acquire(String region, String clientType, String family) throws InterruptedIOException {
+        long waitNanos = bucket(region, clientType, family).reserve();
+        if (waitNanos <= 0) {
+            return;
+        }
+
+        Timer.builder("oci.client.ratelimit.wait").tag("region", region).tag("client", clientType)
+                .tag("family", family).register(meterRegistry).record(waitNanos, TimeUnit.NANOSECONDS);
+        try {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for OCI rate limit.");
+        }
+    }
+
+    /**
+    * 토큰이 있으면 가져가고, 없으면 대기하지 않고 요청을 보내지 않음 (대기 시간은 호출에 기록)
+    */
+    private void tryAcquire(String region, String clientType, String family, NonBlockingCall call)
+            throws IOException {
+        long delayNanos = bucket(region, clientType, family).tryAcquire();
+        if (delayNanos <= 0) {
+            return;
+        }
+
+        Counter.builder("oci.client.ratelimit.deferred").tag("region", region).tag("client", clientType)
+                .tag("family", family).register(meterRegistry).increment();
+        call.delayNanos = delayNanos;
+        throw new IOException("OCI " + family + " rate limit reached for " + clientType + " in " + region + ".");
+    }
+
+    private void onThrottled(String region, String clientType, String family, String retryAfter) {
+        Counter.builder("oci.client.throttled").tag("region", region).tag("client", clientType)
+                .tag("family", String.valueOf(family)).register(meterRegistry).increment();
+        if (family == null || retryAfter == null) {
+            return;
+        }
+        try {
+            long retryAfterSeconds = Long.parseLong(retryAfter.trim());
+            bucket(region, clientType, family).pause(TimeUnit.SECONDS.toNanos(retryAfterSeconds));
+            log.warn("[" + region + "] " + clientType + " " + family + " 요청이 제한되어 " + retryAfterSeconds
+                    + "초 동안 대기합니다.");
+        } catch (NumberFormatException e) {
+            // HTTP-date 형식의 Retry-After 는 재시도 지연(Backoff)에 맡김
+        }
+    }
+
+    private TokenBucket bucket(String region, String clientType, String family) {
+        return buckets.computeIfAbsent(region + "/" + clientType + "/" + family,
+                key -> FAMILY_READ.equals(family) ? new TokenBucket(readPerSecond, readBurst)
+                        : new TokenBucket(writePerSecond, writeBurst));
+    }
+
+    private static String familyOf(String method) {
+        return "GET".equals(method) || "HEAD".equals(method) ? FAMILY_READ : FAMILY_WRITE;
+    }
+
+    /**
+    * 초당 ratePerSecond 개씩 채워지고 최대 capacity 개까지 쌓이는 토큰
+    * 토큰이 부족하면 미리 가져가고(음수) 채워질 때까지의 대기 시간을 반환하여 요청 순서대로 간격을 둔다.
+    */
+    static class TokenBucket {
+        private final double ratePerNano;
+        private final double capacity;
+        private double tokens;
+        private long lastRefillNanos = System.nanoTime();
+        private long pausedUntilNanos = lastRefillNanos;
+
+        TokenBucket(double ratePerSecond, double capacity) {
+            this.ratePerNano = ratePerSecond / TimeUnit.SECONDS.toNanos(1);
+            this.capacity = Math.max(1, capacity);
+            this.tokens = this.capacity;
+        }
+
+        /**
+        * 토큰 하나를 가져감
+        * @return long 요청 전 대기해야 하는 시간 (나노초)
+        */
+        synchronized long reserve() {
+            long now = System.nanoTime();
+            tokens = Math.min(capacity, tokens + (now - lastRefillNanos) * ratePerNano);
+            lastRefillNanos = now;
+            tokens -= 1;
+
+            long waitNanos = tokens >= 0 ? 0 : (long) (-tokens / ratePerNano);
+            return Math.max(waitNanos, pausedUntilNanos - now);
+        }
+
+        /**
+        * 토큰이 있는 경우에만 하나를 가져감 (대기중인 요청의 토큰은 가져가지 않음)
+        * @return long 토큰을 가져갔으면 0, 아니면 토큰이 채워질 때까지의 시간 (나노초)
+        */
+        synchronized long tryAcquire() {
+            long now = System.nanoTime();
+            tokens = Math.min(capacity, tokens + (now - lastRefillNanos) * ratePerNano);
+            lastRefillNanos = now;
+            if (pausedUntilNanos > now) {
+                return pausedUntilNanos - now;
+            }
+            if (tokens < 1) {
+                return Math.max(1, (long) ((1 - tokens) / ratePerNano));
+            }
+            tokens -= 1;
+            return 0;
+        }
+
+        /**
+        * 지정한 시간 동안 요청을 멈춤
+        */
+        synchronized void pause(long nanos) {
+            pausedUntilNanos = Math.max(pausedUntilNanos, System.nanoTime() + nanos);
+        }
+    }
+
+    private static class NonBlockingCall {
+        private volatile long delayNanos;
+    }
+
+    /**
+    * 요청 제한으로 callWithoutWaiting 의 요청을 보내지 않은 경우
+    */
+    public static class RateLimitedException extends Exception {
+        private static final long serialVersionUID = 1L;
+
+        private final long delayNanos;
+
+        public RateLimitedException(long delayNanos, Throwable cause) {
+            super("OCI rate limit reached, retry after " + TimeUnit.NANOSECONDS.toMillis(delayNanos) + "ms.", cause);
+            this.delayNanos = delayNanos;
+        }
+
+        /**
+        * 토큰이 채워질 때까지의 시간 (나노초)
+        */
+        public long getDelayNanos() {
+            return delayNanos;
+        }
+    }
+}
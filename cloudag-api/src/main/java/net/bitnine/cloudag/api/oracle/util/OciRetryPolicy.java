@@ -0,0 +1,95 @@
+package net.bitnine.cloudag.api.oracle.util;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import com.oracle.bmc.ClientConfiguration;
+import com.oracle.bmc.model.BmcException;
+import com.oracle.bmc.retrier.RetryConfiguration;
+import com.oracle.bmc.waiter.DelayStrategy;
+import com.oracle.bmc.waiter.MaxAttemptsTerminationStrategy;
+import com.oracle.bmc.waiter.WaiterConfiguration;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * 모든 OCI 클라이언트에 적용하는 재시도 정책
+ * 요청 제한(429), 상태 충돌(409), 서버 오류(5xx), 타임아웃만 재시도하며 대기 시간은 지수적으로 늘리고 Jitter 를 적용한다.
+ * 429 응답의 Retry-After 는 OciRateLimiter 가 다음 요청 전에 반영한다.
+ * OciRateLimiter.callWithoutWaiting 으로 실행한 요청 (ResourceWaiter 의 상태 조회) 은 재시도 대기로 조회 스레드를 점유하지 않도록
+ * 재시도하지 않고, 호출한 쪽에서 다음 조회 시각에 다시 요청한다.
+ */
+@Component
+public class OciRetryPolicy {
+
+    @Value("${cloudag.oci.retry.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${cloudag.oci.retry.initial-delay-ms:1000}")
+    private long initialDelayMs;
+
+    @Value("${cloudag.oci.retry.max-delay-ms:30000}")
+    private long maxDelayMs;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    /**
+    * 재시도 정책이 적용된 클라이언트 설정
+    * @param region     OCI Region Identifier (메트릭 태그)
+    * @param clientType 클라이언트 유형 (메트릭 태그)
+    * @return ClientConfiguration 클라이언트 설정
+    */
+    public ClientConfiguration newClientConfiguration(String region, String clientType) {
+        RetryConfiguration retryConfiguration = RetryConfiguration.builder()
+                .terminationStrategy(new MaxAttemptsTerminationStrategy(maxAttempts))
+                .delayStrategy(new JitteredBackoffDelayStrategy(initialDelayMs, maxDelayMs))
+                .retryCondition(exception -> {
+                    boolean retryable = !OciRateLimiter.isNonBlockingCall() && isRetryable(exception);
+                    if (retryable) {
+                        Counter.builder("oci.client.retries").tag("region", region).tag("client", clientType)
+                                .tag("status", String.valueOf(exception.getStatusCode())).register(meterRegistry)
+                                .increment();
+                    }
+                    return retryable;
+                }).build();
+
+        return ClientConfiguration.builder().retryConfiguration(retryConfiguration).build();
+    }
+
+    /**
+    * 다시 요청하면 성공할 수 있는 오류인지 확인 (요청 제한, 상태 충돌, 서버 오류, 타임아웃, 연결 오류)
+    */
+    public static boolean isRetryable(BmcException exception) {
+        int statusCode = exception.getStatusCode();
+        return exception.isTimeout() || statusCode == 409 || statusCode == 429 || statusCode >= 500
+                || statusCode == -1;
+    }
+
+    /**
+    * 지수 Backoff + Jitter (initial / 2 ~ min(max, initial * 2^시도횟수) 사이의 임의의 시간)
+    * 동시에 실패한 요청들이 같은 시점에 다시 몰리지 않도록 하며, 제한된 요청이 곧바로 다시 전송되지 않도록
+    * 최소 대기 시간 (initial / 2) 을 둔다.
+    */
+    static class JitteredBackoffDelayStrategy implements DelayStrategy {
+        private final long initialDelayMs;
+        private final long maxDelayMs;
+
+        JitteredBackoffDelayStrategy(long initialDelayMs, long maxDelayMs) {
+            this.initialDelayMs = initialDelayMs;
+            this.maxDelayMs = maxDelayMs;
+        }
+
+        @Override
+        public long nextDelay(WaiterConfiguration.WaitContext context) {
+            int attempts = Math.min(30, Math.max(0, context.getAttemptsMade() - 1));
+            long floor = initialDelayMs / 2;
+            long ceiling = Math.max(floor, Math.min(maxDelayMs, initialDelayMs << attempts));
+            return ThreadLocalRandom.current().nextLong(floor, ceiling + 1);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package net.bitnine.cloudag.api.oracle.util;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * CloudAG 자원 이름 규칙 (<dbname>-instance, <dbname>-vcn 등)
+ */
+public final class ResourceNames {
+    // CloudAG 자원 이름의 접미어 (<dbname><접미어>)
+    public static final List<String> SUFFIXES = Collections.unmodifiableList(Arrays.asList(
+            "-instance", "-block-volume", "-vcn", "-subnet", "-nsg", "-gateway"));
+
+    private ResourceNames() {
+    }
+
+    /**
+    * 자원 이름에서 CloudAG Database 이름 추출 (<dbname>-instance -> <dbname>)
+    */
+    public static String dbnameOf(String displayName) {
+        if (displayName == null) {
+            return "";
+        }
+        for (String suffix : SUFFIXES) {
+            if (displayName.endsWith(suffix)) {
+                return displayName.substring(0, displayName.length() - suffix.length());
+            }
+        }
+        return displayName;
+    }
+}
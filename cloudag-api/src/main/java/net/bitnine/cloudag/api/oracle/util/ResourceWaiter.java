@@ -0,0 +1,240 @@
+package net.bitnine.cloudag.api.oracle.util;
+
+import java.util.Collections;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import com.oracle.bmc.model.BmcException;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import net.bitnine.cloudag.api.oracle.util.CheckedFutures.CheckedSupplier;
+
+/**
+ * OCI 자원의 상태 변경 대기 (SDK Waiter 대체)
+ * SDK Waiter 는 대기하는 동안 스레드를 점유하므로, 적은 수의 스레드로 대기중인 모든 자원을 주기적으로 조회하고
+ * 목표 상태가 되면 CompletableFuture 를 완료한다.
+ * 조회 간격은 자원별로 상태가 바뀌지 않는 동안 점점 늘어나고, 상태가 바뀌면 다시 처음 간격으로 돌아간다.
+ * 조회 요청은 요청 제한이나 SDK 재시도로 대기하지 않으며, 요청 제한에 걸리면 토큰이 채워지는 시점에 다시 조회한다.
+ */
+@Slf4j
+@Component
+public class ResourceWaiter {
+
+    // 상태 조회를 실행하는 스레드 수
+    @Value("${cloudag.waiter.poll-threads:4}")
+    private int pollThreads;
+
+    // 첫 조회까지의 대기 시간 및 조회 간격의 최소/최대값
+    @Value("${cloudag.waiter.initial-delay-ms:2000}")
+    private long initialDelayMs;
+
+    @Value("${cloudag.waiter.max-delay-ms:30000}")
+    private long maxDelayMs;
+
+    // 상태가 바뀌지 않을 때 조회 간격 증가 배수
+    @Value("${cloudag.waiter.backoff-multiplier:1.5}")
+    private double backoffMultiplier;
+
+    // 기본 최대 대기 시간
+    @Value("${cloudag.waiter.timeout-minutes:60}")
+    private long timeoutMinutes;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // 대기 완료 후 이어지는 작업(다음 단계의 OCI 요청 등)은 조회 스레드가 아닌 단계 실행 Executor 에서 실행
+    @Autowired
+    @Qualifier("provisioningStepExecutor")
+    private Executor callbackExecutor;
+
+    private ScheduledExecutorService scheduler;
+
+    private final AtomicInteger pending = new AtomicInteger();
+
+    @PostConstruct
+    public void init() {
+        scheduler = Executors.newScheduledThreadPool(pollThreads, new CustomizableThreadFactory("ResourceWaiter-"));
+        Gauge.builder("cloudag.waiter.pending", pending, AtomicInteger::get).register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // 대기중인 작업은 재시작 후 작업 저널에서 다시 대기
+        scheduler.shutdownNow();
+    }
+
+    /**
+    * 자원이 목표 상태가 될 때까지 대기
+    * @param description 로그 및 오류 메시지에 사용할 자원 설명
+    * @param poll        자원 조회 (OCI Get 요청)
+    * @param state       조회 결과에서 상태 추출
+    * @param target      목표 상태
+    * @return CompletableFuture 목표 상태가 된 자원의 조회 결과
+    */
+    public <T, S> CompletableFuture<T> waitFor(String description, CheckedSupplier<T> poll, Function<T, S> state,
+            S target) {
+        return waitFor(description, poll, state, Collections.singleton(target), Collections.emptySet());
+    }
+
+    /**
+    * 자원이 목표 상태 중 하나가 될 때까지 대기, 실패 상태가 되면 즉시 실패
+    * @param description   로그 및 오류 메시지에 사용할 자원 설명
+    * @param poll          자원 조회 (OCI Get 요청)
+    * @param state         조회 결과에서 상태 추출
+    * @param targets       목표 상태 목록
+    * @param failureStates 더 이상 목표 상태가 될 수 없는 상태 목록
+    * @return CompletableFuture 목표 상태가 된 자원의 조회 결과
+    */
+    public <T, S> CompletableFuture<T> waitFor(String description, CheckedSupplier<T> poll, Function<T, S> state,
+            Set<S> targets, Set<S> failureStates) {
+        return start(new Poller<>(description, poll, state, targets, failureStates, false));
+    }
+
+    /**
+    * 삭제 요청된 자원이 삭제 상태가 되거나 조회되지 않을 때까지 대기
+    * @param description  로그 및 오류 메시지에 사용할 자원 설명
+    * @param poll         자원 조회 (OCI Get 요청)
+    * @param state        조회 결과에서 상태 추출
+    * @param deletedState 삭제 완료 상태
+    * @return CompletableFuture 삭제 완료 상태의 조회 결과 (조회되지 않으면 null)
+    */
+    public <T, S> CompletableFuture<T> waitForDeletion(String description, CheckedSupplier<T> poll,
+            Function<T, S> state, S deletedState) {
+        return start(new Poller<>(description, poll, state, Collections.singleton(deletedState),
+                Collections.emptySet(), true));
+    }
+
+    /**
+    * 자원 삭제 요청 후 삭제 상태가 되거나 조회되지 않을 때까지 대기
+    * 이미 삭제되어 삭제 요청이 404 로 실패한 경우에도 완료로 처리한다. (재시작 후 다시 실행되는 경우)
+    * @param description  로그 및 오류 메시지에 사용할 자원 설명
+    * @param delete       자원 삭제 (OCI Delete 요청)
+    * @param poll         자원 조회 (OCI Get 요청)
+    * @param state        조회 결과에서 상태 추출
+    * @param deletedState 삭제 완료 상태
+    * @return CompletableFuture 삭제 완료 상태의 조회 결과 (조회되지 않으면 null)
+    */
+    public <T, S> CompletableFuture<T> deleteAndWait(String description, CheckedSupplier<?> delete,
+            CheckedSupplier<T> poll, Function<T, S> state, S deletedState) {
+        try {
+            delete.get();
+        } catch (BmcException e) {
+            if (e.getStatusCode() != 404) {
+                return CompletableFuture.failedFuture(e);
+            }
+            return CompletableFuture.completedFuture(null);
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return waitForDeletion(description, poll, state, deletedState);
+    }
+
+    private <T, S> CompletableFuture<T> start(Poller<T, S> poller) {
+        pending.incrementAndGet();
+        poller.result.whenComplete((result, error) -> pending.decrementAndGet());
+        scheduler.schedule(poller, initialDelayMs, TimeUnit.MILLISECONDS);
+        // 이어지는 작업이 조회 스레드에서 실행되지 않도록 완료를 Executor 로 전달
+        return poller.result.thenApplyAsync(Function.identity(), callbackExecutor);
+    }
+
+    /**
+    * 자원 하나의 상태 조회 (실행될 때마다 한 번 조회 후 다음 조회를 예약)
+    */
+    private class Poller<T, S> implements Runnable {
+        private final String description;
+        private final CheckedSupplier<T> poll;
+        private final Function<T, S> state;
+        private final Set<S> targets;
+        private final Set<S> failureStates;
+        private final boolean notFoundIsDone;
+        private final long deadline;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private long delayMs = initialDelayMs;
+        private S lastState;
+
+        Poller(String description, CheckedSupplier<T> poll, Function<T, S> state, Set<S> targets,
+                Set<S> failureStates, boolean notFoundIsDone) {
+            this.description = description;
+            this.poll = poll;
+            this.state = state;
+            this.targets = targets;
+            this.failureStates = failureStates;
+            this.notFoundIsDone = notFoundIsDone;
+            this.deadline = System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(timeoutMinutes);
+        }
+
+        @Override
+        public void run() {
+            if (result.isDone()) {
+                return;
+            }
+
+            long nextDelayMs;
+            try {
+                T current = OciRateLimiter.callWithoutWaiting(poll);
+                S currentState = state.apply(current);
+                if (targets.contains(currentState)) {
+                    result.complete(current);
+                    return;
+                }
+                if (failureStates.contains(currentState)) {
+                    result.completeExceptionally(
+                            new IllegalStateException(description + " is in " + currentState + " state."));
+                    return;
+                }
+                if (Objects.equals(currentState, lastState)) {
+                    delayMs = Math.min(maxDelayMs, (long) (delayMs * backoffMultiplier));
+                } else {
+                    // 상태가 바뀌었으면 곧 다음 상태로 바뀔 가능성이 높으므로 짧은 간격으로 조회
+                    lastState = currentState;
+                    delayMs = initialDelayMs;
+                }
+                nextDelayMs = delayMs;
+            } catch (OciRateLimiter.RateLimitedException e) {
+                // 조회하지 못했으므로 조회 간격은 그대로 두고 토큰이 채워지는 시점에 다시 조회
+                nextDelayMs = TimeUnit.NANOSECONDS.toMillis(e.getDelayNanos()) + 1;
+            } catch (BmcException e) {
+                if (notFoundIsDone && e.getStatusCode() == 404) {
+                    result.complete(null);
+                    return;
+                }
+                if (!OciRetryPolicy.isRetryable(e)) {
+                    result.completeExceptionally(e);
+                    return;
+                }
+                log.warn(description + " 상태 조회 실패, 다시 조회합니다: " + e.getMessage());
+                delayMs = Math.min(maxDelayMs, (long) (delayMs * backoffMultiplier));
+                nextDelayMs = delayMs;
+            } catch (Exception e) {
+                result.completeExceptionally(e);
+                return;
+            }
+
+            if (System.currentTimeMillis() + nextDelayMs > deadline) {
+                result.completeExceptionally(new TimeoutException(description + " did not reach " + targets
+                        + " within " + timeoutMinutes + " minutes (last state: " + lastState + ")."));
+                return;
+            }
+            scheduler.schedule(this, nextDelayMs, TimeUnit.MILLISECONDS);
+        }
+    }
+}
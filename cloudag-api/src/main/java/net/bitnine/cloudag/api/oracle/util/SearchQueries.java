@@ -0,0 +1,49 @@
+package net.bitnine.cloudag.api.oracle.util;
+
+import java.util.Collection;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Resource Search 구조화 쿼리 (Structured Search) 조건 작성
+ * 요청 값은 문자열 리터럴로 이스케이프하여 쿼리 문법을 바꿀 수 없도록 한다.
+ */
+public final class SearchQueries {
+    // OCID 형식 (ocid1.<자원 유형>.<realm>.[region].<고유 ID>)
+    private static final Pattern IDENTIFIER_PATTERN = Pattern.compile("ocid1\\.[A-Za-z0-9._-]+");
+
+    private SearchQueries() {
+    }
+
+    /**
+    * 문자열 리터럴 ('...', 역슬래시와 작은따옴표는 역슬래시로 이스케이프)
+    */
+    public static String literal(String value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Search value must not be null.");
+        }
+        return "'" + value.replace("\\", "\\\\").replace("'", "\\'") + "'";
+    }
+
+    /**
+    * 필드 조건 (예: displayName =~ 'db1')
+    */
+    public static String condition(String field, String operator, String value) {
+        return field + " " + operator + " " + literal(value);
+    }
+
+    /**
+    * 값 중 하나와 일치하는 조건 (예: (identifier = 'a' || identifier = 'b'))
+    */
+    public static String anyOf(String field, String operator, Collection<String> values) {
+        return values.stream().map(value -> condition(field, operator, value))
+                .collect(Collectors.joining(" || ", "(", ")"));
+    }
+
+    /**
+    * OCID 형식인지 확인
+    */
+    public static boolean isIdentifier(String value) {
+        return value != null && IDENTIFIER_PATTERN.matcher(value).matches();
+    }
+}
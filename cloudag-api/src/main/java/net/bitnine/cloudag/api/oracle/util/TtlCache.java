@@ -0,0 +1,93 @@
+package net.bitnine.cloudag.api.oracle.util;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Predicate;
+
+import net.bitnine.cloudag.api.oracle.util.CheckedFutures.CheckedSupplier;
+
+/**
+ * 유효 시간(TTL)이 있는 단순 메모리 캐시
+ * 같은 키에 대해 동시에 조회가 들어오면 한번만 로드하고 나머지는 그 결과를 기다린다.
+ * 로드에 실패한 결과는 캐시하지 않는다.
+ */
+public class TtlCache<K, V> {
+    private final long ttlMillis;
+    private final ConcurrentMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+
+    public TtlCache(long ttlMillis) {
+        this.ttlMillis = ttlMillis;
+    }
+
+    /**
+    * 캐시된 값 반환, 없거나 만료된 경우 loader 로 로드 후 캐시
+    * @param key    캐시 키
+    * @param loader 값을 로드하는 작업
+    * @return V 캐시된 값
+    */
+    public V get(K key, CheckedSupplier<V> loader) throws Exception {
+        while (true) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null && !entry.isExpired()) {
+                return CheckedFutures.await(entry.future);
+            }
+
+            Entry<V> loading = new Entry<>(System.currentTimeMillis() + ttlMillis);
+            boolean owner = entry == null ? entries.putIfAbsent(key, loading) == null
+                    : entries.replace(key, entry, loading);
+            if (!owner) {
+                // 다른 스레드가 먼저 로드를 시작함
+                continue;
+            }
+
+            try {
+                V value = loader.get();
+                loading.future.complete(value);
+                return value;
+            } catch (Exception e) {
+                entries.remove(key, loading);
+                loading.future.completeExceptionally(e);
+                throw e;
+            }
+        }
+    }
+
+    /**
+    * 값을 직접 캐시 (다른 경로로 이미 조회한 값을 저장할 때 사용)
+    */
+    public void put(K key, V value) {
+        Entry<V> entry = new Entry<>(System.currentTimeMillis() + ttlMillis);
+        entry.future.complete(value);
+        entries.put(key, entry);
+    }
+
+    public void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    public void invalidateIf(Predicate<K> predicate) {
+        entries.keySet().removeIf(predicate);
+    }
+
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private static class Entry<V> {
+        private final CompletableFuture<V> future = new CompletableFuture<>();
+        private final long expiresAt;
+
+        Entry(long expiresAt) {
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isExpired() {
+            return System.currentTimeMillis() > expiresAt;
+        }
+    }
+}
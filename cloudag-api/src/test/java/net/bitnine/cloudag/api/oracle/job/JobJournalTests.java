@@ -0,0 +1,82 @@
+package net.bitnine.cloudag.api.oracle.job;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class JobJournalTests {
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	void skipsTruncatedTrailingLineAndKeepsLaterEvents() throws Exception {
+		Path path = tempDir.resolve("job-journal.log");
+		JobJournal journal = newJournal(path);
+		journal.append(created("job-1"));
+		journal.append(new JobEvent("job-1", JobEvent.Kind.STARTED));
+		journal.close();
+
+		// 기록 도중 중단된 마지막 줄
+		Files.write(path, "{\"jobId\":\"job-1\",\"kind\":\"STEP_COM".getBytes(StandardCharsets.UTF_8),
+				StandardOpenOption.APPEND);
+
+		JobJournal restarted = newJournal(path);
+		assertThat(kinds(restarted.load())).containsExactly(JobEvent.Kind.CREATED, JobEvent.Kind.STARTED);
+
+		restarted.append(new JobEvent("job-1", JobEvent.Kind.SUCCEEDED));
+		restarted.close();
+		assertThat(kinds(newJournal(path).load())).containsExactly(JobEvent.Kind.CREATED, JobEvent.Kind.STARTED,
+				JobEvent.Kind.SUCCEEDED);
+	}
+
+	@Test
+	void compactionKeepsOnlyRetainedEvents() throws Exception {
+		Path path = tempDir.resolve("job-journal.log");
+		JobJournal journal = newJournal(path);
+		journal.append(created("job-1"));
+		journal.append(created("job-2"));
+		journal.append(new JobEvent("job-1", JobEvent.Kind.SUCCEEDED));
+
+		List<JobEvent> retained = journal.load().stream().filter(event -> "job-2".equals(event.getJobId()))
+				.collect(Collectors.toList());
+		journal.rewrite(retained);
+		journal.append(new JobEvent("job-2", JobEvent.Kind.STARTED));
+		journal.close();
+
+		List<JobEvent> events = newJournal(path).load();
+		assertThat(events).extracting(JobEvent::getJobId).containsOnly("job-2");
+		assertThat(kinds(events)).containsExactly(JobEvent.Kind.CREATED, JobEvent.Kind.STARTED);
+		assertThat(events.get(0).getParams()).containsEntry("dbname", "job-2");
+	}
+
+	private static JobJournal newJournal(Path path) {
+		JobJournal journal = new JobJournal();
+		ReflectionTestUtils.setField(journal, "journalPath", path.toString());
+		ReflectionTestUtils.setField(journal, "objectMapper", new ObjectMapper());
+		return journal;
+	}
+
+	private static JobEvent created(String jobId) {
+		JobEvent event = new JobEvent(jobId, JobEvent.Kind.CREATED);
+		event.setJobType(JobType.CREATE_INSTANCE);
+		event.setParams(Collections.singletonMap("dbname", jobId));
+		return event;
+	}
+
+	private static List<JobEvent.Kind> kinds(List<JobEvent> events) {
+		return events.stream().map(JobEvent::getKind).collect(Collectors.toList());
+	}
+}
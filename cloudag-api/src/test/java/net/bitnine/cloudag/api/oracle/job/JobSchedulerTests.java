@@ -0,0 +1,123 @@
+package net.bitnine.cloudag.api.oracle.job;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class JobSchedulerTests {
+
+	private final List<String> started = new ArrayList<>();
+	private final Map<String, CompletableFuture<Void>> runs = new HashMap<>();
+
+	@Test
+	void runsTerminateLaneBeforeCreateLane() {
+		JobScheduler scheduler = newScheduler(1, 10);
+		enqueue(scheduler, "create-1", JobType.CREATE_INSTANCE, "c1");
+		enqueue(scheduler, "create-2", JobType.CREATE_INSTANCE, "c1");
+		enqueue(scheduler, "terminate-1", JobType.TERMINATE_ALL, "c2");
+
+		runs.get("create-1").complete(null);
+		assertThat(started).containsExactly("create-1", "terminate-1");
+
+		runs.get("terminate-1").complete(null);
+		assertThat(started).containsExactly("create-1", "terminate-1", "create-2");
+	}
+
+	@Test
+	void alternatesBetweenCompartmentsWithinLane() {
+		JobScheduler scheduler = newScheduler(1, 10);
+		enqueue(scheduler, "blocker", JobType.CREATE_INSTANCE, "c0");
+		enqueue(scheduler, "a-1", JobType.CREATE_INSTANCE, "c1");
+		enqueue(scheduler, "a-2", JobType.CREATE_INSTANCE, "c1");
+		enqueue(scheduler, "a-3", JobType.CREATE_INSTANCE, "c1");
+		enqueue(scheduler, "b-1", JobType.CREATE_INSTANCE, "c2");
+
+		for (String jobId : new String[] { "blocker", "a-1", "b-1", "a-2" }) {
+			runs.get(jobId).complete(null);
+		}
+		assertThat(started).containsExactly("blocker", "a-1", "b-1", "a-2", "a-3");
+	}
+
+	@Test
+	void limitsRunningJobsPerCompartment() {
+		JobScheduler scheduler = newScheduler(10, 1);
+		enqueue(scheduler, "a-1", JobType.CREATE_INSTANCE, "c1");
+		enqueue(scheduler, "a-2", JobType.CREATE_INSTANCE, "c1");
+		enqueue(scheduler, "b-1", JobType.CREATE_INSTANCE, "c2");
+
+		assertThat(started).containsExactly("a-1", "b-1");
+		assertThat(scheduler.queuedCount(JobScheduler.Lane.CREATE)).isEqualTo(1);
+
+		runs.get("a-1").complete(null);
+		assertThat(started).containsExactly("a-1", "b-1", "a-2");
+		assertThat(scheduler.runningCount()).isEqualTo(2);
+	}
+
+	@Test
+	void rejectsCreateWhenCompartmentQueueIsFull() {
+		JobScheduler scheduler = newScheduler(1, 10);
+		ReflectionTestUtils.setField(scheduler, "maxQueuedPerCompartment", 1);
+		enqueue(scheduler, "running", JobType.CREATE_INSTANCE, "c1");
+		enqueue(scheduler, "queued", JobType.CREATE_INSTANCE, "c1");
+
+		assertThatThrownBy(() -> scheduler.checkAdmission(JobType.CREATE_INSTANCE, "c1"))
+				.isInstanceOf(JobRejectedException.class).extracting("reason")
+				.isEqualTo(JobRejectedException.Reason.COMPARTMENT_LIMIT);
+		// 삭제 작업은 컴파트먼트별 한도를 적용하지 않음
+		scheduler.checkAdmission(JobType.TERMINATE_ALL, "c1");
+	}
+
+	@Test
+	void admitsTerminateWhenCreateQueueIsFull() {
+		JobScheduler scheduler = newScheduler(1, 10);
+		ReflectionTestUtils.setField(scheduler, "maxQueued", 2);
+		enqueue(scheduler, "running", JobType.CREATE_INSTANCE, "c1");
+		enqueue(scheduler, "queued-1", JobType.CREATE_INSTANCE, "c1");
+		enqueue(scheduler, "queued-2", JobType.CREATE_INSTANCE, "c2");
+		enqueue(scheduler, "terminate-1", JobType.TERMINATE_ALL, "c3");
+
+		assertThatThrownBy(() -> scheduler.checkAdmission(JobType.CREATE_INSTANCE, "c3"))
+				.isInstanceOf(JobRejectedException.class).extracting("reason")
+				.isEqualTo(JobRejectedException.Reason.OVERLOADED);
+		// 삭제 작업은 생성 대기열이 가득 차도 접수
+		scheduler.checkAdmission(JobType.TERMINATE_ALL, "c3");
+	}
+
+	private JobScheduler newScheduler(int maxRunning, int maxRunningPerCompartment) {
+		JobScheduler scheduler = new JobScheduler();
+		ReflectionTestUtils.setField(scheduler, "maxRunning", maxRunning);
+		ReflectionTestUtils.setField(scheduler, "maxRunningPerCompartment", maxRunningPerCompartment);
+		ReflectionTestUtils.setField(scheduler, "maxQueued", 100);
+		ReflectionTestUtils.setField(scheduler, "maxQueuedPerCompartment", 100);
+		ReflectionTestUtils.setField(scheduler, "retryAfterSeconds", 30L);
+		ReflectionTestUtils.setField(scheduler, "jobExecutor", (Executor) Runnable::run);
+		ReflectionTestUtils.setField(scheduler, "meterRegistry", new SimpleMeterRegistry());
+		scheduler.init();
+		return scheduler;
+	}
+
+	private void enqueue(JobScheduler scheduler, String jobId, JobType type, String compartmentId) {
+		ProvisioningJob job = new ProvisioningJob(jobId);
+		JobEvent created = new JobEvent(jobId, JobEvent.Kind.CREATED);
+		created.setJobType(type);
+		created.setParams(Map.of("compartmentId", compartmentId));
+		job.apply(created);
+
+		runs.put(jobId, new CompletableFuture<>());
+		scheduler.enqueue(job, queued -> {
+			started.add(queued.getId());
+			return runs.get(queued.getId());
+		});
+	}
+}
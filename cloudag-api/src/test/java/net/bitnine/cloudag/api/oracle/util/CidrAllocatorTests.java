@@ -0,0 +1,30 @@
+package net.bitnine.cloudag.api.oracle.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+
+class CidrAllocatorTests {
+
+	@Test
+	void allocatesFirstFreeBlock() {
+		assertThat(CidrAllocator.nextFree("10.0.0.0/16", 24, Collections.emptyList())).isEqualTo("10.0.0.0/24");
+		assertThat(CidrAllocator.nextFree("10.0.0.0/16", 24, Arrays.asList("10.0.0.0/24", "10.0.2.0/24")))
+				.isEqualTo("10.0.1.0/24");
+	}
+
+	@Test
+	void skipsBlocksOverlappingLargerSubnets() {
+		assertThat(CidrAllocator.nextFree("10.0.0.0/16", 24, Collections.singletonList("10.0.0.0/22")))
+				.isEqualTo("10.0.4.0/24");
+	}
+
+	@Test
+	void returnsNullWhenExhausted() {
+		assertThat(CidrAllocator.nextFree("10.0.0.0/23", 24, Arrays.asList("10.0.0.0/24", "10.0.1.0/24")))
+				.isNull();
+	}
+}
@@ -0,0 +1,43 @@
+package net.bitnine.cloudag.api.oracle.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class EtagsTests {
+
+	@Test
+	void ignoresFieldOrderWithinResource() {
+		Map<String, String> first = new LinkedHashMap<>();
+		first.put("identifier", "ocid1.instance.a");
+		first.put("lifecycleState", "RUNNING");
+		Map<String, String> second = new LinkedHashMap<>();
+		second.put("lifecycleState", "RUNNING");
+		second.put("identifier", "ocid1.instance.a");
+
+		assertThat(Etags.ofResources(Collections.singletonList(first)))
+				.isEqualTo(Etags.ofResources(Collections.singletonList(second)));
+	}
+
+	@Test
+	void changesWhenStateChanges() {
+		Map<String, String> resource = new HashMap<>();
+		resource.put("identifier", "ocid1.volume.a");
+		resource.put("attachmentState", "ATTACHING");
+		String before = Etags.ofResources(Collections.singletonList(resource));
+
+		resource.put("attachmentState", "ATTACHED");
+		assertThat(Etags.ofResources(Collections.singletonList(resource))).isNotEqualTo(before);
+	}
+
+	@Test
+	void dependsOnPartOrder() {
+		assertThat(Etags.of(Arrays.asList("a", "b"))).isNotEqualTo(Etags.of(Arrays.asList("b", "a")));
+	}
+}
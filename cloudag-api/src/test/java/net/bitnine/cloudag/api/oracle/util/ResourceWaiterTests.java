@@ -0,0 +1,111 @@
+package net.bitnine.cloudag.api.oracle.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import com.oracle.bmc.model.BmcException;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ResourceWaiterTests {
+
+	private ResourceWaiter waiter;
+
+	@AfterEach
+	void shutdown() {
+		if (waiter != null) {
+			waiter.shutdown();
+		}
+	}
+
+	@Test
+	void backsOffWhileStateIsUnchanged() throws Exception {
+		waiter = newWaiter(20, 80, 60);
+		List<Long> pollTimes = new CopyOnWriteArrayList<>();
+		AtomicInteger polls = new AtomicInteger();
+
+		String result = waiter.waitFor("volume", () -> {
+			pollTimes.add(System.nanoTime());
+			return polls.incrementAndGet() < 4 ? "PROVISIONING" : "AVAILABLE";
+		}, Function.identity(), "AVAILABLE").get(5, TimeUnit.SECONDS);
+
+		assertThat(result).isEqualTo("AVAILABLE");
+		assertThat(pollTimes).hasSize(4);
+		// 첫 조회 후 상태가 바뀌면 initial, 이후 같은 상태면 1.5배씩 늘어남 (20 -> 30 -> 45)
+		assertThat(gapMillis(pollTimes, 1)).isGreaterThanOrEqualTo(18);
+		assertThat(gapMillis(pollTimes, 2)).isGreaterThanOrEqualTo(28);
+		assertThat(gapMillis(pollTimes, 3)).isGreaterThanOrEqualTo(43);
+	}
+
+	@Test
+	void failsWhenTargetIsNotReachedBeforeTimeout() {
+		waiter = newWaiter(10, 20, 0);
+
+		assertThatThrownBy(() -> waiter.waitFor("instance", () -> "PROVISIONING", Function.identity(), "RUNNING")
+				.get(5, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class)
+				.hasCauseInstanceOf(TimeoutException.class);
+	}
+
+	@Test
+	void treatsNotFoundAsDeletedAndFailsOnNonRetryableError() throws Exception {
+		waiter = newWaiter(10, 20, 60);
+
+		assertThat(waiter.waitForDeletion("subnet", () -> {
+			throw new BmcException(404, "NotAuthorizedOrNotFound", "not found", "request-1");
+		}, Function.identity(), "TERMINATED").get(5, TimeUnit.SECONDS)).isNull();
+
+		assertThatThrownBy(() -> waiter.waitFor("vcn", () -> {
+			throw new BmcException(400, "InvalidParameter", "bad request", "request-2");
+		}, Function.identity(), "AVAILABLE").get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(BmcException.class);
+	}
+
+	@Test
+	void repollsAfterRateLimitDelayWithoutBackingOff() throws Exception {
+		waiter = newWaiter(200, 400, 60);
+		List<Long> pollTimes = new CopyOnWriteArrayList<>();
+		AtomicInteger polls = new AtomicInteger();
+
+		String result = waiter.waitFor("instance", () -> {
+			pollTimes.add(System.nanoTime());
+			if (polls.incrementAndGet() == 1) {
+				throw new OciRateLimiter.RateLimitedException(TimeUnit.MILLISECONDS.toNanos(10), null);
+			}
+			return "RUNNING";
+		}, Function.identity(), "RUNNING").get(5, TimeUnit.SECONDS);
+
+		assertThat(result).isEqualTo("RUNNING");
+		assertThat(pollTimes).hasSize(2);
+		// 요청 제한에 걸린 조회는 조회 간격(200ms)이 아니라 토큰이 채워지는 시점에 다시 조회
+		assertThat(gapMillis(pollTimes, 1)).isBetween(9L, 150L);
+	}
+
+	private static ResourceWaiter newWaiter(long initialDelayMs, long maxDelayMs, long timeoutMinutes) {
+		ResourceWaiter waiter = new ResourceWaiter();
+		ReflectionTestUtils.setField(waiter, "pollThreads", 1);
+		ReflectionTestUtils.setField(waiter, "initialDelayMs", initialDelayMs);
+		ReflectionTestUtils.setField(waiter, "maxDelayMs", maxDelayMs);
+		ReflectionTestUtils.setField(waiter, "backoffMultiplier", 1.5);
+		ReflectionTestUtils.setField(waiter, "timeoutMinutes", timeoutMinutes);
+		ReflectionTestUtils.setField(waiter, "meterRegistry", new SimpleMeterRegistry());
+		ReflectionTestUtils.setField(waiter, "callbackExecutor", (Executor) Runnable::run);
+		waiter.init();
+		return waiter;
+	}
+
+	private static long gapMillis(List<Long> pollTimes, int index) {
+		return TimeUnit.NANOSECONDS.toMillis(pollTimes.get(index) - pollTimes.get(index - 1));
+	}
+}
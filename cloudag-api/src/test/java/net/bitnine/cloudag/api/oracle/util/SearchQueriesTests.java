@@ -0,0 +1,30 @@
+package net.bitnine.cloudag.api.oracle.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+class SearchQueriesTests {
+
+	@Test
+	void escapesQuotesAndBackslashes() {
+		assertThat(SearchQueries.literal("db1")).isEqualTo("'db1'");
+		assertThat(SearchQueries.literal("db' || displayName =~ '")).isEqualTo("'db\\' || displayName =~ \\''");
+		assertThat(SearchQueries.literal("a\\'b")).isEqualTo("'a\\\\\\'b'");
+	}
+
+	@Test
+	void joinsConditionsWithOr() {
+		assertThat(SearchQueries.anyOf("displayName", "=~", Arrays.asList("db1", "db2")))
+				.isEqualTo("(displayName =~ 'db1' || displayName =~ 'db2')");
+	}
+
+	@Test
+	void acceptsOnlyOcids() {
+		assertThat(SearchQueries.isIdentifier("ocid1.instance.oc1.ap-seoul-1.abcd")).isTrue();
+		assertThat(SearchQueries.isIdentifier("ocid1.instance' || identifier = 'x")).isFalse();
+		assertThat(SearchQueries.isIdentifier(null)).isFalse();
+	}
+}
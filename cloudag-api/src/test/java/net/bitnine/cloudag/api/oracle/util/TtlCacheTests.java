@@ -0,0 +1,46 @@
+package net.bitnine.cloudag.api.oracle.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class TtlCacheTests {
+
+	@Test
+	void loadsOnceWhileFresh() throws Exception {
+		TtlCache<String, String> cache = new TtlCache<>(60000);
+		AtomicInteger loads = new AtomicInteger();
+
+		assertThat(cache.get("ad", () -> "AD-" + loads.incrementAndGet())).isEqualTo("AD-1");
+		assertThat(cache.get("ad", () -> "AD-" + loads.incrementAndGet())).isEqualTo("AD-1");
+		assertThat(loads.get()).isEqualTo(1);
+	}
+
+	@Test
+	void reloadsAfterExpiryOrInvalidation() throws Exception {
+		TtlCache<String, Integer> expiring = new TtlCache<>(0);
+		AtomicInteger loads = new AtomicInteger();
+
+		expiring.get("shape", loads::incrementAndGet);
+		Thread.sleep(5);
+		assertThat(expiring.get("shape", loads::incrementAndGet)).isEqualTo(2);
+
+		TtlCache<String, Integer> cache = new TtlCache<>(60000);
+		cache.get("ap-seoul-1|c1", loads::incrementAndGet);
+		cache.invalidateIf(key -> key.startsWith("ap-seoul-1|"));
+		assertThat(cache.get("ap-seoul-1|c1", loads::incrementAndGet)).isEqualTo(4);
+	}
+
+	@Test
+	void doesNotCacheFailures() throws Exception {
+		TtlCache<String, String> cache = new TtlCache<>(60000);
+
+		assertThatThrownBy(() -> cache.get("image", () -> {
+			throw new IllegalStateException("throttled");
+		})).isInstanceOf(IllegalStateException.class);
+		assertThat(cache.get("image", () -> "ok")).isEqualTo("ok");
+	}
+}